@@ -0,0 +1,103 @@
+package com.gestioneventos.benchmark;
+
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.service.GeneradorDatos;
+import com.gestioneventos.util.IndiceIntervalos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+
+/**
+ * Cálculo de los eventos activos en cada día del mes para dibujar el calendario
+ * ({@code MainController}): el filtrado de la lista completa por cada día contra
+ * el índice por día de {@link IndiceIntervalos}, con y sin el costo de construirlo.
+ * No usa la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CalendarioBenchmark {
+
+    @Param({"50", "500", "5000"})
+    private int eventosDelMes;
+
+    private YearMonth mes;
+    private List<Evento> eventos;
+    private IndiceIntervalos<Evento> indice;
+
+    @Setup
+    public void preparar() {
+        // El mes siguiente, para que ningún evento tenga fecha pasada
+        mes = YearMonth.now().plusMonths(1);
+        Random aleatorio = new Random(EntornoBenchmark.SEMILLA);
+        eventos = new ArrayList<>(eventosDelMes);
+        for (int i = 0; i < eventosDelMes; i++) {
+            LocalDate inicio = mes.atDay(1 + aleatorio.nextInt(mes.lengthOfMonth()));
+            eventos.add(GeneradorDatos.crearEvento(i, inicio, 1 + aleatorio.nextInt(7), aleatorio));
+        }
+        indice = construirIndice();
+    }
+
+    /**
+     * Filtrado original del calendario: recorre todos los eventos del mes por cada día.
+     */
+    @Benchmark
+    public void filtrarPorDia(Blackhole bh) {
+        for (int dia = 1; dia <= mes.lengthOfMonth(); dia++) {
+            LocalDate fecha = mes.atDay(dia);
+            bh.consume(eventos.stream()
+                    .filter(e -> {
+                        LocalDate inicio = e.getFechaInicio();
+                        LocalDate fechaFin = inicio.plusDays(e.getDuracionEstimada() - 1);
+                        return !fecha.isBefore(inicio) && !fecha.isAfter(fechaFin);
+                    })
+                    .collect(Collectors.toList()));
+        }
+    }
+
+    /**
+     * Construcción del índice del mes (lo que se hace al cargarlo) y consulta de cada día.
+     */
+    @Benchmark
+    public void construirIndiceYConsultar(Blackhole bh) {
+        IndiceIntervalos<Evento> nuevo = construirIndice();
+        for (int dia = 1; dia <= mes.lengthOfMonth(); dia++) {
+            bh.consume(nuevo.activosEn(mes.atDay(dia)));
+        }
+    }
+
+    /**
+     * Consulta de cada día con el índice ya construido (mes en la caché del calendario).
+     */
+    @Benchmark
+    public void consultarIndice(Blackhole bh) {
+        for (int dia = 1; dia <= mes.lengthOfMonth(); dia++) {
+            bh.consume(indice.activosEn(mes.atDay(dia)));
+        }
+    }
+
+    private IndiceIntervalos<Evento> construirIndice() {
+        return new IndiceIntervalos<>(mes.atDay(1), mes.atEndOfMonth(), eventos,
+                Evento::getFechaInicio, Evento::getFechaFin);
+    }
+}
@@ -0,0 +1,81 @@
+package com.gestioneventos.benchmark;
+
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.repositorio.RepositorioEvento;
+import com.gestioneventos.repositorio.RepositorioPersona;
+import com.gestioneventos.service.GeneradorDatos;
+import com.gestioneventos.util.JPAUtil;
+import com.gestioneventos.util.SeguimientoTarea;
+
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Base de datos y datos de prueba compartidos por los benchmarks.
+ * Por defecto se usa una base H2 en memoria en modo PostgreSQL, con el esquema creado por las
+ * migraciones (ver MigracionesEsquema), los mismos índices que en producción; si se indica otra
+ * URL con -Djakarta.persistence.jdbc.url se usa esa, migrada si hace falta.
+ * Los datos se generan con {@link GeneradorDatos} y una semilla fija, así que cada ejecución
+ * mide sobre los mismos datos.
+ */
+final class EntornoBenchmark {
+
+    // Semilla del generador: mismos datos en cada ejecución
+    static final long SEMILLA = 20240601L;
+
+    /**
+     * Datos generados: las entidades guardadas (desasociadas, con su ID).
+     * @param personas Personas guardadas
+     * @param eventos Eventos guardados
+     */
+    record Datos(List<Persona> personas, List<Evento> eventos) {
+    }
+
+    /**
+     * Configura la unidad de persistencia para los benchmarks. Debe llamarse antes del primer
+     * acceso a {@link JPAUtil}.
+     */
+    static void configurarBaseDeDatos() {
+        if (System.getProperty("jakarta.persistence.jdbc.url") == null) {
+            System.setProperty("jakarta.persistence.jdbc.url", "jdbc:h2:mem:benchmark;MODE=PostgreSQL;DB_CLOSE_DELAY=-1");
+            System.setProperty("jakarta.persistence.jdbc.driver", "org.h2.Driver");
+            System.setProperty("jakarta.persistence.jdbc.user", "sa");
+            System.setProperty("jakarta.persistence.jdbc.password", "");
+            System.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        }
+        // Imprimir cada sentencia distorsiona las mediciones
+        System.setProperty("hibernate.show_sql", "false");
+        System.setProperty("hibernate.format_sql", "false");
+    }
+
+    /**
+     * Cierra la fábrica de EntityManager (al terminar cada proceso de benchmark).
+     */
+    static void cerrar() {
+        JPAUtil.shutdown();
+    }
+
+    /**
+     * Genera y guarda personas, eventos de los cinco tipos repartidos en un año y
+     * participaciones, y devuelve las personas y los eventos guardados.
+     * @param cantidadPersonas Personas a generar
+     * @param cantidadEventos Eventos a generar (aproximadamente)
+     * @param participacionesPorEvento Promedio de participaciones por evento
+     * @return Entidades guardadas
+     */
+    static Datos poblar(int cantidadPersonas, int cantidadEventos, int participacionesPorEvento) {
+        // ServicioBenchmark inscribe con el rol PRESENTADOR: los datos generados no lo usan
+        Map<RolParticipacion, Integer> roles = new EnumMap<>(GeneradorDatos.ROLES_POR_DEFECTO);
+        roles.remove(RolParticipacion.PRESENTADOR);
+
+        new GeneradorDatos().generar(new GeneradorDatos.Configuracion(SEMILLA, cantidadPersonas, 12,
+                cantidadEventos / 12, participacionesPorEvento, roles), SeguimientoTarea.NINGUNO);
+        return new Datos(new RepositorioPersona().buscarTodos(), new RepositorioEvento().buscarTodos());
+    }
+
+    private EntornoBenchmark() {
+    }
+}
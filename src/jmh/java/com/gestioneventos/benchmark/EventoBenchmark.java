@@ -0,0 +1,65 @@
+package com.gestioneventos.benchmark;
+
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.participaciones.Participacion;
+import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.service.GeneradorDatos;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Costo de {@link Evento#getParticipaciones()}, que devuelve una copia defensiva en cada
+ * llamada, al obtener la lista y al recorrerla (como hacen los métodos de Taller). No usa
+ * la base de datos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EventoBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int participaciones;
+
+    private Evento evento;
+
+    @Setup
+    public void preparar() {
+        Random aleatorio = new Random(EntornoBenchmark.SEMILLA);
+        evento = GeneradorDatos.crearEvento(1, LocalDate.now().plusDays(1), 1, aleatorio);
+        for (int i = 0; i < participaciones; i++) {
+            Persona persona = new Persona("Nombre", "Apellido", String.valueOf(30_000_000 + i), null, null);
+            RolParticipacion rol = i == 0 ? RolParticipacion.INSTRUCTOR : RolParticipacion.PARTICIPANTE;
+            evento.agregarParticipacion(new Participacion(evento, persona, rol));
+        }
+    }
+
+    @Benchmark
+    public List<Participacion> copiarParticipaciones() {
+        return evento.getParticipaciones();
+    }
+
+    @Benchmark
+    public long contarParticipantes() {
+        return evento.getParticipaciones().stream()
+                .filter(p -> p.getRol() == RolParticipacion.PARTICIPANTE)
+                .count();
+    }
+}
@@ -0,0 +1,82 @@
+package com.gestioneventos.benchmark;
+
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.eventos.EventoResumen;
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.repositorio.Pagina;
+import com.gestioneventos.repositorio.RepositorioEvento;
+import com.gestioneventos.repositorio.RepositorioPersona;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Consultas de {@code RepositorioBase}: listado completo, búsqueda por campo y,
+ * como referencia, una página de la proyección del listado de eventos.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RepositorioBenchmark {
+
+    private static final int PERSONAS = 5_000;
+    private static final int EVENTOS = 500;
+    private static final int PARTICIPACIONES_POR_EVENTO = 20;
+
+    private RepositorioPersona repositorioPersona;
+    private RepositorioEvento repositorioEvento;
+    private List<String> dnis;
+    private int siguienteDni;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        EntornoBenchmark.configurarBaseDeDatos();
+        EntornoBenchmark.Datos datos = EntornoBenchmark.poblar(PERSONAS, EVENTOS, PARTICIPACIONES_POR_EVENTO);
+        dnis = datos.personas().stream().map(Persona::getDni).toList();
+        repositorioPersona = new RepositorioPersona();
+        repositorioEvento = new RepositorioEvento();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        EntornoBenchmark.cerrar();
+    }
+
+    @Benchmark
+    public List<Persona> buscarTodasLasPersonas() {
+        return repositorioPersona.buscarTodos();
+    }
+
+    @Benchmark
+    public List<Evento> buscarTodosLosEventos() {
+        // Incluye las participaciones y sus personas (grafo de carga de Evento)
+        return repositorioEvento.buscarTodos();
+    }
+
+    @Benchmark
+    public List<Persona> buscarPorDni() {
+        String dni = dnis.get(siguienteDni);
+        siguienteDni = (siguienteDni + 1) % dnis.size();
+        return repositorioPersona.buscarPor("dni", dni);
+    }
+
+    @Benchmark
+    public Pagina<EventoResumen> buscarPaginaResumenEventos() {
+        return repositorioEvento.buscarPaginaResumen(null, 100);
+    }
+}
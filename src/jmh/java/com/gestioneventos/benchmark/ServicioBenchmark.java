@@ -0,0 +1,78 @@
+package com.gestioneventos.benchmark;
+
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.participaciones.Participacion;
+import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.service.ServicioEvento;
+import com.gestioneventos.service.ServicioPersona;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Operaciones de escritura de los servicios: inscripción de una persona existente en un
+ * evento (con sus validaciones) y alta de una persona (con la verificación del DNI).
+ * Cada invocación inserta una fila nueva, así que la base crece durante la medición.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ServicioBenchmark {
+
+    private static final int PERSONAS = 5_000;
+    private static final int EVENTOS = 500;
+    private static final int PARTICIPACIONES_POR_EVENTO = 20;
+
+    private ServicioEvento servicioEvento;
+    private ServicioPersona servicioPersona;
+    private List<Persona> personas;
+    private List<Long> eventoIds;
+    private long inscripciones;
+    private long altas;
+
+    @Setup(Level.Trial)
+    public void preparar() {
+        EntornoBenchmark.configurarBaseDeDatos();
+        EntornoBenchmark.Datos datos = EntornoBenchmark.poblar(PERSONAS, EVENTOS, PARTICIPACIONES_POR_EVENTO);
+        personas = datos.personas();
+        eventoIds = datos.eventos().stream().map(Evento::getId).toList();
+        servicioEvento = new ServicioEvento();
+        servicioPersona = new ServicioPersona();
+    }
+
+    @TearDown(Level.Trial)
+    public void cerrar() {
+        EntornoBenchmark.cerrar();
+    }
+
+    @Benchmark
+    public Participacion agregarParticipacion() {
+        // Cada combinación evento-persona se usa una sola vez; el generador no usa el rol PRESENTADOR
+        long n = inscripciones++;
+        Long eventoId = eventoIds.get((int) (n % eventoIds.size()));
+        Persona persona = personas.get((int) ((n / eventoIds.size()) % personas.size()));
+        return servicioEvento.agregarParticipacion(eventoId, persona, RolParticipacion.PRESENTADOR);
+    }
+
+    @Benchmark
+    public Persona guardarPersona() {
+        long n = altas++;
+        return servicioPersona.guardar(new Persona("Nueva", "Persona", String.valueOf(90_000_000 + n), null, null));
+    }
+}
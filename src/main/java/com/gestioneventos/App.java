@@ -1,26 +1,61 @@
 package com.gestioneventos;
 
+import com.gestioneventos.controller.MainController;
+import com.gestioneventos.service.ProgramadorEstadosEventos;
+import com.gestioneventos.util.ArranqueAplicacion;
+import com.gestioneventos.util.EjecutorAsincrono;
 import com.gestioneventos.util.JPAUtil;
+import com.gestioneventos.util.Metricas;
+import com.gestioneventos.util.PantallaInicio;
 import javafx.application.Application;
 import javafx.fxml.FXMLLoader;
 import javafx.scene.Parent;
 import javafx.scene.Scene;
 import javafx.stage.Stage;
 
-import java.io.IOException;
-
 public class App extends Application {
 
+    // Actualiza los estados de los eventos al iniciar y cada medianoche
+    private final ProgramadorEstadosEventos programadorEstados = new ProgramadorEstadosEventos();
+
+    // Prepara la base de datos y precarga vistas en paralelo mientras se abre la ventana
+    private final ArranqueAplicacion arranque = new ArranqueAplicacion();
+
     @Override
     public void start(Stage primaryStage) {
+        // Lo primero: la fábrica de JPA es lo que más tarda en estar lista
+        arranque.iniciar();
+        new PantallaInicio("Gestión de Eventos Culturales").mostrarMientras(() -> abrirVentanaPrincipal(primaryStage));
+    }
+
+    /**
+     * Carga y muestra la ventana principal. No espera a la base de datos: el calendario
+     * se carga en segundo plano cuando la fábrica de JPA está lista.
+     */
+    private void abrirVentanaPrincipal(Stage primaryStage) {
         try {
-            Parent root = FXMLLoader.load(getClass().getResource("/fxml/MainView.fxml"));
+            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/MainView.fxml"));
+            Parent root = arranque.medir("Vista principal", loader::load);
+            MainController mainController = loader.getController();
             Scene scene = new Scene(root, 800, 600);
             scene.getStylesheets().add(getClass().getResource("/css/styles-main.css").toExternalForm());
             primaryStage.setTitle("Gestión de Eventos Culturales");
             primaryStage.setScene(scene);
-            primaryStage.show();
-        } catch (IOException e) {
+            arranque.medir("Mostrar ventana principal", () -> {
+                primaryStage.show();
+                return null;
+            });
+
+            // Aviso en la ventana mientras la base de datos no está lista
+            mainController.seguirArranque(arranque.baseDeDatosLista());
+
+            // El calendario se redibuja cuando algún evento cambia de estado
+            programadorEstados.agregarOyente(mainController::alCambiarEstados);
+            programadorEstados.iniciar();
+
+            // Métricas de rendimiento consultables por JMX (jconsole, VisualVM)
+            Metricas.registrarEnJmx();
+        } catch (Exception e) {
             e.printStackTrace();
         }
     }
@@ -28,7 +63,9 @@ public class App extends Application {
     
     @Override
     public void stop() {
-        // Cerrar EntityManagerFactory al salir
+        // Detener las tareas en segundo plano y cerrar EntityManagerFactory al salir
+        programadorEstados.detener();
+        EjecutorAsincrono.apagar();
         JPAUtil.shutdown();
     }
 
@@ -1,26 +1,42 @@
 // c:\2025 POO I - Trabajo Integrador\gestion-eventos-culturales\src\main\java\com\gestioneventos\controller\MainController.java
 package com.gestioneventos.controller;
 
-import com.gestioneventos.model.eventos.EstadoEvento;
 import com.gestioneventos.model.eventos.Evento;
-import com.gestioneventos.repositorio.RepositorioEvento;
+import com.gestioneventos.service.ProgramadorEstadosEventos;
+import com.gestioneventos.service.ServicioCalendario;
+import com.gestioneventos.service.ServicioEvento;
+import com.gestioneventos.service.ServicioExportacion;
+import com.gestioneventos.service.ServicioImportacion;
+import com.gestioneventos.service.ServicioImportacion.ResultadoImportacion;
+import com.gestioneventos.util.EjecutorAsincrono;
+import com.gestioneventos.util.DialogoProgreso;
+import com.gestioneventos.util.IndiceIntervalos;
+import com.gestioneventos.util.RegistroVistas;
+import com.gestioneventos.util.SeguimientoTarea;
+import com.gestioneventos.util.SelectorArchivos;
+import com.gestioneventos.util.VentanaDiagnostico;
+import javafx.application.Platform;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
 import javafx.scene.control.ListView;
 import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
 import javafx.scene.layout.GridPane;
+import javafx.scene.layout.HBox;
 import javafx.scene.layout.StackPane;
 import javafx.scene.shape.Line;
 import javafx.scene.paint.Color;
 import java.time.LocalDate;
 import java.time.YearMonth;
+import java.io.File;
 import java.io.IOException;
+import java.nio.file.Path;
 import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.stream.Collectors;
 
 /**
@@ -35,9 +51,24 @@ public class MainController {
     @FXML private ListView<String> upcomingEventsList;
     @FXML private Label eventsCountLabel;
     @FXML private Label participantsCountLabel;
+    @FXML private HBox barraArranque;
+    @FXML private Label lblArranque;
+    @FXML private ProgressIndicator indicadorArranque;
 
     private YearMonth currentYearMonth;
 
+    // Carga del calendario en segundo plano; cambiar de mes descarta la carga anterior
+    private final EjecutorAsincrono.Canal canalCalendario = new EjecutorAsincrono.Canal();
+
+    // Eventos por mes, consultados por rango de fechas y guardados en caché
+    private final ServicioCalendario servicioCalendario = new ServicioCalendario();
+
+    // Importación masiva desde archivos CSV o JSON
+    private final ServicioImportacion servicioImportacion = new ServicioImportacion();
+
+    // Exportación a CSV, JSON o XLSX
+    private final ServicioExportacion servicioExportacion = new ServicioExportacion();
+
     // === Inicialización ===
     @FXML
     public void initialize() {
@@ -48,33 +79,60 @@ public class MainController {
 
     // === Lógica del calendario ===
     private void showCalendar(YearMonth yearMonth) {
-        // Actualizar automáticamente el estado de los eventos
-        actualizarEstadosEventos();
-        
         calendarGrid.getChildren().clear();
-        LocalDate today = LocalDate.now();
         monthYearLabel.setText(
             yearMonth.getMonth().getDisplayName(java.time.format.TextStyle.FULL, java.util.Locale.getDefault())
             + " " + yearMonth.getYear()
         );
 
+        // Si el mes ya está en caché se dibuja al instante
+        Optional<IndiceIntervalos<Evento>> enCache = servicioCalendario.buscarEnCache(yearMonth);
+        if (enCache.isPresent()) {
+            canalCalendario.cancelar();
+            dibujarCalendario(yearMonth, enCache.get());
+            precargarMesesAdyacentes(yearMonth);
+            return;
+        }
+
+        // La actualización de estados y la consulta se hacen fuera del hilo de JavaFX
+        // Obtener solo los eventos que transcurren durante este mes
+        canalCalendario.ejecutar(() -> servicioCalendario.obtenerMes(yearMonth),
+        indice -> {
+            dibujarCalendario(yearMonth, indice);
+            precargarMesesAdyacentes(yearMonth);
+        },
+        error -> {
+            error.printStackTrace();
+            mostrarError("Error al cargar el calendario", error.getMessage());
+        });
+    }
+
+    /**
+     * Carga en segundo plano el mes anterior y el siguiente para que
+     * la navegación entre meses no tenga que esperar a la base de datos.
+     */
+    private void precargarMesesAdyacentes(YearMonth yearMonth) {
+        EjecutorAsincrono.ejecutar(() -> {
+            servicioCalendario.precargarAdyacentes(yearMonth);
+            return null;
+        },
+        resultado -> { },
+        // Un fallo en la precarga no afecta al mes mostrado; se reintentará al navegar
+        Throwable::printStackTrace);
+    }
+
+    /**
+     * Dibuja la grilla del mes con los eventos ya cargados.
+     * Debe llamarse desde el hilo de JavaFX.
+     */
+    private void dibujarCalendario(YearMonth yearMonth, IndiceIntervalos<Evento> eventosMes) {
+        calendarGrid.getChildren().clear();
+        LocalDate today = LocalDate.now();
+
         LocalDate firstOfMonth = yearMonth.atDay(1);
         int dayOfWeek = firstOfMonth.getDayOfWeek().getValue(); // 1 = lunes, 7 = domingo
         int daysInMonth = yearMonth.lengthOfMonth();
 
-        // Obtener todos los eventos del mes actual
-        RepositorioEvento repositorioEvento = new RepositorioEvento();
-        List<Evento> eventosMes = repositorioEvento.buscarTodos().stream()
-            .filter(e -> {
-                LocalDate fechaInicio = e.getFechaInicio();
-                LocalDate fechaFin = fechaInicio.plusDays(e.getDuracionEstimada() - 1);
-                // Incluimos eventos que empiezan, terminan o transcurren durante este mes
-                return (fechaInicio.getYear() == yearMonth.getYear() && fechaInicio.getMonthValue() == yearMonth.getMonthValue())
-                    || (fechaFin.getYear() == yearMonth.getYear() && fechaFin.getMonthValue() == yearMonth.getMonthValue())
-                    || (fechaInicio.isBefore(yearMonth.atDay(1)) && fechaFin.isAfter(yearMonth.atEndOfMonth()));
-            })
-            .collect(Collectors.toList());
-
         int col = dayOfWeek - 1;
         int row = 0;
 
@@ -82,13 +140,7 @@ public class MainController {
             LocalDate date = yearMonth.atDay(day);
             
             // Buscar eventos activos en este día
-            List<Evento> eventosDia = eventosMes.stream()
-                .filter(e -> {
-                    LocalDate inicio = e.getFechaInicio();
-                    LocalDate fechaFin = inicio.plusDays(e.getDuracionEstimada() - 1);
-                    return !date.isBefore(inicio) && !date.isAfter(fechaFin);
-                })
-                .collect(Collectors.toList());
+            List<Evento> eventosDia = eventosMes.activosEn(date);
 
             StackPane dayPane = new StackPane();
             dayPane.setMinSize(28, 28);
@@ -146,38 +198,36 @@ public class MainController {
     }
 
     /**
-     * Actualiza automáticamente el estado de los eventos según la fecha actual.
-     * - Eventos cuya fecha fin (fechaInicio + duracionEstimada - 1) es anterior a hoy se marcan como FINALIZADOS
-     * - Eventos cuya fecha inicio es hoy o anterior y fecha fin es posterior a hoy se marcan como EN_CURSO
-     */
-    private void actualizarEstadosEventos() {
-        RepositorioEvento repo = new RepositorioEvento();
-        LocalDate hoy = LocalDate.now();
-        
-        // Obtener todos los eventos que no estén ya FINALIZADOS o CANCELADOS
-        List<Evento> eventos = repo.buscarTodos().stream()
-            .filter(e -> e.getEstadoEvento() != EstadoEvento.FINALIZADO && 
-                        e.getEstadoEvento() != EstadoEvento.CANCELADO)
-            .collect(Collectors.toList());
-        
-        for (Evento evento : eventos) {
-            LocalDate fechaInicio = evento.getFechaInicio();
-            LocalDate fechaFin = fechaInicio.plusDays(evento.getDuracionEstimada() - 1);
-            
-            // Si la fecha fin ya pasó, marcar como FINALIZADO
-            if (fechaFin.isBefore(hoy)) {
-                evento.setEstadoEvento(EstadoEvento.FINALIZADO);
-                repo.actualizar(evento);
-                System.out.println("Evento finalizado automáticamente: " + evento.getNombre());
-            }
-            // Si ya inició pero no terminó, marcar como EN_CURSO (solo si está CONFIRMADO)
-            else if (evento.getEstadoEvento() == EstadoEvento.CONFIRMADO && 
-                    !fechaInicio.isAfter(hoy) && fechaFin.isAfter(hoy)) {
-                evento.setEstadoEvento(EstadoEvento.EN_EJECUCION);
-                repo.actualizar(evento);
-                System.out.println("Evento marcado en curso automáticamente: " + evento.getNombre());
+     * Muestra en la barra inferior que la base de datos todavía se está preparando y la
+     * oculta cuando está lista; si no se pudo conectar, deja el motivo a la vista.
+     * @param baseDeDatos Tarea del arranque que termina cuando la base de datos está lista
+     */
+    public void seguirArranque(CompletableFuture<Void> baseDeDatos) {
+        baseDeDatos.whenComplete((resultado, error) -> Platform.runLater(() -> {
+            if (error == null) {
+                barraArranque.setVisible(false);
+                barraArranque.setManaged(false);
+            } else {
+                Throwable causa = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+                indicadorArranque.setVisible(false);
+                indicadorArranque.setManaged(false);
+                lblArranque.setText("No se pudo conectar con la base de datos: " + causa.getMessage());
+                barraArranque.getStyleClass().add("barra-arranque-error");
             }
-        }
+        }));
+    }
+
+    /**
+     * Recibe las transiciones automáticas de estado (ver {@link ProgramadorEstadosEventos}).
+     * Se llama desde el hilo del programador, por eso el redibujado se pasa al hilo de JavaFX.
+     * @param transiciones Cantidad de eventos que cambiaron de estado
+     */
+    public void alCambiarEstados(ServicioEvento.TransicionesEstado transiciones) {
+        Platform.runLater(() -> {
+            // Los estados guardados en caché quedaron desactualizados
+            servicioCalendario.invalidar();
+            showCalendar(currentYearMonth);
+        });
     }
 
     @FXML
@@ -199,14 +249,15 @@ public class MainController {
     private void gestionarEventos(ActionEvent event) {
         // Implementar la lógica para gestionar eventos
         try {
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/eventos/ListaEventoView.fxml"));
-            Parent root = loader.load();
-
-            Stage stage = new Stage();
+            // La vista se reutiliza entre aperturas (ver RegistroVistas)
+            Stage stage = RegistroVistas.obtener("/fxml/eventos/ListaEventoView.fxml",
+                Modality.APPLICATION_MODAL, null).ventana();
             stage.setTitle("Gestión de Eventos");
-            stage.setScene(new Scene(root));
-            stage.initModality(Modality.APPLICATION_MODAL); // Opcional: bloquea la ventana principal
             stage.showAndWait();
+
+            // Los eventos pudieron cambiar: descartar los meses guardados y redibujar
+            servicioCalendario.invalidar();
+            showCalendar(currentYearMonth);
         } catch (IOException e) {
             e.printStackTrace();
             mostrarError("Error al abrir la gestión de eventos", e.getMessage());
@@ -220,15 +271,10 @@ public class MainController {
     @FXML
     private void gestionarPersonas(ActionEvent event) {
         try {
-            // Cargar la vista de lista de personas
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/personas/ListaPersonasView.fxml"));
-            Parent root = loader.load();
-            
-            // Configurar y mostrar la ventana
-            Stage stage = new Stage();
+            // Obtener la vista de lista de personas (se carga solo la primera vez)
+            Stage stage = RegistroVistas.obtener("/fxml/personas/ListaPersonasView.fxml",
+                Modality.APPLICATION_MODAL, null).ventana();
             stage.setTitle("Gestión de Personas");
-            stage.setScene(new Scene(root));
-            stage.initModality(Modality.APPLICATION_MODAL);
             stage.showAndWait();
         } catch (IOException e) {
             e.printStackTrace();
@@ -236,6 +282,144 @@ public class MainController {
         }
     }
     
+    /**
+     * Importa personas desde un archivo CSV o JSON elegido por el usuario.
+     */
+    @FXML
+    private void importarPersonas(ActionEvent event) {
+        importar("Importar personas", servicioImportacion::importarPersonas);
+    }
+
+    /**
+     * Importa participaciones desde un archivo CSV o JSON elegido por el usuario.
+     */
+    @FXML
+    private void importarParticipaciones(ActionEvent event) {
+        importar("Importar participaciones", archivo -> {
+            ResultadoImportacion resultado = servicioImportacion.importarParticipaciones(archivo);
+            // Las inscripciones pudieron cambiar los cupos de los eventos del calendario
+            if (resultado.importados() > 0) {
+                Platform.runLater(servicioCalendario::invalidar);
+            }
+            return resultado;
+        });
+    }
+
+    /**
+     * Acción de importación que recibe el archivo elegido.
+     */
+    @FunctionalInterface
+    private interface Importacion {
+        ResultadoImportacion importar(Path archivo) throws Exception;
+    }
+
+    /**
+     * Pide el archivo, ejecuta la importación en segundo plano y muestra el resultado.
+     */
+    private void importar(String titulo, Importacion importacion) {
+        // Elegir el archivo a importar
+        File archivo = SelectorArchivos.elegirOrigenImportacion(calendarGrid.getScene().getWindow(), titulo);
+        if (archivo == null) {
+            return;
+        }
+
+        // La lectura y las inserciones se hacen fuera del hilo de JavaFX
+        EjecutorAsincrono.ejecutar(() -> importacion.importar(archivo.toPath()),
+        resultado -> mostrarResultadoImportacion(titulo, resultado),
+        error -> {
+            error.printStackTrace();
+            mostrarError("Error al importar " + archivo.getName(), error.getMessage());
+        });
+    }
+
+    /**
+     * Muestra el resumen de una importación, con el detalle de los registros rechazados.
+     */
+    private void mostrarResultadoImportacion(String titulo, ResultadoImportacion resultado) {
+        javafx.scene.control.Alert alert = new javafx.scene.control.Alert(resultado.errores().isEmpty()
+                ? javafx.scene.control.Alert.AlertType.INFORMATION
+                : javafx.scene.control.Alert.AlertType.WARNING);
+        alert.setTitle(titulo);
+        alert.setHeaderText("Importación finalizada");
+        alert.setContentText(resultado.resumen());
+
+        // Lista completa de errores en un área desplegable
+        if (!resultado.errores().isEmpty()) {
+            javafx.scene.control.TextArea detalle = new javafx.scene.control.TextArea(resultado.errores().stream()
+                    .map(ServicioImportacion.ErrorRegistro::toString)
+                    .collect(Collectors.joining("\n")));
+            detalle.setEditable(false);
+            detalle.setWrapText(true);
+            alert.getDialogPane().setExpandableContent(detalle);
+        }
+        alert.showAndWait();
+    }
+
+    /**
+     * Exporta el catálogo de eventos.
+     */
+    @FXML
+    private void exportarEventos(ActionEvent event) {
+        exportar("Exportar eventos", "eventos", servicioExportacion::exportarEventos);
+    }
+
+    /**
+     * Exporta todas las personas.
+     */
+    @FXML
+    private void exportarPersonas(ActionEvent event) {
+        exportar("Exportar personas", "personas", servicioExportacion::exportarPersonas);
+    }
+
+    /**
+     * Exporta la nómina de asistencia de todos los eventos.
+     */
+    @FXML
+    private void exportarAsistencias(ActionEvent event) {
+        exportar("Exportar asistencias", "asistencias", servicioExportacion::exportarAsistencias);
+    }
+
+    /**
+     * Acción de exportación que recibe el archivo de destino y el seguimiento del progreso.
+     */
+    @FunctionalInterface
+    private interface Exportacion {
+        ServicioExportacion.ResultadoExportacion exportar(Path archivo, SeguimientoTarea seguimiento) throws Exception;
+    }
+
+    /**
+     * Pide el archivo de destino y exporta en segundo plano, con progreso y opción de cancelar.
+     */
+    private void exportar(String titulo, String nombreSugerido, Exportacion exportacion) {
+        File archivo = SelectorArchivos.elegirDestinoExportacion(calendarGrid.getScene().getWindow(),
+                titulo, nombreSugerido);
+        if (archivo == null) {
+            return;
+        }
+
+        DialogoProgreso.ejecutar(calendarGrid.getScene().getWindow(), titulo,
+        seguimiento -> exportacion.exportar(archivo.toPath(), seguimiento),
+        resultado -> {
+            javafx.scene.control.Alert alert = new javafx.scene.control.Alert(javafx.scene.control.Alert.AlertType.INFORMATION);
+            alert.setTitle(titulo);
+            alert.setHeaderText("Exportación finalizada");
+            alert.setContentText(resultado.resumen());
+            alert.showAndWait();
+        },
+        error -> {
+            error.printStackTrace();
+            mostrarError("Error al exportar " + archivo.getName(), error.getMessage());
+        });
+    }
+
+    /**
+     * Abre la ventana con las métricas de rendimiento de los servicios.
+     */
+    @FXML
+    private void mostrarDiagnostico(ActionEvent event) {
+        VentanaDiagnostico.mostrar(calendarGrid.getScene().getWindow());
+    }
+
     /**
      * Muestra un diálogo de error al usuario.
      */
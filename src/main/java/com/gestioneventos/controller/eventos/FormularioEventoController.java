@@ -5,6 +5,9 @@ import com.gestioneventos.model.participaciones.Participacion;
 import com.gestioneventos.model.participaciones.RolParticipacion;
 import com.gestioneventos.service.ServicioEvento;
 import com.gestioneventos.service.ServicioPersona;
+import com.gestioneventos.util.BusquedaEnComboBox;
+import com.gestioneventos.util.EjecutorAsincrono;
+import com.gestioneventos.util.RegistroVistas;
 
 import javafx.collections.FXCollections;
 import javafx.event.ActionEvent;
@@ -32,7 +35,7 @@ import java.util.List;
  * Maneja tanto la creación de nuevos eventos como la edición de existentes
  * de diferentes tipos (Cine, Taller, Concierto, Exposición, Feria).
  */
-public class FormularioEventoController implements Initializable {
+public class FormularioEventoController implements Initializable, RegistroVistas.Reutilizable {
 
     // Referencia al controlador de la lista de eventos
     private ListaEventosController listaEventosController;
@@ -112,6 +115,17 @@ public class FormularioEventoController implements Initializable {
     private final ServicioPersona personaService;
     private ObservableList<Persona> organizadoresSeleccionados;
     
+    // Carga de personas en segundo plano (la recarga de setEvento descarta la de initialize)
+    private final EjecutorAsincrono.Canal canalPersonas = new EjecutorAsincrono.Canal();
+    
+    // Cargas del evento en edición: organizadores y la persona o personas de su rol específico
+    // (se descartan al reiniciar el formulario para que no lleguen a la apertura siguiente)
+    private final EjecutorAsincrono.Canal canalOrganizadores = new EjecutorAsincrono.Canal();
+    private final EjecutorAsincrono.Canal canalRolEspecifico = new EjecutorAsincrono.Canal();
+    
+    // Guardado en segundo plano (si la ventana se cierra antes de que termine, se descarta su respuesta)
+    private final EjecutorAsincrono.Canal canalGuardado = new EjecutorAsincrono.Canal();
+    
     /**
      * Constructor que inicializa el servicio.
      */
@@ -167,6 +181,11 @@ public class FormularioEventoController implements Initializable {
         configurarComboBoxInstructor();
         configurarComboBoxArtistas();
         
+        // Filtrar los ComboBox de personas al escribir (búsqueda en el índice en memoria)
+        for (ComboBox<Persona> combo : List.of(cmbPersonas, cmbCurador, cmbInstructor, cmbArtistas)) {
+            BusquedaEnComboBox.habilitar(combo, personaService::buscar, Persona::getId);
+        }
+        
         // Establecer estilo para el label de información
         lblOrganizadoresInfo.getStyleClass().add("nota-obligatorio");
 
@@ -282,13 +301,7 @@ public class FormularioEventoController implements Initializable {
     }
 
     private void configurarComboBoxCurador() {
-        // Usar las personas ya cargadas para el ComboBox de organizadores
-        if (cmbPersonas.getItems() != null && !cmbPersonas.getItems().isEmpty()) {
-            cmbCurador.setItems(FXCollections.observableArrayList(cmbPersonas.getItems()));
-        } else {
-            List<Persona> personas = personaService.buscarTodas();
-            cmbCurador.setItems(FXCollections.observableArrayList(personas));
-        }
+        // Los elementos se cargan en segundo plano desde cargarPersonas()
         
         // Configurar cómo se muestran las personas en el ComboBox
         cmbCurador.setCellFactory(lv -> new ListCell<Persona>() {
@@ -309,13 +322,7 @@ public class FormularioEventoController implements Initializable {
     }
 
     private void configurarComboBoxInstructor() {
-        // Usar las personas ya cargadas para el ComboBox de organizadores
-        if (cmbPersonas.getItems() != null && !cmbPersonas.getItems().isEmpty()) {
-            cmbInstructor.setItems(FXCollections.observableArrayList(cmbPersonas.getItems()));
-        } else {
-            List<Persona> personas = personaService.buscarTodas();
-            cmbInstructor.setItems(FXCollections.observableArrayList(personas));
-        }
+        // Los elementos se cargan en segundo plano desde cargarPersonas()
         
         // Configurar cómo se muestran las personas en el ComboBox
         cmbInstructor.setCellFactory(lv -> new ListCell<Persona>() {
@@ -340,13 +347,7 @@ public class FormularioEventoController implements Initializable {
      * Configura el ComboBox de artistas.
      */
     private void configurarComboBoxArtistas() {
-        // Usar las personas ya cargadas para el ComboBox de organizadores
-        if (cmbPersonas.getItems() != null && !cmbPersonas.getItems().isEmpty()) {
-            cmbArtistas.setItems(FXCollections.observableArrayList(cmbPersonas.getItems()));
-        } else {
-            List<Persona> personas = personaService.buscarTodas();
-            cmbArtistas.setItems(FXCollections.observableArrayList(personas));
-        }
+        // Los elementos se cargan en segundo plano desde cargarPersonas()
         
         // Configurar cómo se muestran las personas en el ComboBox
         cmbArtistas.setCellFactory(lv -> new ListCell<Persona>() {
@@ -372,30 +373,52 @@ public class FormularioEventoController implements Initializable {
      * Carga la lista de personas para seleccionar organizadores.
      */
     private void cargarPersonas() {
-        try {
-            List<Persona> personas = personaService.buscarTodas();
-            cmbPersonas.setItems(FXCollections.observableArrayList(personas));
-            
-            // Configurar cómo se muestran las personas en el ComboBox
-            cmbPersonas.setCellFactory(lv -> new ListCell<Persona>() {
-                @Override
-                protected void updateItem(Persona persona, boolean empty) {
-                    super.updateItem(persona, empty);
-                    setText(empty ? "" : persona.getNombre() + " " + persona.getApellido() + " - " + persona.getDni());
-                }
-            });
-            
-            cmbPersonas.setButtonCell(new ListCell<Persona>() {
-                @Override
-                protected void updateItem(Persona persona, boolean empty) {
-                    super.updateItem(persona, empty);
-                    setText(empty ? "" : persona.getNombre() + " " + persona.getApellido() + " - " + persona.getDni());
+        // Configurar cómo se muestran las personas en el ComboBox
+        cmbPersonas.setCellFactory(lv -> new ListCell<Persona>() {
+            @Override
+            protected void updateItem(Persona persona, boolean empty) {
+                super.updateItem(persona, empty);
+                setText(empty ? "" : persona.getNombre() + " " + persona.getApellido() + " - " + persona.getDni());
+            }
+        });
+        
+        cmbPersonas.setButtonCell(new ListCell<Persona>() {
+            @Override
+            protected void updateItem(Persona persona, boolean empty) {
+                super.updateItem(persona, empty);
+                setText(empty ? "" : persona.getNombre() + " " + persona.getApellido() + " - " + persona.getDni());
+            }
+        });
+        
+        // Una sola consulta alimenta los cuatro ComboBox de personas
+        canalPersonas.ejecutar(personaService::buscarTodas,
+            personas -> {
+                cmbPersonas.setItems(FXCollections.observableArrayList(personas));
+                for (ComboBox<Persona> combo : List.of(cmbCurador, cmbInstructor, cmbArtistas)) {
+                    // Conservar la persona ya elegida (p. ej. el instructor del evento en edición)
+                    Persona seleccionada = combo.getValue();
+                    combo.setItems(FXCollections.observableArrayList(personas));
+                    seleccionarPersona(combo, seleccionada);
                 }
-            });
-            
-        } catch (Exception e) {
-            mostrarError("Error al cargar lista de personas: " + e.getMessage());
+            },
+            e -> mostrarError("Error al cargar lista de personas: " + e.getMessage()));
+    }
+    
+    /**
+     * Selecciona en el ComboBox la persona con el mismo id que la indicada.
+     * Las personas pueden venir de consultas distintas, por eso se compara por id.
+     * @param combo ComboBox donde seleccionar
+     * @param persona Persona a seleccionar (puede ser null)
+     */
+    private void seleccionarPersona(ComboBox<Persona> combo, Persona persona) {
+        if (persona == null) {
+            return;
         }
+        Persona coincidente = combo.getItems().stream()
+            .filter(p -> p.getId() != null && p.getId().equals(persona.getId()))
+            .findFirst()
+            .orElse(persona);
+        combo.setValue(coincidente);
     }
 
     /**
@@ -412,7 +435,7 @@ public class FormularioEventoController implements Initializable {
         }
         
         // Verificar si ya está agregada
-        if (organizadoresSeleccionados.contains(personaSeleccionada)) {
+        if (organizadoresSeleccionados.stream().anyMatch(p -> p.getId().equals(personaSeleccionada.getId()))) {
             mostrarError("Esta persona ya está agregada como organizador");
             return;
         }
@@ -468,7 +491,7 @@ public class FormularioEventoController implements Initializable {
             lblArtistasInfo.getStyleClass().add("error-label");
         } else {
             lblArtistasInfo.setText("Artistas seleccionados: " + cantidadArtistas);
-            lblArtistasInfo.getStyleClass().remove("error-label");
+            lblArtistasInfo.getStyleClass().removeAll("error-label");
         }
     }
 
@@ -493,6 +516,52 @@ public class FormularioEventoController implements Initializable {
         lblTitulo.setText("Editar Evento");
     }
     
+    /**
+     * Vuelve el formulario al estado de "Nuevo Evento" para reutilizarlo: descarta las
+     * cargas pendientes, limpia los campos, las listas y las marcas de error, y vuelve a
+     * cargar las personas (pudieron cambiar desde la apertura anterior).
+     */
+    @Override
+    public void reiniciarVista() {
+        canalOrganizadores.cancelar();
+        canalRolEspecifico.cancelar();
+        canalGuardado.cancelar();
+        btnGuardar.setDisable(false);
+        eventoEditando = null;
+        esEdicion = false;
+        lblTitulo.setText("Nuevo Evento");
+        lblError.setText("");
+        
+        // Datos generales
+        cmbTipoEvento.setDisable(false);
+        cmbTipoEvento.setValue(null);
+        txtNombre.clear();
+        dpFechaInicio.setValue(LocalDate.now());
+        txtDuracionEstimada.clear();
+        cmbEstadoEvento.getSelectionModel().selectFirst();
+        chkPermiteInscripcion.setSelected(false);
+        
+        // Datos específicos
+        ocultarTodosLosFormulariosEspecificos();
+        for (TextField campo : List.of(txtOrdenProyeccion, txtTituloPelicula, txtCupoMaximo, txtCantidadStands)) {
+            campo.clear();
+        }
+        for (ComboBox<?> combo : List.of(cmbModalidad, cmbTipoEntrada, cmbTipoArte, cmbTipoUbicacion,
+                cmbPersonas, cmbInstructor, cmbArtistas, cmbCurador)) {
+            combo.setValue(null);
+        }
+        organizadoresSeleccionados.clear();
+        artistasSeleccionados.clear();
+        lblArtistasInfo.setText("Debe agregar al menos un artista");
+        lblArtistasInfo.getStyleClass().removeAll("error-label");
+        
+        limpiarEstilosCampos(cmbTipoEvento, txtNombre, dpFechaInicio, txtDuracionEstimada, cmbEstadoEvento,
+            tablaOrganizadores, txtOrdenProyeccion, txtTituloPelicula, txtCupoMaximo, cmbModalidad, cmbInstructor,
+            cmbTipoEntrada, cmbTipoArte, cmbCurador, txtCantidadStands, cmbTipoUbicacion);
+        
+        cargarPersonas();
+    }
+    
     /**
      * Configura la referencia al controlador de la lista de eventos.
      * @param controller El controlador de la lista de eventos
@@ -529,17 +598,17 @@ public class FormularioEventoController implements Initializable {
             // Deshabilitar cambio de tipo para eventos existentes
             cmbTipoEvento.setDisable(true);
             
-            // Cargar organizadores
-            try {
-                List<Participacion> participaciones = eventoService.obtenerParticipaciones(eventoEditando.getId());
-                for (Participacion participacion : participaciones) {
-                    if (participacion.getRol() == RolParticipacion.ORGANIZADOR) {
-                        organizadoresSeleccionados.add(participacion.getPersona());
+            // Cargar organizadores en segundo plano
+            Long eventoId = eventoEditando.getId();
+            canalOrganizadores.ejecutar(() -> eventoService.obtenerParticipaciones(eventoId),
+                participaciones -> {
+                    for (Participacion participacion : participaciones) {
+                        if (participacion.getRol() == RolParticipacion.ORGANIZADOR) {
+                            organizadoresSeleccionados.add(participacion.getPersona());
+                        }
                     }
-                }
-            } catch (Exception e) {
-                mostrarError("Error al cargar organizadores: " + e.getMessage());
-            }
+                },
+                e -> mostrarError("Error al cargar organizadores: " + e.getMessage()));
         }
     }
     
@@ -576,14 +645,14 @@ public class FormularioEventoController implements Initializable {
         
         // Buscar el instructor entre las participaciones si el evento ya existe
         if (taller.getId() != null) {
-            try {
-                List<Participacion> participaciones = eventoService.buscarPorEventoYRol(taller.getId(), RolParticipacion.INSTRUCTOR);
-                if (!participaciones.isEmpty()) {
-                    cmbInstructor.setValue(participaciones.get(0).getPersona());
-                }
-            } catch (Exception e) {
-                mostrarError("Error al cargar instructor: " + e.getMessage());
-            }
+            canalRolEspecifico.ejecutar(
+                () -> eventoService.buscarPorEventoYRol(taller.getId(), RolParticipacion.INSTRUCTOR),
+                participaciones -> {
+                    if (!participaciones.isEmpty()) {
+                        seleccionarPersona(cmbInstructor, participaciones.get(0).getPersona());
+                    }
+                },
+                e -> mostrarError("Error al cargar instructor: " + e.getMessage()));
         }
     }
     
@@ -596,26 +665,25 @@ public class FormularioEventoController implements Initializable {
         
         // Buscar los artistas entre las participaciones si el evento ya existe
         if (concierto.getId() != null) {
-            try {
-                // Limpiar lista actual
-                artistasSeleccionados.clear();
-                
-                // Buscar artistas por participación
-                List<Participacion> participacionesArtistas = eventoService.buscarPorEventoYRol(concierto.getId(), RolParticipacion.ARTISTA);
-                
-                // Agregar cada artista a la lista
-                for (Participacion participacion : participacionesArtistas) {
-                    artistasSeleccionados.add(participacion.getPersona());
-                }
-                
-                // Actualizar tabla
-                tablaArtistas.refresh();
-                
-                // Actualizar mensaje informativo
-                actualizarMensajeInfoArtistas();
-            } catch (Exception e) {
-                mostrarError("Error al cargar artistas: " + e.getMessage());
-            }
+            // Limpiar lista actual
+            artistasSeleccionados.clear();
+            
+            // Buscar artistas por participación en segundo plano
+            canalRolEspecifico.ejecutar(
+                () -> eventoService.buscarPorEventoYRol(concierto.getId(), RolParticipacion.ARTISTA),
+                participacionesArtistas -> {
+                    // Agregar cada artista a la lista
+                    for (Participacion participacion : participacionesArtistas) {
+                        artistasSeleccionados.add(participacion.getPersona());
+                    }
+                    
+                    // Actualizar tabla
+                    tablaArtistas.refresh();
+                    
+                    // Actualizar mensaje informativo
+                    actualizarMensajeInfoArtistas();
+                },
+                e -> mostrarError("Error al cargar artistas: " + e.getMessage()));
         }
     }
     
@@ -628,14 +696,14 @@ public class FormularioEventoController implements Initializable {
         
         // Buscar el curador entre las participaciones si el evento ya existe
         if (exposicion.getId() != null) {
-            try {
-                List<Participacion> participaciones = eventoService.buscarPorEventoYRol(exposicion.getId(), RolParticipacion.CURADOR);
-                if (!participaciones.isEmpty()) {
-                    cmbCurador.setValue(participaciones.get(0).getPersona());
-                }
-            } catch (Exception e) {
-                mostrarError("Error al cargar curador: " + e.getMessage());
-            }
+            canalRolEspecifico.ejecutar(
+                () -> eventoService.buscarPorEventoYRol(exposicion.getId(), RolParticipacion.CURADOR),
+                participaciones -> {
+                    if (!participaciones.isEmpty()) {
+                        seleccionarPersona(cmbCurador, participaciones.get(0).getPersona());
+                    }
+                },
+                e -> mostrarError("Error al cargar curador: " + e.getMessage()));
         }
     }
     
@@ -697,12 +765,33 @@ public class FormularioEventoController implements Initializable {
         gridFeria.setManaged(false);
     }
     
+    /**
+     * Personas de un rol propio del tipo de evento (instructor, artistas o curador) que
+     * reemplazan a las que el evento tenía con ese rol.
+     * @param rol Rol a asignar
+     * @param personas Personas con ese rol
+     */
+    private record AsignacionRol(RolParticipacion rol, List<Persona> personas) {
+    }
+    
+    /**
+     * Resultado del guardado en segundo plano.
+     * @param evento Evento guardado
+     * @param advertencia Problema al asignar el rol específico, o null
+     */
+    private record ResultadoGuardado(Evento evento, String advertencia) {
+    }
+    
     /**
      * Guarda el evento actual, ya sea creando uno nuevo o actualizando uno existente.
+     * La validación y el armado del evento se hacen en el hilo de JavaFX; el guardado
+     * y la asignación de participaciones, en segundo plano.
      * @param event El evento de acción
      */
     @FXML
     private void guardar(ActionEvent event) {
+        Evento eventoGuardar;
+        AsignacionRol asignacion;
         try {
             // Validar campos generales
             if (!validarCamposGenerales()) {
@@ -716,72 +805,126 @@ public class FormularioEventoController implements Initializable {
             EstadoEvento estadoEvento = cmbEstadoEvento.getValue();
             boolean permiteInscripcion = chkPermiteInscripcion.isSelected();
             
-            // Crear evento según tipo seleccionado
-            Evento eventoGuardar = null;
-            String tipoSeleccionado = cmbTipoEvento.getValue();
+            // Armar el evento según tipo seleccionado (validarCamposGenerales exige un tipo)
+            eventoGuardar = switch (cmbTipoEvento.getValue()) {
+                case "Cine" -> armarCine(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
+                case "Taller" -> armarTaller(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
+                case "Concierto" -> armarConcierto(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
+                case "Exposición" -> armarExposicion(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
+                case "Feria" -> armarFeria(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
+                default -> null;
+            };
             
-            if (tipoSeleccionado != null) {
-                switch (tipoSeleccionado) {
-                    case "Cine" -> eventoGuardar = guardarCine(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
-                    case "Taller" -> eventoGuardar = guardarTaller(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
-                    case "Concierto" -> eventoGuardar = guardarConcierto(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
-                    case "Exposición" -> eventoGuardar = guardarExposicion(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
-                    case "Feria" -> eventoGuardar = guardarFeria(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion);
-                }
-                
-                // Si el proceso de guardar específico devolvió null, detener el proceso
-                if (eventoGuardar == null) {
-                    return;
-                }
-                
-                // Guardar el evento usando el servicio
-                Evento eventoGuardado = eventoService.guardar(eventoGuardar);
-                
-                // Luego de guardar el evento, añadir:
-                if (eventoGuardado != null) {
-                    // Agregar organizadores
-                    for (Persona organizador : organizadoresSeleccionados) {
-                        try {
-                            eventoService.agregarParticipacion(eventoGuardado.getId(), organizador, RolParticipacion.ORGANIZADOR);
-                        } catch (IllegalArgumentException e) {
-                            // Si ya existe la participación, ignorar el error
-                            if (!e.getMessage().contains("ya está inscrita")) {
-                                throw e;
-                            }
-                        }
-                    }
-
-                    // Actualizar lista en el controlador principal
-                    if (listaEventosController != null) {
-                        listaEventosController.actualizarTabla();
-                    }
-                    
-                    // Mostrar mensaje de éxito
-                    mostrarMensajeExito(eventoGuardado);
-                    
-                    // Cerrar ventana
-                    cerrarVentana();
-                } else {
-                    mostrarError("No se pudo guardar el evento");
-                }
-            } else {
-                mostrarError("Debe seleccionar un tipo de evento");
+            // Si la validación específica falló, detener el proceso
+            if (eventoGuardar == null) {
+                return;
             }
             
+            asignacion = switch (cmbTipoEvento.getValue()) {
+                case "Taller" -> new AsignacionRol(RolParticipacion.INSTRUCTOR, List.of(cmbInstructor.getValue()));
+                case "Concierto" -> new AsignacionRol(RolParticipacion.ARTISTA, List.copyOf(artistasSeleccionados));
+                case "Exposición" -> new AsignacionRol(RolParticipacion.CURADOR, List.of(cmbCurador.getValue()));
+                default -> null;
+            };
         } catch (NumberFormatException e) {
             lblError.setText("Error en formato numérico: " + e.getMessage());
+            return;
         } catch (IllegalArgumentException e) {
             lblError.setText(e.getMessage());
-        } catch (Exception e) {
-            lblError.setText("Error al guardar: " + e.getMessage());
-            e.printStackTrace();
+            return;
+        }
+        
+        // Copiar lo que se usa en segundo plano
+        List<Persona> organizadores = List.copyOf(organizadoresSeleccionados);
+        boolean edicion = esEdicion;
+        
+        btnGuardar.setDisable(true);
+        lblError.setText("");
+        
+        canalGuardado.ejecutar(() -> {
+            // Guardar el evento usando el servicio
+            Evento eventoGuardado = eventoService.guardar(eventoGuardar);
+            
+            // Asignar las personas del rol específico; si falla, el evento queda guardado igual
+            String advertencia = null;
+            if (asignacion != null) {
+                try {
+                    reemplazarRol(eventoGuardado.getId(), asignacion, edicion);
+                } catch (Exception e) {
+                    advertencia = "Error al asignar " + asignacion.rol().toString().toLowerCase() + ": " + e.getMessage();
+                }
+            }
+            
+            // Agregar organizadores
+            for (Persona organizador : organizadores) {
+                try {
+                    eventoService.agregarParticipacion(eventoGuardado.getId(), organizador, RolParticipacion.ORGANIZADOR);
+                } catch (IllegalArgumentException e) {
+                    // Si ya existe la participación, ignorar el error
+                    if (!e.getMessage().contains("ya está inscrita")) {
+                        throw e;
+                    }
+                }
+            }
+            return new ResultadoGuardado(eventoGuardado, advertencia);
+        },
+        resultado -> {
+            
+            // Actualizar lista en el controlador principal
+            if (listaEventosController != null) {
+                listaEventosController.actualizarTabla();
+            }
+            
+            // Mostrar mensaje de éxito (y el problema con el rol, si lo hubo)
+            mostrarMensajeExito(resultado.evento());
+            if (resultado.advertencia() != null) {
+                Alert alert = new Alert(Alert.AlertType.WARNING);
+                alert.setTitle("Evento guardado con advertencias");
+                alert.setHeaderText(null);
+                alert.setContentText(resultado.advertencia());
+                alert.showAndWait();
+            }
+            
+            // Cerrar ventana
+            cerrarVentana();
+        },
+        e -> {
+            btnGuardar.setDisable(false);
+            if (e instanceof IllegalArgumentException) {
+                lblError.setText(e.getMessage());
+            } else {
+                lblError.setText("Error al guardar: " + e.getMessage());
+                e.printStackTrace();
+            }
+        });
+    }
+    
+    /**
+     * Reemplaza las participaciones del rol específico del evento por las personas
+     * elegidas en el formulario. Se ejecuta en segundo plano desde {@link #guardar(ActionEvent)}.
+     * @param eventoId Evento ya guardado
+     * @param asignacion Rol y personas a asignar
+     * @param edicion Si el evento ya existía (y puede tener personas con ese rol)
+     */
+    private void reemplazarRol(Long eventoId, AsignacionRol asignacion, boolean edicion) {
+        // Si es edición, eliminar las personas anteriores con ese rol
+        if (edicion) {
+            for (Participacion p : eventoService.buscarPorEventoYRol(eventoId, asignacion.rol())) {
+                eventoService.eliminarParticipacion(eventoId, p.getPersona().getId());
+            }
+        }
+        
+        // Agregar las personas elegidas como participaciones
+        for (Persona persona : asignacion.personas()) {
+            eventoService.agregarParticipacion(eventoId, persona, asignacion.rol());
         }
     }
     
     /**
-     * Crea o actualiza un evento de tipo Cine.
+     * Arma un evento de tipo Cine nuevo o actualiza el que se está editando.
+     * @return El evento, o null si los campos específicos no son válidos
      */
-    private Evento guardarCine(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
+    private Evento armarCine(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
         if (!validarCamposCine()) {
             return null;
         }
@@ -807,22 +950,21 @@ public class FormularioEventoController implements Initializable {
     }
     
     /**
-     * Crea o actualiza un evento de tipo Taller.
+     * Arma un evento de tipo Taller nuevo o actualiza el que se está editando.
+     * El instructor se asigna al guardar.
+     * @return El evento, o null si los campos específicos no son válidos
      */
-    private Evento guardarTaller(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
+    private Evento armarTaller(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
         if (!validarCamposTaller()) {
             return null;
         }
         
         int cupoMaximo = Integer.parseInt(txtCupoMaximo.getText().trim());
         Modalidad modalidad = cmbModalidad.getValue();
-        Persona instructor = cmbInstructor.getValue();
-        
-        Taller taller;
         
         if (esEdicion && eventoEditando instanceof Taller) {
             // Actualizar existente
-            taller = (Taller) eventoEditando;
+            Taller taller = (Taller) eventoEditando;
             taller.setNombre(nombre);
             taller.setFechaInicio(fechaInicio);
             taller.setDuracionEstimada(duracionEstimada);
@@ -830,133 +972,74 @@ public class FormularioEventoController implements Initializable {
             taller.setPermiteInscripcion(permiteInscripcion);
             taller.setCupoMaximo(cupoMaximo);
             taller.setModalidad(modalidad);
+            return taller;
         } else {
             // Crear nuevo
-            taller = new Taller(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion, cupoMaximo, modalidad);
+            return new Taller(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion, cupoMaximo, modalidad);
         }
-        
-        // Guardar primero el evento para que tenga un ID
-        Taller tallerGuardado = (Taller) eventoService.guardar(taller);
-        
-        try {
-            // Si es edición, eliminar el instructor anterior si existe
-            if (esEdicion) {
-                List<Participacion> participacionesInstructor = eventoService.buscarPorEventoYRol(tallerGuardado.getId(), RolParticipacion.INSTRUCTOR);
-                for (Participacion p : participacionesInstructor) {
-                    eventoService.eliminarParticipacion(tallerGuardado.getId(), p.getPersona().getId());
-                }
-            }
-            
-            // Agregar el instructor como participación
-            eventoService.agregarParticipacion(tallerGuardado.getId(), instructor, RolParticipacion.INSTRUCTOR);
-        } catch (Exception e) {
-            mostrarError("Error al asignar el instructor: " + e.getMessage());
-        }
-        
-        return tallerGuardado;
     }
     
     /**
-     * Crea o actualiza un evento de tipo Concierto.
+     * Arma un evento de tipo Concierto nuevo o actualiza el que se está editando.
+     * Los artistas se asignan al guardar.
+     * @return El evento, o null si los campos específicos no son válidos
      */
-    private Evento guardarConcierto(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
+    private Evento armarConcierto(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
         if (!validarCamposConcierto()) {
             return null;
         }
         
         TipoEntrada tipoEntrada = cmbTipoEntrada.getValue();
         
-        Concierto concierto;
-        
         if (esEdicion && eventoEditando instanceof Concierto) {
             // Actualizar existente
-            concierto = (Concierto) eventoEditando;
+            Concierto concierto = (Concierto) eventoEditando;
             concierto.setNombre(nombre);
             concierto.setFechaInicio(fechaInicio);
             concierto.setDuracionEstimada(duracionEstimada);
             concierto.setEstadoEvento(estadoEvento);
             concierto.setPermiteInscripcion(permiteInscripcion);
             concierto.setTipoEntrada(tipoEntrada);
+            return concierto;
         } else {
             // Crear nuevo
-            concierto = new Concierto(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion, tipoEntrada);
-        }
-        
-        // Guardar primero el evento para que tenga un ID
-        Concierto conciertoGuardado = (Concierto) eventoService.guardar(concierto);
-        
-        try {
-            // Si es edición, eliminar los artistas anteriores
-            if (esEdicion) {
-                List<Participacion> participacionesArtistas = eventoService.buscarPorEventoYRol(conciertoGuardado.getId(), RolParticipacion.ARTISTA);
-                for (Participacion p : participacionesArtistas) {
-                    eventoService.eliminarParticipacion(conciertoGuardado.getId(), p.getPersona().getId());
-                }
-            }
-            
-            // Agregar los artistas como participaciones
-            for (Persona artista : artistasSeleccionados) {
-                eventoService.agregarParticipacion(conciertoGuardado.getId(), artista, RolParticipacion.ARTISTA);
-            }
-        } catch (Exception e) {
-            mostrarError("Error al asignar artistas: " + e.getMessage());
+            return new Concierto(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion, tipoEntrada);
         }
-        
-        return conciertoGuardado;
     }
     
     /**
-     * Crea o actualiza un evento de tipo Exposición.
+     * Arma un evento de tipo Exposición nuevo o actualiza el que se está editando.
+     * El curador se asigna al guardar.
+     * @return El evento, o null si los campos específicos no son válidos
      */
-    private Evento guardarExposicion(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
+    private Evento armarExposicion(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
         if (!validarCamposExposicion()) {
             return null;
         }
         
         TipoArte tipoArte = cmbTipoArte.getValue();
-        Persona curador = cmbCurador.getValue();
-        
-        Exposicion exposicion;
         
         if (esEdicion && eventoEditando instanceof Exposicion) {
             // Actualizar existente
-            exposicion = (Exposicion) eventoEditando;
+            Exposicion exposicion = (Exposicion) eventoEditando;
             exposicion.setNombre(nombre);
             exposicion.setFechaInicio(fechaInicio);
             exposicion.setDuracionEstimada(duracionEstimada);
             exposicion.setEstadoEvento(estadoEvento);
             exposicion.setPermiteInscripcion(permiteInscripcion);
             exposicion.setTipoArte(tipoArte);
+            return exposicion;
         } else {
             // Crear nuevo
-            exposicion = new Exposicion(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion, tipoArte);
+            return new Exposicion(nombre, fechaInicio, duracionEstimada, estadoEvento, permiteInscripcion, tipoArte);
         }
-        
-        // Guardar primero el evento para que tenga un ID
-        Exposicion exposicionGuardada = (Exposicion) eventoService.guardar(exposicion);
-        
-        try {
-            // Si es edición, eliminar el curador anterior si existe
-            if (esEdicion) {
-                List<Participacion> participacionesCurador = eventoService.buscarPorEventoYRol(exposicionGuardada.getId(), RolParticipacion.CURADOR);
-                for (Participacion p : participacionesCurador) {
-                    eventoService.eliminarParticipacion(exposicionGuardada.getId(), p.getPersona().getId());
-                }
-            }
-            
-            // Agregar el curador como participación
-            eventoService.agregarParticipacion(exposicionGuardada.getId(), curador, RolParticipacion.CURADOR);
-        } catch (Exception e) {
-            mostrarError("Error al asignar el curador: " + e.getMessage());
-        }
-        
-        return exposicionGuardada;
     }
     
     /**
-     * Crea o actualiza un evento de tipo Feria.
+     * Arma un evento de tipo Feria nuevo o actualiza el que se está editando.
+     * @return El evento, o null si los campos específicos no son válidos
      */
-    private Evento guardarFeria(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
+    private Evento armarFeria(String nombre, LocalDate fechaInicio, int duracionEstimada, EstadoEvento estadoEvento, boolean permiteInscripcion) {
         if (!validarCamposFeria()) {
             return null;
         }
@@ -988,7 +1071,7 @@ public class FormularioEventoController implements Initializable {
     // Método utilitario para limpiar estilos de cualquier cantidad de campos
     private void limpiarEstilosCampos(Control... controles) {
         for (Control c : controles) {
-            c.getStyleClass().remove("campo-invalido");
+            c.getStyleClass().removeAll("campo-invalido");
         }
     }
 
@@ -1,26 +1,24 @@
 package com.gestioneventos.controller.eventos;
 
 import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.eventos.EventoResumen;
 import com.gestioneventos.controller.participaciones.ListaParticipacionesController;
-import com.gestioneventos.model.eventos.Cine;
-import com.gestioneventos.model.eventos.Taller;
 import com.gestioneventos.service.ServicioEvento;
-import com.gestioneventos.model.eventos.Concierto;
-import com.gestioneventos.model.eventos.Exposicion;
-import com.gestioneventos.model.eventos.Feria;
+import com.gestioneventos.util.BusquedaIncremental;
+import com.gestioneventos.util.CargadorPaginado;
 import com.gestioneventos.util.DateUtils;
+import com.gestioneventos.util.EjecutorAsincrono;
+import com.gestioneventos.util.RegistroVistas;
 
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
+import javafx.collections.ListChangeListener;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
 //import javafx.scene.input.MouseEvent;
 import javafx.stage.Modality;
 import javafx.stage.Stage;
@@ -32,23 +30,24 @@ import java.time.LocalDate;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
+import java.util.function.Consumer;
 
 /**
  * Controlador para la vista de listado de eventos.
  * Permite visualizar, filtrar, crear, editar y eliminar eventos.
  */
-public class ListaEventosController implements Initializable {
+public class ListaEventosController implements Initializable, RegistroVistas.Reutilizable {
 
     // Elementos de la interfaz
-    @FXML private TableView<Evento> tablaEventos;
-    @FXML private TableColumn<Evento, Long> colId;
-    @FXML private TableColumn<Evento, String> colNombre;
-    @FXML private TableColumn<Evento, String> colTipoEvento;
-    @FXML private TableColumn<Evento, String> colFechaInicio;
-    @FXML private TableColumn<Evento, Integer> colDuracion;
-    @FXML private TableColumn<Evento, String> colEstado;
-    @FXML private TableColumn<Evento, String> colDetalle;
-    @FXML private TableColumn<Evento, String> colPermiteInscripcion;
+    @FXML private TableView<EventoResumen> tablaEventos;
+    @FXML private TableColumn<EventoResumen, Long> colId;
+    @FXML private TableColumn<EventoResumen, String> colNombre;
+    @FXML private TableColumn<EventoResumen, String> colTipoEvento;
+    @FXML private TableColumn<EventoResumen, String> colFechaInicio;
+    @FXML private TableColumn<EventoResumen, Integer> colDuracion;
+    @FXML private TableColumn<EventoResumen, String> colEstado;
+    @FXML private TableColumn<EventoResumen, String> colDetalle;
+    @FXML private TableColumn<EventoResumen, String> colPermiteInscripcion;
     
     // Acciones
     @FXML private TextField txtBuscarNombre;
@@ -61,7 +60,24 @@ public class ListaEventosController implements Initializable {
     private final ServicioEvento eventoService;
     
     // Lista de eventos observable para la tabla
-    private ObservableList<Evento> eventosObservable;
+    private ObservableList<EventoResumen> eventosObservable;
+    
+    // Cantidad de eventos que se piden por página al desplazarse
+    private static final int TAMANIO_PAGINA = 100;
+    
+    // Carga perezosa de la tabla por páginas
+    private CargadorPaginado<EventoResumen> cargador;
+    
+    // Búsquedas en segundo plano (una nueva búsqueda descarta la anterior)
+    private final EjecutorAsincrono.Canal canalBusqueda = new EjecutorAsincrono.Canal();
+    
+    // Búsqueda mientras se escribe; los refinamientos se filtran en memoria
+    private BusquedaIncremental<EventoResumen> busqueda;
+    
+    // Carga de un evento para editarlo o ver sus participantes: mientras dura no se aceptan otras
+    private boolean cargandoEvento;
+    
+    private static final String VISTA_FORMULARIO = "/fxml/eventos/FormularioEventoView.fxml";
 
     /**
      * Constructor que inicializa el servicio.
@@ -86,6 +102,15 @@ public class ListaEventosController implements Initializable {
         btnEliminarEvento.setDisable(true);
         btnVerParticipantes.setDisable(true);
 
+        // Configurar la carga por páginas de la tabla
+        tablaEventos.setItems(eventosObservable);
+        cargador = new CargadorPaginado<>(tablaEventos, eventosObservable, TAMANIO_PAGINA, eventoService::buscarPaginaResumen,
+            "No hay eventos registrados",
+            e -> mostrarMensajeError("Error al cargar eventos", "No se pudieron cargar los eventos: " + e.getMessage()));
+
+        // Configurar la búsqueda por nombre mientras se escribe
+        configurarBusqueda();
+
         // Cargar datos iniciales
         cargarEventos();
     }
@@ -94,82 +119,41 @@ public class ListaEventosController implements Initializable {
      * Configura las columnas de la tabla.
      */
     private void configurarColumnas() {
-        colId.setCellValueFactory(new PropertyValueFactory<>("id"));
-        colNombre.setCellValueFactory(new PropertyValueFactory<>("nombre"));
+        // Las filas son proyecciones (records): cada columna lee su componente
+        colId.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().id()));
+        colNombre.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().nombre()));
         
-        // Columna tipo de evento (determinada por la clase)
-        colTipoEvento.setCellValueFactory(cellData -> {
-            Evento evento = cellData.getValue();
-            String tipoEvento = "Desconocido";
-            
-            if (evento instanceof Cine) tipoEvento = "Cine";
-            else if (evento instanceof Taller) tipoEvento = "Taller";
-            else if (evento instanceof Concierto) tipoEvento = "Concierto";
-            else if (evento instanceof Exposicion) tipoEvento = "Exposición";
-            else if (evento instanceof Feria) tipoEvento = "Feria";
-            
-            return new SimpleStringProperty(tipoEvento);
-        });
+        // Columna tipo de evento (calculado en la consulta a partir de la clase)
+        colTipoEvento.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().tipo()));
         
         // Formato de fecha
         colFechaInicio.setCellValueFactory(cellData -> {
-            LocalDate fecha = cellData.getValue().getFechaInicio();
+            LocalDate fecha = cellData.getValue().fechaInicio();
             return new SimpleStringProperty(DateUtils.formatLocalDate(fecha));
         });
         
-        colDuracion.setCellValueFactory(new PropertyValueFactory<>("duracionEstimada"));
-        colEstado.setCellValueFactory(new PropertyValueFactory<>("estadoEvento"));
+        colDuracion.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().duracionEstimada()));
+        colEstado.setCellValueFactory(cellData -> new SimpleStringProperty(String.valueOf(cellData.getValue().estadoEvento())));
         
         // Columna permite inscripción
-        colPermiteInscripcion.setCellValueFactory(cellData -> {
-            boolean permiteInscripcion = cellData.getValue().getPermiteInscripcion();
-            return new SimpleStringProperty(permiteInscripcion ? "Sí" : "No");
-        });
+        colPermiteInscripcion.setCellValueFactory(cellData -> 
+            new SimpleStringProperty(cellData.getValue().permiteInscripcion() ? "Sí" : "No"));
         
-        // Columna de detalle específico
-        // En el método configurarColumnas() de ListaEventosController
-        colDetalle.setCellValueFactory(cellData -> {
-            Evento evento = cellData.getValue();
-            String detalle = "";
-            
-            try {
-                if (evento instanceof Cine) {
-                    Cine cine = (Cine) evento;
-                    detalle = "Película: " + cine.getTituloPelicula();
-                } else if (evento instanceof Taller) {
-                    Taller taller = (Taller) evento;
-                    detalle = "Cupo: " + taller.getCupoMaximo() + ", " + taller.getModalidad();
-                } else if (evento instanceof Concierto) {
-                    Concierto concierto = (Concierto) evento;
-                    // Usar el método getArtistasComoTexto que maneja posibles errores de lazy loading
-                    detalle = "Artistas: " + concierto.getArtistasComoTexto();
-                } else if (evento instanceof Exposicion) {
-                    Exposicion exposicion = (Exposicion) evento;
-                    detalle = "Arte: " + exposicion.getTipoArte();
-                } else if (evento instanceof Feria) {
-                    Feria feria = (Feria) evento;
-                    detalle = "Stands: " + feria.getCantidadStands();
-                }
-            } catch (Exception e) {
-                // Si hay algún error (como LazyInitializationException), mostrar mensaje genérico
-                detalle = "Detalles no disponibles";
-            }
-            
-            return new SimpleStringProperty(detalle);
-        });
+        // Columna de detalle específico (armado en el repositorio, incluidos los artistas de los conciertos)
+        colDetalle.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().detalle()));
     }
     
     /**
      * Configura el comportamiento de selección de la tabla.
      */
     private void configurarSeleccionTabla() {
-        // Habilitar/deshabilitar botones según selección
-        tablaEventos.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
-            boolean haySeleccion = newSelection != null;
-            btnEditarEvento.setDisable(!haySeleccion);
-            btnEliminarEvento.setDisable(!haySeleccion);
-            btnVerParticipantes.setDisable(!haySeleccion);
-        });
+        // Permitir seleccionar varios eventos (con Ctrl/Shift) para eliminarlos juntos
+        tablaEventos.getSelectionModel().setSelectionMode(SelectionMode.MULTIPLE);
+        
+        // Habilitar/deshabilitar botones según selección:
+        // editar y ver participantes requieren un único evento, eliminar admite varios
+        tablaEventos.getSelectionModel().getSelectedItems().addListener(
+                (ListChangeListener<EventoResumen>) cambio -> actualizarBotones());
         
         // Doble clic para editar
         tablaEventos.setOnMouseClicked(event -> {
@@ -180,23 +164,53 @@ public class ListaEventosController implements Initializable {
     }
     
     /**
-     * Carga todos los eventos en la tabla.
+     * Habilita los botones según la selección. Editar y ver participantes requieren un único
+     * evento y esperan a que termine la carga de uno en curso.
+     */
+    private void actualizarBotones() {
+        int seleccionados = tablaEventos.getSelectionModel().getSelectedItems().size();
+        btnEditarEvento.setDisable(cargandoEvento || seleccionados != 1);
+        btnEliminarEvento.setDisable(seleccionados == 0);
+        btnVerParticipantes.setDisable(cargandoEvento || seleccionados != 1);
+    }
+    
+    /**
+     * Configura la búsqueda por nombre: se actualiza con cada cambio del campo de texto.
+     * El criterio en memoria es el mismo de la consulta (el nombre contiene el texto).
+     */
+    private void configurarBusqueda() {
+        busqueda = new BusquedaIncremental<>(canalBusqueda, eventoService::buscarResumenPorNombre,
+            (evento, texto) -> evento.nombre() != null
+                && evento.nombre().toLowerCase().contains(texto.toLowerCase()),
+            eventosFiltrados -> {
+                // Mostrar mensaje si no hay resultados
+                tablaEventos.setPlaceholder(new Label(eventosFiltrados.isEmpty()
+                    ? "No se encontraron eventos con el nombre \"" + txtBuscarNombre.getText().trim() + "\""
+                    : ""));
+            },
+            e -> {
+                e.printStackTrace();
+                mostrarMensajeError("Error al buscar", "No se pudieron buscar eventos: " + e.getMessage());
+            });
+        
+        // Indicador de progreso mientras se espera la consulta
+        busqueda.cargandoProperty().addListener((obs, antes, cargando) -> {
+            if (cargando) {
+                tablaEventos.setPlaceholder(new ProgressIndicator());
+            }
+        });
+        
+        txtBuscarNombre.textProperty().addListener((obs, anterior, nuevo) -> buscarPorNombre(null));
+    }
+    
+    /**
+     * Carga la primera página de eventos en la tabla; el resto se carga al desplazarse.
      */
     private void cargarEventos() {
-        try {
-            List<Evento> eventos = eventoService.buscarTodos();
-            eventosObservable.clear();
-            eventosObservable.addAll(eventos);
-            tablaEventos.setItems(eventosObservable);
-            
-            // Actualizar estado de los botones
-            boolean hayEventos = !eventos.isEmpty();
-            tablaEventos.setPlaceholder(new Label(hayEventos ? "" : "No hay eventos registrados"));
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            mostrarMensajeError("Error al cargar eventos", "No se pudieron cargar los eventos: " + e.getMessage());
-        }
+        // Descartar una búsqueda pendiente y volver al listado completo
+        busqueda.cancelar();
+        tablaEventos.setItems(eventosObservable);
+        cargador.reiniciar();
     }
 
     @FXML
@@ -208,23 +222,12 @@ public class ListaEventosController implements Initializable {
             return;
         }
         
-        try {
-            // Usar el método del servicio para buscar por nombre
-            List<Evento> eventosFiltrados = eventoService.buscarPorNombre(nombreBuscado);
-            
-            // Actualizar la tabla con los resultados
-            eventosObservable.clear();
-            eventosObservable.addAll(eventosFiltrados);
-            
-            // Mostrar mensaje si no hay resultados
-            if (eventosFiltrados.isEmpty()) {
-                tablaEventos.setPlaceholder(new Label("No se encontraron eventos con el nombre \"" + nombreBuscado + "\""));
-            }
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            mostrarMensajeError("Error al buscar", "No se pudieron buscar eventos: " + e.getMessage());
+        // Mostrar los resultados de la búsqueda (sin carga por páginas mientras se filtra)
+        if (tablaEventos.getItems() != busqueda.getResultados()) {
+            cargador.detener();
+            tablaEventos.setItems(busqueda.getResultados());
         }
+        busqueda.buscar(nombreBuscado);
     }
     
 
@@ -234,27 +237,14 @@ public class ListaEventosController implements Initializable {
     @FXML
     private void nuevoEvento(ActionEvent event) {
         try {
-            // Cargamos la vista del formulario
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/eventos/FormularioEventoView.fxml"));
-            Parent root = loader.load();
+            // Obtenemos el formulario (reiniciado si ya se había abierto)
+            RegistroVistas.Vista<FormularioEventoController> vista = obtenerFormulario();
             
-            // Obtenemos el controlador y le pasamos referencia a este controlador
-            FormularioEventoController controller = loader.getController();
-            controller.setListaEventosController(this);
+            // Le pasamos referencia a este controlador
+            vista.controlador().setListaEventosController(this);
 
-            Stage stage = new Stage();
+            Stage stage = vista.ventana();
             stage.setTitle("Nuevo Evento");
-            Scene scene = new Scene(root);
-            
-            // Agrega la hoja de estilos si existe
-            try {
-                scene.getStylesheets().add(getClass().getResource("/css/eventos/styles-formularioevento.css").toExternalForm());
-            } catch (Exception e) {
-                System.out.println("CSS no encontrado: " + e.getMessage());
-            }
-            
-            stage.setScene(scene);
-            stage.initModality(Modality.APPLICATION_MODAL);
             stage.showAndWait();
             
         } catch (IOException e) {
@@ -275,35 +265,32 @@ public class ListaEventosController implements Initializable {
      * Método auxiliar para editar el evento seleccionado.
      */
     private void editarEventoSeleccionado() {
-        Evento eventoSeleccionado = tablaEventos.getSelectionModel().getSelectedItem();
+        EventoResumen eventoSeleccionado = tablaEventos.getSelectionModel().getSelectedItem();
         if (eventoSeleccionado == null) {
             mostrarMensajeError("Error", "Debe seleccionar un evento para editar");
             return;
         }
         
+        cargarEventoCompleto(eventoSeleccionado, this::abrirFormularioEdicion);
+    }
+    
+    /**
+     * Abre el formulario de edición para un evento ya cargado.
+     */
+    private void abrirFormularioEdicion(Evento eventoSeleccionado) {
+        // Si el formulario ya está abierto no se reinicia: se perdería lo ingresado
+        if (RegistroVistas.estaAbierta(VISTA_FORMULARIO)) {
+            return;
+        }
         try {
-            // Cargamos la vista del formulario
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/eventos/FormularioEventoView.fxml"));
-            Parent root = loader.load();
-            
-            // Obtenemos el controlador, pasamos referencias y el evento a editar
-            FormularioEventoController controller = loader.getController();
+            // Obtenemos el formulario, pasamos referencias y el evento a editar
+            RegistroVistas.Vista<FormularioEventoController> vista = obtenerFormulario();
+            FormularioEventoController controller = vista.controlador();
             controller.setListaEventosController(this);
             controller.setEvento(eventoSeleccionado);
 
-            Stage stage = new Stage();
+            Stage stage = vista.ventana();
             stage.setTitle("Editar Evento");
-            Scene scene = new Scene(root);
-            
-            // Agrega la hoja de estilos si existe
-            try {
-                scene.getStylesheets().add(getClass().getResource("/css/eventos/styles-formularioevento.css").toExternalForm());
-            } catch (Exception e) {
-                System.out.println("CSS no encontrado: " + e.getMessage());
-            }
-            
-            stage.setScene(scene);
-            stage.initModality(Modality.APPLICATION_MODAL);
             stage.showAndWait();
             
         } catch (IOException e) {
@@ -313,12 +300,20 @@ public class ListaEventosController implements Initializable {
     }
     
     /**
-     * Elimina el evento seleccionado.
+     * Obtiene el formulario de eventos, el mismo para crear y para editar. Su FXML ya
+     * incluye la hoja de estilos del formulario.
+     */
+    private RegistroVistas.Vista<FormularioEventoController> obtenerFormulario() throws IOException {
+        return RegistroVistas.obtener(VISTA_FORMULARIO, Modality.APPLICATION_MODAL, null);
+    }
+    
+    /**
+     * Elimina los eventos seleccionados junto con sus participaciones.
      */
     @FXML
     private void eliminarEvento(ActionEvent event) {
-        Evento eventoSeleccionado = tablaEventos.getSelectionModel().getSelectedItem();
-        if (eventoSeleccionado == null) {
+        List<EventoResumen> eventosSeleccionados = List.copyOf(tablaEventos.getSelectionModel().getSelectedItems());
+        if (eventosSeleccionados.isEmpty()) {
             mostrarMensajeError("Error", "Debe seleccionar un evento para eliminar");
             return;
         }
@@ -327,24 +322,36 @@ public class ListaEventosController implements Initializable {
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirmar eliminación");
         alert.setHeaderText(null);
-        alert.setContentText("¿Está seguro que desea eliminar el evento '" + eventoSeleccionado.getNombre() + "'?");
+        if (eventosSeleccionados.size() == 1) {
+            alert.setContentText("¿Está seguro que desea eliminar el evento '" + eventosSeleccionados.get(0).nombre() + "'?");
+        } else {
+            alert.setContentText("¿Está seguro que desea eliminar los " + eventosSeleccionados.size()
+                + " eventos seleccionados y todas sus participaciones?");
+        }
         
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                // Eliminar evento
-                boolean eliminado = eventoService.eliminar(eventoSeleccionado.getId());
-                if (eliminado) {
-                    actualizarTabla();
-                    mostrarMensajeInformacion("Evento eliminado", 
-                        "El evento ha sido eliminado correctamente.");
-                } else {
-                    mostrarMensajeError("Error", "No se pudo eliminar el evento");
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                mostrarMensajeError("Error al eliminar", e.getMessage());
-            }
+            List<Long> ids = eventosSeleccionados.stream().map(EventoResumen::id).toList();
+            
+            // Eliminar eventos en segundo plano, todos en una sola transacción
+            btnEliminarEvento.setDisable(true);
+            EjecutorAsincrono.ejecutar(() -> eventoService.eliminarVarios(ids),
+                eliminados -> {
+                    if (eliminados > 0) {
+                        actualizarTabla();
+                        mostrarMensajeInformacion(eliminados == 1 ? "Evento eliminado" : "Eventos eliminados", 
+                            eliminados == 1 ? "El evento ha sido eliminado correctamente."
+                                            : eliminados + " eventos han sido eliminados correctamente.");
+                    } else {
+                        btnEliminarEvento.setDisable(false);
+                        mostrarMensajeError("Error", "No se pudieron eliminar los eventos seleccionados");
+                    }
+                },
+                e -> {
+                    e.printStackTrace();
+                    btnEliminarEvento.setDisable(false);
+                    mostrarMensajeError("Error al eliminar", e.getMessage());
+                });
         }
     }
     
@@ -353,27 +360,31 @@ public class ListaEventosController implements Initializable {
      */
     @FXML
     private void verParticipantes() {
-        Evento eventoSeleccionado = tablaEventos.getSelectionModel().getSelectedItem();
+        EventoResumen eventoSeleccionado = tablaEventos.getSelectionModel().getSelectedItem();
         if (eventoSeleccionado == null) {
             mostrarMensajeError("Error", "Debe seleccionar un evento para ver sus participantes");
             return;
         }
 
+        cargarEventoCompleto(eventoSeleccionado, this::abrirParticipantes);
+    }
+    
+    /**
+     * Abre la ventana de participantes para un evento ya cargado.
+     */
+    private void abrirParticipantes(Evento eventoSeleccionado) {
         try {
-            // Cargar el FXML
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/participaciones/ListaParticipacionesView.fxml"));
-            Parent root = loader.load();
+            // Obtener la vista; bloquea la ventana de eventos, que es su ventana padre
+            RegistroVistas.Vista<ListaParticipacionesController> vista = RegistroVistas.obtener(
+                "/fxml/participaciones/ListaParticipacionesView.fxml",
+                Modality.WINDOW_MODAL, tablaEventos.getScene().getWindow());
             
-            // Obtener el controlador y pasar el evento seleccionado
-            ListaParticipacionesController controller = loader.getController();
-            controller.setEvento(eventoSeleccionado);
+            // Pasar el evento seleccionado
+            vista.controlador().setEvento(eventoSeleccionado);
             
-            // Configurar y mostrar la ventana
-            Stage stage = new Stage();
+            // Mostrar la ventana
+            Stage stage = vista.ventana();
             stage.setTitle("Participantes del evento: " + eventoSeleccionado.getNombre());
-            stage.setScene(new Scene(root));
-            stage.initModality(Modality.WINDOW_MODAL); // Bloquea la ventana principal
-            stage.initOwner(tablaEventos.getScene().getWindow()); // Establece la ventana padre
             stage.show();
         } catch (IOException e) {
             e.printStackTrace();
@@ -382,12 +393,60 @@ public class ListaEventosController implements Initializable {
         }
     }
 
+    /**
+     * Carga en segundo plano la entidad completa de una fila del listado, que solo
+     * tiene las columnas de la tabla, y la entrega en el hilo de JavaFX.
+     * @param fila Fila seleccionada
+     * @param alCargar Acción a realizar con el evento cargado
+     */
+    private void cargarEventoCompleto(EventoResumen fila, Consumer<Evento> alCargar) {
+        // Un doble clic seguido de Enter, o dos clics en Editar, piden la misma carga dos veces
+        if (cargandoEvento) {
+            return;
+        }
+        cargandoEvento = true;
+        actualizarBotones();
+        EjecutorAsincrono.ejecutar(() -> eventoService.buscarPorId(fila.id()),
+            evento -> {
+                cargandoEvento = false;
+                actualizarBotones();
+                if (evento.isPresent()) {
+                    alCargar.accept(evento.get());
+                } else {
+                    mostrarMensajeError("Error", "El evento '" + fila.nombre() + "' ya no existe");
+                    actualizarTabla();
+                }
+            },
+            e -> {
+                cargandoEvento = false;
+                actualizarBotones();
+                e.printStackTrace();
+                mostrarMensajeError("Error al cargar el evento", e.getMessage());
+            });
+    }
+
+    /**
+     * Vuelve la vista al estado inicial al reabrirla: sin búsqueda ni selección y con la
+     * primera página recargada, porque los eventos pudieron cambiar mientras estaba cerrada.
+     */
+    @Override
+    public void reiniciarVista() {
+        tablaEventos.getSelectionModel().clearSelection();
+        if (txtBuscarNombre.getText().isEmpty()) {
+            cargarEventos();
+        } else {
+            txtBuscarNombre.clear(); // Al vaciar el campo se vuelve a cargar el listado completo
+        }
+    }
+
     /**
      * Actualiza la tabla de eventos.
      * Este método es llamado desde otros controladores cuando se modifica un evento.
      */
     public void actualizarTabla() {
-        cargarEventos();
+        // Volver a consultar: los datos cambiaron y los resultados en memoria pueden estar desactualizados
+        busqueda.cancelar();
+        buscarPorNombre(null);
     }
     
     /**
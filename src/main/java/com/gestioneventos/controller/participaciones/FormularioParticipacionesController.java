@@ -11,7 +11,10 @@ import com.gestioneventos.model.participaciones.RolParticipacion;
 import com.gestioneventos.model.personas.Persona;
 import com.gestioneventos.service.ServicioParticipacion;
 import com.gestioneventos.service.ServicioPersona;
+import com.gestioneventos.util.BusquedaEnComboBox;
 import com.gestioneventos.util.DateUtils;
+import com.gestioneventos.util.EjecutorAsincrono;
+import com.gestioneventos.util.RegistroVistas;
 
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
@@ -24,6 +27,7 @@ import javafx.util.Callback;
 
 import java.net.URL;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.ResourceBundle;
 import java.util.stream.Collectors;
@@ -33,7 +37,7 @@ import java.util.stream.Collectors;
  * Este formulario permite seleccionar personas y agregarlas como participantes
  * con el rol fijo de PARTICIPANTE.
  */
-public class FormularioParticipacionesController implements Initializable {
+public class FormularioParticipacionesController implements Initializable, RegistroVistas.Reutilizable {
 
     // Elementos de información del evento
     @FXML private Label lblTitulo;
@@ -66,6 +70,9 @@ public class FormularioParticipacionesController implements Initializable {
     
     // Controlador para actualizar después de agregar participantes
     private ListaParticipacionesController listaController;
+    
+    // Carga de personas disponibles en segundo plano (una recarga descarta la anterior)
+    private final EjecutorAsincrono.Canal canalPersonas = new EjecutorAsincrono.Canal();
 
     /**
      * Constructor que inicializa los servicios.
@@ -97,6 +104,9 @@ public class FormularioParticipacionesController implements Initializable {
         btnAgregar.setOnAction(event -> agregarParticipantes());
         btnCancelar.setOnAction(event -> cancelar());
         
+        // Filtrar el ComboBox al escribir; solo se muestran personas disponibles (las cargadas en el ComboBox)
+        BusquedaEnComboBox.habilitar(cmbPersonas, personaService::buscar, Persona::getId);
+        
         // Establecer estilo para el label de información
         lblParticipantesInfo.getStyleClass().add("nota-obligatorio");
     }
@@ -165,6 +175,21 @@ public class FormularioParticipacionesController implements Initializable {
         }
     }
     
+    /**
+     * Vacía la selección y los mensajes para reutilizar el formulario con otro evento.
+     */
+    @Override
+    public void reiniciarVista() {
+        evento = null;
+        canalPersonas.cancelar();
+        participantesSeleccionados.clear();
+        cmbPersonas.setValue(null);
+        cmbPersonas.setItems(FXCollections.observableArrayList());
+        lblMensaje.setText("");
+        btnAgregar.setDisable(true);
+        actualizarMensajeInfoParticipantes();
+    }
+    
     /**
      * Actualiza la información mostrada del evento.
      */
@@ -195,21 +220,23 @@ public class FormularioParticipacionesController implements Initializable {
      * Carga todas las personas disponibles para el ComboBox.
      */
     private void cargarPersonas() {
-        try {
+        Long eventoId = evento.getId();
+        canalPersonas.ejecutar(() -> {
             // Obtener todas las personas
             List<Persona> todasLasPersonas = personaService.buscarTodas();
             
             // Filtrar personas que ya son participantes de este evento
-            List<Participacion> participacionesExistentes = participacionService.buscarPorEvento(evento.getId());
+            List<Participacion> participacionesExistentes = participacionService.buscarPorEvento(eventoId);
             List<Long> idsPersonasParticipantes = participacionesExistentes.stream()
                 .map(p -> p.getPersona().getId())
                 .collect(Collectors.toList());
             
             // Mostrar solo personas que no sean ya participantes
-            List<Persona> personasDisponibles = todasLasPersonas.stream()
+            return todasLasPersonas.stream()
                 .filter(p -> !idsPersonasParticipantes.contains(p.getId()))
                 .collect(Collectors.toList());
-            
+        },
+        personasDisponibles -> {
             actualizarComboBoxConPersonas(personasDisponibles);
             
             // Actualizar mensaje informativo
@@ -221,11 +248,11 @@ public class FormularioParticipacionesController implements Initializable {
             } else {
                 lblMensaje.setText("");
             }
-            
-        } catch (Exception e) {
+        },
+        e -> {
             e.printStackTrace();
             mostrarErrorEnUI("Error al cargar personas: " + e.getMessage());
-        }
+        });
     }
     
     /**
@@ -257,31 +284,33 @@ public class FormularioParticipacionesController implements Initializable {
      * Actualiza el ComboBox eliminando las personas ya seleccionadas.
      */
     private void actualizarComboBoxPersonas() {
-        try {
+        Long eventoId = evento.getId();
+        
+        // Copiar los ids seleccionados en el hilo de JavaFX antes de pasar a segundo plano
+        List<Long> idsPersonasSeleccionadas = participantesSeleccionados.stream()
+            .map(Persona::getId)
+            .collect(Collectors.toList());
+        
+        canalPersonas.ejecutar(() -> {
             // Obtener todas las personas
             List<Persona> todasLasPersonas = personaService.buscarTodas();
             
             // Filtrar personas que ya son participantes de este evento
-            List<Participacion> participacionesExistentes = participacionService.buscarPorEvento(evento.getId());
+            List<Participacion> participacionesExistentes = participacionService.buscarPorEvento(eventoId);
             List<Long> idsPersonasParticipantes = participacionesExistentes.stream()
                 .map(p -> p.getPersona().getId())
                 .collect(Collectors.toList());
             
-            // Filtrar también las personas ya seleccionadas
-            List<Long> idsPersonasSeleccionadas = participantesSeleccionados.stream()
-                .map(Persona::getId)
-                .collect(Collectors.toList());
-            
-            // Mostrar solo personas disponibles
-            List<Persona> personasDisponibles = todasLasPersonas.stream()
+            // Mostrar solo personas disponibles (ni participantes ni ya seleccionadas)
+            return todasLasPersonas.stream()
                 .filter(p -> !idsPersonasParticipantes.contains(p.getId()) && !idsPersonasSeleccionadas.contains(p.getId()))
                 .collect(Collectors.toList());
-            
-            actualizarComboBoxConPersonas(personasDisponibles);
-        } catch (Exception e) {
+        },
+        this::actualizarComboBoxConPersonas,
+        e -> {
             e.printStackTrace();
             mostrarErrorEnUI("Error al actualizar lista de personas: " + e.getMessage());
-        }
+        });
     }
     
     /**
@@ -294,7 +323,7 @@ public class FormularioParticipacionesController implements Initializable {
             lblParticipantesInfo.getStyleClass().add("error-label");
         } else {
             lblParticipantesInfo.setText("Participantes seleccionados: " + cantidadParticipantes);
-            lblParticipantesInfo.getStyleClass().remove("error-label");
+            lblParticipantesInfo.getStyleClass().removeAll("error-label");
         }
     }
     
@@ -311,7 +340,7 @@ public class FormularioParticipacionesController implements Initializable {
         }
         
         // Verificar si ya está agregada
-        if (participantesSeleccionados.contains(personaSeleccionada)) {
+        if (participantesSeleccionados.stream().anyMatch(p -> p.getId().equals(personaSeleccionada.getId()))) {
             mostrarErrorEnUI("Esta persona ya está agregada como participante");
             return;
         }
@@ -337,22 +366,27 @@ public class FormularioParticipacionesController implements Initializable {
             return;
         }
         
-        try {
-            int participantesAgregados = 0;
+        // Copiar la selección para trabajar con ella fuera del hilo de JavaFX
+        List<Persona> personas = List.copyOf(participantesSeleccionados);
+        btnAgregar.setDisable(true);
+        
+        EjecutorAsincrono.ejecutar(() -> {
+            List<Participacion> nuevasParticipaciones = new ArrayList<>();
             
-            for (Persona persona : participantesSeleccionados) {
+            for (Persona persona : personas) {
                 // Crear nueva participación con rol PARTICIPANTE
                 Participacion nuevaParticipacion = new Participacion();
                 nuevaParticipacion.setEvento(evento);
                 nuevaParticipacion.setPersona(persona);
                 nuevaParticipacion.setRol(RolParticipacion.PARTICIPANTE);
                 nuevaParticipacion.setFechaInscripcion(LocalDateTime.now());
-                
-                // Guardar la participación
-                participacionService.guardar(nuevaParticipacion);
-                participantesAgregados++;
+                nuevasParticipaciones.add(nuevaParticipacion);
             }
             
+            // Guardar todas las participaciones en una sola transacción
+            return participacionService.guardarTodas(nuevasParticipaciones).size();
+        },
+        participantesAgregados -> {
             // Mostrar mensaje de éxito
             mostrarMensajeExito(participantesAgregados + " participante(s) agregado(s) con éxito");
             
@@ -363,11 +397,12 @@ public class FormularioParticipacionesController implements Initializable {
             
             // Cerrar el formulario
             cerrarFormulario();
-            
-        } catch (Exception e) {
+        },
+        e -> {
             e.printStackTrace();
+            btnAgregar.setDisable(participantesSeleccionados.isEmpty());
             mostrarErrorEnUI("Error al guardar participantes: " + e.getMessage());
-        }
+        });
     }
     
     /**
@@ -1,31 +1,34 @@
 package com.gestioneventos.controller.participaciones;
 
 import com.gestioneventos.model.eventos.Evento;
-import com.gestioneventos.model.participaciones.Participacion;
+import com.gestioneventos.model.participaciones.ParticipacionFila;
 import com.gestioneventos.model.participaciones.RolParticipacion;
-import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.service.ServicioExportacion;
 import com.gestioneventos.service.ServicioParticipacion;
+import com.gestioneventos.util.BusquedaIncremental;
+import com.gestioneventos.util.CargadorPaginado;
 import com.gestioneventos.util.DateUtils;
+import com.gestioneventos.util.DialogoProgreso;
+import com.gestioneventos.util.EjecutorAsincrono;
+import com.gestioneventos.util.RegistroVistas;
+import com.gestioneventos.util.SelectorArchivos;
 
+import javafx.beans.property.SimpleObjectProperty;
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.fxml.FXML;
 import javafx.fxml.Initializable;
 import javafx.scene.control.*;
-import javafx.scene.control.cell.PropertyValueFactory;
+import javafx.stage.Modality;
 import javafx.stage.Stage;
 
+import java.io.File;
 import java.net.URL;
-import java.util.HashMap;
 import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
-import javafx.fxml.FXMLLoader;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
-
 //import java.util.HashMap;
 import java.util.Map;
 
@@ -33,17 +36,17 @@ import java.util.Map;
  * Controlador para la vista de listado de participaciones.
  * Permite visualizar, filtrar, crear, editar y eliminar participaciones de un evento.
  */
-public class ListaParticipacionesController implements Initializable {
+public class ListaParticipacionesController implements Initializable, RegistroVistas.Reutilizable {
 
     // Elementos de la interfaz
     @FXML private Label lblTituloEvento;
-    @FXML private TableView<Participacion> tablaParticipaciones;
-    @FXML private TableColumn<Participacion, Long> colId;
-    @FXML private TableColumn<Participacion, String> colNombrePersona;
-    @FXML private TableColumn<Participacion, String> colApellidoPersona;
-    @FXML private TableColumn<Participacion, String> colDniPersona;
-    @FXML private TableColumn<Participacion, String> colRol;
-    @FXML private TableColumn<Participacion, String> colFechaInscripcion;
+    @FXML private TableView<ParticipacionFila> tablaParticipaciones;
+    @FXML private TableColumn<ParticipacionFila, Long> colId;
+    @FXML private TableColumn<ParticipacionFila, String> colNombrePersona;
+    @FXML private TableColumn<ParticipacionFila, String> colApellidoPersona;
+    @FXML private TableColumn<ParticipacionFila, String> colDniPersona;
+    @FXML private TableColumn<ParticipacionFila, String> colRol;
+    @FXML private TableColumn<ParticipacionFila, String> colFechaInscripcion;
     @FXML private Label lblCantidadParticipantes;
     
     // Elementos de filtrado
@@ -54,21 +57,37 @@ public class ListaParticipacionesController implements Initializable {
     @FXML private Button btnNuevoParticipante;
     @FXML private Button btnEditarParticipacion;
     @FXML private Button btnEliminarParticipacion;
+    @FXML private Button btnExportar;
     @FXML private Button btnCerrar;
     
     // Servicios
     private final ServicioParticipacion participacionService;
+    private final ServicioExportacion exportacionService;
     //private final PersonaService personaService;
     
     // Datos
     private Evento evento;
-    private ObservableList<Participacion> participacionesObservables;
+    private ObservableList<ParticipacionFila> participacionesObservables;
+    
+    // Cantidad de participaciones que se piden por página al desplazarse
+    private static final int TAMANIO_PAGINA = 100;
+    
+    // Carga perezosa de la tabla por páginas
+    private CargadorPaginado<ParticipacionFila> cargador;
+    
+    // Consultas en segundo plano (una nueva consulta descarta la anterior)
+    private final EjecutorAsincrono.Canal canalBusqueda = new EjecutorAsincrono.Canal();
+    private final EjecutorAsincrono.Canal canalContador = new EjecutorAsincrono.Canal();
+    
+    // Búsqueda mientras se escribe; los refinamientos y el filtro por rol se aplican en memoria
+    private BusquedaIncremental<ParticipacionFila> busqueda;
     
     /**
      * Constructor que inicializa los servicios.
      */
     public ListaParticipacionesController() {
         this.participacionService = new ServicioParticipacion();
+        this.exportacionService = new ServicioExportacion();
         //this.personaService = new PersonaServiceImpl();
         this.participacionesObservables = FXCollections.observableArrayList();
     }
@@ -87,6 +106,17 @@ public class ListaParticipacionesController implements Initializable {
         // Configurar selección de la tabla
         configurarSeleccionTabla();
         
+        // Configurar la carga por páginas de las participaciones del evento
+        tablaParticipaciones.setItems(participacionesObservables);
+        cargador = new CargadorPaginado<>(tablaParticipaciones, participacionesObservables, TAMANIO_PAGINA,
+            (cursor, tamanio) -> participacionService.buscarPaginaFilasPorEvento(evento.getId(), cursor, tamanio),
+            "No hay participantes registrados",
+            e -> mostrarMensajeError("Error al cargar participantes", 
+                "No se pudieron cargar los participantes: " + e.getMessage()));
+        
+        // Configurar la búsqueda mientras se escribe o se cambia el rol
+        configurarBusqueda();
+        
         // Inicialmente, deshabilitar botones de edición y eliminación
         btnEditarParticipacion.setDisable(true);
         btnEliminarParticipacion.setDisable(true);
@@ -96,36 +126,23 @@ public class ListaParticipacionesController implements Initializable {
      * Configura las columnas de la tabla.
      */
     private void configurarColumnas() {
-        colId.setCellValueFactory(new PropertyValueFactory<>("id"));
-        
-        // Nombre de persona
-        colNombrePersona.setCellValueFactory(cellData -> {
-            Persona persona = cellData.getValue().getPersona();
-            return new SimpleStringProperty(persona != null ? persona.getNombre() : "");
-        });
-        
-        // Apellido de persona
-        colApellidoPersona.setCellValueFactory(cellData -> {
-            Persona persona = cellData.getValue().getPersona();
-            return new SimpleStringProperty(persona != null ? persona.getApellido() : "");
-        });
+        colId.setCellValueFactory(cellData -> new SimpleObjectProperty<>(cellData.getValue().id()));
         
-        // DNI de persona
-        colDniPersona.setCellValueFactory(cellData -> {
-            Persona persona = cellData.getValue().getPersona();
-            return new SimpleStringProperty(persona != null ? persona.getDni() : "");
-        });
+        // Datos de la persona (vienen en la misma fila de la consulta)
+        colNombrePersona.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().nombre()));
+        colApellidoPersona.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().apellido()));
+        colDniPersona.setCellValueFactory(cellData -> new SimpleStringProperty(cellData.getValue().dni()));
         
         // Rol participación
         colRol.setCellValueFactory(cellData -> {
-            RolParticipacion rol = cellData.getValue().getRol();
+            RolParticipacion rol = cellData.getValue().rol();
             return new SimpleStringProperty(rol != null ? rol.toString() : "");
         });
         
         // Fecha inscripción
         colFechaInscripcion.setCellValueFactory(cellData -> {
             return new SimpleStringProperty(
-                DateUtils.formatLocalDateTime(cellData.getValue().getFechaInscripcion())
+                DateUtils.formatLocalDateTime(cellData.getValue().fechaInscripcion())
             );
         });
     }
@@ -140,6 +157,46 @@ public class ListaParticipacionesController implements Initializable {
         cmbFiltroRol.setPromptText("Todos los roles");
     }
     
+    /**
+     * Configura la búsqueda de participantes. La consulta filtra por nombre en la base de datos;
+     * el rol se aplica en memoria, por lo que cambiarlo no vuelve a consultar.
+     */
+    private void configurarBusqueda() {
+        busqueda = new BusquedaIncremental<>(canalBusqueda,
+            texto -> participacionService.buscarFilasPorEventoYNombre(evento.getId(), texto),
+            this::coincideConFiltros,
+            participaciones -> {
+                // Actualizar contador con las filas que cumplen los filtros
+                mostrarContadorParticipantes(participaciones.size());
+                
+                // Mensaje si no hay resultados
+                tablaParticipaciones.setPlaceholder(new Label("No se encontraron participantes con los filtros aplicados"));
+            },
+            e -> {
+                e.printStackTrace();
+                mostrarMensajeError("Error al buscar participantes", e.getMessage());
+            });
+        
+        // Indicador de progreso mientras se espera la consulta
+        busqueda.cargandoProperty().addListener((obs, antes, cargando) -> {
+            if (cargando) {
+                tablaParticipaciones.setPlaceholder(new ProgressIndicator());
+            }
+        });
+        
+        txtFiltroNombre.textProperty().addListener((obs, anterior, nuevo) -> buscarParticipantes());
+        cmbFiltroRol.valueProperty().addListener((obs, anterior, nuevo) -> buscarParticipantes());
+    }
+    
+    /**
+     * Criterio en memoria: nombre completo que contiene el texto y, si se eligió, el mismo rol.
+     */
+    private boolean coincideConFiltros(ParticipacionFila participacion, String nombre) {
+        RolParticipacion rol = cmbFiltroRol.getValue();
+        return participacion.nombreCompleto().toLowerCase().contains(nombre.toLowerCase())
+            && (rol == null || participacion.rol() == rol);
+    }
+    
     /**
      * Configura el comportamiento de selección de la tabla.
      */
@@ -164,32 +221,52 @@ public class ListaParticipacionesController implements Initializable {
     }
     
     /**
-     * Carga todas las participaciones del evento en la tabla.
+     * Deja la vista vacía y sin filtros antes de mostrar otro evento con {@link #setEvento(Evento)}.
+     */
+    @Override
+    public void reiniciarVista() {
+        // Sin evento, limpiar los filtros no dispara consultas
+        evento = null;
+        busqueda.cancelar();
+        cargador.detener();
+        canalContador.cancelar();
+        
+        txtFiltroNombre.clear();
+        cmbFiltroRol.getSelectionModel().clearSelection();
+        tablaParticipaciones.getSelectionModel().clearSelection();
+        tablaParticipaciones.setItems(participacionesObservables);
+        participacionesObservables.clear();
+        lblTituloEvento.setText("Participantes del evento");
+        mostrarContadorParticipantes(0);
+    }
+    
+    /**
+     * Carga la primera página de participaciones del evento; el resto se carga al desplazarse.
      */
     public void cargarParticipaciones() {
         if (evento == null) return;
         
-        try {
-            List<Participacion> participaciones = participacionService.buscarPorEvento(evento.getId());
-            participacionesObservables.clear();
-            participacionesObservables.addAll(participaciones);
-            tablaParticipaciones.setItems(participacionesObservables);
-            
-            // Actualizar contador
-            actualizarContadorParticipantes();
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            mostrarMensajeError("Error al cargar participantes", 
-                "No se pudieron cargar los participantes: " + e.getMessage());
-        }
+        busqueda.cancelar();
+        tablaParticipaciones.setItems(participacionesObservables);
+        cargador.reiniciar();
+        
+        // Actualizar contador con el total del evento, no solo las filas cargadas
+        Long eventoId = evento.getId();
+        canalContador.ejecutar(() -> participacionService.contarPorRol(eventoId),
+            cantidades -> mostrarContadorParticipantes(cantidades.values().stream()
+                .mapToLong(Long::longValue)
+                .sum()),
+            e -> {
+                e.printStackTrace();
+                mostrarMensajeError("Error al cargar participantes", 
+                    "No se pudieron cargar los participantes: " + e.getMessage());
+            });
     }
     
     /**
-     * Actualiza el contador de participantes.
+     * Muestra la cantidad de participantes en la etiqueta de total.
      */
-    private void actualizarContadorParticipantes() {
-        int cantidad = participacionesObservables.size();
+    private void mostrarContadorParticipantes(long cantidad) {
         lblCantidadParticipantes.setText("Total: " + cantidad + " participante" + (cantidad != 1 ? "s" : ""));
     }
     
@@ -207,53 +284,28 @@ public class ListaParticipacionesController implements Initializable {
     
     /**
      * Busca participaciones según el texto y filtros.
+     * Se llama con cada cambio del texto o del rol, además de desde el botón Buscar.
      */
     @FXML
     private void buscarParticipantes() {
         if (evento == null) return;
         
-        try {
-            String nombre = txtFiltroNombre.getText().trim();
-            RolParticipacion rol = cmbFiltroRol.getValue();
-            
-            List<Participacion> participaciones = participacionService.buscarPorEvento(evento.getId());
-            
-            // Filtrar por nombre si se ingresó texto
-            if (!nombre.isEmpty()) {
-                participaciones = participaciones.stream()
-                    .filter(p -> {
-                        Persona persona = p.getPersona();
-                        if (persona == null) return false;
-                        
-                        String nombreCompleto = persona.getNombre() + " " + persona.getApellido();
-                        return nombreCompleto.toLowerCase().contains(nombre.toLowerCase());
-                    })
-                    .toList();
-            }
-            
-            // Filtrar por rol si se seleccionó uno
-            if (rol != null) {
-                participaciones = participaciones.stream()
-                    .filter(p -> p.getRol() == rol)
-                    .toList();
-            }
-            
-            // Actualizar tabla
-            participacionesObservables.clear();
-            participacionesObservables.addAll(participaciones);
-            
-            // Actualizar contador
-            actualizarContadorParticipantes();
-            
-            // Mensaje si no hay resultados
-            if (participaciones.isEmpty()) {
-                tablaParticipaciones.setPlaceholder(new Label("No se encontraron participantes con los filtros aplicados"));
-            }
-            
-        } catch (Exception e) {
-            e.printStackTrace();
-            mostrarMensajeError("Error al buscar participantes", e.getMessage());
+        String nombre = txtFiltroNombre.getText().trim();
+        RolParticipacion rol = cmbFiltroRol.getValue();
+        
+        // Sin filtros se vuelve a la carga por páginas
+        if (nombre.isEmpty() && rol == null) {
+            cargarParticipaciones();
+            return;
+        }
+        
+        // Sin carga por páginas mientras hay filtros
+        if (tablaParticipaciones.getItems() != busqueda.getResultados()) {
+            cargador.detener();
+            canalContador.cancelar();
+            tablaParticipaciones.setItems(busqueda.getResultados());
         }
+        busqueda.buscar(nombre);
     }
     
     /**
@@ -269,18 +321,20 @@ public class ListaParticipacionesController implements Initializable {
                     "El evento " + evento.getNombre() + " no requiere inscripciones");
                 return;
             }
-            // Cargar el formulario de nuevo participante
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/participaciones/FormularioParticipacionesView.fxml"));
-            Parent root = loader.load();
+            // Obtener el formulario de nuevo participante (reiniciado si ya se había abierto).
+            // Bloquea esta ventana, su ventana padre: mientras está abierto no se puede volver
+            // a pedir, así que reutilizarlo nunca descarta un ingreso a medio hacer
+            RegistroVistas.Vista<FormularioParticipacionesController> vista = RegistroVistas.obtener(
+                "/fxml/participaciones/FormularioParticipacionesView.fxml",
+                Modality.WINDOW_MODAL, tablaParticipaciones.getScene().getWindow());
             
-            FormularioParticipacionesController controller = loader.getController();
+            FormularioParticipacionesController controller = vista.controlador();
             controller.setEvento(evento);
             controller.setListaParticipacionesController(this);
             
-            // Crear y mostrar la nueva ventana
-            Stage stage = new Stage();
+            // Mostrar la ventana
+            Stage stage = vista.ventana();
             stage.setTitle("Nuevo Participante");
-            stage.setScene(new Scene(root));
             stage.show();
         } catch (Exception e) {
             e.printStackTrace();
@@ -293,7 +347,7 @@ public class ListaParticipacionesController implements Initializable {
      */
     @FXML
     private void editarParticipacion() {
-        Participacion participacion = tablaParticipaciones.getSelectionModel().getSelectedItem();
+        ParticipacionFila participacion = tablaParticipaciones.getSelectionModel().getSelectedItem();
         if (participacion == null) {
             mostrarMensajeError("Error", "Debe seleccionar un participante para editar");
             return;
@@ -309,14 +363,14 @@ public class ListaParticipacionesController implements Initializable {
      */
     @FXML
     private void eliminarParticipacion() {
-        Participacion participacion = tablaParticipaciones.getSelectionModel().getSelectedItem();
+        ParticipacionFila participacion = tablaParticipaciones.getSelectionModel().getSelectedItem();
         if (participacion == null) {
             mostrarMensajeError("Error", "Debe seleccionar un participante para eliminar");
             return;
         }
 
         // Verificar si se puede eliminar según el rol y cantidad
-        RolParticipacion rolParaEliminar = participacion.getRol();
+        RolParticipacion rolParaEliminar = participacion.rol();
         
         // Si no es un rol crítico, se puede eliminar sin verificar
         if (rolParaEliminar != RolParticipacion.ORGANIZADOR && 
@@ -326,78 +380,93 @@ public class ListaParticipacionesController implements Initializable {
             return;
         }
         
-        // Si es un rol crítico, verificar la cantidad
-        Map<RolParticipacion, Integer> cantidadPorRol = contarParticipantesPorRol();
-        
-        // Obtener la cantidad para el rol que se quiere eliminar
-        int cantidadRol = cantidadPorRol.getOrDefault(rolParaEliminar, 0);
-        
-        // Verificar que haya más de uno para poder eliminar
-        if (cantidadRol <= 1) {
-            mostrarMensajeError("Error", 
-                "No se puede eliminar el participante porque es el único con rol " + 
-                rolParaEliminar.toString() + " en este evento");
-            return;
-        }
-        
-        // Si hay más de uno con ese rol, permitir eliminar
-        confirmarYEliminarParticipacion(participacion);
+        // Si es un rol crítico, verificar la cantidad (consulta en segundo plano)
+        EjecutorAsincrono.ejecutar(this::contarParticipantesPorRol,
+            cantidadPorRol -> {
+                // Obtener la cantidad para el rol que se quiere eliminar
+                long cantidadRol = cantidadPorRol.getOrDefault(rolParaEliminar, 0L);
+                
+                // Verificar que haya más de uno para poder eliminar
+                if (cantidadRol <= 1) {
+                    mostrarMensajeError("Error", 
+                        "No se puede eliminar el participante porque es el único con rol " + 
+                        rolParaEliminar.toString() + " en este evento");
+                    return;
+                }
+                
+                // Si hay más de uno con ese rol, permitir eliminar
+                confirmarYEliminarParticipacion(participacion);
+            },
+            e -> mostrarMensajeError("Error", e.getMessage()));
     }
 
     /**
      * Cuenta la cantidad de participantes por cada rol en el evento actual.
+     * Se consulta a la base de datos porque la tabla puede tener solo algunas páginas cargadas.
      * @return Un mapa con la cantidad de participantes por cada rol
      */
-    private Map<RolParticipacion, Integer> contarParticipantesPorRol() {
-        Map<RolParticipacion, Integer> cantidadPorRol = new HashMap<>();
-        
-        // Inicializar el mapa con cero para cada rol
-        for (RolParticipacion rol : RolParticipacion.values()) {
-            cantidadPorRol.put(rol, 0);
-        }
-        
-        // Contar los participantes por rol
-        for (Participacion p : participacionesObservables) {
-            RolParticipacion rol = p.getRol();
-            if (rol != null) {
-                cantidadPorRol.put(rol, cantidadPorRol.get(rol) + 1);
-            }
-        }
-        
-        return cantidadPorRol;
+    private Map<RolParticipacion, Long> contarParticipantesPorRol() {
+        return participacionService.contarPorRol(evento.getId());
     }
 
     /**
      * Muestra un diálogo de confirmación y elimina la participación si el usuario confirma.
      * @param participacion La participación a eliminar
      */
-    private void confirmarYEliminarParticipacion(Participacion participacion) {
+    private void confirmarYEliminarParticipacion(ParticipacionFila participacion) {
         // Confirmar eliminación
         Alert alert = new Alert(Alert.AlertType.CONFIRMATION);
         alert.setTitle("Confirmar eliminación");
         alert.setHeaderText(null);
         alert.setContentText("¿Está seguro que desea eliminar la participación de " + 
-            participacion.getPersona().getNombre() + " " + participacion.getPersona().getApellido() + "?");
+            participacion.nombreCompleto() + "?");
         
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                // Eliminar participación
-                boolean eliminado = participacionService.eliminar(participacion.getId());
-                if (eliminado) {
-                    cargarParticipaciones();
-                    mostrarMensajeInformacion("Participación eliminada", 
-                        "La participación ha sido eliminada correctamente.");
-                } else {
-                    mostrarMensajeError("Error", "No se pudo eliminar la participación");
-                }
-            } catch (Exception e) {
-                e.printStackTrace();
-                mostrarMensajeError("Error al eliminar", e.getMessage());
-            }
+            // Eliminar participación en segundo plano
+            EjecutorAsincrono.ejecutar(() -> participacionService.eliminar(participacion.id()),
+                eliminado -> {
+                    if (eliminado) {
+                        cargarParticipaciones();
+                        mostrarMensajeInformacion("Participación eliminada", 
+                            "La participación ha sido eliminada correctamente.");
+                    } else {
+                        mostrarMensajeError("Error", "No se pudo eliminar la participación");
+                    }
+                },
+                e -> {
+                    e.printStackTrace();
+                    mostrarMensajeError("Error al eliminar", e.getMessage());
+                });
         }
     }
     
+    /**
+     * Exporta todos los participantes del evento (sin aplicar los filtros de la vista)
+     * a un archivo CSV, JSON o XLSX, en segundo plano y con opción de cancelar.
+     */
+    @FXML
+    private void exportarParticipantes() {
+        if (evento == null) {
+            return;
+        }
+        
+        File archivo = SelectorArchivos.elegirDestinoExportacion(btnExportar.getScene().getWindow(),
+                "Exportar participantes", "participantes-" + evento.getId());
+        if (archivo == null) {
+            return;
+        }
+        
+        Long eventoId = evento.getId();
+        DialogoProgreso.ejecutar(btnExportar.getScene().getWindow(), "Exportar participantes",
+            seguimiento -> exportacionService.exportarParticipantes(eventoId, archivo.toPath(), seguimiento),
+            resultado -> mostrarMensajeInformacion("Exportación finalizada", resultado.resumen()),
+            error -> {
+                error.printStackTrace();
+                mostrarMensajeError("Error al exportar", error.getMessage());
+            });
+    }
+    
     /**
      * Cierra la ventana actual.
      */
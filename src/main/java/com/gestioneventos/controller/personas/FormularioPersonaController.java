@@ -3,6 +3,8 @@ package com.gestioneventos.controller.personas;
 
 import com.gestioneventos.model.personas.Persona;
 import com.gestioneventos.service.ServicioPersona;
+import com.gestioneventos.util.EjecutorAsincrono;
+import com.gestioneventos.util.RegistroVistas;
 
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
@@ -15,13 +17,14 @@ import javafx.scene.control.Alert.AlertType;
 import javafx.stage.Stage;
 
 import java.net.URL;
+import java.util.List;
 import java.util.ResourceBundle;
 
 /**
  * Controlador para el formulario de creación y edición de personas.
  * Maneja tanto la creación de nuevas personas como la edición de existentes.
  */
-public class FormularioPersonaController implements Initializable {
+public class FormularioPersonaController implements Initializable, RegistroVistas.Reutilizable {
 
     // Elementos de la interfaz definidos en el FXML
     @FXML
@@ -87,6 +90,22 @@ public class FormularioPersonaController implements Initializable {
         lblTitulo.setText("Editar Persona");
     }
     
+    /**
+     * Vuelve el formulario al modo creación con los campos vacíos para reutilizarlo.
+     */
+    @Override
+    public void reiniciarVista() {
+        persona = null;
+        esEdicion = false;
+        for (TextField campo : List.of(txtNombre, txtApellido, txtDni, txtTelefono, txtEmail)) {
+            campo.clear();
+        }
+        lblError.setText("");
+        lblTitulo.setText("Nueva Persona");
+        // Queda deshabilitado si la apertura anterior terminó guardando
+        btnGuardar.setDisable(false);
+    }
+    
     /**
      * Establece la referencia al controlador de la lista para actualizar al guardar.
      * @param controller Controlador de la lista de personas
@@ -115,51 +134,79 @@ public class FormularioPersonaController implements Initializable {
      */
     @FXML
     private void guardar(ActionEvent event) {
-        try {
-            // Validar los datos antes de guardar
-            if (validarCampos()) {
-                if (!esEdicion) {
-                    // Si es una nueva persona, la creamos con los datos del formulario
-                    persona = new Persona(
-                            txtNombre.getText().trim().toUpperCase(),
-                            txtApellido.getText().trim().toUpperCase(),
-                            txtDni.getText().trim().toUpperCase(),
-                            txtTelefono.getText().trim().toUpperCase(),
-                            txtEmail.getText().trim()
-                    );
-                } else {
-                    // Si es edición, actualizamos los datos de la persona existente
-                    persona.setNombre(txtNombre.getText().trim().toUpperCase());
-                    persona.setApellido(txtApellido.getText().trim().toUpperCase());
-                    persona.setDni(txtDni.getText().trim().toUpperCase());
-                    persona.setTelefono(txtTelefono.getText().trim().toUpperCase());
-                    persona.setEmail(txtEmail.getText().trim());
-                }
-                
-                // Guardamos la persona usando el servicio
-                Persona personaGuardada = personaService.guardar(persona);
-                
-                // Actualizamos la tabla en el controlador de lista
-                if (listaPersonasController != null) {
-                    listaPersonasController.actualizarTabla();
-                }
-                
-                // Mostrar mensaje de éxito
-                mostrarMensajeExito(personaGuardada);
-                
-                // Cerramos la ventana
-                cerrarVentana();
+        // Validar el formato de los datos en el hilo de JavaFX
+        if (!validarCampos()) {
+            return;
+        }
+        
+        // Tomar los valores del formulario antes de pasar a segundo plano
+        String nombre = txtNombre.getText().trim().toUpperCase();
+        String apellido = txtApellido.getText().trim().toUpperCase();
+        String dni = txtDni.getText().trim().toUpperCase();
+        String telefono = txtTelefono.getText().trim().toUpperCase();
+        String email = txtEmail.getText().trim();
+        
+        btnGuardar.setDisable(true);
+        lblError.setText("");
+        
+        // La verificación de DNI duplicado y el guardado consultan la base de datos
+        EjecutorAsincrono.ejecutar(() -> {
+            validarDniDisponible(dni);
+            
+            if (!esEdicion) {
+                // Si es una nueva persona, la creamos con los datos del formulario
+                persona = new Persona(nombre, apellido, dni, telefono, email);
+            } else {
+                // Si es edición, actualizamos los datos de la persona existente
+                persona.setNombre(nombre);
+                persona.setApellido(apellido);
+                persona.setDni(dni);
+                persona.setTelefono(telefono);
+                persona.setEmail(email);
+            }
+            
+            // Guardamos la persona usando el servicio
+            return personaService.guardar(persona);
+        },
+        personaGuardada -> {
+            // Actualizamos la tabla en el controlador de lista
+            if (listaPersonasController != null) {
+                listaPersonasController.actualizarTabla();
+            }
+            
+            // Mostrar mensaje de éxito
+            mostrarMensajeExito(personaGuardada);
+            
+            // Cerramos la ventana
+            cerrarVentana();
+        },
+        e -> {
+            btnGuardar.setDisable(false);
+            if (e instanceof IllegalArgumentException) {
+                // Capturamos excepciones de validación
+                lblError.setText(e.getMessage());
+                mostrarMensajeError("Error de validación", e.getMessage());
+            } else {
+                // Capturamos otras excepciones
+                lblError.setText("Error al guardar: " + e.getMessage());
+                mostrarMensajeError("Error al guardar", e.getMessage());
+            }
+        });
+    }
+    
+    /**
+     * Verifica contra la base de datos que el DNI no pertenezca a otra persona.
+     * Se ejecuta en segundo plano desde {@link #guardar(ActionEvent)}.
+     * 
+     * @param dni DNI ingresado en el formulario
+     * @throws IllegalArgumentException si el DNI ya está registrado
+     */
+    private void validarDniDisponible(String dni) {
+        if (!esEdicion || !dni.equals(persona.getDni())) {
+            Long idExcluido = esEdicion ? persona.getId() : null;
+            if (personaService.existeDniDuplicado(dni, idExcluido)) {
+                throw new IllegalArgumentException("Ya existe una persona con ese DNI");
             }
-        } catch (IllegalArgumentException e) {
-            // Capturamos excepciones de validación
-            lblError.setText(e.getMessage());
-            // Mostrar alerta de error
-            mostrarMensajeError("Error de validación", e.getMessage());
-        } catch (Exception e) {
-            // Capturamos otras excepciones
-            lblError.setText("Error al guardar: " + e.getMessage());
-            // Mostrar alerta de error
-            mostrarMensajeError("Error al guardar", e.getMessage());
         }
     }
     
@@ -202,6 +249,7 @@ public class FormularioPersonaController implements Initializable {
     
     /**
      * Valida que los campos obligatorios estén rellenos correctamente.
+     * Solo verifica el formato; no consulta la base de datos.
      * @return true si los campos son válidos, false en caso contrario
      */
     private boolean validarCampos() {
@@ -266,14 +314,7 @@ public class FormularioPersonaController implements Initializable {
         }
     }
     
-    // Validar DNI duplicado
-    if (!esEdicion || !dni.equals(persona.getDni())) {
-        Long idExcluido = esEdicion ? persona.getId() : null;
-        if (personaService.existeDniDuplicado(dni, idExcluido)) {
-            lblError.setText("Ya existe una persona con ese DNI");
-            return false;
-        }
-    }
+    // El DNI duplicado se verifica contra la base de datos al guardar
 
     // Si pasó todas las validaciones
     return true;
@@ -2,17 +2,20 @@
 package com.gestioneventos.controller.personas;
 
 import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.model.personas.PersonaResumen;
+import com.gestioneventos.service.IndicePersonas;
 import com.gestioneventos.service.ServicioPersona;
+import com.gestioneventos.util.BusquedaIncremental;
+import com.gestioneventos.util.CargadorPaginado;
+import com.gestioneventos.util.EjecutorAsincrono;
+import com.gestioneventos.util.RegistroVistas;
 
 import javafx.beans.property.SimpleStringProperty;
 import javafx.collections.FXCollections;
 import javafx.collections.ObservableList;
 import javafx.event.ActionEvent;
 import javafx.fxml.FXML;
-import javafx.fxml.FXMLLoader;
 import javafx.fxml.Initializable;
-import javafx.scene.Parent;
-import javafx.scene.Scene;
 import javafx.scene.control.*;
 import javafx.scene.input.MouseEvent;
 import javafx.stage.Modality;
@@ -20,7 +23,6 @@ import javafx.stage.Stage;
 
 import java.io.IOException;
 import java.net.URL;
-import java.util.List;
 import java.util.Optional;
 import java.util.ResourceBundle;
 
@@ -28,29 +30,29 @@ import java.util.ResourceBundle;
  * Controlador para la vista de lista de personas.
  * Maneja la visualización, búsqueda, edición y eliminación de personas.
  */
-public class ListaPersonasController implements Initializable {
+public class ListaPersonasController implements Initializable, RegistroVistas.Reutilizable {
 
     // Elementos de la interfaz definidos en el FXML
     @FXML
-    private TableView<Persona> tablaPersonas; // Tabla principal de personas
+    private TableView<PersonaResumen> tablaPersonas; // Tabla principal de personas
     
     @FXML
-    private TableColumn<Persona, String> colId; // Columna para ID
+    private TableColumn<PersonaResumen, String> colId; // Columna para ID
     
     @FXML
-    private TableColumn<Persona, String> colNombre; // Columna para nombre
+    private TableColumn<PersonaResumen, String> colNombre; // Columna para nombre
     
     @FXML
-    private TableColumn<Persona, String> colApellido; // Columna para apellido
+    private TableColumn<PersonaResumen, String> colApellido; // Columna para apellido
     
     @FXML
-    private TableColumn<Persona, String> colDni; // Columna para DNI
+    private TableColumn<PersonaResumen, String> colDni; // Columna para DNI
     
     @FXML
-    private TableColumn<Persona, String> colTelefono; // Columna para teléfono
+    private TableColumn<PersonaResumen, String> colTelefono; // Columna para teléfono
     
     @FXML
-    private TableColumn<Persona, String> colEmail; // Columna para email
+    private TableColumn<PersonaResumen, String> colEmail; // Columna para email
     
     @FXML
     private TextField txtBuscar; // Campo de búsqueda
@@ -74,7 +76,24 @@ public class ListaPersonasController implements Initializable {
     private final ServicioPersona personaService;
     
     // Lista observable para mostrar en la tabla
-    private ObservableList<Persona> listaPersonas;
+    private ObservableList<PersonaResumen> listaPersonas;
+    
+    // Carga de una persona para editarla: mientras dura no se aceptan otras
+    private boolean cargandoPersona;
+    
+    private static final String VISTA_FORMULARIO = "/fxml/personas/FormularioPersonaView.fxml";
+    
+    // Cantidad de personas que se piden por página al desplazarse
+    private static final int TAMANIO_PAGINA = 100;
+    
+    // Carga perezosa de la tabla por páginas
+    private CargadorPaginado<PersonaResumen> cargador;
+    
+    // Búsquedas en segundo plano (una nueva búsqueda descarta la anterior)
+    private final EjecutorAsincrono.Canal canalBusqueda = new EjecutorAsincrono.Canal();
+    
+    // Búsqueda mientras se escribe; los refinamientos se filtran en memoria
+    private BusquedaIncremental<PersonaResumen> busqueda;
     
     /**
      * Constructor que inicializa el servicio y la lista observable.
@@ -95,13 +114,22 @@ public class ListaPersonasController implements Initializable {
         // Configuramos las columnas de la tabla
         configurarColumnas();
         
+        // Configuramos la carga por páginas de la tabla
+        tablaPersonas.setItems(listaPersonas);
+        cargador = new CargadorPaginado<>(tablaPersonas, listaPersonas, TAMANIO_PAGINA, personaService::buscarPaginaResumen,
+            "No hay personas registradas",
+            e -> mostrarMensajeError("Error al cargar personas", e.getMessage()));
+        
+        // Configuramos la búsqueda mientras se escribe
+        configurarBusqueda();
+        
         // Cargamos los datos iniciales
         cargarPersonas();
         
         // Configuramos la selección de la tabla para habilitar/deshabilitar botones
         tablaPersonas.getSelectionModel().selectedItemProperty().addListener((obs, oldSelection, newSelection) -> {
             // Habilitamos botones Editar/Eliminar solo cuando hay selección
-            btnEditar.setDisable(newSelection == null);
+            btnEditar.setDisable(cargandoPersona || newSelection == null);
             btnEliminar.setDisable(newSelection == null);
         });
         
@@ -114,64 +142,85 @@ public class ListaPersonasController implements Initializable {
     }
     
     /**
-     * Configura las columnas de la tabla para mostrar los datos de Persona.
-     * Utiliza cell factories para convertir propiedades a cadenas.
+     * Configura las columnas de la tabla para mostrar las filas del listado de personas.
+     * Utiliza cell factories para convertir los datos a cadenas.
      */
     private void configurarColumnas() {
         // Columna ID: convertimos Long a String para mostrar
         colId.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getId() != null ? 
-                cellData.getValue().getId().toString() : ""));
+            new SimpleStringProperty(cellData.getValue().id() != null ? 
+                cellData.getValue().id().toString() : ""));
         
         // Columna Nombre
         colNombre.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getNombre()));
+            new SimpleStringProperty(cellData.getValue().nombre()));
         
         // Columna Apellido
         colApellido.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getApellido()));
+            new SimpleStringProperty(cellData.getValue().apellido()));
         
         // Columna DNI
         colDni.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getDni()));
+            new SimpleStringProperty(cellData.getValue().dni()));
         
         // Columna Teléfono
         colTelefono.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getTelefono()));
+            new SimpleStringProperty(cellData.getValue().telefono()));
         
         // Columna Email
         colEmail.setCellValueFactory(cellData -> 
-            new SimpleStringProperty(cellData.getValue().getEmail()));
+            new SimpleStringProperty(cellData.getValue().email()));
     }
     
     /**
-     * Carga todas las personas desde el servicio y las muestra en la tabla.
+     * Configura la búsqueda: se actualiza con cada cambio del campo de texto.
+     * El criterio en memoria es el mismo del índice de personas (nombre, apellido o DNI).
+     */
+    private void configurarBusqueda() {
+        busqueda = new BusquedaIncremental<PersonaResumen>(canalBusqueda, personaService::buscarResumen,
+            IndicePersonas::coincide,
+            personas -> tablaPersonas.setPlaceholder(new Label("No se encontraron personas")),
+            e -> mostrarMensajeError("Error al buscar", e.getMessage()));
+        
+        // Mostramos el indicador de progreso mientras se espera la búsqueda
+        busqueda.cargandoProperty().addListener((obs, antes, cargando) -> {
+            if (cargando) {
+                tablaPersonas.setPlaceholder(new ProgressIndicator());
+            }
+        });
+        
+        txtBuscar.textProperty().addListener((obs, anterior, nuevo) -> buscarPersonas(null));
+    }
+    
+    /**
+     * Carga la primera página de personas en la tabla; el resto se carga al desplazarse.
      */
     private void cargarPersonas() {
-        // Limpiamos la lista actual
-        listaPersonas.clear();
-        // Obtenemos todas las personas del servicio
-        List<Persona> personas = personaService.buscarTodas();
-        // Añadimos las personas a la lista observable
-        listaPersonas.addAll(personas);
-        // Establecemos la lista observable como fuente de datos de la tabla
+        // Descartamos una búsqueda pendiente y reiniciamos la carga por páginas
+        busqueda.cancelar();
         tablaPersonas.setItems(listaPersonas);
+        cargador.reiniciar();
     }
     
     /**
-     * Maneja el evento del botón de búsqueda.
+     * Maneja el evento del botón de búsqueda y los cambios del campo de texto.
      * Busca personas según el texto ingresado.
      */
     @FXML
     private void buscarPersonas(ActionEvent event) {
         // Obtenemos el texto de búsqueda
         String texto = txtBuscar.getText().trim();
-        // Limpiamos la lista actual
-        listaPersonas.clear();
-        // Buscamos personas que coincidan con el texto
-        List<Persona> personas = personaService.buscar(texto);
-        // Añadimos los resultados a la lista observable
-        listaPersonas.addAll(personas);
+        // Sin texto volvemos a la carga por páginas
+        if (texto.isEmpty()) {
+            cargarPersonas();
+            return;
+        }
+        // Suspendemos la carga por páginas y mostramos los resultados filtrados
+        if (tablaPersonas.getItems() != busqueda.getResultados()) {
+            cargador.detener();
+            tablaPersonas.setItems(busqueda.getResultados());
+        }
+        busqueda.buscar(texto);
     }
     
     /**
@@ -180,19 +229,14 @@ public class ListaPersonasController implements Initializable {
     @FXML
     private void nuevaPersona(ActionEvent event) {
         try {
-            // Cargamos la vista del formulario
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/personas/FormularioPersonaView.fxml"));
-            Parent root = loader.load();
+            // Obtenemos el formulario (se carga solo la primera vez; después se reinicia)
+            RegistroVistas.Vista<FormularioPersonaController> vista = obtenerFormulario();
             
-            // Obtenemos el controlador y le pasamos referencia a este controlador
-            FormularioPersonaController controller = loader.getController();
-            controller.setListaPersonasController(this);
+            // Le pasamos referencia a este controlador
+            vista.controlador().setListaPersonasController(this);
             
-            Stage stage = new Stage(); // Creamos una nueva ventana
+            Stage stage = vista.ventana(); // La ventana del formulario
             stage.setTitle("Nueva Persona"); // Título de la ventana
-            Scene scene = new Scene(root); // Creamos la escena con el root cargado
-            stage.setScene(scene); // Asignamos la escena a la ventana
-            stage.initModality(Modality.APPLICATION_MODAL); // Modalidad para que sea modal respecto a la ventana principal
             stage.showAndWait(); // Mostramos la ventana y esperamos a que se cierre
             
         } catch (IOException e) {
@@ -225,27 +269,57 @@ public class ListaPersonasController implements Initializable {
      * Verifica que haya una persona seleccionada y carga el formulario.
      */
     private void abrirFormularioEdicion() {
-        // Obtener la persona seleccionada
-        Persona personaSeleccionada = tablaPersonas.getSelectionModel().getSelectedItem();
-        if (personaSeleccionada == null) {
-            return; // No hay selección, no hacemos nada
+        // Obtener la fila seleccionada
+        PersonaResumen personaSeleccionada = tablaPersonas.getSelectionModel().getSelectedItem();
+        if (personaSeleccionada == null || cargandoPersona) {
+            return; // No hay selección o ya se está cargando una persona, no hacemos nada
         }
+        cargandoPersona = true;
+        btnEditar.setDisable(true);
         
+        // La tabla solo tiene los datos del listado: cargamos la persona completa en segundo plano
+        EjecutorAsincrono.ejecutar(() -> personaService.buscarPorId(personaSeleccionada.id()),
+            persona -> {
+                terminarCargaPersona();
+                if (persona.isPresent()) {
+                    abrirFormularioEdicion(persona.get());
+                } else {
+                    mostrarMensajeError("Error", "La persona ya no existe.");
+                    actualizarTabla();
+                }
+            },
+            e -> {
+                terminarCargaPersona();
+                mostrarMensajeError("Error al cargar la persona", e.getMessage());
+            });
+    }
+    
+    /**
+     * Vuelve a aceptar pedidos de edición al terminar la carga de una persona.
+     */
+    private void terminarCargaPersona() {
+        cargandoPersona = false;
+        btnEditar.setDisable(tablaPersonas.getSelectionModel().getSelectedItem() == null);
+    }
+    
+    /**
+     * Abre el formulario de edición para una persona ya cargada.
+     */
+    private void abrirFormularioEdicion(Persona persona) {
+        // Si el formulario ya está abierto no se reinicia: se perdería lo ingresado
+        if (RegistroVistas.estaAbierta(VISTA_FORMULARIO)) {
+            return;
+        }
         try {
-            // Cargamos la vista del formulario
-            FXMLLoader loader = new FXMLLoader(getClass().getResource("/fxml/personas/FormularioPersonaView.fxml"));
-            Parent root = loader.load();
-            
-            // Obtenemos el controlador y le pasamos los datos necesarios
-            FormularioPersonaController controller = loader.getController();
-            controller.setPersona(personaSeleccionada); // Pasamos la persona a editar
+            // Obtenemos el formulario y le pasamos los datos necesarios
+            RegistroVistas.Vista<FormularioPersonaController> vista = obtenerFormulario();
+            FormularioPersonaController controller = vista.controlador();
+            controller.setPersona(persona); // Pasamos la persona a editar
             controller.setListaPersonasController(this); // Pasamos referencia a este controlador
             
-            // Creamos y configuramos la ventana
-            Stage stage = new Stage();
+            // Mostramos la ventana
+            Stage stage = vista.ventana();
             stage.setTitle("Editar Persona");
-            stage.setScene(new Scene(root));
-            stage.initModality(Modality.APPLICATION_MODAL);
             stage.showAndWait();
             
         } catch (IOException e) {
@@ -253,13 +327,21 @@ public class ListaPersonasController implements Initializable {
         }
     }
     
+    /**
+     * Obtiene el formulario de personas, modal respecto a la ventana principal.
+     * Es el mismo formulario para crear y para editar.
+     */
+    private RegistroVistas.Vista<FormularioPersonaController> obtenerFormulario() throws IOException {
+        return RegistroVistas.obtener(VISTA_FORMULARIO, Modality.APPLICATION_MODAL, null);
+    }
+    
     /**
      * Elimina la persona seleccionada tras pedir confirmación.
      */
     @FXML
     private void eliminarPersona(ActionEvent event) {
         // Obtener la persona seleccionada
-        Persona personaSeleccionada = tablaPersonas.getSelectionModel().getSelectedItem();
+        PersonaResumen personaSeleccionada = tablaPersonas.getSelectionModel().getSelectedItem();
         if (personaSeleccionada == null) {
             return; // No hay selección, no hacemos nada
         }
@@ -269,24 +351,37 @@ public class ListaPersonasController implements Initializable {
         alert.setTitle("Confirmar eliminación");
         alert.setHeaderText(null);
         alert.setContentText("¿Está seguro de que desea eliminar a " + 
-                             personaSeleccionada.getNombre() + " " + 
-                             personaSeleccionada.getApellido() + "?");
+                             personaSeleccionada.nombre() + " " + 
+                             personaSeleccionada.apellido() + "?");
         
         // Esperar respuesta del usuario
         Optional<ButtonType> result = alert.showAndWait();
         if (result.isPresent() && result.get() == ButtonType.OK) {
-            try {
-                // Eliminar la persona usando el servicio
-                boolean eliminado = personaService.eliminar(personaSeleccionada.getId());
-                if (eliminado) {
-                    cargarPersonas(); // Recargamos la tabla
-                    mostrarMensajeInfo("Persona eliminada", "La persona ha sido eliminada correctamente.");
-                } else {
-                    mostrarMensajeError("Error", "No se pudo eliminar la persona.");
-                }
-            } catch (Exception e) {
-                mostrarMensajeError("Error al eliminar", e.getMessage());
-            }
+            // Eliminar la persona usando el servicio, en segundo plano
+            EjecutorAsincrono.ejecutar(() -> personaService.eliminar(personaSeleccionada.id()),
+                eliminado -> {
+                    if (eliminado) {
+                        actualizarTabla(); // Recargamos la tabla
+                        mostrarMensajeInfo("Persona eliminada", "La persona ha sido eliminada correctamente.");
+                    } else {
+                        mostrarMensajeError("Error", "No se pudo eliminar la persona.");
+                    }
+                },
+                e -> mostrarMensajeError("Error al eliminar", e.getMessage()));
+        }
+    }
+    
+    /**
+     * Vuelve la vista al estado inicial al reabrirla: sin búsqueda ni selección y con
+     * la primera página recargada (las personas pudieron cambiar mientras estaba cerrada).
+     */
+    @Override
+    public void reiniciarVista() {
+        tablaPersonas.getSelectionModel().clearSelection();
+        if (txtBuscar.getText().isEmpty()) {
+            cargarPersonas();
+        } else {
+            txtBuscar.clear(); // Al vaciar el campo se vuelve a la carga por páginas
         }
     }
     
@@ -295,7 +390,9 @@ public class ListaPersonasController implements Initializable {
      * Usado desde FormularioPersonaController al guardar cambios.
      */
     public void actualizarTabla() {
-        cargarPersonas();
+        // Volvemos a buscar: los resultados en memoria pueden estar desactualizados
+        busqueda.cancelar();
+        buscarPersonas(null);
     }
     
     /**
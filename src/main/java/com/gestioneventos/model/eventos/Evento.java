@@ -2,6 +2,8 @@ package com.gestioneventos.model.eventos;
 
 // Importaciones necesarias
 import jakarta.persistence.*; // Anotaciones para mapeo objeto-relacional (ORM)
+import org.hibernate.annotations.Cache; // Caché de segundo nivel de Hibernate
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import java.time.LocalDate; // API de fechas de Java 8+
 import java.util.ArrayList; // Colección para manejar relaciones
 import java.util.List; // Interfaz de colección
@@ -16,11 +18,20 @@ import com.gestioneventos.model.participaciones.Participacion;
 @Entity // Marca la clase como una entidad JPA (tabla en BD)
 @Table(name = "eventos")// Especifica el nombre de la tabla en la BD
 @Inheritance(strategy = InheritanceType.JOINED)  // Estrategia de herencia: una tabla por clase con joins
+@Cacheable // Se guarda en la caché de segundo nivel (todos los subtipos comparten la región de Evento)
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE) // Lecturas consistentes: la caché se actualiza al confirmar cada transacción
+// Plan de carga: participaciones y sus personas en la misma consulta (evita N+1 al listar eventos)
+@NamedEntityGraph(
+    name = "Evento.participaciones",
+    attributeNodes = @NamedAttributeNode(value = "participaciones", subgraph = "participaciones"),
+    subgraphs = @NamedSubgraph(name = "participaciones", attributeNodes = @NamedAttributeNode("persona"))
+)
 public abstract class Evento {
     
     // Identificador único del evento, generado automáticamente
     @Id // Marca este campo como clave primaria
-    @GeneratedValue(strategy = GenerationType.IDENTITY)  // Autoincremento manejado por la BD
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "eventos_seq")  // Secuencia: permite inserts en lote
+    @SequenceGenerator(name = "eventos_seq", sequenceName = "eventos_seq", allocationSize = 50)  // Reserva ids de a 50 (optimizador pooled)
     private Long id;
     
     // Nombre descriptivo del evento
@@ -145,6 +156,14 @@ public abstract class Evento {
         return duracionEstimada;
     }
 
+    /**
+     * Obtiene la fecha del último día del evento (inclusive).
+     * @return Fecha de inicio más la duración estimada menos un día
+     */
+    public LocalDate getFechaFin() {
+        return fechaInicio.plusDays(duracionEstimada - 1);
+    }
+
     /**
      * Establece la duración estimada con validaciones.
      * @param duracionEstimada Días de duración
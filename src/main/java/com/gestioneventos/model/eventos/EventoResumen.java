@@ -0,0 +1,65 @@
+package com.gestioneventos.model.eventos;
+
+import java.time.LocalDate;
+
+/**
+ * Fila del listado de eventos: solo las columnas que muestra la tabla.
+ * Se obtiene con una proyección JPQL, sin construir la entidad ni cargar sus participaciones.
+ *
+ * @param id ID del evento
+ * @param nombre Nombre del evento
+ * @param tipo Tipo de evento para mostrar ("Cine", "Taller", ...)
+ * @param fechaInicio Fecha de inicio
+ * @param duracionEstimada Duración en días
+ * @param estadoEvento Estado actual
+ * @param permiteInscripcion Si el evento admite inscripciones
+ * @param detalle Dato específico del tipo de evento
+ */
+public record EventoResumen(Long id, String nombre, String tipo, LocalDate fechaInicio, int duracionEstimada,
+                            EstadoEvento estadoEvento, boolean permiteInscripcion, String detalle) {
+
+    /**
+     * Constructor usado por la expresión {@code SELECT new} de la consulta: recibe el nombre
+     * del tipo de evento y las columnas de las subclases (nulas si no corresponden).
+     * El detalle de los conciertos se completa después con {@link #conArtistas(String)}; el tipo
+     * de entrada no se muestra, pero seleccionarlo hace que la consulta una la tabla de conciertos
+     * (sin ella Hibernate no puede distinguir un concierto al calcular el tipo).
+     */
+    public EventoResumen(Long id, String nombre, String tipo, LocalDate fechaInicio, Integer duracionEstimada,
+                         EstadoEvento estadoEvento, Boolean permiteInscripcion, String tituloPelicula,
+                         Integer cupoMaximo, Modalidad modalidad, TipoEntrada tipoEntrada, TipoArte tipoArte,
+                         Integer cantidadStands) {
+        this(id, nombre, tipo, fechaInicio, duracionEstimada == null ? 0 : duracionEstimada,
+                estadoEvento, Boolean.TRUE.equals(permiteInscripcion),
+                detalleDe(tipo, tituloPelicula, cupoMaximo, modalidad, tipoArte, cantidadStands));
+    }
+
+    /**
+     * @return true si la fila corresponde a un concierto
+     */
+    public boolean esConcierto() {
+        return "Concierto".equals(tipo);
+    }
+
+    /**
+     * Devuelve una copia con el detalle de concierto armado a partir de sus artistas.
+     * @param artistas Nombres de los artistas separados por coma, o null si no tiene
+     * @return Fila con el detalle completo
+     */
+    public EventoResumen conArtistas(String artistas) {
+        String texto = artistas == null || artistas.isEmpty() ? "sin artistas asignados" : artistas;
+        return new EventoResumen(id, nombre, tipo, fechaInicio, duracionEstimada, estadoEvento,
+                permiteInscripcion, "Artistas: " + texto);
+    }
+
+    private static String detalleDe(String tipo, String tituloPelicula, Integer cupoMaximo, Modalidad modalidad,
+                                    TipoArte tipoArte, Integer cantidadStands) {
+        return switch (tipo) {
+            case "Cine" -> "Película: " + tituloPelicula;
+            case "Taller" -> "Cupo: " + cupoMaximo + ", " + modalidad;
+            case "Exposición" -> "Arte: " + tipoArte;
+            case "Feria" -> "Stands: " + cantidadStands;
+            default -> "";
+        };
+    }
+}
@@ -0,0 +1,24 @@
+package com.gestioneventos.model.participaciones;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Fila de la nómina de asistencia: una participación con los datos de su evento y su persona.
+ * Se obtiene con una proyección JPQL, sin construir las entidades.
+ *
+ * @param eventoId ID del evento
+ * @param evento Nombre del evento
+ * @param fechaInicio Fecha de inicio del evento
+ * @param personaId ID de la persona
+ * @param nombre Nombre de la persona
+ * @param apellido Apellido de la persona
+ * @param dni DNI de la persona
+ * @param email Correo electrónico de la persona
+ * @param rol Rol en el evento
+ * @param fechaInscripcion Fecha de inscripción
+ */
+public record AsistenciaFila(Long eventoId, String evento, LocalDate fechaInicio, Long personaId, String nombre,
+                             String apellido, String dni, String email, RolParticipacion rol,
+                             LocalDateTime fechaInscripcion) {
+}
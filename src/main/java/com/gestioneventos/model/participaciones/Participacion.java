@@ -11,11 +11,27 @@ import java.util.Objects;
  * Representa la participación de una persona en un evento con un rol específico.
  */
 @Entity
-@Table(name = "participaciones")
+// Una persona no puede repetir rol en un mismo evento; la base de datos lo garantiza
+// incluso con inscripciones simultáneas
+@Table(
+    name = "participaciones",
+    uniqueConstraints = @UniqueConstraint(
+        name = Participacion.RESTRICCION_UNICA,
+        columnNames = { "evento_id", "persona_id", "rol" }
+    )
+)
+@NamedEntityGraph(
+    name = "Participacion.eventoYPersona",
+    attributeNodes = { @NamedAttributeNode("evento"), @NamedAttributeNode("persona") }
+)
 public class Participacion {
     
+    /** Nombre de la restricción única (evento_id, persona_id, rol). */
+    public static final String RESTRICCION_UNICA = "uk_participacion_evento_persona_rol";
+    
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "participaciones_seq")
+    @SequenceGenerator(name = "participaciones_seq", sequenceName = "participaciones_seq", allocationSize = 50)
     private Long id;
     
     @ManyToOne(fetch = FetchType.EAGER)
@@ -0,0 +1,27 @@
+package com.gestioneventos.model.participaciones;
+
+import java.time.LocalDateTime;
+
+/**
+ * Fila del listado de participantes de un evento.
+ * Se obtiene con una proyección JPQL que une la participación con su persona,
+ * sin construir las entidades Participacion, Persona ni Evento.
+ *
+ * @param id ID de la participación
+ * @param personaId ID de la persona
+ * @param nombre Nombre de la persona
+ * @param apellido Apellido de la persona
+ * @param dni DNI de la persona
+ * @param rol Rol en el evento
+ * @param fechaInscripcion Fecha de inscripción
+ */
+public record ParticipacionFila(Long id, Long personaId, String nombre, String apellido, String dni,
+                                RolParticipacion rol, LocalDateTime fechaInscripcion) {
+
+    /**
+     * @return Nombre y apellido de la persona
+     */
+    public String nombreCompleto() {
+        return nombre + " " + apellido;
+    }
+}
@@ -1,16 +1,27 @@
 package com.gestioneventos.model.personas;
 
 import jakarta.persistence.*;
+import org.hibernate.annotations.Cache;
+import org.hibernate.annotations.CacheConcurrencyStrategy;
 import com.gestioneventos.model.participaciones.Participacion;
 import java.util.ArrayList;
 import java.util.List;
 
 @Entity
 @Table(name = "personas")
+// Caché de segundo nivel: los formularios leen la lista de personas con frecuencia
+@Cacheable
+@Cache(usage = CacheConcurrencyStrategy.READ_WRITE)
+@NamedEntityGraph(
+    name = "Persona.participaciones",
+    attributeNodes = @NamedAttributeNode(value = "participaciones", subgraph = "participaciones"),
+    subgraphs = @NamedSubgraph(name = "participaciones", attributeNodes = @NamedAttributeNode("evento"))
+)
 public class Persona {
     
     @Id
-    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @GeneratedValue(strategy = GenerationType.SEQUENCE, generator = "personas_seq")
+    @SequenceGenerator(name = "personas_seq", sequenceName = "personas_seq", allocationSize = 50)
     private Long id;
     
     @Column(nullable = false, length = 50)
@@ -43,6 +54,20 @@ public class Persona {
         this.email = email;
     }
     
+    /**
+     * Crea una copia desasociada de otra persona, con su ID y sus datos de contacto pero
+     * sin sus participaciones.
+     * @param otra Persona a copiar
+     */
+    public Persona(Persona otra) {
+        this.id = otra.id;
+        this.nombre = otra.nombre;
+        this.apellido = otra.apellido;
+        this.dni = otra.dni;
+        this.telefono = otra.telefono;
+        this.email = otra.email;
+    }
+    
     public Long getId() {
         return id;
     }
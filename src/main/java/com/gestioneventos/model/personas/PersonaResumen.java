@@ -0,0 +1,25 @@
+package com.gestioneventos.model.personas;
+
+/**
+ * Fila del listado de personas: los datos de contacto sin las participaciones.
+ * Se obtiene con una proyección JPQL, sin construir la entidad.
+ *
+ * @param id ID de la persona
+ * @param nombre Nombre
+ * @param apellido Apellido
+ * @param dni DNI
+ * @param telefono Teléfono
+ * @param email Correo electrónico
+ */
+public record PersonaResumen(Long id, String nombre, String apellido, String dni, String telefono, String email) {
+
+    /**
+     * Crea la fila a partir de una entidad ya cargada (por ejemplo, desde el índice de personas).
+     * @param persona Persona de origen
+     * @return Fila con los datos de la persona
+     */
+    public static PersonaResumen de(Persona persona) {
+        return new PersonaResumen(persona.getId(), persona.getNombre(), persona.getApellido(),
+                persona.getDni(), persona.getTelefono(), persona.getEmail());
+    }
+}
@@ -0,0 +1,180 @@
+package com.gestioneventos.repositorio;
+
+import com.gestioneventos.util.JPAUtil;
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.hibernate.jdbc.Work;
+
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.Map;
+
+/**
+ * Configuración de la búsqueda por texto en la base de datos.
+ * Por defecto las búsquedas usan LIKE sobre el campo en minúsculas. Con la propiedad
+ * {@code gestioneventos.busqueda.modo=trigramas} se activa la búsqueda por similitud de
+ * PostgreSQL: se crea la extensión pg_trgm y un índice GIN de trigramas por cada columna
+ * buscada, de modo que {@code LOWER(columna) LIKE '%texto%'} se resuelve con el índice en
+ * lugar de recorrer la tabla, y los resultados se ordenan por {@code similarity()}.
+ * La preparación se hace una sola vez, la primera vez que se busca; si la función
+ * similarity no está disponible (otra base de datos, extensión no instalada o sin permisos)
+ * se vuelve a la búsqueda con LIKE.
+ * <p>
+ * La primera búsqueda solo espera a la extensión. Los índices se crean después en un hilo
+ * aparte con {@code CREATE INDEX CONCURRENTLY}, que no bloquea las escrituras en la tabla;
+ * mientras tanto las búsquedas dan los mismos resultados, recorriendo la tabla.
+ */
+public final class EsquemaBusqueda {
+
+    public static final String PROPIEDAD_MODO = "gestioneventos.busqueda.modo";
+    public static final String MODO_TRIGRAMAS = "trigramas";
+
+    private static final String EXTENSION = "CREATE EXTENSION IF NOT EXISTS pg_trgm";
+
+    // Índice por nombre y su definición; CONCURRENTLY no puede ejecutarse dentro de una transacción
+    private static final Map<String, String> INDICES = Map.of(
+        "idx_eventos_nombre_trgm", "eventos USING gin (lower(nombre) gin_trgm_ops)",
+        "idx_personas_nombre_trgm", "personas USING gin (lower(nombre) gin_trgm_ops)",
+        "idx_personas_apellido_trgm", "personas USING gin (lower(apellido) gin_trgm_ops)"
+    );
+
+    // Un CREATE INDEX CONCURRENTLY interrumpido deja el índice inválido: IF NOT EXISTS lo saltearía
+    private static final String INDICE_INVALIDO = "SELECT 1 FROM pg_class c JOIN pg_index i ON i.indexrelid = c.oid"
+            + " WHERE c.relname = ? AND NOT i.indisvalid";
+
+    private static volatile Boolean similitudActiva;
+
+    private EsquemaBusqueda() {
+        // Clase utilitaria
+    }
+
+    /**
+     * Indica si las búsquedas deben usar similitud por trigramas.
+     * La primera llamada con el modo trigramas configurado crea la extensión y los índices.
+     * @return true si la búsqueda por similitud está configurada y disponible
+     */
+    public static boolean similitudActiva() {
+        Boolean activa = similitudActiva;
+        if (activa == null) {
+            synchronized (EsquemaBusqueda.class) {
+                activa = similitudActiva;
+                if (activa == null) {
+                    activa = MODO_TRIGRAMAS.equalsIgnoreCase(JPAUtil.obtenerPropiedad(PROPIEDAD_MODO, "like"))
+                            && preparar();
+                    similitudActiva = activa;
+                }
+            }
+        }
+        return activa;
+    }
+
+    /**
+     * Olvida el estado calculado para que se vuelva a evaluar en la próxima búsqueda
+     * (por ejemplo, después de cambiar la propiedad o de reiniciar la fábrica de JPA).
+     */
+    public static synchronized void reiniciar() {
+        similitudActiva = null;
+    }
+
+    /**
+     * Crea la extensión de trigramas y comprueba que similarity() responde. Si responde,
+     * lanza la creación de los índices en segundo plano.
+     * @return true si la función similarity está disponible
+     */
+    private static boolean preparar() {
+        try {
+            ejecutar(EXTENSION);
+        } catch (RuntimeException e) {
+            // Sin permisos para crear la extensión o base de datos distinta de PostgreSQL
+            System.err.println("No se pudo preparar la búsqueda por trigramas (" + EXTENSION + "): " + e.getMessage());
+        }
+
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.createNativeQuery("SELECT similarity('a', 'a')").getSingleResult();
+        } catch (RuntimeException e) {
+            System.err.println("Búsqueda por trigramas no disponible, se usa LIKE: " + e.getMessage());
+            return false;
+        } finally {
+            em.close();
+        }
+
+        Thread.ofVirtual().name("indices-busqueda").start(EsquemaBusqueda::crearIndices);
+        return true;
+    }
+
+    /**
+     * Crea los índices de trigramas que falten, uno por vez y fuera de toda transacción.
+     * Crear un índice sobre una tabla grande puede tardar; solo ocurre la primera vez.
+     */
+    private static void crearIndices() {
+        INDICES.forEach((nombre, definicion) -> {
+            try {
+                conAutocommit(conexion -> {
+                    try (Statement st = conexion.createStatement()) {
+                        if (indiceInvalido(conexion, nombre)) {
+                            st.execute("DROP INDEX CONCURRENTLY IF EXISTS " + nombre);
+                        }
+                        st.execute("CREATE INDEX CONCURRENTLY IF NOT EXISTS " + nombre + " ON " + definicion);
+                    }
+                });
+            } catch (RuntimeException e) {
+                System.err.println("No se pudo crear el índice de búsqueda " + nombre + ": " + e.getMessage());
+            }
+        });
+    }
+
+    private static boolean indiceInvalido(Connection conexion, String nombre) throws SQLException {
+        try (PreparedStatement ps = conexion.prepareStatement(INDICE_INVALIDO)) {
+            ps.setString(1, nombre);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next();
+            }
+        }
+    }
+
+    private static void ejecutar(String sentencia) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.getTransaction().begin();
+            // Por JDBC directo: un executeUpdate nativo vaciaría toda la caché de segundo nivel
+            em.unwrap(Session.class).doWork(conexion -> {
+                try (Statement st = conexion.createStatement()) {
+                    st.execute(sentencia);
+                }
+            });
+            em.getTransaction().commit();
+        } catch (RuntimeException e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Trabaja sobre una conexión en modo autocommit, sin transacción abierta, y la devuelve
+     * al pool con el modo que tenía.
+     */
+    private static void conAutocommit(Work trabajo) {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(conexion -> {
+                boolean autocommit = conexion.getAutoCommit();
+                conexion.setAutoCommit(true);
+                try {
+                    trabajo.execute(conexion);
+                } finally {
+                    conexion.setAutoCommit(autocommit);
+                }
+            });
+        } finally {
+            em.close();
+        }
+    }
+}
@@ -0,0 +1,59 @@
+package com.gestioneventos.repositorio;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Página de resultados obtenida con paginación por clave (keyset).
+ * En lugar de un desplazamiento (OFFSET), guarda los valores de las claves de
+ * orden del último elemento, que se usan como cursor para pedir la página siguiente.
+ *
+ * @param <T> Tipo de los elementos de la página
+ */
+public class Pagina<T> {
+
+    private final List<T> elementos;
+    private final List<Object> cursorSiguiente;
+    private final boolean hayMas;
+
+    /**
+     * Crea una página de resultados.
+     * @param elementos Elementos de la página, en el orden de las claves
+     * @param cursorSiguiente Valores de las claves del último elemento, o null si la página está vacía
+     * @param hayMas true si existen más elementos después de esta página
+     */
+    public Pagina(List<T> elementos, List<Object> cursorSiguiente, boolean hayMas) {
+        this.elementos = Collections.unmodifiableList(elementos);
+        this.cursorSiguiente = cursorSiguiente;
+        this.hayMas = hayMas;
+    }
+
+    /**
+     * @return Elementos de la página
+     */
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * Cursor a pasar en la próxima llamada para obtener la página siguiente.
+     * @return Valores de las claves de orden del último elemento
+     */
+    public List<Object> getCursorSiguiente() {
+        return cursorSiguiente;
+    }
+
+    /**
+     * @return true si hay más elementos después de esta página
+     */
+    public boolean hayMas() {
+        return hayMas;
+    }
+
+    /**
+     * @return true si la página no tiene elementos
+     */
+    public boolean estaVacia() {
+        return elementos.isEmpty();
+    }
+}
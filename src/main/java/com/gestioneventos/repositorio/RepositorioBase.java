@@ -1,15 +1,38 @@
 package com.gestioneventos.repositorio;
 
 import com.gestioneventos.util.JPAUtil;
+import com.gestioneventos.util.Metricas;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
 import jakarta.persistence.TypedQuery;
 import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.CriteriaQuery;
 import jakarta.persistence.criteria.Root;
+import jakarta.persistence.metamodel.Attribute;
+import org.hibernate.CacheMode;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.Session;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.generator.BeforeExecutionGenerator;
+import org.hibernate.generator.EventType;
+import org.hibernate.generator.Generator;
+import org.hibernate.query.SelectionQuery;
+import org.postgresql.PGConnection;
 
+import java.io.IOException;
+import java.io.StringReader;
 import java.lang.reflect.ParameterizedType;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Locale;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.BiConsumer;
+import java.util.function.Consumer;
+import java.util.function.Function;
 
 /**
  * Clase base abstracta para repositorios que proporcionan operaciones CRUD genéricas.
@@ -19,6 +42,16 @@ import java.util.Optional;
  */
 public abstract class RepositorioBase<T, ID> {
     
+    // Cada cuántas entidades se vacía el contexto en guardarTodos (igual a hibernate.jdbc.batch_size)
+    protected static final int TAMANIO_LOTE = 50;
+    
+    // Hint estándar de JPA para aplicar un grafo de entidades como plan de carga
+    private static final String HINT_GRAFO_CARGA = "jakarta.persistence.loadgraph";
+    
+    // Filas que el driver trae por viaje al recorrer resultados grandes; también es
+    // cada cuántas filas se vacía el contexto de persistencia durante el recorrido
+    protected static final int TAMANIO_RECORRIDO = 500;
+    
     protected final Class<T> entityClass;
     
     /**
@@ -36,9 +69,10 @@ public abstract class RepositorioBase<T, ID> {
      * @return Entidad guardada con su ID generado
      */
     public T guardar(T entidad) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             em.getTransaction().begin();
+            antesDeGuardar(em, List.of(entidad));
             em.persist(entidad);
             em.getTransaction().commit();
             return entidad;
@@ -52,13 +86,59 @@ public abstract class RepositorioBase<T, ID> {
         }
     }
     
+    /**
+     * Punto de extensión que se ejecuta dentro de la transacción de {@link #guardar(Object)}
+     * y {@link #guardarTodos(Collection)}, antes de persistir las entidades nuevas.
+     * Las subclases pueden sobreescribirlo para bloquear filas o validar reglas que
+     * dependen del estado de la base de datos; una excepción revierte la transacción.
+     * Por defecto no hace nada.
+     * @param em EntityManager de la transacción en curso
+     * @param entidades Entidades que se van a persistir
+     */
+    protected void antesDeGuardar(EntityManager em, Collection<T> entidades) {
+        // Por defecto no hay reglas adicionales
+    }
+    
+    /**
+     * Guarda una colección de entidades nuevas en una sola transacción.
+     * Cada {@link #TAMANIO_LOTE} entidades se envían los inserts en lote y se limpia
+     * el contexto de persistencia para que no crezca con colecciones grandes.
+     * @param entidades Entidades a guardar
+     * @return Las mismas entidades, con sus IDs asignados
+     */
+    public List<T> guardarTodos(Collection<T> entidades) {
+        EntityManager em = abrirEntityManager();
+        try {
+            em.getTransaction().begin();
+            antesDeGuardar(em, entidades);
+            int pendientes = 0;
+            for (T entidad : entidades) {
+                em.persist(entidad);
+                if (++pendientes == TAMANIO_LOTE) {
+                    em.flush();
+                    em.clear();
+                    pendientes = 0;
+                }
+            }
+            em.getTransaction().commit();
+            return new ArrayList<>(entidades);
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+    
     /**
      * Actualiza una entidad existente.
      * @param entidad Entidad a actualizar
      * @return Entidad actualizada
      */
     public T actualizar(T entidad) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             em.getTransaction().begin();
             T entidadActualizada = em.merge(entidad);
@@ -102,11 +182,14 @@ public abstract class RepositorioBase<T, ID> {
      * @return Optional con la entidad si existe
      */
     public Optional<T> buscarPorId(ID id) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
-            T entidad = em.find(entityClass, id);
+            String grafo = getGrafoCarga();
+            T entidad = grafo == null
+                    ? em.find(entityClass, id)
+                    : em.find(entityClass, id, Map.of(HINT_GRAFO_CARGA, em.getEntityGraph(grafo)));
             // Método de la subclase para cargar relaciones específicas
-            if (entidad != null) {
+            if (entidad != null && grafo == null) {
                 cargarRelaciones(em, entidad);
             }
             return Optional.ofNullable(entidad);
@@ -126,12 +209,58 @@ public abstract class RepositorioBase<T, ID> {
         // cargar relaciones específicas para prevenir LazyInitializationException
     }
     
+    /**
+     * Nombre del grafo de entidades (@NamedEntityGraph) que define el plan de carga
+     * de las consultas de este repositorio. Cuando existe, las relaciones se traen
+     * con joins en la misma consulta en lugar de inicializarse fila por fila.
+     * @return Nombre del grafo, o null para usar cargarRelaciones
+     */
+    protected String getGrafoCarga() {
+        return null;
+    }
+    
+    /**
+     * Aplica el plan de carga del repositorio a una consulta.
+     * @param em El EntityManager activo
+     * @param query La consulta a preparar
+     * @return true si se aplicó un grafo de entidades
+     */
+    protected boolean aplicarGrafoCarga(EntityManager em, TypedQuery<T> query) {
+        String grafo = getGrafoCarga();
+        if (grafo == null) {
+            return false;
+        }
+        query.setHint(HINT_GRAFO_CARGA, em.getEntityGraph(grafo));
+        return true;
+    }
+    
+    /**
+     * Ejecuta una consulta aplicando el plan de carga y carga las relaciones de
+     * los resultados cuando no hay grafo definido.
+     * @param em El EntityManager activo
+     * @param query La consulta a ejecutar
+     * @return Lista de entidades con sus relaciones cargadas
+     */
+    protected List<T> obtenerResultados(EntityManager em, TypedQuery<T> query) {
+        boolean conGrafo = aplicarGrafoCarga(em, query);
+        List<T> result = query.getResultList();
+        
+        // Cargar relaciones para prevenir LazyInitializationException
+        if (!conGrafo) {
+            for (T entidad : result) {
+                cargarRelaciones(em, entidad);
+            }
+        }
+        
+        return result;
+    }
+    
     /**
      * Obtiene todas las entidades.
      * @return Lista de entidades
      */
     public List<T> buscarTodos() {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             CriteriaBuilder cb = em.getCriteriaBuilder();
             CriteriaQuery<T> cq = cb.createQuery(entityClass);
@@ -139,19 +268,247 @@ public abstract class RepositorioBase<T, ID> {
             CriteriaQuery<T> all = cq.select(rootEntry);
             
             TypedQuery<T> allQuery = em.createQuery(all);
-            List<T> result = allQuery.getResultList();
+            return obtenerResultados(em, allQuery);
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Recorre todas las entidades, en orden de ID, sin cargarlas todas en memoria.
+     * Ver {@link #recorrer(String, Class, Consumer, Object...)}.
+     * @param accion Acción a realizar con cada entidad
+     * @return Cantidad de entidades recorridas
+     */
+    public long recorrerTodos(Consumer<T> accion) {
+        return recorrer("SELECT e FROM " + entityClass.getSimpleName() + " e ORDER BY e.id", entityClass, accion);
+    }
+    
+    /**
+     * Cuenta todas las entidades (por ejemplo, para informar el progreso de un recorrido).
+     * @return Cantidad de entidades
+     */
+    public long contarTodos() {
+        EntityManager em = abrirEntityManager();
+        try {
+            return em.createQuery("SELECT COUNT(e) FROM " + entityClass.getSimpleName() + " e", Long.class)
+                    .getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Ejecuta una consulta y entrega sus filas de a una, con memoria constante: las filas
+     * se leen con un cursor del servidor (de a {@link #TAMANIO_RECORRIDO}), en modo de solo
+     * lectura, sin pasar por la caché de segundo nivel, y el contexto de persistencia se
+     * vacía periódicamente. Pensado para exportaciones, reportes y procesos por lotes.
+     * <p>
+     * Si la fila es una entidad, solo es válida durante la llamada a la acción: después
+     * queda desasociada y sus relaciones perezosas ya no se pueden inicializar.
+     * @param jpql La consulta JPQL
+     * @param tipo Clase del resultado (entidad o proyección)
+     * @param accion Acción a realizar con cada fila (en el hilo que llama)
+     * @param params Los parámetros de la consulta como pares [nombre, valor]
+     * @param <R> Tipo de las filas
+     * @return Cantidad de filas recorridas
+     */
+    protected <R> long recorrer(String jpql, Class<R> tipo, Consumer<R> accion, Object... params) {
+        EntityManager em = abrirEntityManager();
+        try {
+            // PostgreSQL solo usa un cursor del servidor dentro de una transacción
+            em.getTransaction().begin();
+            
+            SelectionQuery<R> query = em.unwrap(Session.class).createSelectionQuery(jpql, tipo);
+            for (int i = 0; i < params.length; i += 2) {
+                query.setParameter((String) params[i], params[i + 1]);
+            }
+            query.setFetchSize(TAMANIO_RECORRIDO);
+            query.setReadOnly(true);
+            query.setCacheMode(CacheMode.IGNORE);
+            
+            long cantidad = 0;
+            try (ScrollableResults<R> filas = query.scroll(ScrollMode.FORWARD_ONLY)) {
+                while (filas.next()) {
+                    accion.accept(filas.get());
+                    // Soltar las entidades ya procesadas para no acumularlas en memoria
+                    if (++cantidad % TAMANIO_RECORRIDO == 0) {
+                        em.clear();
+                    }
+                }
+            }
+            
+            // Solo lectura: no hay cambios que confirmar
+            em.getTransaction().rollback();
+            return cantidad;
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Clave de orden estable usada por la paginación por clave (keyset).
+     * @param campo Ruta JPQL del campo relativa a la entidad (por ejemplo "persona.apellido")
+     * @param valor Función que extrae de la entidad el valor de ese campo
+     * @param <T> Tipo de entidad
+     */
+    protected record ClaveOrden<T>(String campo, Function<T, Object> valor) {
+    }
+    
+    /**
+     * Claves de orden para la paginación. La última debe ser única (normalmente el id)
+     * para que el orden sea total y ninguna fila se repita ni se pierda entre páginas.
+     * Por defecto se ordena solo por id; las subclases pueden sobrescribirlo.
+     * @return Lista ordenada de claves
+     */
+    protected List<ClaveOrden<T>> getClavesOrden() {
+        return List.of(new ClaveOrden<>("id",
+                entidad -> JPAUtil.getEntityManagerFactory().getPersistenceUnitUtil().getIdentifier(entidad)));
+    }
+    
+    /**
+     * Obtiene una página de entidades con paginación por clave.
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio Cantidad máxima de elementos de la página
+     * @return Página con los elementos y el cursor para la siguiente
+     */
+    public Pagina<T> buscarPagina(List<Object> cursor, int tamanio) {
+        return buscarPagina(null, Map.of(), cursor, tamanio);
+    }
+    
+    /**
+     * Obtiene una página de entidades que cumplen un filtro, con paginación por clave.
+     * El filtro y las claves de orden usan el alias "e" para la entidad.
+     * Las relaciones se cargan con cargarRelaciones (en lotes gracias a
+     * hibernate.default_batch_fetch_size) porque un grafo con colecciones obligaría
+     * a Hibernate a paginar en memoria.
+     * @param filtro Condición JPQL adicional, o null para no filtrar
+     * @param params Parámetros del filtro
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio Cantidad máxima de elementos de la página
+     * @return Página con los elementos y el cursor para la siguiente
+     */
+    protected Pagina<T> buscarPagina(String filtro, Map<String, Object> params, List<Object> cursor, int tamanio) {
+        return paginar("e", entityClass, getClavesOrden(), filtro, params, cursor, tamanio, this::cargarRelaciones);
+    }
+    
+    /**
+     * Obtiene una página de una proyección de la entidad (por ejemplo, un record armado con
+     * {@code SELECT new ...}), con paginación por clave. No se construyen entidades ni se
+     * cargan relaciones: solo se leen las columnas de la selección.
+     * @param seleccion Expresión SELECT en JPQL sobre el alias "e"
+     * @param tipo Clase del resultado de la proyección
+     * @param claves Claves de orden (rutas sobre "e" y cómo leer su valor en la proyección)
+     * @param filtro Condición JPQL adicional, o null para no filtrar
+     * @param params Parámetros del filtro
+     * @param cursor Cursor devuelto por la página anterior, o null para la primera página
+     * @param tamanio Cantidad máxima de elementos de la página
+     * @param <R> Tipo de la proyección
+     * @return Página con las filas proyectadas y el cursor para la siguiente
+     */
+    protected <R> Pagina<R> buscarPaginaProyectada(String seleccion, Class<R> tipo, List<ClaveOrden<R>> claves,
+                                                   String filtro, Map<String, Object> params,
+                                                   List<Object> cursor, int tamanio) {
+        return paginar(seleccion, tipo, claves, filtro, params, cursor, tamanio, null);
+    }
+    
+    /**
+     * Implementación común de la paginación por clave para entidades y proyecciones.
+     * @param alCargar Acción sobre cada fila antes de cerrar el EntityManager, o null
+     */
+    private <R> Pagina<R> paginar(String seleccion, Class<R> tipo, List<ClaveOrden<R>> claves,
+                                  String filtro, Map<String, Object> params, List<Object> cursor, int tamanio,
+                                  BiConsumer<EntityManager, R> alCargar) {
+        if (tamanio <= 0) {
+            throw new IllegalArgumentException("El tamaño de página debe ser positivo");
+        }
+        
+        if (cursor != null && cursor.size() != claves.size()) {
+            throw new IllegalArgumentException("El cursor no corresponde a las claves de orden del repositorio");
+        }
+        
+        // Armar la consulta: filtro + condición de "posterior al cursor" + orden por las claves
+        List<String> condiciones = new ArrayList<>();
+        if (filtro != null) {
+            condiciones.add("(" + filtro + ")");
+        }
+        if (cursor != null) {
+            condiciones.add(condicionPosteriorAlCursor(claves));
+        }
+        StringBuilder jpql = new StringBuilder("SELECT ").append(seleccion)
+                .append(" FROM ").append(entityClass.getSimpleName()).append(" e");
+        if (!condiciones.isEmpty()) {
+            jpql.append(" WHERE ").append(String.join(" AND ", condiciones));
+        }
+        jpql.append(" ORDER BY ");
+        for (int i = 0; i < claves.size(); i++) {
+            jpql.append(i > 0 ? ", " : "").append("e.").append(claves.get(i).campo());
+        }
+        
+        EntityManager em = abrirEntityManager();
+        try {
+            TypedQuery<R> query = em.createQuery(jpql.toString(), tipo);
+            params.forEach(query::setParameter);
+            if (cursor != null) {
+                for (int i = 0; i < cursor.size(); i++) {
+                    query.setParameter("cursor" + i, cursor.get(i));
+                }
+            }
+            // Se pide un elemento extra para saber si existe una página siguiente
+            query.setMaxResults(tamanio + 1);
+            
+            List<R> result = query.getResultList();
+            boolean hayMas = result.size() > tamanio;
+            if (hayMas) {
+                result = new ArrayList<>(result.subList(0, tamanio));
+            }
             
             // Cargar relaciones para prevenir LazyInitializationException
-            for (T entidad : result) {
-                cargarRelaciones(em, entidad);
+            if (alCargar != null) {
+                for (R fila : result) {
+                    alCargar.accept(em, fila);
+                }
             }
             
-            return result;
+            List<Object> cursorSiguiente = cursor;
+            if (!result.isEmpty()) {
+                R ultima = result.get(result.size() - 1);
+                cursorSiguiente = new ArrayList<>(claves.size());
+                for (ClaveOrden<R> clave : claves) {
+                    cursorSiguiente.add(clave.valor().apply(ultima));
+                }
+            }
+            
+            return new Pagina<>(result, cursorSiguiente, hayMas);
         } finally {
             em.close();
         }
     }
     
+    /**
+     * Construye la condición "fila posterior al cursor" para claves ascendentes:
+     * (k0 > c0) OR (k0 = c0 AND k1 > c1) OR ...
+     * @param claves Claves de orden
+     * @return Fragmento JPQL con parámetros cursor0..cursorN
+     */
+    private static String condicionPosteriorAlCursor(List<? extends ClaveOrden<?>> claves) {
+        List<String> alternativas = new ArrayList<>();
+        for (int i = 0; i < claves.size(); i++) {
+            StringBuilder alternativa = new StringBuilder("(");
+            for (int j = 0; j < i; j++) {
+                alternativa.append("e.").append(claves.get(j).campo()).append(" = :cursor").append(j).append(" AND ");
+            }
+            alternativa.append("e.").append(claves.get(i).campo()).append(" > :cursor").append(i).append(")");
+            alternativas.add(alternativa.toString());
+        }
+        return "(" + String.join(" OR ", alternativas) + ")";
+    }
+    
     /**
      * Busca entidades por un campo específico.
      * @param campo Nombre del campo a buscar
@@ -159,19 +516,12 @@ public abstract class RepositorioBase<T, ID> {
      * @return Lista de entidades que coinciden con la búsqueda
      */
     public List<T> buscarPor(String campo, Object valor) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             String jpql = "SELECT e FROM " + entityClass.getSimpleName() + " e WHERE e." + campo + " = :valor";
             TypedQuery<T> query = em.createQuery(jpql, entityClass);
             query.setParameter("valor", valor);
-            List<T> result = query.getResultList();
-            
-            // Cargar relaciones para prevenir LazyInitializationException
-            for (T entidad : result) {
-                cargarRelaciones(em, entidad);
-            }
-            
-            return result;
+            return obtenerResultados(em, query);
         } finally {
             em.close();
         }
@@ -179,36 +529,116 @@ public abstract class RepositorioBase<T, ID> {
     
     /**
      * Busca entidades por coincidencia parcial en un campo string.
-     * @param campo Nombre del campo a buscar
+     * @param campo Nombre del campo a buscar (debe ser un atributo de texto de la entidad)
      * @param texto Texto a buscar (coincidencia parcial)
      * @return Lista de entidades que coinciden con la búsqueda
+     * @throws IllegalArgumentException si el campo no es un atributo de texto de la entidad
      */
     public List<T> buscarPorCoincidenciaParcial(String campo, String texto) {
-        EntityManager em = JPAUtil.getEntityManager();
+        return buscarPorTexto(texto, campo);
+    }
+    
+    /**
+     * Busca entidades en las que alguno de los campos contiene el texto, sin distinguir mayúsculas.
+     * Con la búsqueda por trigramas activa (ver {@link EsquemaBusqueda}) la condición se resuelve
+     * con los índices GIN de PostgreSQL y los resultados se ordenan de más a menos parecidos;
+     * en ambos modos el resto del orden lo dan las claves de orden del repositorio.
+     * @param texto Texto a buscar (coincidencia parcial)
+     * @param campos Atributos de texto de la entidad donde buscar
+     * @return Lista de entidades que coinciden con la búsqueda
+     * @throws IllegalArgumentException si algún campo no es un atributo de texto de la entidad
+     */
+    protected List<T> buscarPorTexto(String texto, String... campos) {
+        EntityManager em = abrirEntityManager();
         try {
-            String jpql = "SELECT e FROM " + entityClass.getSimpleName() + 
-                         " e WHERE LOWER(e." + campo + ") LIKE LOWER(:texto)";
-            TypedQuery<T> query = em.createQuery(jpql, entityClass);
-            query.setParameter("texto", "%" + texto + "%");
-            List<T> result = query.getResultList();
-            
-            // Cargar relaciones para prevenir LazyInitializationException
-            for (T entidad : result) {
-                cargarRelaciones(em, entidad);
-            }
-            
-            return result;
+            TypedQuery<T> query = crearConsultaPorTexto(em, "e", entityClass, getClavesOrden(), texto, campos);
+            return obtenerResultados(em, query);
         } finally {
             em.close();
         }
     }
     
+    /**
+     * Igual que {@link #buscarPorTexto(String, String...)} pero devuelve una proyección
+     * de la entidad en lugar de entidades completas.
+     * @param seleccion Expresión SELECT en JPQL sobre el alias "e"
+     * @param tipo Clase del resultado de la proyección
+     * @param claves Claves de orden de los resultados (después de la similitud, si está activa)
+     * @param texto Texto a buscar (coincidencia parcial)
+     * @param campos Atributos de texto de la entidad donde buscar
+     * @param <R> Tipo de la proyección
+     * @return Filas proyectadas que coinciden con la búsqueda
+     */
+    protected <R> List<R> buscarPorTextoProyectado(String seleccion, Class<R> tipo, List<ClaveOrden<R>> claves,
+                                                   String texto, String... campos) {
+        EntityManager em = abrirEntityManager();
+        try {
+            return crearConsultaPorTexto(em, seleccion, tipo, claves, texto, campos).getResultList();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Arma la consulta de búsqueda por texto (LIKE o similitud por trigramas).
+     */
+    private <R> TypedQuery<R> crearConsultaPorTexto(EntityManager em, String seleccion, Class<R> tipo,
+                                                    List<ClaveOrden<R>> claves, String texto, String... campos) {
+        // Los campos se concatenan en la consulta: solo se admiten atributos reales de la entidad
+        for (String campo : campos) {
+            validarCampoTexto(em, campo);
+        }
+        
+        List<String> condiciones = new ArrayList<>();
+        List<String> similitudes = new ArrayList<>();
+        for (String campo : campos) {
+            condiciones.add("LOWER(e." + campo + ") LIKE LOWER(:patron)");
+            similitudes.add("function('similarity', LOWER(e." + campo + "), :texto)");
+        }
+        
+        List<String> orden = new ArrayList<>();
+        boolean porSimilitud = EsquemaBusqueda.similitudActiva();
+        if (porSimilitud) {
+            orden.add((similitudes.size() == 1
+                    ? similitudes.get(0)
+                    : "GREATEST(" + String.join(", ", similitudes) + ")") + " DESC");
+        }
+        for (ClaveOrden<R> clave : claves) {
+            orden.add("e." + clave.campo());
+        }
+        
+        String jpql = "SELECT " + seleccion + " FROM " + entityClass.getSimpleName() + " e WHERE "
+                + String.join(" OR ", condiciones)
+                + " ORDER BY " + String.join(", ", orden);
+        TypedQuery<R> query = em.createQuery(jpql, tipo);
+        query.setParameter("patron", "%" + texto + "%");
+        if (porSimilitud) {
+            query.setParameter("texto", texto.toLowerCase(Locale.ROOT));
+        }
+        return query;
+    }
+    
+    /**
+     * Verifica que el campo sea un atributo de texto de la entidad.
+     */
+    private void validarCampoTexto(EntityManager em, String campo) {
+        Attribute<? super T, ?> atributo;
+        try {
+            atributo = em.getMetamodel().entity(entityClass).getAttribute(campo);
+        } catch (IllegalArgumentException e) {
+            throw new IllegalArgumentException("El campo '" + campo + "' no existe en " + entityClass.getSimpleName());
+        }
+        if (atributo.getJavaType() != String.class) {
+            throw new IllegalArgumentException("El campo '" + campo + "' no es de texto");
+        }
+    }
+    
     /**
      * Elimina una entidad.
      * @param entidad Entidad a eliminar
      */
     public void eliminar(T entidad) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             em.getTransaction().begin();
             if (!em.contains(entidad)) {
@@ -231,7 +661,7 @@ public abstract class RepositorioBase<T, ID> {
      * @param id Identificador de la entidad a eliminar
      */
     public void eliminarPorId(ID id) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             em.getTransaction().begin();
             T entidad = em.find(entityClass, id);
@@ -255,7 +685,7 @@ public abstract class RepositorioBase<T, ID> {
      * @return true si existe, false en caso contrario
      */
     public boolean existePorId(ID id) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             return em.find(entityClass, id) != null;
         } finally {
@@ -263,6 +693,117 @@ public abstract class RepositorioBase<T, ID> {
         }
     }
     
+    /**
+     * Ejecuta una sentencia JPQL de actualización o borrado masivo en su propia transacción.
+     * Las entidades afectadas no pasan por el contexto de persistencia.
+     * @param jpql La sentencia UPDATE o DELETE
+     * @param params Los parámetros de la sentencia como pares [nombre, valor]
+     * @return Cantidad de filas afectadas
+     */
+    protected int ejecutarActualizacion(String jpql, Object... params) {
+        return ejecutarEnTransaccion(em -> {
+            Query query = em.createQuery(jpql);
+            
+            // Establecer los parámetros
+            for (int i = 0; i < params.length; i += 2) {
+                query.setParameter((String) params[i], params[i + 1]);
+            }
+            
+            return query.executeUpdate();
+        });
+    }
+    
+    /**
+     * Abre el EntityManager de una operación del repositorio. Con las métricas encendidas la
+     * operación se mide hasta que se cierra (ver {@link Metricas#abrirEntityManager(Class)}).
+     * @return Un EntityManager nuevo, que quien lo abre debe cerrar
+     */
+    protected EntityManager abrirEntityManager() {
+        return Metricas.abrirEntityManager(getClass());
+    }
+    
+    /**
+     * Ejecuta un trabajo dentro de una única transacción: si algo falla se revierte completo.
+     * @param trabajo Operaciones a realizar con el EntityManager de la transacción
+     * @param <R> Tipo del resultado
+     * @return El resultado del trabajo
+     */
+    protected <R> R ejecutarEnTransaccion(Function<EntityManager, R> trabajo) {
+        EntityManager em = abrirEntityManager();
+        try {
+            em.getTransaction().begin();
+            R resultado = trabajo.apply(em);
+            em.getTransaction().commit();
+            return resultado;
+        } catch (Exception e) {
+            if (em.getTransaction().isActive()) {
+                em.getTransaction().rollback();
+            }
+            throw e;
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Indica si la conexión de la transacción es de PostgreSQL y admite {@code COPY}.
+     * @param em EntityManager de la transacción en curso
+     * @return true si se puede usar {@link #copiarFilas}
+     */
+    protected boolean admiteCopia(EntityManager em) {
+        return em.unwrap(Session.class).doReturningWork(conexion -> conexion.isWrapperFor(PGConnection.class));
+    }
+    
+    /**
+     * Genera un ID para una entidad nueva con el mismo generador que usa Hibernate al persistir
+     * (la secuencia con su optimizador), de modo que las filas insertadas sin pasar por JPA
+     * no choquen con las que inserte Hibernate después.
+     * @param em EntityManager de la transacción en curso
+     * @return Nuevo ID
+     */
+    protected Object generarId(EntityManager em) {
+        SharedSessionContractImplementor sesion = em.unwrap(SharedSessionContractImplementor.class);
+        Generator generador = sesion.getFactory().getMappingMetamodel()
+                .getEntityDescriptor(entityClass).getGenerator();
+        return ((BeforeExecutionGenerator) generador).generate(sesion, null, null, EventType.INSERT);
+    }
+    
+    /**
+     * Inserta filas con {@code COPY ... FROM STDIN} de PostgreSQL, mucho más rápido que los
+     * inserts en lote para grandes volúmenes. Las filas no pasan por el contexto de persistencia
+     * ni por la caché de segundo nivel: el llamador debe invalidar lo que corresponda.
+     * @param em EntityManager de la transacción en curso (ver {@link #admiteCopia})
+     * @param tabla Tabla destino
+     * @param columnas Columnas en el orden de los valores de cada fila
+     * @param filas Valores de cada fila (null se inserta como NULL; los enums por nombre)
+     */
+    protected void copiarFilas(EntityManager em, String tabla, List<String> columnas, List<Object[]> filas) {
+        StringBuilder csv = new StringBuilder(filas.size() * 64);
+        for (Object[] fila : filas) {
+            for (int i = 0; i < fila.length; i++) {
+                if (i > 0) {
+                    csv.append(',');
+                }
+                Object valor = fila[i];
+                if (valor != null) {
+                    // Todo entre comillas: una cadena vacía entre comillas no es NULL
+                    String texto = valor instanceof Enum<?> constante ? constante.name() : valor.toString();
+                    csv.append('"').append(texto.replace("\"", "\"\"")).append('"');
+                }
+            }
+            csv.append('\n');
+        }
+        
+        String sql = "COPY " + tabla + " (" + String.join(", ", columnas) + ") FROM STDIN WITH (FORMAT csv)";
+        em.unwrap(Session.class).doWork(conexion -> {
+            try {
+                conexion.unwrap(PGConnection.class).getCopyAPI().copyIn(sql, new StringReader(csv.toString()));
+            } catch (IOException e) {
+                throw new SQLException("No se pudieron copiar las filas a " + tabla, e);
+            }
+        });
+    }
+    
     /**
      * Ejecuta una consulta JPQL personalizada que devuelve entidades del tipo T.
      * @param jpql La consulta JPQL
@@ -270,7 +811,7 @@ public abstract class RepositorioBase<T, ID> {
      * @return Lista de entidades que cumplen la consulta
      */
     protected List<T> ejecutarConsulta(String jpql, Object... params) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             TypedQuery<T> query = em.createQuery(jpql, entityClass);
             
@@ -281,14 +822,7 @@ public abstract class RepositorioBase<T, ID> {
                 query.setParameter(paramName, paramValue);
             }
             
-            List<T> result = query.getResultList();
-            
-            // Cargar relaciones para prevenir LazyInitializationException
-            for (T entidad : result) {
-                cargarRelaciones(em, entidad);
-            }
-            
-            return result;
+            return obtenerResultados(em, query);
         } finally {
             em.close();
         }
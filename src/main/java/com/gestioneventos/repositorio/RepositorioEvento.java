@@ -1,22 +1,66 @@
 package com.gestioneventos.repositorio;
 
+import com.gestioneventos.model.eventos.EstadoEvento;
 import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.eventos.EventoResumen;
+import com.gestioneventos.model.participaciones.RolParticipacion;
 import jakarta.persistence.EntityManager;
 import org.hibernate.Hibernate;
 
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repositorio para operaciones con la entidad Evento.
  * Hereda operaciones CRUD básicas de RepositorioBase.
  */
 public class RepositorioEvento extends RepositorioBase<Evento, Long> {
+    
+    // Cantidad máxima de IDs por sentencia en los borrados masivos
+    private static final int TAMANIO_TRAMO_IDS = 1000;
+    
+    // Proyección del listado: columnas comunes, tipo concreto y columnas de cada subtipo (TREAT)
+    private static final String SELECCION_RESUMEN = "new " + EventoResumen.class.getName() + "(" +
+            "e.id, e.nombre, " +
+            "CASE TYPE(e) WHEN Cine THEN 'Cine' WHEN Taller THEN 'Taller' WHEN Concierto THEN 'Concierto' " +
+            "WHEN Exposicion THEN 'Exposición' WHEN Feria THEN 'Feria' ELSE 'Desconocido' END, " +
+            "e.fechaInicio, e.duracionEstimada, e.estadoEvento, e.permiteInscripcion, " +
+            "TREAT(e AS Cine).tituloPelicula, TREAT(e AS Taller).cupoMaximo, TREAT(e AS Taller).modalidad, " +
+            "TREAT(e AS Concierto).tipoEntrada, TREAT(e AS Exposicion).tipoArte, TREAT(e AS Feria).cantidadStands)";
+    
+    // Mismo orden que getClavesOrden, leído desde la proyección
+    private static final List<ClaveOrden<EventoResumen>> CLAVES_RESUMEN = List.of(
+        new ClaveOrden<>("fechaInicio", EventoResumen::fechaInicio),
+        new ClaveOrden<>("id", EventoResumen::id)
+    );
 
     @Override
     protected boolean esNuevaEntidad(Evento evento) {
         return evento.getId() == null;
     }
     
+    @Override
+    protected String getGrafoCarga() {
+        // Trae las relaciones con joins en la misma consulta (ver @NamedEntityGraph de la entidad)
+        return "Evento.participaciones";
+    }
+    
+    @Override
+    protected List<ClaveOrden<Evento>> getClavesOrden() {
+        // Orden estable para la paginación: fecha de inicio y, ante empates, id
+        return List.of(
+            new ClaveOrden<>("fechaInicio", Evento::getFechaInicio),
+            new ClaveOrden<>("id", Evento::getId)
+        );
+    }
+    
     @Override
     protected void cargarRelaciones(EntityManager em, Evento evento) {
         // Inicializar colecciones para evitar LazyInitializationException
@@ -32,6 +76,91 @@ public class RepositorioEvento extends RepositorioBase<Evento, Long> {
         return buscarPorCoincidenciaParcial("nombre", nombre);
     }
     
+    /**
+     * Obtiene una página del listado de eventos como proyección, sin construir entidades
+     * ni cargar participaciones. Además de la consulta de la página se ejecuta, solo si
+     * hay conciertos en ella, una consulta para obtener sus artistas.
+     * @param cursor Cursor de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de eventos de la página
+     * @return Página de filas del listado, ordenadas por fecha de inicio
+     */
+    public Pagina<EventoResumen> buscarPaginaResumen(List<Object> cursor, int tamanio) {
+        Pagina<EventoResumen> pagina = buscarPaginaProyectada(SELECCION_RESUMEN, EventoResumen.class,
+                CLAVES_RESUMEN, null, Map.of(), cursor, tamanio);
+        return new Pagina<>(completarArtistas(pagina.getElementos()), pagina.getCursorSiguiente(), pagina.hayMas());
+    }
+    
+    /**
+     * Busca eventos por coincidencia parcial en el nombre y los devuelve como filas del listado.
+     * @param texto Texto a buscar en el nombre del evento
+     * @return Filas de los eventos que coinciden
+     */
+    public List<EventoResumen> buscarResumenPorNombre(String texto) {
+        return completarArtistas(buscarPorTextoProyectado(SELECCION_RESUMEN, EventoResumen.class,
+                CLAVES_RESUMEN, texto, "nombre"));
+    }
+    
+    /**
+     * Recorre todos los eventos como filas del listado, ordenados por fecha de inicio,
+     * con memoria constante (ver {@link #recorrer(String, Class, Consumer, Object...)}).
+     * Los artistas de los conciertos se completan por tramos de {@link #TAMANIO_RECORRIDO}
+     * filas, con una consulta por tramo.
+     * @param accion Acción a realizar con cada fila
+     * @return Cantidad de eventos recorridos
+     */
+    public long recorrerResumen(Consumer<EventoResumen> accion) {
+        List<EventoResumen> tramo = new ArrayList<>(TAMANIO_RECORRIDO);
+        long cantidad = recorrer("SELECT " + SELECCION_RESUMEN + " FROM Evento e ORDER BY e.fechaInicio, e.id",
+                EventoResumen.class, fila -> {
+                    tramo.add(fila);
+                    if (tramo.size() == TAMANIO_RECORRIDO) {
+                        completarArtistas(tramo).forEach(accion);
+                        tramo.clear();
+                    }
+                });
+        completarArtistas(tramo).forEach(accion);
+        return cantidad;
+    }
+    
+    /**
+     * Completa el detalle de los conciertos con los nombres de sus artistas,
+     * usando una sola consulta para todos los conciertos de la lista.
+     * @param filas Filas del listado
+     * @return Filas con el detalle de los conciertos completo
+     */
+    private List<EventoResumen> completarArtistas(List<EventoResumen> filas) {
+        List<Long> conciertos = filas.stream()
+                .filter(EventoResumen::esConcierto)
+                .map(EventoResumen::id)
+                .toList();
+        if (conciertos.isEmpty()) {
+            return filas;
+        }
+        
+        Map<Long, String> artistas = new HashMap<>();
+        EntityManager em = abrirEntityManager();
+        try {
+            List<Object[]> resultado = em.createQuery(
+                    "SELECT p.evento.id, p.persona.nombre, p.persona.apellido FROM Participacion p " +
+                    "WHERE p.rol = :rol AND p.evento.id IN :ids " +
+                    "ORDER BY p.persona.apellido, p.persona.nombre", Object[].class)
+                .setParameter("rol", RolParticipacion.ARTISTA)
+                .setParameter("ids", conciertos)
+                .getResultList();
+            for (Object[] fila : resultado) {
+                artistas.merge((Long) fila[0], fila[1] + " " + fila[2], (a, b) -> a + ", " + b);
+            }
+        } finally {
+            em.close();
+        }
+        
+        List<EventoResumen> completas = new ArrayList<>(filas.size());
+        for (EventoResumen fila : filas) {
+            completas.add(fila.esConcierto() ? fila.conArtistas(artistas.get(fila.id())) : fila);
+        }
+        return completas;
+    }
+    
     /**
      * Busca eventos en los que participa una persona específica.
      * @param personaId ID de la persona participante
@@ -45,6 +174,140 @@ public class RepositorioEvento extends RepositorioBase<Evento, Long> {
         return ejecutarConsulta(jpql, "personaId", personaId);
     }
     
+    /**
+     * Busca los eventos activos en algún día del rango [desde, hasta] (ambos inclusive).
+     * Un evento está activo desde su fecha de inicio hasta fechaInicio + duración - 1.
+     * No carga participaciones: está pensado para el calendario, que solo muestra
+     * nombre, fechas y estado.
+     * @param desde Primer día del rango
+     * @param hasta Último día del rango
+     * @return Eventos que se superponen con el rango, ordenados por fecha de inicio
+     */
+    public List<Evento> buscarEnRango(LocalDate desde, LocalDate hasta) {
+        // La condición sobre fechaInicio puede usar el índice de la columna;
+        // la fecha de fin se calcula en la consulta porque no se guarda en la tabla
+        String jpql = "SELECT e FROM Evento e " +
+                      "WHERE e.fechaInicio <= :hasta " +
+                      "AND e.fechaInicio + (e.duracionEstimada - 1) day >= :desde " +
+                      "ORDER BY e.fechaInicio, e.id";
+        
+        EntityManager em = abrirEntityManager();
+        try {
+            return em.createQuery(jpql, Evento.class)
+                    .setParameter("desde", desde)
+                    .setParameter("hasta", hasta)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Indica si un evento permite inscripciones, sin cargar el evento ni sus relaciones.
+     * @param id ID del evento
+     * @return Optional con el valor del indicador, o vacío si el evento no existe
+     */
+    public Optional<Boolean> buscarPermiteInscripcion(Long id) {
+        EntityManager em = abrirEntityManager();
+        try {
+            return em.createQuery("SELECT e.permiteInscripcion FROM Evento e WHERE e.id = :id", Boolean.class)
+                    .setParameter("id", id)
+                    .getResultStream()
+                    .findFirst();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Indica, para varios eventos a la vez, si permiten inscripciones, sin cargarlos.
+     * @param ids IDs de los eventos
+     * @return Mapa ID → permite inscripción, solo con los eventos que existen
+     */
+    public Map<Long, Boolean> buscarPermiteInscripcion(Collection<Long> ids) {
+        List<Long> pendientes = new ArrayList<>(new LinkedHashSet<>(ids));
+        Map<Long, Boolean> resultado = new HashMap<>();
+        EntityManager em = abrirEntityManager();
+        try {
+            for (int desde = 0; desde < pendientes.size(); desde += TAMANIO_TRAMO_IDS) {
+                List<Long> tramo = pendientes.subList(desde, Math.min(desde + TAMANIO_TRAMO_IDS, pendientes.size()));
+                List<Object[]> filas = em.createQuery(
+                        "SELECT e.id, e.permiteInscripcion FROM Evento e WHERE e.id IN :ids", Object[].class)
+                    .setParameter("ids", tramo)
+                    .getResultList();
+                for (Object[] fila : filas) {
+                    resultado.put((Long) fila[0], (Boolean) fila[1]);
+                }
+            }
+            return resultado;
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Marca como FINALIZADOS, con una sola sentencia, los eventos cuya fecha de fin
+     * ya pasó y que no estén finalizados ni cancelados.
+     * @param hoy Fecha de referencia
+     * @return Cantidad de eventos actualizados
+     */
+    public int finalizarTerminados(LocalDate hoy) {
+        String jpql = "UPDATE Evento e SET e.estadoEvento = :finalizado " +
+                      "WHERE e.estadoEvento NOT IN (:finalizado, :cancelado) " +
+                      "AND e.fechaInicio + (e.duracionEstimada - 1) day < :hoy";
+        
+        return ejecutarActualizacion(jpql,
+                "finalizado", EstadoEvento.FINALIZADO,
+                "cancelado", EstadoEvento.CANCELADO,
+                "hoy", hoy);
+    }
+    
+    /**
+     * Marca EN_EJECUCION, con una sola sentencia, los eventos CONFIRMADOS que ya
+     * iniciaron y cuya fecha de fin es posterior a hoy.
+     * @param hoy Fecha de referencia
+     * @return Cantidad de eventos actualizados
+     */
+    public int iniciarConfirmados(LocalDate hoy) {
+        String jpql = "UPDATE Evento e SET e.estadoEvento = :enEjecucion " +
+                      "WHERE e.estadoEvento = :confirmado " +
+                      "AND e.fechaInicio <= :hoy " +
+                      "AND e.fechaInicio + (e.duracionEstimada - 1) day > :hoy";
+        
+        return ejecutarActualizacion(jpql,
+                "enEjecucion", EstadoEvento.EN_EJECUCION,
+                "confirmado", EstadoEvento.CONFIRMADO,
+                "hoy", hoy);
+    }
+    
+    /**
+     * Elimina varios eventos junto con sus participaciones en una sola transacción,
+     * usando borrados masivos en lugar de cargar y eliminar cada fila.
+     * @param ids IDs de los eventos a eliminar
+     * @return Cantidad de eventos eliminados (los IDs inexistentes se ignoran)
+     */
+    public int eliminarConParticipaciones(Collection<Long> ids) {
+        List<Long> pendientes = new ArrayList<>(new LinkedHashSet<>(ids));
+        return ejecutarEnTransaccion(em -> {
+            int eliminados = 0;
+            // Por tramos, para no superar el límite de parámetros de la base de datos
+            for (int desde = 0; desde < pendientes.size(); desde += TAMANIO_TRAMO_IDS) {
+                List<Long> tramo = pendientes.subList(desde, Math.min(desde + TAMANIO_TRAMO_IDS, pendientes.size()));
+                
+                // Primero las participaciones, que referencian al evento
+                em.createQuery("DELETE FROM Participacion p WHERE p.evento.id IN :ids")
+                        .setParameter("ids", tramo)
+                        .executeUpdate();
+                
+                // Hibernate borra también las filas de la tabla de cada subtipo
+                eliminados += em.createQuery("DELETE FROM Evento e WHERE e.id IN :ids")
+                        .setParameter("ids", tramo)
+                        .executeUpdate();
+            }
+            return eliminados;
+        });
+    }
+    
     /**
      * Busca eventos según el texto proporcionado o todos si el texto está vacío.
      * @param texto Texto para buscar en el nombre del evento
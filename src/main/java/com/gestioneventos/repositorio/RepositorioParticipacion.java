@@ -1,23 +1,185 @@
 package com.gestioneventos.repositorio;
 
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.eventos.Taller;
+import com.gestioneventos.model.participaciones.AsistenciaFila;
 import com.gestioneventos.model.participaciones.Participacion;
+import com.gestioneventos.model.participaciones.ParticipacionFila;
 import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.model.personas.Persona;
 import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
 import org.hibernate.Hibernate;
+import org.hibernate.exception.ConstraintViolationException;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
 
 /**
  * Repositorio para operaciones con la entidad Participacion.
  * Hereda operaciones CRUD básicas de RepositorioBase.
  */
 public class RepositorioParticipacion extends RepositorioBase<Participacion, Long> {
+    
+    /**
+     * Inscripción a crear en una importación masiva, con el evento y la persona por ID.
+     * @param eventoId ID del evento
+     * @param personaId ID de la persona
+     * @param rol Rol en el evento
+     */
+    public record Inscripcion(Long eventoId, Long personaId, RolParticipacion rol) {
+    }
+    
+    // Columnas de la tabla para la importación con COPY
+    private static final List<String> COLUMNAS_COPIA = List.of("id", "evento_id", "persona_id", "rol", "fecha_inscripcion");
+    
+    // Cantidad máxima de personas por consulta (límite de parámetros de la base de datos)
+    private static final int TAMANIO_TRAMO_IDS = 1000;
+    
+    // Proyección del listado de participantes: la participación y los datos de su persona
+    private static final String SELECCION_FILA = "new " + ParticipacionFila.class.getName() +
+            "(e.id, e.persona.id, e.persona.nombre, e.persona.apellido, e.persona.dni, e.rol, e.fechaInscripcion)";
+    
+    // Mismo orden que getClavesOrden, leído desde la proyección
+    private static final List<ClaveOrden<ParticipacionFila>> CLAVES_FILA = List.of(
+        new ClaveOrden<>("rol", ParticipacionFila::rol),
+        new ClaveOrden<>("persona.apellido", ParticipacionFila::apellido),
+        new ClaveOrden<>("persona.nombre", ParticipacionFila::nombre),
+        new ClaveOrden<>("id", ParticipacionFila::id)
+    );
 
     @Override
     protected boolean esNuevaEntidad(Participacion participacion) {
         return participacion.getId() == null;
     }
     
+    @Override
+    public Participacion guardar(Participacion participacion) {
+        return traducirDuplicado(() -> super.guardar(participacion));
+    }
+    
+    @Override
+    public List<Participacion> guardarTodos(Collection<Participacion> participaciones) {
+        return traducirDuplicado(() -> super.guardarTodos(participaciones));
+    }
+    
+    /**
+     * Actualiza una participación. Si con el cambio pasa a ocupar un lugar de participante
+     * en un taller (cambió de evento o de rol), el cupo se verifica con el mismo bloqueo
+     * que al inscribir; si ya lo ocupaba no se vuelve a verificar.
+     * @throws IllegalArgumentException si el taller no tiene cupo o la participación queda duplicada
+     */
+    @Override
+    public Participacion actualizar(Participacion participacion) {
+        return traducirDuplicado(() -> ejecutarEnTransaccion(em -> {
+            if (participacion.getRol() == RolParticipacion.PARTICIPANTE) {
+                Long eventoId = participacion.getEvento().getId();
+                Participacion anterior = em.find(Participacion.class, participacion.getId());
+                boolean yaOcupaLugar = anterior != null && anterior.getRol() == RolParticipacion.PARTICIPANTE
+                        && anterior.getEvento().getId().equals(eventoId);
+                if (!yaOcupaLugar) {
+                    reservarCupos(em, eventoId, 1);
+                }
+            }
+            Participacion actualizada = em.merge(participacion);
+            // Forzar el update dentro de la transacción para detectar el duplicado aquí
+            em.flush();
+            return actualizada;
+        }));
+    }
+    
+    /**
+     * Reserva los cupos de talleres para las participaciones PARTICIPANTE que se van a guardar.
+     */
+    @Override
+    protected void antesDeGuardar(EntityManager em, Collection<Participacion> participaciones) {
+        // Cantidad de inscripciones nuevas por evento (ordenado por id para bloquear siempre en el mismo orden)
+        Map<Long, Integer> inscripcionesPorEvento = new TreeMap<>();
+        for (Participacion participacion : participaciones) {
+            if (participacion.getRol() == RolParticipacion.PARTICIPANTE) {
+                inscripcionesPorEvento.merge(participacion.getEvento().getId(), 1, Integer::sum);
+            }
+        }
+        inscripcionesPorEvento.forEach((eventoId, cantidad) -> reservarCupos(em, eventoId, cantidad));
+    }
+    
+    /**
+     * Verifica que un taller tenga cupo para nuevas inscripciones y bloquea su fila
+     * hasta el fin de la transacción, de modo que dos inscripciones simultáneas no
+     * puedan superar el cupo máximo. Si el evento no es un taller no hace nada.
+     * @param em EntityManager de la transacción en curso
+     * @param eventoId ID del evento
+     * @param cantidad Cantidad de participantes a inscribir
+     * @throws IllegalArgumentException si el taller no tiene cupo suficiente
+     */
+    private void reservarCupos(EntityManager em, Long eventoId, int cantidad) {
+        Taller taller = bloquearTaller(em, eventoId);
+        if (taller == null) {
+            return;
+        }
+        
+        long disponibles = cuposDisponibles(em, taller);
+        if (cantidad > disponibles) {
+            throw new IllegalArgumentException("El taller '" + taller.getNombre() + "' no tiene cupo suficiente: "
+                    + Math.max(disponibles, 0) + " lugar(es) disponible(s) de " + taller.getCupoMaximo());
+        }
+    }
+    
+    /**
+     * Bloquea la fila de un taller hasta el fin de la transacción (SELECT ... FOR UPDATE):
+     * las demás inscripciones al mismo taller esperan aquí.
+     * @param em EntityManager de la transacción en curso
+     * @param eventoId ID del evento
+     * @return El taller bloqueado, o null si el evento no es un taller
+     */
+    private Taller bloquearTaller(EntityManager em, Long eventoId) {
+        List<Taller> talleres = em.createQuery("SELECT t FROM Taller t WHERE t.id = :id", Taller.class)
+                .setParameter("id", eventoId)
+                .setLockMode(LockModeType.PESSIMISTIC_WRITE)
+                .getResultList();
+        return talleres.isEmpty() ? null : talleres.get(0);
+    }
+    
+    /**
+     * Calcula los lugares libres de un taller (puede ser negativo si se redujo el cupo).
+     */
+    private long cuposDisponibles(EntityManager em, Taller taller) {
+        long inscriptos = em.createQuery(
+                "SELECT COUNT(p) FROM Participacion p WHERE p.evento.id = :eventoId AND p.rol = :rol", Long.class)
+                .setParameter("eventoId", taller.getId())
+                .setParameter("rol", RolParticipacion.PARTICIPANTE)
+                .getSingleResult();
+        return taller.getCupoMaximo() - inscriptos;
+    }
+    
+    @Override
+    protected String getGrafoCarga() {
+        // Trae las relaciones con joins en la misma consulta (ver @NamedEntityGraph de la entidad)
+        return "Participacion.eventoYPersona";
+    }
+    
+    @Override
+    protected List<ClaveOrden<Participacion>> getClavesOrden() {
+        // Mismo orden que buscarPorEventoId, con el id como desempate
+        return List.of(
+            new ClaveOrden<>("rol", Participacion::getRol),
+            new ClaveOrden<>("persona.apellido", p -> p.getPersona().getApellido()),
+            new ClaveOrden<>("persona.nombre", p -> p.getPersona().getNombre()),
+            new ClaveOrden<>("id", Participacion::getId)
+        );
+    }
+    
     @Override
     protected void cargarRelaciones(EntityManager em, Participacion participacion) {
         // Inicializar relaciones para evitar LazyInitializationException
@@ -38,6 +200,316 @@ public class RepositorioParticipacion extends RepositorioBase<Participacion, Lon
         return ejecutarConsulta(jpql, "eventoId", eventoId);
     }
     
+    /**
+     * Busca las filas del listado de participantes de un evento cuya persona tiene un
+     * nombre completo ("nombre apellido") que contiene el texto, sin distinguir mayúsculas.
+     * El filtro se aplica en la base de datos, no sobre todas las participaciones del evento.
+     * @param eventoId ID del evento
+     * @param texto Texto a buscar en el nombre completo
+     * @return Filas que coinciden, en el mismo orden que buscarPorEventoId
+     */
+    public List<ParticipacionFila> buscarFilasPorEventoIdYNombrePersona(Long eventoId, String texto) {
+        String jpql = "SELECT " + SELECCION_FILA + " FROM Participacion e " +
+                     "WHERE e.evento.id = :eventoId " +
+                     "AND LOWER(CONCAT(e.persona.nombre, ' ', e.persona.apellido)) LIKE LOWER(:texto) " +
+                     "ORDER BY e.rol, e.persona.apellido, e.persona.nombre, e.id";
+        
+        EntityManager em = abrirEntityManager();
+        try {
+            return em.createQuery(jpql, ParticipacionFila.class)
+                    .setParameter("eventoId", eventoId)
+                    .setParameter("texto", "%" + texto + "%")
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Obtiene una página del listado de participantes de un evento como proyección,
+     * sin construir las entidades de la participación, la persona ni el evento.
+     * @param eventoId ID del evento
+     * @param cursor Cursor de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de participaciones de la página
+     * @return Página de filas del listado de participantes
+     */
+    public Pagina<ParticipacionFila> buscarPaginaFilasPorEventoId(Long eventoId, List<Object> cursor, int tamanio) {
+        return buscarPaginaProyectada(SELECCION_FILA, ParticipacionFila.class, CLAVES_FILA,
+                "e.evento.id = :eventoId", Map.of("eventoId", eventoId), cursor, tamanio);
+    }
+    
+    /**
+     * Recorre el listado de participantes de un evento sin cargarlo completo en memoria,
+     * en el mismo orden que las páginas del listado.
+     * @param eventoId ID del evento
+     * @param accion Acción a realizar con cada fila
+     * @return Cantidad de filas recorridas
+     */
+    public long recorrerFilasPorEventoId(Long eventoId, Consumer<ParticipacionFila> accion) {
+        String jpql = "SELECT " + SELECCION_FILA + " FROM Participacion e " +
+                     "WHERE e.evento.id = :eventoId " +
+                     "ORDER BY e.rol, e.persona.apellido, e.persona.nombre, e.id";
+        
+        return recorrer(jpql, ParticipacionFila.class, accion, "eventoId", eventoId);
+    }
+    
+    /**
+     * Recorre la nómina de asistencia de todos los eventos (evento, participación y persona),
+     * ordenada por fecha del evento y, dentro de cada evento, como el listado de participantes.
+     * Usa memoria constante (ver {@link #recorrer(String, Class, Consumer, Object...)}).
+     * @param accion Acción a realizar con cada fila
+     * @return Cantidad de participaciones recorridas
+     */
+    public long recorrerAsistencias(Consumer<AsistenciaFila> accion) {
+        String jpql = "SELECT new " + AsistenciaFila.class.getName() + "(" +
+                     "e.evento.id, e.evento.nombre, e.evento.fechaInicio, e.persona.id, e.persona.nombre, " +
+                     "e.persona.apellido, e.persona.dni, e.persona.email, e.rol, e.fechaInscripcion) " +
+                     "FROM Participacion e " +
+                     "ORDER BY e.evento.fechaInicio, e.evento.id, e.rol, e.persona.apellido, e.persona.nombre, e.id";
+        
+        return recorrer(jpql, AsistenciaFila.class, accion);
+    }
+    
+    /**
+     * Cuenta las participaciones de un evento agrupadas por rol.
+     * @param eventoId ID del evento
+     * @return Mapa con la cantidad de participaciones por rol (solo roles presentes)
+     */
+    public Map<RolParticipacion, Long> contarPorEventoIdAgrupadoPorRol(Long eventoId) {
+        EntityManager em = abrirEntityManager();
+        try {
+            List<Object[]> filas = em.createQuery(
+                    "SELECT p.rol, COUNT(p) FROM Participacion p WHERE p.evento.id = :eventoId GROUP BY p.rol",
+                    Object[].class)
+                .setParameter("eventoId", eventoId)
+                .getResultList();
+            
+            Map<RolParticipacion, Long> cantidades = new EnumMap<>(RolParticipacion.class);
+            for (Object[] fila : filas) {
+                cantidades.put((RolParticipacion) fila[0], (Long) fila[1]);
+            }
+            return cantidades;
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Verifica si una persona ya participa en un evento con un rol y, en la misma consulta,
+     * que la persona exista. La subconsulta se resuelve con el índice único
+     * (evento_id, persona_id, rol).
+     * @param eventoId ID del evento
+     * @param personaId ID de la persona
+     * @param rol Rol de participación
+     * @return Optional con true si la participación existe, o vacío si la persona no existe
+     */
+    public Optional<Boolean> buscarSiEstaInscripta(Long eventoId, Long personaId, RolParticipacion rol) {
+        EntityManager em = abrirEntityManager();
+        try {
+            return em.createQuery(
+                    "SELECT CASE WHEN EXISTS (SELECT 1 FROM Participacion p " +
+                    "WHERE p.evento.id = :eventoId AND p.persona.id = pe.id AND p.rol = :rol) " +
+                    "THEN true ELSE false END " +
+                    "FROM Persona pe WHERE pe.id = :personaId",
+                    Boolean.class)
+                .setParameter("eventoId", eventoId)
+                .setParameter("personaId", personaId)
+                .setParameter("rol", rol)
+                .getResultStream()
+                .findFirst();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Cuenta las participaciones de un evento.
+     * @param eventoId ID del evento
+     * @return Cantidad de participaciones del evento
+     */
+    public long contarPorEventoId(Long eventoId) {
+        return contar("SELECT COUNT(p) FROM Participacion p WHERE p.evento.id = :eventoId",
+                "eventoId", eventoId);
+    }
+    
+    /**
+     * Cuenta las participaciones de un evento con un rol.
+     * @param eventoId ID del evento
+     * @param rol Rol de participación
+     * @return Cantidad de participaciones del evento con ese rol
+     */
+    public long contarPorEventoIdYRol(Long eventoId, RolParticipacion rol) {
+        return contar("SELECT COUNT(p) FROM Participacion p WHERE p.evento.id = :eventoId AND p.rol = :rol",
+                "eventoId", eventoId, "rol", rol);
+    }
+    
+    /**
+     * Crea la participación de una persona existente en un evento existente sin cargar
+     * ninguno de los dos: el evento se referencia por ID y la persona se usa tal como llega.
+     * Si la participación ya existe, la restricción única de la base de datos lo rechaza.
+     * @param eventoId ID del evento
+     * @param persona Persona ya guardada (con ID)
+     * @param rol Rol de participación
+     * @return La participación creada (su evento es una referencia sin inicializar)
+     * @throws IllegalArgumentException si la persona ya participa con ese rol o el taller no tiene cupo
+     */
+    public Participacion inscribir(Long eventoId, Persona persona, RolParticipacion rol) {
+        return traducirDuplicado(() -> ejecutarEnTransaccion(em -> {
+            if (rol == RolParticipacion.PARTICIPANTE) {
+                reservarCupos(em, eventoId, 1);
+            }
+            Participacion participacion = new Participacion(em.getReference(Evento.class, eventoId), persona, rol);
+            em.persist(participacion);
+            // Forzar el insert dentro de la transacción para detectar el duplicado aquí
+            em.flush();
+            return participacion;
+        }));
+    }
+    
+    /**
+     * Filtra, de un conjunto de inscripciones, las que ya existen en la base de datos.
+     * Hace una consulta por cada tramo de {@value #TAMANIO_TRAMO_IDS} personas.
+     * @param inscripciones Inscripciones a verificar
+     * @return Las inscripciones que ya existen
+     */
+    public Set<Inscripcion> buscarExistentes(Collection<Inscripcion> inscripciones) {
+        Set<Long> eventos = new HashSet<>();
+        Set<Long> personasSet = new LinkedHashSet<>();
+        for (Inscripcion inscripcion : inscripciones) {
+            eventos.add(inscripcion.eventoId());
+            personasSet.add(inscripcion.personaId());
+        }
+        List<Long> personas = new ArrayList<>(personasSet);
+        
+        Set<Inscripcion> existentes = new HashSet<>();
+        if (personas.isEmpty()) {
+            return existentes;
+        }
+        EntityManager em = abrirEntityManager();
+        try {
+            for (int desde = 0; desde < personas.size(); desde += TAMANIO_TRAMO_IDS) {
+                List<Long> tramo = personas.subList(desde, Math.min(desde + TAMANIO_TRAMO_IDS, personas.size()));
+                List<Object[]> filas = em.createQuery(
+                        "SELECT p.evento.id, p.persona.id, p.rol FROM Participacion p " +
+                        "WHERE p.evento.id IN :eventos AND p.persona.id IN :personas", Object[].class)
+                    .setParameter("eventos", eventos)
+                    .setParameter("personas", tramo)
+                    .getResultList();
+                for (Object[] fila : filas) {
+                    existentes.add(new Inscripcion((Long) fila[0], (Long) fila[1], (RolParticipacion) fila[2]));
+                }
+            }
+            return existentes;
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Crea varias inscripciones en una sola transacción, para importaciones masivas.
+     * Los talleres involucrados se bloquean como en {@link #inscribir}: las inscripciones
+     * PARTICIPANTE que superan el cupo no se crean y se devuelven como rechazadas.
+     * En PostgreSQL las filas se insertan con {@code COPY}; en otras bases de datos,
+     * con inserts en lotes de {@link #TAMANIO_LOTE}.
+     * @param inscripciones Inscripciones nuevas (eventos y personas existentes, sin duplicados)
+     * @return Las inscripciones rechazadas por falta de cupo
+     * @throws IllegalArgumentException si alguna inscripción ya existía
+     */
+    public List<Inscripcion> inscribirEnLote(List<Inscripcion> inscripciones) {
+        if (inscripciones.isEmpty()) {
+            return List.of();
+        }
+        return traducirDuplicado(() -> ejecutarEnTransaccion(em -> {
+            // Cupos libres por taller (ordenado por id para bloquear siempre en el mismo orden)
+            Map<Long, Long> cupos = new TreeMap<>();
+            for (Inscripcion inscripcion : inscripciones) {
+                if (inscripcion.rol() == RolParticipacion.PARTICIPANTE) {
+                    cupos.put(inscripcion.eventoId(), null);
+                }
+            }
+            for (Map.Entry<Long, Long> cupo : cupos.entrySet()) {
+                Taller taller = bloquearTaller(em, cupo.getKey());
+                cupo.setValue(taller == null ? Long.MAX_VALUE : cuposDisponibles(em, taller));
+            }
+            
+            List<Inscripcion> aceptadas = new ArrayList<>(inscripciones.size());
+            List<Inscripcion> rechazadas = new ArrayList<>();
+            for (Inscripcion inscripcion : inscripciones) {
+                if (inscripcion.rol() == RolParticipacion.PARTICIPANTE) {
+                    long disponibles = cupos.get(inscripcion.eventoId());
+                    if (disponibles <= 0) {
+                        rechazadas.add(inscripcion);
+                        continue;
+                    }
+                    cupos.put(inscripcion.eventoId(), disponibles - 1);
+                }
+                aceptadas.add(inscripcion);
+            }
+            
+            if (admiteCopia(em)) {
+                LocalDateTime ahora = LocalDateTime.now();
+                List<Object[]> filas = new ArrayList<>(aceptadas.size());
+                for (Inscripcion inscripcion : aceptadas) {
+                    filas.add(new Object[] { generarId(em), inscripcion.eventoId(), inscripcion.personaId(),
+                            inscripcion.rol(), ahora });
+                }
+                copiarFilas(em, "participaciones", COLUMNAS_COPIA, filas);
+            } else {
+                int pendientes = 0;
+                for (Inscripcion inscripcion : aceptadas) {
+                    em.persist(new Participacion(em.getReference(Evento.class, inscripcion.eventoId()),
+                            em.getReference(Persona.class, inscripcion.personaId()), inscripcion.rol()));
+                    if (++pendientes == TAMANIO_LOTE) {
+                        em.flush();
+                        em.clear();
+                        pendientes = 0;
+                    }
+                }
+            }
+            return rechazadas;
+        }));
+    }
+    
+    /**
+     * Ejecuta una consulta COUNT con parámetros.
+     * @param jpql Consulta que devuelve un único número
+     * @param params Los parámetros como pares [nombre, valor]
+     * @return El resultado de la cuenta
+     */
+    private long contar(String jpql, Object... params) {
+        EntityManager em = abrirEntityManager();
+        try {
+            var query = em.createQuery(jpql, Long.class);
+            for (int i = 0; i < params.length; i += 2) {
+                query.setParameter((String) params[i], params[i + 1]);
+            }
+            return query.getSingleResult();
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Convierte la violación de la restricción única de participaciones en un error de validación.
+     * @param operacion Operación que puede insertar participaciones
+     * @return El resultado de la operación
+     * @throws IllegalArgumentException si la persona ya participa en el evento con el mismo rol
+     */
+    private static <R> R traducirDuplicado(Supplier<R> operacion) {
+        try {
+            return operacion.get();
+        } catch (RuntimeException e) {
+            for (Throwable causa = e; causa != null; causa = causa.getCause()) {
+                if (causa instanceof ConstraintViolationException violacion
+                        && violacion.getConstraintName() != null
+                        && violacion.getConstraintName().toLowerCase().contains(Participacion.RESTRICCION_UNICA)) {
+                    throw new IllegalArgumentException("La persona ya está inscrita en este evento con el mismo rol", e);
+                }
+            }
+            throw e;
+        }
+    }
+    
     /**
      * Busca participaciones de una persona específica.
      * @param personaId ID de la persona
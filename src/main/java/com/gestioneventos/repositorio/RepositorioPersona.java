@@ -1,49 +1,134 @@
 package com.gestioneventos.repositorio;
 
 import com.gestioneventos.model.personas.Persona;
-import com.gestioneventos.util.JPAUtil;
+import com.gestioneventos.model.personas.PersonaResumen;
+import com.gestioneventos.util.CacheSegundoNivel;
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.NoResultException;
 import jakarta.persistence.TypedQuery;
 import org.hibernate.Hibernate;
+import org.hibernate.jpa.HibernateHints;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Consumer;
 
 /**
  * Repositorio para operaciones con la entidad Persona.
  * Hereda operaciones CRUD básicas de RepositorioBase.
  */
 public class RepositorioPersona extends RepositorioBase<Persona, Long> {
+    
+    // Proyección del listado: solo los datos de contacto
+    private static final String SELECCION_RESUMEN = "new " + PersonaResumen.class.getName() +
+            "(e.id, e.nombre, e.apellido, e.dni, e.telefono, e.email)";
+    
+    // Columnas de la tabla para la importación con COPY
+    private static final List<String> COLUMNAS_COPIA = List.of("id", "nombre", "apellido", "dni", "telefono", "email");
+    
+    // Cantidad máxima de DNIs por consulta (límite de parámetros de la base de datos)
+    private static final int TAMANIO_TRAMO_DNIS = 1000;
+    
+    // Mismo orden que getClavesOrden, leído desde la proyección
+    private static final List<ClaveOrden<PersonaResumen>> CLAVES_RESUMEN = List.of(
+        new ClaveOrden<>("apellido", PersonaResumen::apellido),
+        new ClaveOrden<>("nombre", PersonaResumen::nombre),
+        new ClaveOrden<>("id", PersonaResumen::id)
+    );
 
     @Override
     protected boolean esNuevaEntidad(Persona persona) {
         return persona.getId() == null;
     }
     
+    @Override
+    protected String getGrafoCarga() {
+        // Trae las relaciones con joins en la misma consulta (ver @NamedEntityGraph de la entidad)
+        return "Persona.participaciones";
+    }
+    
+    @Override
+    protected List<ClaveOrden<Persona>> getClavesOrden() {
+        // Orden estable para la paginación: apellido, nombre y, ante empates, id
+        return List.of(
+            new ClaveOrden<>("apellido", Persona::getApellido),
+            new ClaveOrden<>("nombre", Persona::getNombre),
+            new ClaveOrden<>("id", Persona::getId)
+        );
+    }
+    
     @Override
     protected void cargarRelaciones(EntityManager em, Persona persona) {
         // Inicializar colecciones para evitar LazyInitializationException
         Hibernate.initialize(persona.getParticipaciones());
     }
     
+    /**
+     * Obtiene una página del listado de personas como proyección, sin construir entidades
+     * ni cargar participaciones.
+     * @param cursor Cursor de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de personas de la página
+     * @return Página de filas del listado, ordenadas por apellido y nombre
+     */
+    public Pagina<PersonaResumen> buscarPaginaResumen(List<Object> cursor, int tamanio) {
+        return buscarPaginaProyectada(SELECCION_RESUMEN, PersonaResumen.class, CLAVES_RESUMEN,
+                null, Map.of(), cursor, tamanio);
+    }
+    
+    /**
+     * Recorre todas las personas como filas del listado, ordenadas por apellido y nombre,
+     * con memoria constante (ver {@link #recorrer(String, Class, Consumer, Object...)}).
+     * @param accion Acción a realizar con cada fila
+     * @return Cantidad de personas recorridas
+     */
+    public long recorrerResumen(Consumer<PersonaResumen> accion) {
+        return recorrer("SELECT " + SELECCION_RESUMEN + " FROM Persona e ORDER BY e.apellido, e.nombre, e.id",
+                PersonaResumen.class, accion);
+    }
+    
+    /**
+     * Obtiene todas las personas ordenadas por apellido y nombre, sin sus participaciones.
+     * El resultado se guarda en la caché de consultas: mientras la tabla personas no cambie,
+     * las siguientes llamadas se resuelven desde la caché de segundo nivel sin ir a la base
+     * de datos. Hibernate invalida la consulta al guardar, actualizar o eliminar personas.
+     * @return Lista de todas las personas (con participaciones sin inicializar)
+     */
+    public List<Persona> buscarTodasParaSeleccion() {
+        EntityManager em = abrirEntityManager();
+        try {
+            return em.createQuery("SELECT p FROM Persona p ORDER BY p.apellido, p.nombre, p.id", Persona.class)
+                    .setHint(HibernateHints.HINT_CACHEABLE, true)
+                    .getResultList();
+        } finally {
+            em.close();
+        }
+    }
+    
     /**
      * Busca una persona por su DNI.
      * @param dni DNI a buscar
      * @return Optional con la persona si existe
      */
     public Optional<Persona> buscarPorDni(String dni) {
-        EntityManager em = JPAUtil.getEntityManager();
+        EntityManager em = abrirEntityManager();
         try {
             TypedQuery<Persona> query = em.createQuery(
                 "SELECT p FROM Persona p WHERE p.dni = :dni", 
                 Persona.class
             );
             query.setParameter("dni", dni);
+            boolean conGrafo = aplicarGrafoCarga(em, query);
             
             try {
                 Persona persona = query.getSingleResult();
-                cargarRelaciones(em, persona);
+                if (!conGrafo) {
+                    cargarRelaciones(em, persona);
+                }
                 return Optional.of(persona);
             } catch (NoResultException e) {
                 return Optional.empty();
@@ -53,17 +138,76 @@ public class RepositorioPersona extends RepositorioBase<Persona, Long> {
         }
     }
     
+    /**
+     * Obtiene los IDs de las personas con alguno de los DNIs indicados, con una consulta
+     * por cada tramo de {@value #TAMANIO_TRAMO_DNIS} DNIs (resuelta por el índice único del DNI).
+     * @param dnis DNIs a buscar
+     * @return Mapa DNI → ID de las personas existentes
+     */
+    public Map<String, Long> buscarIdsPorDni(Collection<String> dnis) {
+        List<String> pendientes = new ArrayList<>(new LinkedHashSet<>(dnis));
+        Map<String, Long> ids = new HashMap<>();
+        EntityManager em = abrirEntityManager();
+        try {
+            for (int desde = 0; desde < pendientes.size(); desde += TAMANIO_TRAMO_DNIS) {
+                List<String> tramo = pendientes.subList(desde, Math.min(desde + TAMANIO_TRAMO_DNIS, pendientes.size()));
+                List<Object[]> filas = em.createQuery("SELECT p.dni, p.id FROM Persona p WHERE p.dni IN :dnis", Object[].class)
+                        .setParameter("dnis", tramo)
+                        .getResultList();
+                for (Object[] fila : filas) {
+                    ids.put((String) fila[0], (Long) fila[1]);
+                }
+            }
+            return ids;
+        } finally {
+            em.close();
+        }
+    }
+    
+    /**
+     * Inserta personas nuevas en una sola transacción, para importaciones masivas.
+     * En PostgreSQL usa {@code COPY}; en otras bases de datos, inserts en lotes de
+     * {@link #TAMANIO_LOTE}. Los DNIs ya deben estar verificados: si alguno existe,
+     * la restricción única rechaza toda la operación.
+     * @param personas Personas nuevas (sin ID)
+     * @return IDs asignados, en el mismo orden que las personas
+     */
+    public List<Long> insertarNuevas(List<Persona> personas) {
+        if (personas.isEmpty()) {
+            return List.of();
+        }
+        List<Long> ids = ejecutarEnTransaccion(em -> {
+            if (!admiteCopia(em)) {
+                return null;
+            }
+            List<Long> asignados = new ArrayList<>(personas.size());
+            List<Object[]> filas = new ArrayList<>(personas.size());
+            for (Persona persona : personas) {
+                Long id = (Long) generarId(em);
+                asignados.add(id);
+                filas.add(new Object[] { id, persona.getNombre(), persona.getApellido(),
+                        persona.getDni(), persona.getTelefono(), persona.getEmail() });
+            }
+            copiarFilas(em, "personas", COLUMNAS_COPIA, filas);
+            return asignados;
+        });
+        
+        if (ids != null) {
+            // COPY no pasa por Hibernate: descartar las consultas de personas guardadas en caché
+            CacheSegundoNivel.invalidar(Persona.class);
+            return ids;
+        }
+        return guardarTodos(personas).stream().map(Persona::getId).toList();
+    }
+    
     /**
      * Busca personas cuyo nombre o apellido contengan el texto proporcionado.
+     * Con la búsqueda por trigramas activa, las más parecidas al texto aparecen primero.
      * @param texto Texto a buscar
-     * @return Lista de personas que coinciden con la búsqueda
+     * @return Lista de personas que coinciden con la búsqueda, ordenadas por apellido y nombre
      */
     public List<Persona> buscarPorNombreOApellido(String texto) {
-        String jpql = "SELECT p FROM Persona p WHERE " +
-                     "LOWER(p.nombre) LIKE LOWER(:texto) OR LOWER(p.apellido) LIKE LOWER(:texto) " +
-                     "ORDER BY p.apellido, p.nombre";
-        
-        return ejecutarConsulta(jpql, "texto", "%" + texto + "%");
+        return buscarPorTexto(texto, "nombre", "apellido");
     }
     
     /**
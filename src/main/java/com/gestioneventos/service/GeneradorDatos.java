@@ -0,0 +1,492 @@
+package com.gestioneventos.service;
+
+import com.gestioneventos.model.eventos.Cine;
+import com.gestioneventos.model.eventos.Concierto;
+import com.gestioneventos.model.eventos.EstadoEvento;
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.eventos.Exposicion;
+import com.gestioneventos.model.eventos.Feria;
+import com.gestioneventos.model.eventos.Modalidad;
+import com.gestioneventos.model.eventos.Taller;
+import com.gestioneventos.model.eventos.TipoArte;
+import com.gestioneventos.model.eventos.TipoEntrada;
+import com.gestioneventos.model.eventos.TipoUbicacion;
+import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.repositorio.RepositorioEvento;
+import com.gestioneventos.repositorio.RepositorioParticipacion;
+import com.gestioneventos.repositorio.RepositorioParticipacion.Inscripcion;
+import com.gestioneventos.repositorio.RepositorioPersona;
+import com.gestioneventos.util.JPAUtil;
+import com.gestioneventos.util.SeguimientoTarea;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+
+/**
+ * Generador de datos sintéticos para pruebas de carga y de escala: personas, eventos de los
+ * cinco tipos y participaciones, en los volúmenes que se configuren.
+ * <p>
+ * Los datos son reproducibles: con la misma configuración (incluida la semilla) se generan
+ * las mismas personas, eventos y participaciones, salvo los IDs y las fechas, que dependen
+ * del día en que se ejecuta. Los eventos se crean con los constructores del modelo, que no
+ * admiten fechas pasadas, así que se reparten desde hoy hacia adelante.
+ * <p>
+ * Todo se guarda por tramos con las operaciones masivas de los repositorios
+ * ({@code COPY} en PostgreSQL), sin mantener en memoria más que los IDs de las personas.
+ * Las personas generadas tienen DNI con el prefijo {@value #PREFIJO_DNI}, que no puede
+ * coincidir con un DNI real (solo dígitos): si ya existen (por ejemplo, al repetir la
+ * generación) se reutilizan en lugar de insertarse de nuevo, y nunca se inscribe a una
+ * persona real en los eventos generados.
+ * <p>
+ * Se puede ejecutar desde la línea de comandos indicando la base con propiedades de sistema
+ * (ver {@link JPAUtil}); para escribir en la base de persistence.xml hay que pedirlo con
+ * {@code --confirmar}:
+ * <pre>
+ * mvn -q compile exec:java -Dexec.mainClass=com.gestioneventos.service.GeneradorDatos \
+ *     -Djakarta.persistence.jdbc.url=jdbc:postgresql://localhost:5432/eventos_carga \
+ *     -Dexec.args="--personas=300000 --meses=24 --eventos-por-mes=1500 --participaciones-por-evento=60"
+ * </pre>
+ */
+public class GeneradorDatos {
+
+    // Personas o inscripciones que se insertan por transacción
+    private static final int TAMANIO_TRAMO = 5000;
+
+    /** Prefijo de los DNI generados, seguido del número de la persona. */
+    public static final String PREFIJO_DNI = "SINT-";
+
+    private static final String[] NOMBRES = {
+        "Ana", "Juan", "María", "Pedro", "Lucía", "Carlos", "Sofía", "Diego", "Valentina", "Martín",
+        "Camila", "Javier", "Florencia", "Nicolás", "Julieta", "Tomás", "Paula", "Federico", "Agustina", "Lucas"
+    };
+    private static final String[] APELLIDOS = {
+        "García", "Pérez", "López", "Gómez", "Díaz", "Romero", "Sosa", "Torres", "Álvarez", "Ruiz",
+        "Fernández", "Martínez", "Rodríguez", "Benítez", "Acosta", "Medina", "Herrera", "Suárez", "Castro", "Rojas"
+    };
+
+    /**
+     * Proporción de roles por defecto: mayoría de participantes y algunos roles de organización.
+     */
+    public static final Map<RolParticipacion, Integer> ROLES_POR_DEFECTO = Collections.unmodifiableMap(new EnumMap<>(Map.of(
+            RolParticipacion.PARTICIPANTE, 85,
+            RolParticipacion.ORGANIZADOR, 5,
+            RolParticipacion.ARTISTA, 4,
+            RolParticipacion.INSTRUCTOR, 3,
+            RolParticipacion.CURADOR, 2,
+            RolParticipacion.PRESENTADOR, 1)));
+
+    /**
+     * Configuración de la generación.
+     * @param semilla Semilla del generador aleatorio
+     * @param personas Cantidad de personas
+     * @param meses Meses, desde el actual, en los que se reparten los eventos
+     * @param eventosPorMes Promedio de eventos por mes (la cantidad de cada mes sigue una distribución de Poisson)
+     * @param participacionesPorEvento Promedio de participaciones por evento (distribución exponencial:
+     *                                 muchos eventos chicos y pocos muy concurridos)
+     * @param pesosRoles Peso relativo de cada rol en las participaciones; los roles ausentes no se usan
+     */
+    public record Configuracion(long semilla, int personas, int meses, int eventosPorMes,
+                                int participacionesPorEvento, Map<RolParticipacion, Integer> pesosRoles) {
+
+        public Configuracion {
+            if (personas <= 0 || meses <= 0) {
+                throw new IllegalArgumentException("La cantidad de personas y de meses debe ser positiva");
+            }
+            if (eventosPorMes < 0 || participacionesPorEvento < 0) {
+                throw new IllegalArgumentException("Los promedios de eventos y participaciones no pueden ser negativos");
+            }
+            if (pesosRoles == null || pesosRoles.isEmpty() || pesosRoles.values().stream().anyMatch(p -> p == null || p < 0)
+                    || pesosRoles.values().stream().mapToInt(Integer::intValue).sum() == 0) {
+                throw new IllegalArgumentException("Debe haber al menos un rol con peso positivo y ningún peso negativo");
+            }
+            pesosRoles = Collections.unmodifiableMap(new EnumMap<>(pesosRoles));
+        }
+
+        /**
+         * Volumen chico, para probar la interfaz con datos variados: 10.000 personas,
+         * 100 eventos por mes durante un año y 20 participaciones por evento en promedio.
+         * @return Configuración por defecto
+         */
+        public static Configuracion porDefecto() {
+            return new Configuracion(42L, 10_000, 12, 100, 20, ROLES_POR_DEFECTO);
+        }
+
+        /**
+         * Volumen de producción: 300.000 personas, unos 36.000 eventos en dos años y
+         * alrededor de 2 millones de participaciones.
+         * @return Configuración de escala de producción
+         */
+        public static Configuracion escalaProduccion() {
+            return new Configuracion(42L, 300_000, 24, 1_500, 60, ROLES_POR_DEFECTO);
+        }
+
+        /**
+         * @return Cantidad estimada de participaciones a generar
+         */
+        public long participacionesEstimadas() {
+            return (long) meses * eventosPorMes * participacionesPorEvento;
+        }
+    }
+
+    /**
+     * Resultado de una generación.
+     * @param personas Personas insertadas (sin contar las que ya existían)
+     * @param eventos Eventos insertados
+     * @param participaciones Participaciones insertadas
+     * @param rechazadas Inscripciones de participantes descartadas por falta de cupo en talleres
+     * @param duracion Tiempo total
+     */
+    public record Resultado(long personas, long eventos, long participaciones, long rechazadas, Duration duracion) {
+
+        /**
+         * @return Resumen en una línea
+         */
+        public String resumen() {
+            return String.format("%d personas, %d eventos y %d participaciones generadas (%d rechazadas por cupo) en %.1f s",
+                    personas, eventos, participaciones, rechazadas, duracion.toMillis() / 1000.0);
+        }
+    }
+
+    private final RepositorioPersona repositorioPersona;
+    private final RepositorioEvento repositorioEvento;
+    private final RepositorioParticipacion repositorioParticipacion;
+    private final IndicePersonas indicePersonas;
+
+    /**
+     * Constructor por defecto.
+     */
+    public GeneradorDatos() {
+        this(new RepositorioPersona(), new RepositorioEvento(), new RepositorioParticipacion(),
+                IndicePersonas.getInstancia());
+    }
+
+    /**
+     * Constructor para inyección de dependencias (útil para testing).
+     */
+    public GeneradorDatos(RepositorioPersona repositorioPersona, RepositorioEvento repositorioEvento,
+                          RepositorioParticipacion repositorioParticipacion, IndicePersonas indicePersonas) {
+        this.repositorioPersona = repositorioPersona;
+        this.repositorioEvento = repositorioEvento;
+        this.repositorioParticipacion = repositorioParticipacion;
+        this.indicePersonas = indicePersonas;
+    }
+
+    /**
+     * Genera y guarda los datos.
+     * @param configuracion Volúmenes y distribuciones
+     * @param seguimiento Recibe el avance (personas más participaciones) y permite cancelar
+     * @return Cantidades generadas
+     * @throws CancellationException si se canceló; lo insertado hasta ese momento queda guardado
+     */
+    public Resultado generar(Configuracion configuracion, SeguimientoTarea seguimiento) {
+        long inicio = System.nanoTime();
+        Random aleatorio = new Random(configuracion.semilla());
+        Progreso progreso = new Progreso(seguimiento,
+                configuracion.personas() + configuracion.participacionesEstimadas());
+
+        try {
+            long[] personaIds = generarPersonas(configuracion, aleatorio, progreso);
+            generarEventos(configuracion, personaIds, aleatorio, progreso);
+        } finally {
+            // Las personas insertadas no pasaron por el índice de búsqueda
+            if (progreso.personas > 0) {
+                indicePersonas.invalidar();
+            }
+        }
+
+        return new Resultado(progreso.personas, progreso.eventos, progreso.participaciones, progreso.rechazadas,
+                Duration.ofNanos(System.nanoTime() - inicio));
+    }
+
+    /**
+     * Inserta las personas por tramos.
+     * @return IDs de todas las personas, en el orden en que se generaron
+     */
+    private long[] generarPersonas(Configuracion configuracion, Random aleatorio, Progreso progreso) {
+        long[] ids = new long[configuracion.personas()];
+        for (int desde = 0; desde < ids.length; desde += TAMANIO_TRAMO) {
+            progreso.verificarCancelacion();
+            int hasta = Math.min(desde + TAMANIO_TRAMO, ids.length);
+
+            List<Persona> tramo = new ArrayList<>(hasta - desde);
+            for (int i = desde; i < hasta; i++) {
+                tramo.add(crearPersona(i, aleatorio));
+            }
+
+            // Reutilizar las que ya existen (misma configuración generada antes)
+            Map<String, Long> existentes = repositorioPersona.buscarIdsPorDni(
+                    tramo.stream().map(Persona::getDni).toList());
+            List<Persona> nuevas = tramo.stream().filter(p -> !existentes.containsKey(p.getDni())).toList();
+            List<Long> idsNuevas = repositorioPersona.insertarNuevas(nuevas);
+
+            int siguienteNueva = 0;
+            for (int i = desde; i < hasta; i++) {
+                Long existente = existentes.get(tramo.get(i - desde).getDni());
+                ids[i] = existente != null ? existente : idsNuevas.get(siguienteNueva++);
+            }
+            progreso.personas += nuevas.size();
+            progreso.avanzar(hasta - desde);
+        }
+        return ids;
+    }
+
+    /**
+     * Inserta los eventos mes por mes y las participaciones de cada uno, por tramos.
+     */
+    private void generarEventos(Configuracion configuracion, long[] personaIds, Random aleatorio, Progreso progreso) {
+        LocalDate hoy = LocalDate.now();
+        YearMonth mesActual = YearMonth.from(hoy);
+        List<Inscripcion> pendientes = new ArrayList<>(TAMANIO_TRAMO);
+        int numeroEvento = 0;
+
+        for (int m = 0; m < configuracion.meses(); m++) {
+            progreso.verificarCancelacion();
+            YearMonth mes = mesActual.plusMonths(m);
+            // En el mes actual solo quedan los días desde hoy
+            int primerDia = m == 0 ? hoy.getDayOfMonth() : 1;
+            int diasDisponibles = mes.lengthOfMonth() - primerDia + 1;
+
+            int cantidad = poisson(aleatorio, configuracion.eventosPorMes());
+            List<Evento> eventos = new ArrayList<>(cantidad);
+            for (int i = 0; i < cantidad; i++) {
+                LocalDate fecha = mes.atDay(primerDia + aleatorio.nextInt(diasDisponibles));
+                eventos.add(crearEvento(numeroEvento++, fecha, 1 + aleatorio.nextInt(7), aleatorio));
+            }
+            eventos = repositorioEvento.guardarTodos(eventos);
+            progreso.eventos += eventos.size();
+
+            for (Evento evento : eventos) {
+                for (Inscripcion inscripcion : crearInscripciones(evento.getId(), configuracion, personaIds, aleatorio)) {
+                    pendientes.add(inscripcion);
+                    if (pendientes.size() == TAMANIO_TRAMO) {
+                        inscribir(pendientes, progreso);
+                    }
+                }
+            }
+        }
+        inscribir(pendientes, progreso);
+    }
+
+    /**
+     * Elige personas distintas para un evento, cada una con un rol según los pesos configurados.
+     */
+    private static List<Inscripcion> crearInscripciones(Long eventoId, Configuracion configuracion, long[] personaIds,
+                                                        Random aleatorio) {
+        // Distribución exponencial, limitada a diez veces el promedio y a las personas existentes
+        int promedio = configuracion.participacionesPorEvento();
+        int cantidad = (int) Math.min(Math.round(-promedio * Math.log(1 - aleatorio.nextDouble())),
+                Math.min(10L * promedio, personaIds.length));
+
+        Set<Integer> elegidas = new HashSet<>();
+        List<Inscripcion> inscripciones = new ArrayList<>(cantidad);
+        while (inscripciones.size() < cantidad) {
+            int indice = aleatorio.nextInt(personaIds.length);
+            if (elegidas.add(indice)) {
+                inscripciones.add(new Inscripcion(eventoId, personaIds[indice],
+                        elegirRol(configuracion.pesosRoles(), aleatorio)));
+            }
+        }
+        return inscripciones;
+    }
+
+    private void inscribir(List<Inscripcion> inscripciones, Progreso progreso) {
+        if (inscripciones.isEmpty()) {
+            return;
+        }
+        progreso.verificarCancelacion();
+        // Los talleres llenos rechazan a los participantes que exceden el cupo, como en la aplicación
+        int rechazadas = repositorioParticipacion.inscribirEnLote(inscripciones).size();
+        progreso.participaciones += inscripciones.size() - rechazadas;
+        progreso.rechazadas += rechazadas;
+        progreso.avanzar(inscripciones.size());
+        inscripciones.clear();
+    }
+
+    /**
+     * Crea la persona de una posición: el DNI y el correo dependen solo de la posición.
+     * El DNI es el prefijo seguido de la posición con nueve dígitos (largo 14, la columna admite 20).
+     */
+    private static Persona crearPersona(int numero, Random aleatorio) {
+        String nombre = NOMBRES[aleatorio.nextInt(NOMBRES.length)];
+        String apellido = APELLIDOS[aleatorio.nextInt(APELLIDOS.length)];
+        String telefono = aleatorio.nextInt(4) == 0 ? null : String.valueOf(1_100_000_000L + aleatorio.nextInt(100_000_000));
+        return new Persona(nombre, apellido, PREFIJO_DNI + String.format("%09d", numero), telefono,
+                "persona" + numero + "@ejemplo.com");
+    }
+
+    /**
+     * Crea un evento de un tipo elegido al azar (los cinco tipos con la misma probabilidad),
+     * confirmado o en planificación, que permite inscripciones.
+     * @param numero Número del evento (se usa en el nombre)
+     * @param fechaInicio Fecha de inicio (no puede ser pasada)
+     * @param duracion Duración en días
+     * @param aleatorio Generador aleatorio
+     * @return Evento nuevo, sin guardar
+     */
+    public static Evento crearEvento(int numero, LocalDate fechaInicio, int duracion, Random aleatorio) {
+        EstadoEvento estado = aleatorio.nextInt(10) < 7 ? EstadoEvento.CONFIRMADO : EstadoEvento.EN_PLANIFICACION;
+        return switch (aleatorio.nextInt(5)) {
+            case 0 -> new Cine("Función " + numero, fechaInicio, duracion, estado, true,
+                    1 + aleatorio.nextInt(3), "Película " + numero);
+            case 1 -> new Taller("Taller " + numero, fechaInicio, duracion, estado, true,
+                    10 + aleatorio.nextInt(91), elegir(Modalidad.values(), aleatorio));
+            case 2 -> new Concierto("Concierto " + numero, fechaInicio, duracion, estado, true,
+                    elegir(TipoEntrada.values(), aleatorio));
+            case 3 -> new Exposicion("Exposición " + numero, fechaInicio, duracion, estado, true,
+                    elegir(TipoArte.values(), aleatorio));
+            default -> new Feria("Feria " + numero, fechaInicio, duracion, estado, true,
+                    10 + aleatorio.nextInt(91), elegir(TipoUbicacion.values(), aleatorio));
+        };
+    }
+
+    private static <E> E elegir(E[] valores, Random aleatorio) {
+        return valores[aleatorio.nextInt(valores.length)];
+    }
+
+    private static RolParticipacion elegirRol(Map<RolParticipacion, Integer> pesos, Random aleatorio) {
+        int total = pesos.values().stream().mapToInt(Integer::intValue).sum();
+        int valor = aleatorio.nextInt(total);
+        // El mapa es un EnumMap: se recorre siempre en el mismo orden
+        for (Map.Entry<RolParticipacion, Integer> peso : pesos.entrySet()) {
+            valor -= peso.getValue();
+            if (valor < 0) {
+                return peso.getKey();
+            }
+        }
+        throw new IllegalStateException("Pesos de roles inválidos");
+    }
+
+    /**
+     * Cantidad aleatoria con distribución de Poisson (aproximada por una normal para promedios grandes).
+     */
+    private static int poisson(Random aleatorio, int promedio) {
+        if (promedio >= 30) {
+            return (int) Math.max(0, Math.round(promedio + Math.sqrt(promedio) * aleatorio.nextGaussian()));
+        }
+        double limite = Math.exp(-promedio);
+        double producto = aleatorio.nextDouble();
+        int cantidad = 0;
+        while (producto > limite) {
+            producto *= aleatorio.nextDouble();
+            cantidad++;
+        }
+        return cantidad;
+    }
+
+    /**
+     * Contadores de la generación en curso.
+     */
+    private static class Progreso {
+        private final SeguimientoTarea seguimiento;
+        private final long total;
+        private long realizados;
+        private long personas;
+        private long eventos;
+        private long participaciones;
+        private long rechazadas;
+
+        Progreso(SeguimientoTarea seguimiento, long total) {
+            this.seguimiento = seguimiento;
+            this.total = total;
+        }
+
+        void avanzar(long cantidad) {
+            realizados += cantidad;
+            seguimiento.avanzar(realizados, Math.max(total, realizados));
+        }
+
+        void verificarCancelacion() {
+            if (seguimiento.isCancelada()) {
+                throw new CancellationException("Generación de datos cancelada");
+            }
+        }
+    }
+
+    /**
+     * Genera datos desde la línea de comandos. Opciones (todas optativas, con los valores de
+     * {@link Configuracion#porDefecto()}): --semilla, --personas, --meses, --eventos-por-mes,
+     * --participaciones-por-evento, --roles (por ejemplo PARTICIPANTE:85,ORGANIZADOR:5) y --confirmar.
+     * Con --produccion se parte de {@link Configuracion#escalaProduccion()}.
+     * <p>
+     * Se niega a generar si la base no se indicó con {@code -Djakarta.persistence.jdbc.url}
+     * y no se pasó {@code --confirmar}: la base de persistence.xml es la de la aplicación.
+     * @param args Opciones con el formato --nombre=valor
+     * @throws IllegalStateException si no se indicó la base ni se confirmó
+     */
+    public static void main(String[] args) {
+        if (System.getProperty("jakarta.persistence.jdbc.url") == null && !List.of(args).contains("--confirmar")) {
+            throw new IllegalStateException("No se indicó la base de datos: use -Djakarta.persistence.jdbc.url=... "
+                    + "o --confirmar para generar datos en la base configurada en persistence.xml");
+        }
+        Configuracion base = List.of(args).contains("--produccion")
+                ? Configuracion.escalaProduccion() : Configuracion.porDefecto();
+        long semilla = base.semilla();
+        int personas = base.personas();
+        int meses = base.meses();
+        int eventosPorMes = base.eventosPorMes();
+        int participacionesPorEvento = base.participacionesPorEvento();
+        Map<RolParticipacion, Integer> roles = base.pesosRoles();
+
+        for (String argumento : args) {
+            if (argumento.equals("--produccion") || argumento.equals("--confirmar")) {
+                continue;
+            }
+            String[] partes = argumento.split("=", 2);
+            if (partes.length != 2) {
+                throw new IllegalArgumentException("Opción inválida (se esperaba --nombre=valor): " + argumento);
+            }
+            switch (partes[0]) {
+                case "--semilla" -> semilla = Long.parseLong(partes[1]);
+                case "--personas" -> personas = Integer.parseInt(partes[1]);
+                case "--meses" -> meses = Integer.parseInt(partes[1]);
+                case "--eventos-por-mes" -> eventosPorMes = Integer.parseInt(partes[1]);
+                case "--participaciones-por-evento" -> participacionesPorEvento = Integer.parseInt(partes[1]);
+                case "--roles" -> {
+                    roles = new EnumMap<>(RolParticipacion.class);
+                    for (String rol : partes[1].split(",")) {
+                        String[] rolYPeso = rol.split(":", 2);
+                        roles.put(RolParticipacion.valueOf(rolYPeso[0].trim().toUpperCase()),
+                                Integer.parseInt(rolYPeso[1].trim()));
+                    }
+                }
+                default -> throw new IllegalArgumentException("Opción desconocida: " + partes[0]);
+            }
+        }
+
+        Configuracion configuracion = new Configuracion(semilla, personas, meses, eventosPorMes,
+                participacionesPorEvento, roles);
+        try {
+            Resultado resultado = new GeneradorDatos().generar(configuracion, new SeguimientoTarea() {
+                private long ultimoPorcentaje = -1;
+
+                @Override
+                public void avanzar(long realizados, long total) {
+                    long porcentaje = realizados * 100 / Math.max(total, 1);
+                    if (porcentaje / 5 != ultimoPorcentaje / 5) {
+                        ultimoPorcentaje = porcentaje;
+                        System.out.println("Generando datos: " + porcentaje + "%");
+                    }
+                }
+
+                @Override
+                public boolean isCancelada() {
+                    return false;
+                }
+            });
+            System.out.println(resultado.resumen());
+        } finally {
+            JPAUtil.shutdown();
+        }
+    }
+}
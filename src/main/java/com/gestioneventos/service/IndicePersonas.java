@@ -0,0 +1,183 @@
+package com.gestioneventos.service;
+
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.model.personas.PersonaResumen;
+import com.gestioneventos.repositorio.RepositorioPersona;
+import com.gestioneventos.util.IndiceTrigramas;
+
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Índice de búsqueda en memoria de todas las personas, compartido por toda la aplicación.
+ * Se construye una sola vez a partir de la base de datos y luego se mantiene al día con
+ * cada alta, modificación o baja realizada a través de los servicios, de modo que buscar
+ * por nombre, apellido o DNI mientras se escribe no genera consultas.
+ * <p>
+ * El índice guarda sus propias copias de las personas y las búsquedas devuelven copias
+ * nuevas: quien modifique una persona obtenida de aquí no cambia lo que ven los demás
+ * controladores hasta guardarla.
+ */
+public class IndicePersonas {
+
+    private static final Comparator<Persona> ORDEN = Comparator
+            .comparing(Persona::getApellido, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Persona::getNombre, String.CASE_INSENSITIVE_ORDER)
+            .thenComparing(Persona::getId);
+
+    private static final IndicePersonas INSTANCIA = new IndicePersonas(new RepositorioPersona());
+
+    private final RepositorioPersona repositorioPersona;
+    private final IndiceTrigramas<Long, Persona> indice = new IndiceTrigramas<>(
+            Persona::getId, IndicePersonas::textoBuscable, ORDEN);
+
+    private volatile boolean cargado = false;
+
+    /**
+     * Constructor para inyección de dependencias (útil para testing).
+     */
+    public IndicePersonas(RepositorioPersona repositorioPersona) {
+        this.repositorioPersona = repositorioPersona;
+    }
+
+    /**
+     * @return Índice compartido por los servicios de la aplicación
+     */
+    public static IndicePersonas getInstancia() {
+        return INSTANCIA;
+    }
+
+    /**
+     * Busca personas cuyo nombre, apellido o DNI contengan todas las palabras del texto,
+     * sin distinguir mayúsculas ni acentos. Las coincidencias por inicio de palabra van primero.
+     * La primera llamada puede acceder a la base de datos para construir el índice.
+     * @param texto Texto a buscar
+     * @return Personas que coinciden, o todas si el texto está vacío
+     */
+    public List<Persona> buscar(String texto) {
+        cargarSiHaceFalta();
+        return copiar(indice.buscar(texto));
+    }
+
+    /**
+     * Obtiene todas las personas ordenadas por apellido y nombre.
+     * La primera llamada puede acceder a la base de datos para construir el índice.
+     * @return Lista con todas las personas
+     */
+    public List<Persona> todas() {
+        cargarSiHaceFalta();
+        return copiar(indice.todos());
+    }
+
+    /**
+     * Agrega o reemplaza una persona recién guardada. Si el índice se está construyendo,
+     * espera a que termine para no perder el cambio; si todavía no se construyó no hace
+     * nada: la persona se incluirá al cargarlo.
+     * @param persona Persona guardada (con ID asignado)
+     */
+    public void actualizar(Persona persona) {
+        if (persona != null && persona.getId() != null) {
+            Persona copia = new Persona(persona);
+            aplicarSiEstaCargado(() -> indice.agregarOActualizar(copia));
+        }
+    }
+
+    /**
+     * Quita una persona eliminada del índice. Como {@link #actualizar(Persona)}, espera a
+     * que termine una construcción en curso.
+     * @param id ID de la persona eliminada
+     */
+    public void eliminar(Long id) {
+        if (id != null) {
+            aplicarSiEstaCargado(() -> indice.eliminar(id));
+        }
+    }
+
+    /**
+     * Descarta el índice para que se reconstruya en la próxima búsqueda.
+     * Debe llamarse si las personas se modifican por fuera de los servicios.
+     */
+    public synchronized void invalidar() {
+        cargado = false;
+    }
+
+    /**
+     * @return true si el índice ya está construido y las búsquedas no acceden a la base de datos
+     */
+    public boolean estaCargado() {
+        return cargado;
+    }
+
+    /**
+     * Aplica a una sola persona el mismo criterio que {@link #buscar(String)}, sin usar el índice.
+     * Sirve para refinar en memoria resultados ya obtenidos.
+     * @param persona Persona a evaluar
+     * @param texto Texto buscado
+     * @return true si la persona coincide con todas las palabras del texto
+     */
+    public static boolean coincide(Persona persona, String texto) {
+        return coincide(textoBuscable(persona), texto);
+    }
+
+    /**
+     * Igual que {@link #coincide(Persona, String)}, para una fila del listado de personas.
+     * @param persona Fila a evaluar
+     * @param texto Texto buscado
+     * @return true si la persona coincide con todas las palabras del texto
+     */
+    public static boolean coincide(PersonaResumen persona, String texto) {
+        return coincide(persona.nombre() + " " + persona.apellido() + " " + persona.dni(), texto);
+    }
+
+    private static boolean coincide(String textoBuscable, String texto) {
+        String consulta = IndiceTrigramas.normalizar(texto);
+        if (consulta.isEmpty()) {
+            return true;
+        }
+        String buscable = IndiceTrigramas.normalizar(textoBuscable);
+        for (String termino : consulta.split(" ")) {
+            if (!buscable.contains(termino)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static String textoBuscable(Persona persona) {
+        return persona.getNombre() + " " + persona.getApellido() + " " + persona.getDni();
+    }
+
+    private static List<Persona> copiar(List<Persona> personas) {
+        return personas.stream().map(Persona::new).toList();
+    }
+
+    /**
+     * Aplica un cambio al índice si está construido. Sin el monitor, un cambio guardado
+     * después de la consulta de la carga pero antes de marcar el índice como cargado se
+     * perdería; con él, espera a que la carga termine y se aplica sobre lo cargado.
+     */
+    private void aplicarSiEstaCargado(Runnable cambio) {
+        if (cargado) {
+            cambio.run();
+            return;
+        }
+        synchronized (this) {
+            if (cargado) {
+                cambio.run();
+            }
+        }
+    }
+
+    private void cargarSiHaceFalta() {
+        if (cargado) {
+            return;
+        }
+        synchronized (this) {
+            if (!cargado) {
+                // Las entidades de la consulta no salen del índice: se devuelven copias
+                indice.cargar(repositorioPersona.buscarTodasParaSeleccion());
+                cargado = true;
+            }
+        }
+    }
+}
@@ -0,0 +1,105 @@
+package com.gestioneventos.service;
+
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta en segundo plano la actualización automática de estados de los eventos:
+ * una vez al iniciar la aplicación y luego cada medianoche.
+ * Los oyentes registrados se notifican solo cuando algún evento cambió de estado,
+ * desde el hilo del programador (no desde el hilo de JavaFX).
+ */
+public class ProgramadorEstadosEventos {
+
+    // Margen después de medianoche para que LocalDate.now() ya devuelva el nuevo día
+    private static final Duration MARGEN_MEDIANOCHE = Duration.ofSeconds(5);
+
+    private final ServicioEvento servicioEvento;
+    private final List<Consumer<ServicioEvento.TransicionesEstado>> oyentes = new CopyOnWriteArrayList<>();
+    private final ScheduledExecutorService programador = Executors.newSingleThreadScheduledExecutor(r -> {
+        Thread hilo = new Thread(r, "estados-eventos");
+        hilo.setDaemon(true);
+        return hilo;
+    });
+
+    /**
+     * Constructor que inicializa el servicio necesario.
+     */
+    public ProgramadorEstadosEventos() {
+        this(new ServicioEvento());
+    }
+
+    /**
+     * Constructor para inyección de dependencias (útil para testing).
+     */
+    public ProgramadorEstadosEventos(ServicioEvento servicioEvento) {
+        this.servicioEvento = servicioEvento;
+    }
+
+    /**
+     * Registra un oyente que recibe las transiciones cuando algún evento cambia de estado.
+     * @param oyente Oyente a registrar
+     */
+    public void agregarOyente(Consumer<ServicioEvento.TransicionesEstado> oyente) {
+        if (oyente == null) {
+            throw new IllegalArgumentException("El oyente no puede ser nulo");
+        }
+        oyentes.add(oyente);
+    }
+
+    /**
+     * Lanza la primera actualización de inmediato y programa las siguientes.
+     */
+    public void iniciar() {
+        programador.execute(this::actualizarYReprogramar);
+    }
+
+    /**
+     * Detiene el programador. Debe llamarse al cerrar la aplicación.
+     */
+    public void detener() {
+        programador.shutdownNow();
+    }
+
+    /**
+     * Ejecuta la actualización y programa la siguiente para la próxima medianoche.
+     * La demora se recalcula en cada ejecución para respetar cambios de horario.
+     */
+    private void actualizarYReprogramar() {
+        try {
+            ServicioEvento.TransicionesEstado transiciones =
+                    servicioEvento.actualizarEstadosSegunFecha(LocalDate.now());
+            if (transiciones.hayCambios()) {
+                System.out.println("Estados actualizados automáticamente: " + transiciones.finalizados()
+                        + " finalizado(s), " + transiciones.enEjecucion() + " en ejecución");
+                for (Consumer<ServicioEvento.TransicionesEstado> oyente : oyentes) {
+                    oyente.accept(transiciones);
+                }
+            }
+        } catch (Exception e) {
+            // Un fallo no debe cancelar las ejecuciones siguientes
+            System.err.println("Error al actualizar estados de eventos: " + e.getMessage());
+            e.printStackTrace();
+        } finally {
+            if (!programador.isShutdown()) {
+                programador.schedule(this::actualizarYReprogramar, demoraHastaMedianoche(), TimeUnit.MILLISECONDS);
+            }
+        }
+    }
+
+    /**
+     * @return Milisegundos desde ahora hasta la próxima medianoche (más un pequeño margen)
+     */
+    private static long demoraHastaMedianoche() {
+        LocalDateTime ahora = LocalDateTime.now();
+        LocalDateTime proximaMedianoche = ahora.toLocalDate().plusDays(1).atStartOfDay().plus(MARGEN_MEDIANOCHE);
+        return Duration.between(ahora, proximaMedianoche).toMillis();
+    }
+}
@@ -0,0 +1,120 @@
+package com.gestioneventos.service;
+
+import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.repositorio.RepositorioEvento;
+import com.gestioneventos.util.IndiceIntervalos;
+import com.gestioneventos.util.Metricas;
+
+import java.time.YearMonth;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+/**
+ * Servicio que provee los eventos del calendario mes a mes.
+ * Cada mes se consulta una sola vez con una búsqueda por rango de fechas y se guarda
+ * indexado por día; los meses vecinos se pueden precargar para que la navegación
+ * anterior/siguiente no espere a la base de datos.
+ */
+public class ServicioCalendario {
+
+    // Cantidad máxima de meses guardados (el menos usado recientemente se descarta)
+    private static final int MAXIMO_MESES_EN_CACHE = 12;
+
+    private final RepositorioEvento repositorioEvento;
+
+    // Caché de meses en orden de acceso; se accede sincronizando sobre el propio mapa
+    private final Map<YearMonth, IndiceIntervalos<Evento>> meses =
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<YearMonth, IndiceIntervalos<Evento>> mayor) {
+                    return size() > MAXIMO_MESES_EN_CACHE;
+                }
+            };
+
+    // Se incrementa al invalidar para descartar cargas que empezaron antes
+    private long generacion = 0;
+
+    /**
+     * Constructor que inicializa el repositorio necesario.
+     */
+    public ServicioCalendario() {
+        this(new RepositorioEvento());
+    }
+
+    /**
+     * Constructor para inyección de dependencias (útil para testing).
+     */
+    public ServicioCalendario(RepositorioEvento repositorioEvento) {
+        this.repositorioEvento = repositorioEvento;
+    }
+
+    /**
+     * Obtiene los eventos de un mes, consultando la base de datos solo si no está en caché.
+     * Puede acceder a la base de datos, por lo que no debe llamarse desde el hilo de JavaFX.
+     * @param mes Mes a obtener
+     * @return Índice por día de los eventos activos en el mes
+     */
+    public IndiceIntervalos<Evento> obtenerMes(YearMonth mes) {
+        return Metricas.medir(() -> {
+            if (mes == null) {
+                throw new IllegalArgumentException("El mes no puede ser nulo");
+            }
+
+            long generacionInicial;
+            synchronized (meses) {
+                IndiceIntervalos<Evento> enCache = meses.get(mes);
+                if (enCache != null) {
+                    return enCache;
+                }
+                generacionInicial = generacion;
+            }
+
+            List<Evento> eventos = repositorioEvento.buscarEnRango(mes.atDay(1), mes.atEndOfMonth());
+            IndiceIntervalos<Evento> indice = new IndiceIntervalos<>(
+                    mes.atDay(1), mes.atEndOfMonth(), eventos, Evento::getFechaInicio, Evento::getFechaFin);
+
+            synchronized (meses) {
+                // Si se invalidó mientras se consultaba, el resultado puede estar desactualizado
+                if (generacion == generacionInicial) {
+                    meses.put(mes, indice);
+                }
+            }
+            return indice;
+        });
+    }
+
+    /**
+     * Devuelve el mes solo si ya está en caché, sin acceder a la base de datos.
+     * Se puede llamar desde el hilo de JavaFX.
+     * @param mes Mes a buscar
+     * @return Optional con el índice del mes, o vacío si hay que cargarlo
+     */
+    public Optional<IndiceIntervalos<Evento>> buscarEnCache(YearMonth mes) {
+        synchronized (meses) {
+            return Optional.ofNullable(meses.get(mes));
+        }
+    }
+
+    /**
+     * Carga en caché el mes anterior y el siguiente al indicado.
+     * Puede acceder a la base de datos, por lo que no debe llamarse desde el hilo de JavaFX.
+     * @param mes Mes de referencia
+     */
+    public void precargarAdyacentes(YearMonth mes) {
+        obtenerMes(mes.minusMonths(1));
+        obtenerMes(mes.plusMonths(1));
+    }
+
+    /**
+     * Descarta todos los meses guardados. Debe llamarse cuando se crean,
+     * modifican o eliminan eventos.
+     */
+    public void invalidar() {
+        synchronized (meses) {
+            meses.clear();
+            generacion++;
+        }
+    }
+}
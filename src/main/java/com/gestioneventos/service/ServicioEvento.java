@@ -1,17 +1,22 @@
 package com.gestioneventos.service;
 
 import com.gestioneventos.model.eventos.Evento;
+import com.gestioneventos.model.eventos.EventoResumen;
 import com.gestioneventos.model.eventos.EstadoEvento;
 import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.repositorio.Pagina;
 import com.gestioneventos.repositorio.RepositorioEvento;
 import com.gestioneventos.repositorio.RepositorioParticipacion;
 import com.gestioneventos.repositorio.RepositorioPersona;
+import com.gestioneventos.util.Metricas;
 import com.gestioneventos.model.participaciones.Participacion;
 import com.gestioneventos.model.participaciones.RolParticipacion;
 
 import java.time.LocalDate;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.List;
+import java.util.Objects;
 import java.util.Optional;
 
 /**
@@ -47,21 +52,23 @@ public class ServicioEvento {
      * @return El evento guardado con su ID asignado
      */
     public Evento guardar(Evento evento) {
-        if (evento == null) {
-            throw new IllegalArgumentException("El evento no puede ser nulo");
-        }
-        
-        // Verificar si la fecha es válida para nuevos eventos
-        if (evento.getFechaInicio().isBefore(LocalDate.now()) && evento.getId() == null) {
-            throw new IllegalArgumentException("No se pueden crear eventos en fechas pasadas");
-        }
-        
-        // Guardar o actualizar
-        if (evento.getId() == null) {
-            return repositorioEvento.guardar(evento);
-        } else {
-            return repositorioEvento.actualizar(evento);
-        }
+        return Metricas.medir(() -> {
+            if (evento == null) {
+                throw new IllegalArgumentException("El evento no puede ser nulo");
+            }
+            
+            // Verificar si la fecha es válida para nuevos eventos
+            if (evento.getFechaInicio().isBefore(LocalDate.now()) && evento.getId() == null) {
+                throw new IllegalArgumentException("No se pueden crear eventos en fechas pasadas");
+            }
+            
+            // Guardar o actualizar
+            if (evento.getId() == null) {
+                return repositorioEvento.guardar(evento);
+            } else {
+                return repositorioEvento.actualizar(evento);
+            }
+        });
     }
     
     /**
@@ -70,11 +77,13 @@ public class ServicioEvento {
      * @return Optional con el evento si es encontrado, o vacío si no existe
      */
     public Optional<Evento> buscarPorId(Long id) {
-        if (id == null) {
-            throw new IllegalArgumentException("El ID del evento no puede ser nulo");
-        }
-        
-        return repositorioEvento.buscarPorId(id);
+        return Metricas.medir(() -> {
+            if (id == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            
+            return repositorioEvento.buscarPorId(id);
+        });
     }
     
     /**
@@ -82,7 +91,36 @@ public class ServicioEvento {
      * @return Lista con todos los eventos
      */
     public List<Evento> buscarTodos() {
-        return repositorioEvento.buscarTodos();
+        return Metricas.medir(() -> {
+            return repositorioEvento.buscarTodos();
+        });
+    }
+    
+    /**
+     * Obtiene una página del listado de eventos ordenados por fecha de inicio.
+     * Devuelve solo las columnas que muestra la tabla, sin cargar las entidades.
+     * @param cursor Cursor de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de eventos de la página
+     * @return Página de filas del listado
+     */
+    public Pagina<EventoResumen> buscarPaginaResumen(List<Object> cursor, int tamanio) {
+        return Metricas.medir(() -> {
+            return repositorioEvento.buscarPaginaResumen(cursor, tamanio);
+        });
+    }
+    
+    /**
+     * Busca eventos por coincidencia parcial en el nombre y los devuelve como filas del listado.
+     * @param nombre Texto a buscar en el nombre del evento
+     * @return Filas de los eventos que coinciden
+     */
+    public List<EventoResumen> buscarResumenPorNombre(String nombre) {
+        return Metricas.medir(() -> {
+            if (nombre == null || nombre.trim().isEmpty()) {
+                throw new IllegalArgumentException("El nombre de búsqueda no puede ser nulo o vacío");
+            }
+            return repositorioEvento.buscarResumenPorNombre(nombre);
+        });
     }
     
     /**
@@ -91,25 +129,32 @@ public class ServicioEvento {
      * @return true si el evento fue eliminado, false si no existía
      */
     public boolean eliminar(Long id) {
-        if (id == null) {
-            throw new IllegalArgumentException("El ID del evento no puede ser nulo");
-        }
-        
-        // Verificar si existe el evento
-        Optional<Evento> eventoOpt = repositorioEvento.buscarPorId(id);
-        if (eventoOpt.isEmpty()) {
-            return false;
-        }
-        
-        // Eliminar las participaciones asociadas
-        List<Participacion> participaciones = repositorioParticipacion.buscarPorEventoId(id);
-        for (Participacion p : participaciones) {
-            repositorioParticipacion.eliminar(p);
-        }
-        
-        // Eliminar el evento
-        repositorioEvento.eliminarPorId(id);
-        return true;
+        return Metricas.medir(() -> {
+            if (id == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            
+            // Elimina el evento y sus participaciones en una sola transacción
+            return repositorioEvento.eliminarConParticipaciones(List.of(id)) > 0;
+        });
+    }
+    
+    /**
+     * Elimina varios eventos y sus participaciones en una sola transacción.
+     * Si algo falla no se elimina ninguno.
+     * @param ids IDs de los eventos a eliminar
+     * @return Cantidad de eventos eliminados (los IDs inexistentes se ignoran)
+     */
+    public int eliminarVarios(Collection<Long> ids) {
+        return Metricas.medir(() -> {
+            if (ids == null || ids.stream().anyMatch(Objects::isNull)) {
+                throw new IllegalArgumentException("Los IDs de los eventos no pueden ser nulos");
+            }
+            if (ids.isEmpty()) {
+                return 0;
+            }
+            return repositorioEvento.eliminarConParticipaciones(ids);
+        });
     }
     
     /**
@@ -118,11 +163,13 @@ public class ServicioEvento {
      * @return Lista de eventos que coinciden con el criterio
      */
     public List<Evento> buscarPorNombre(String nombre) {
-        if (nombre == null || nombre.trim().isEmpty()) {
-            throw new IllegalArgumentException("El nombre de búsqueda no puede ser nulo o vacío");
-        }
-        
-        return repositorioEvento.buscarPorNombre(nombre);
+        return Metricas.medir(() -> {
+            if (nombre == null || nombre.trim().isEmpty()) {
+                throw new IllegalArgumentException("El nombre de búsqueda no puede ser nulo o vacío");
+            }
+            
+            return repositorioEvento.buscarPorNombre(nombre);
+        });
     }
 
     
@@ -133,19 +180,57 @@ public class ServicioEvento {
      * @return El evento actualizado
      */
     public Evento cambiarEstado(Long id, EstadoEvento nuevoEstado) {
-        if (id == null || nuevoEstado == null) {
-            throw new IllegalArgumentException("El ID del evento y el nuevo estado no pueden ser nulos");
-        }
+        return Metricas.medir(() -> {
+            if (id == null || nuevoEstado == null) {
+                throw new IllegalArgumentException("El ID del evento y el nuevo estado no pueden ser nulos");
+            }
+            
+            Optional<Evento> eventoOpt = repositorioEvento.buscarPorId(id);
+            if (eventoOpt.isEmpty()) {
+                throw new IllegalArgumentException("No existe un evento con el ID: " + id);
+            }
+            
+            Evento evento = eventoOpt.get();
+            evento.setEstadoEvento(nuevoEstado);
+            
+            return repositorioEvento.actualizar(evento);
+        });
+    }
+    
+    /**
+     * Cantidad de eventos que cambiaron de estado en una actualización automática.
+     * @param finalizados Eventos marcados como FINALIZADOS
+     * @param enEjecucion Eventos marcados como EN_EJECUCION
+     */
+    public record TransicionesEstado(int finalizados, int enEjecucion) {
         
-        Optional<Evento> eventoOpt = repositorioEvento.buscarPorId(id);
-        if (eventoOpt.isEmpty()) {
-            throw new IllegalArgumentException("No existe un evento con el ID: " + id);
+        /**
+         * @return true si algún evento cambió de estado
+         */
+        public boolean hayCambios() {
+            return finalizados > 0 || enEjecucion > 0;
         }
-        
-        Evento evento = eventoOpt.get();
-        evento.setEstadoEvento(nuevoEstado);
-        
-        return repositorioEvento.actualizar(evento);
+    }
+    
+    /**
+     * Actualiza el estado de los eventos según la fecha indicada:
+     * - Eventos cuya fecha fin (fechaInicio + duracionEstimada - 1) es anterior a hoy se marcan como FINALIZADOS
+     * - Eventos CONFIRMADOS cuya fecha inicio es hoy o anterior y fecha fin es posterior a hoy se marcan como EN_EJECUCION
+     * Usa dos actualizaciones masivas; si no hay nada que cambiar no modifica ninguna fila.
+     * @param hoy Fecha de referencia
+     * @return Cantidad de eventos afectados por cada transición
+     */
+    public TransicionesEstado actualizarEstadosSegunFecha(LocalDate hoy) {
+        return Metricas.medir(() -> {
+            if (hoy == null) {
+                throw new IllegalArgumentException("La fecha de referencia no puede ser nula");
+            }
+            
+            // Primero finalizar, para no pasar a EN_EJECUCION eventos que ya terminaron
+            int finalizados = repositorioEvento.finalizarTerminados(hoy);
+            int enEjecucion = repositorioEvento.iniciarConfirmados(hoy);
+            return new TransicionesEstado(finalizados, enEjecucion);
+        });
     }
     
     /**
@@ -156,46 +241,41 @@ public class ServicioEvento {
      * @return La participación creada
      */
     public Participacion agregarParticipacion(Long eventoId, Persona persona, RolParticipacion rol) {
-        if (eventoId == null || persona == null || rol == null) {
-            throw new IllegalArgumentException("El ID del evento, la persona y el rol no pueden ser nulos");
-        }
-        
-        // Verificar que existe el evento
-        Optional<Evento> eventoOpt = repositorioEvento.buscarPorId(eventoId);
-        if (eventoOpt.isEmpty()) {
-            throw new IllegalArgumentException("No existe un evento con el ID: " + eventoId);
-        }
-        
-        Evento evento = eventoOpt.get();
-        
-        // Verificar si el evento permite inscripciones
-        if (rol == RolParticipacion.PARTICIPANTE && !evento.getPermiteInscripcion()) {
-            throw new IllegalArgumentException("Este evento no permite inscripciones");
-        }
-        
-        // Verificar si la persona ya está inscrita con el mismo rol
-        List<Participacion> participacionesEvento = repositorioParticipacion.buscarPorEventoId(eventoId);
-        for (Participacion p : participacionesEvento) {
-            if (p.getPersona().getId().equals(persona.getId()) && p.getRol() == rol) {
-                throw new IllegalArgumentException("La persona ya está inscrita en este evento con el mismo rol");
+        return Metricas.medir(() -> {
+            if (eventoId == null || persona == null || rol == null) {
+                throw new IllegalArgumentException("El ID del evento, la persona y el rol no pueden ser nulos");
             }
-        }
-        
-        // Guardar o recuperar la persona
-        Persona personaGuardada;
-        if (persona.getId() == null) {
-            personaGuardada = repositorioPersona.guardar(persona);
-        } else {
-            Optional<Persona> personaOpt = repositorioPersona.buscarPorId(persona.getId());
-            if (personaOpt.isEmpty()) {
-                throw new IllegalArgumentException("No existe una persona con el ID: " + persona.getId());
+            
+            // Verificar que existe el evento y si permite inscripciones (sin cargar sus relaciones)
+            Optional<Boolean> permiteInscripcion = repositorioEvento.buscarPermiteInscripcion(eventoId);
+            if (permiteInscripcion.isEmpty()) {
+                throw new IllegalArgumentException("No existe un evento con el ID: " + eventoId);
             }
-            personaGuardada = personaOpt.get();
-        }
-        
-        // Crear y guardar la participación
-        Participacion participacion = new Participacion(evento, personaGuardada, rol);
-        return repositorioParticipacion.guardar(participacion);
+            
+            if (rol == RolParticipacion.PARTICIPANTE && !permiteInscripcion.get()) {
+                throw new IllegalArgumentException("Este evento no permite inscripciones");
+            }
+            
+            // Guardar la persona si es nueva
+            Persona personaGuardada;
+            if (persona.getId() == null) {
+                personaGuardada = repositorioPersona.guardar(persona);
+                IndicePersonas.getInstancia().actualizar(personaGuardada);
+            } else {
+                // Verificar que la persona existe y que no está inscrita con el mismo rol (una sola consulta)
+                Optional<Boolean> inscripta = repositorioParticipacion.buscarSiEstaInscripta(eventoId, persona.getId(), rol);
+                if (inscripta.isEmpty()) {
+                    throw new IllegalArgumentException("No existe una persona con el ID: " + persona.getId());
+                }
+                if (inscripta.get()) {
+                    throw new IllegalArgumentException("La persona ya está inscrita en este evento con el mismo rol");
+                }
+                personaGuardada = persona;
+            }
+            
+            // Crear y guardar la participación; la restricción única cubre inscripciones simultáneas
+            return repositorioParticipacion.inscribir(eventoId, personaGuardada, rol);
+        });
     }
     
     /**
@@ -205,21 +285,23 @@ public class ServicioEvento {
      * @return true si se eliminó la participación, false si no existía
      */
     public boolean eliminarParticipacion(Long eventoId, Long personaId) {
-        if (eventoId == null || personaId == null) {
-            throw new IllegalArgumentException("El ID del evento y de la persona no pueden ser nulos");
-        }
-        
-        List<Participacion> participaciones = repositorioParticipacion.buscarPorEventoIdYPersonaId(eventoId, personaId);
-        if (participaciones.isEmpty()) {
-            return false;
-        }
-        
-        // Eliminar todas las participaciones encontradas
-        for (Participacion p : participaciones) {
-            repositorioParticipacion.eliminar(p);
-        }
-        
-        return true;
+        return Metricas.medir(() -> {
+            if (eventoId == null || personaId == null) {
+                throw new IllegalArgumentException("El ID del evento y de la persona no pueden ser nulos");
+            }
+            
+            List<Participacion> participaciones = repositorioParticipacion.buscarPorEventoIdYPersonaId(eventoId, personaId);
+            if (participaciones.isEmpty()) {
+                return false;
+            }
+            
+            // Eliminar todas las participaciones encontradas
+            for (Participacion p : participaciones) {
+                repositorioParticipacion.eliminar(p);
+            }
+            
+            return true;
+        });
     }
     
     /**
@@ -228,11 +310,13 @@ public class ServicioEvento {
      * @return Lista de participaciones del evento
      */
     public List<Participacion> obtenerParticipaciones(Long eventoId) {
-        if (eventoId == null) {
-            throw new IllegalArgumentException("El ID del evento no puede ser nulo");
-        }
-        
-        return repositorioParticipacion.buscarPorEventoId(eventoId);
+        return Metricas.medir(() -> {
+            if (eventoId == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            
+            return repositorioParticipacion.buscarPorEventoId(eventoId);
+        });
     }
     
     /**
@@ -241,26 +325,30 @@ public class ServicioEvento {
      * @return Lista de eventos en los que participa la persona
      */
     public List<Evento> buscarPorParticipante(Long personaId) {
-        if (personaId == null) {
-            throw new IllegalArgumentException("El ID de la persona no puede ser nulo");
-        }
-        
-        List<Participacion> participaciones = repositorioParticipacion.buscarPorPersonaId(personaId);
-        List<Evento> eventos = new ArrayList<>();
-        
-        for (Participacion p : participaciones) {
-            eventos.add(p.getEvento());
-        }
-        
-        return eventos;
+        return Metricas.medir(() -> {
+            if (personaId == null) {
+                throw new IllegalArgumentException("El ID de la persona no puede ser nulo");
+            }
+            
+            List<Participacion> participaciones = repositorioParticipacion.buscarPorPersonaId(personaId);
+            List<Evento> eventos = new ArrayList<>();
+            
+            for (Participacion p : participaciones) {
+                eventos.add(p.getEvento());
+            }
+            
+            return eventos;
+        });
     }
 
     //buscar por persona y rol:
     public List<Participacion> buscarPorEventoYRol(Long eventoId, RolParticipacion rol) {
-        if (eventoId == null || rol == null) {
-            throw new IllegalArgumentException("El ID del evento y el rol no pueden ser nulos");
-        }
-        
-        return repositorioParticipacion.buscarPorEventoIdYRol(eventoId, rol);
+        return Metricas.medir(() -> {
+            if (eventoId == null || rol == null) {
+                throw new IllegalArgumentException("El ID del evento y el rol no pueden ser nulos");
+            }
+            
+            return repositorioParticipacion.buscarPorEventoIdYRol(eventoId, rol);
+        });
     }
 }
\ No newline at end of file
@@ -0,0 +1,225 @@
+package com.gestioneventos.service;
+
+import com.gestioneventos.model.eventos.EventoResumen;
+import com.gestioneventos.model.participaciones.AsistenciaFila;
+import com.gestioneventos.model.participaciones.ParticipacionFila;
+import com.gestioneventos.model.personas.PersonaResumen;
+import com.gestioneventos.repositorio.RepositorioEvento;
+import com.gestioneventos.repositorio.RepositorioParticipacion;
+import com.gestioneventos.repositorio.RepositorioPersona;
+import com.gestioneventos.util.EscritorRegistros;
+import com.gestioneventos.util.Metricas;
+import com.gestioneventos.util.SeguimientoTarea;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CancellationException;
+import java.util.function.Consumer;
+import java.util.function.Function;
+import java.util.function.ToLongFunction;
+
+/**
+ * Exportación del catálogo de eventos, de las personas y de las nóminas de asistencia a
+ * archivos CSV, JSON o XLSX (según la extensión del archivo).
+ * Las filas se leen de la base de datos con un cursor y se escriben al archivo a medida
+ * que llegan, por lo que la memoria usada no depende de la cantidad de registros.
+ * La exportación informa su avance y se puede cancelar con un {@link SeguimientoTarea};
+ * si se cancela o falla, el archivo incompleto se borra.
+ * <p>
+ * Las columnas de personas y de asistencias son las que espera {@link ServicioImportacion},
+ * así que esos archivos (en CSV o JSON) se pueden volver a importar.
+ */
+public class ServicioExportacion {
+
+    // Filas entre avisos de avance
+    private static final int FRECUENCIA_AVANCE = 500;
+
+    private static final List<String> COLUMNAS_EVENTOS = List.of(
+            "id", "nombre", "tipo", "fecha_inicio", "duracion_dias", "estado", "permite_inscripcion", "detalle");
+    private static final List<String> COLUMNAS_PERSONAS = List.of(
+            "id", "nombre", "apellido", "dni", "telefono", "email");
+    private static final List<String> COLUMNAS_ASISTENCIAS = List.of(
+            "evento_id", "evento", "fecha_inicio", "persona_id", "nombre", "apellido", "dni", "email", "rol",
+            "fecha_inscripcion");
+    private static final List<String> COLUMNAS_PARTICIPANTES = List.of(
+            "evento_id", "id", "persona_id", "nombre", "apellido", "dni", "rol", "fecha_inscripcion");
+
+    /**
+     * Resultado de una exportación.
+     * @param archivo Archivo generado
+     * @param registros Registros escritos
+     * @param duracion Tiempo total de la exportación
+     */
+    public record ResultadoExportacion(Path archivo, long registros, Duration duracion) {
+
+        /**
+         * @return Registros escritos por segundo
+         */
+        public double registrosPorSegundo() {
+            long milisegundos = Math.max(duracion.toMillis(), 1);
+            return registros * 1000.0 / milisegundos;
+        }
+
+        /**
+         * @return Resumen en una línea para mostrar al usuario
+         */
+        public String resumen() {
+            return String.format("%d registros exportados a %s (%.1f s, %.0f registros/s)",
+                    registros, archivo.getFileName(), duracion.toMillis() / 1000.0, registrosPorSegundo());
+        }
+    }
+
+    private final RepositorioEvento repositorioEvento;
+    private final RepositorioPersona repositorioPersona;
+    private final RepositorioParticipacion repositorioParticipacion;
+
+    /**
+     * Constructor por defecto.
+     */
+    public ServicioExportacion() {
+        this(new RepositorioEvento(), new RepositorioPersona(), new RepositorioParticipacion());
+    }
+
+    /**
+     * Constructor para inyección de dependencias (útil para testing).
+     */
+    public ServicioExportacion(RepositorioEvento repositorioEvento, RepositorioPersona repositorioPersona,
+                               RepositorioParticipacion repositorioParticipacion) {
+        this.repositorioEvento = repositorioEvento;
+        this.repositorioPersona = repositorioPersona;
+        this.repositorioParticipacion = repositorioParticipacion;
+    }
+
+    /**
+     * Exporta el catálogo de eventos, ordenado por fecha de inicio.
+     * @param archivo Archivo de destino (.csv, .json o .xlsx)
+     * @param seguimiento Recibe el avance y permite cancelar
+     * @return Resultado de la exportación
+     * @throws IOException si no se puede escribir el archivo
+     * @throws CancellationException si se canceló
+     */
+    public ResultadoExportacion exportarEventos(Path archivo, SeguimientoTarea seguimiento) throws IOException {
+        return Metricas.medir(() -> {
+            return exportar(archivo, COLUMNAS_EVENTOS, repositorioEvento.contarTodos(),
+                    repositorioEvento::recorrerResumen,
+                    (EventoResumen e) -> Arrays.asList(e.id(), e.nombre(), e.tipo(), e.fechaInicio(),
+                            e.duracionEstimada(), e.estadoEvento(), e.permiteInscripcion(), e.detalle()),
+                    seguimiento);
+        });
+    }
+
+    /**
+     * Exporta todas las personas, ordenadas por apellido y nombre.
+     * @param archivo Archivo de destino (.csv, .json o .xlsx)
+     * @param seguimiento Recibe el avance y permite cancelar
+     * @return Resultado de la exportación
+     * @throws IOException si no se puede escribir el archivo
+     * @throws CancellationException si se canceló
+     */
+    public ResultadoExportacion exportarPersonas(Path archivo, SeguimientoTarea seguimiento) throws IOException {
+        return Metricas.medir(() -> {
+            return exportar(archivo, COLUMNAS_PERSONAS, repositorioPersona.contarTodos(),
+                    repositorioPersona::recorrerResumen,
+                    (PersonaResumen p) -> Arrays.asList(p.id(), p.nombre(), p.apellido(), p.dni(), p.telefono(),
+                            p.email()),
+                    seguimiento);
+        });
+    }
+
+    /**
+     * Exporta la nómina de asistencia de todos los eventos: una fila por participación,
+     * con los datos del evento y de la persona.
+     * @param archivo Archivo de destino (.csv, .json o .xlsx)
+     * @param seguimiento Recibe el avance y permite cancelar
+     * @return Resultado de la exportación
+     * @throws IOException si no se puede escribir el archivo
+     * @throws CancellationException si se canceló
+     */
+    public ResultadoExportacion exportarAsistencias(Path archivo, SeguimientoTarea seguimiento) throws IOException {
+        return Metricas.medir(() -> {
+            return exportar(archivo, COLUMNAS_ASISTENCIAS, repositorioParticipacion.contarTodos(),
+                    repositorioParticipacion::recorrerAsistencias,
+                    (AsistenciaFila a) -> Arrays.asList(a.eventoId(), a.evento(), a.fechaInicio(), a.personaId(),
+                            a.nombre(), a.apellido(), a.dni(), a.email(), a.rol(), a.fechaInscripcion()),
+                    seguimiento);
+        });
+    }
+
+    /**
+     * Exporta los participantes de un evento.
+     * @param eventoId ID del evento
+     * @param archivo Archivo de destino (.csv, .json o .xlsx)
+     * @param seguimiento Recibe el avance y permite cancelar
+     * @return Resultado de la exportación
+     * @throws IOException si no se puede escribir el archivo
+     * @throws CancellationException si se canceló
+     */
+    public ResultadoExportacion exportarParticipantes(Long eventoId, Path archivo, SeguimientoTarea seguimiento)
+            throws IOException {
+        return Metricas.medir(() -> {
+            if (eventoId == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            return exportar(archivo, COLUMNAS_PARTICIPANTES, repositorioParticipacion.contarPorEventoId(eventoId),
+                    accion -> repositorioParticipacion.recorrerFilasPorEventoId(eventoId, accion),
+                    (ParticipacionFila p) -> Arrays.asList(eventoId, p.id(), p.personaId(), p.nombre(), p.apellido(),
+                            p.dni(), p.rol(), p.fechaInscripcion()),
+                    seguimiento);
+        });
+    }
+
+    /**
+     * Recorre las filas con el cursor del repositorio y las escribe al archivo de a una.
+     * @param archivo Archivo de destino
+     * @param columnas Nombres de las columnas
+     * @param total Cantidad estimada de filas, para informar el avance
+     * @param recorrido Recorrido del repositorio que entrega cada fila
+     * @param valores Convierte una fila en los valores de sus columnas
+     * @param seguimiento Recibe el avance y permite cancelar
+     */
+    private <R> ResultadoExportacion exportar(Path archivo, List<String> columnas, long total,
+                                              ToLongFunction<Consumer<R>> recorrido, Function<R, List<?>> valores,
+                                              SeguimientoTarea seguimiento) throws IOException {
+        long inicio = System.nanoTime();
+        long[] escritos = {0};
+        boolean completa = false;
+        seguimiento.avanzar(0, total);
+
+        EscritorRegistros escritor = EscritorRegistros.abrir(archivo, columnas);
+        try {
+            // El archivo se completa al cerrar el escritor (fin del arreglo JSON, índice del ZIP)
+            try (escritor) {
+                recorrido.applyAsLong(fila -> {
+                    // Lanzar la excepción corta el recorrido y cierra el cursor
+                    if (seguimiento.isCancelada()) {
+                        throw new CancellationException("Exportación cancelada");
+                    }
+                    try {
+                        escritor.escribir(valores.apply(fila));
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                    if (++escritos[0] % FRECUENCIA_AVANCE == 0) {
+                        seguimiento.avanzar(escritos[0], total);
+                    }
+                });
+            }
+            completa = true;
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        } finally {
+            // No dejar un archivo a medio escribir
+            if (!completa) {
+                Files.deleteIfExists(archivo);
+            }
+        }
+
+        seguimiento.avanzar(escritos[0], escritos[0]);
+        return new ResultadoExportacion(archivo, escritos[0], Duration.ofNanos(System.nanoTime() - inicio));
+    }
+}
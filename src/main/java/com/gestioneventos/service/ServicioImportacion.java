@@ -0,0 +1,368 @@
+package com.gestioneventos.service;
+
+import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.repositorio.RepositorioEvento;
+import com.gestioneventos.repositorio.RepositorioParticipacion;
+import com.gestioneventos.repositorio.RepositorioParticipacion.Inscripcion;
+import com.gestioneventos.repositorio.RepositorioPersona;
+import com.gestioneventos.util.LectorRegistros;
+import com.gestioneventos.util.Metricas;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Importación masiva de personas y de participaciones desde archivos CSV o JSON.
+ * Los registros se leen de a uno y se procesan por tramos de {@value #TAMANIO_TRAMO}: cada
+ * tramo se valida, se compara con la base de datos con una consulta por lote y se inserta
+ * en una sola transacción (con {@code COPY} en PostgreSQL). Un registro inválido no detiene
+ * la importación: se informa en el resultado junto con su número.
+ * <p>
+ * Columnas de personas: nombre, apellido, dni, telefono, email.
+ * Columnas de participaciones: dni, evento_id, rol (nombre o descripción del rol).
+ */
+public class ServicioImportacion {
+
+    // Registros que se validan e insertan juntos
+    private static final int TAMANIO_TRAMO = 5000;
+
+    /**
+     * Registro que no se pudo importar.
+     * @param registro Número del registro en el archivo (desde 1, sin contar el encabezado)
+     * @param mensaje Motivo
+     */
+    public record ErrorRegistro(long registro, String mensaje) {
+
+        @Override
+        public String toString() {
+            return "Registro " + registro + ": " + mensaje;
+        }
+    }
+
+    /**
+     * Resultado de una importación.
+     * @param leidos Registros leídos del archivo
+     * @param importados Registros insertados
+     * @param omitidos Registros que ya existían en la base de datos (no se modifican)
+     * @param errores Registros rechazados, con su motivo
+     * @param duracion Tiempo total de la importación
+     */
+    public record ResultadoImportacion(long leidos, long importados, long omitidos, List<ErrorRegistro> errores,
+                                       Duration duracion) {
+
+        /**
+         * @return Registros leídos por segundo
+         */
+        public double registrosPorSegundo() {
+            long milisegundos = Math.max(duracion.toMillis(), 1);
+            return leidos * 1000.0 / milisegundos;
+        }
+
+        /**
+         * @return Resumen en una línea para mostrar al usuario
+         */
+        public String resumen() {
+            return String.format("%d registros leídos: %d importados, %d ya existentes, %d con errores (%.1f s, %.0f registros/s)",
+                    leidos, importados, omitidos, errores.size(), duracion.toMillis() / 1000.0, registrosPorSegundo());
+        }
+    }
+
+    private final RepositorioPersona repositorioPersona;
+    private final RepositorioEvento repositorioEvento;
+    private final RepositorioParticipacion repositorioParticipacion;
+    private final IndicePersonas indicePersonas;
+
+    /**
+     * Constructor por defecto.
+     */
+    public ServicioImportacion() {
+        this(new RepositorioPersona(), new RepositorioEvento(), new RepositorioParticipacion(),
+                IndicePersonas.getInstancia());
+    }
+
+    /**
+     * Constructor para inyección de dependencias (útil para testing).
+     */
+    public ServicioImportacion(RepositorioPersona repositorioPersona, RepositorioEvento repositorioEvento,
+                               RepositorioParticipacion repositorioParticipacion, IndicePersonas indicePersonas) {
+        this.repositorioPersona = repositorioPersona;
+        this.repositorioEvento = repositorioEvento;
+        this.repositorioParticipacion = repositorioParticipacion;
+        this.indicePersonas = indicePersonas;
+    }
+
+    /**
+     * Importa personas desde un archivo .csv o .json.
+     * @param archivo Archivo a importar
+     * @return Resultado de la importación
+     * @throws IOException si no se puede leer el archivo o su formato es inválido
+     */
+    public ResultadoImportacion importarPersonas(Path archivo) throws IOException {
+        try (LectorRegistros lector = LectorRegistros.abrir(archivo)) {
+            return importarPersonas(lector);
+        }
+    }
+
+    /**
+     * Importa personas. Se validan con las mismas reglas que el formulario; las que tienen
+     * un DNI ya registrado se omiten y un DNI repetido dentro del archivo es un error.
+     * @param lector Origen de los registros
+     * @return Resultado de la importación
+     * @throws IOException si no se puede leer el origen o su formato es inválido
+     */
+    public ResultadoImportacion importarPersonas(LectorRegistros lector) throws IOException {
+        return Metricas.medir(() -> {
+            Progreso progreso = new Progreso();
+            Set<String> dnisDelArchivo = new HashSet<>();
+            Map<Persona, Long> tramo = new LinkedHashMap<>();
+
+            try {
+                Map<String, String> registro;
+                while ((registro = lector.siguiente()) != null) {
+                    progreso.leidos++;
+                    long numero = lector.getNumeroRegistro();
+                    try {
+                        Persona persona = new Persona(valor(registro, "nombre"), valor(registro, "apellido"),
+                                valor(registro, "dni"), valor(registro, "telefono"), valor(registro, "email"));
+                        ServicioPersona.validarPersona(persona);
+                        if (!dnisDelArchivo.add(persona.getDni())) {
+                            throw new IllegalArgumentException("El DNI " + persona.getDni() + " está repetido en el archivo");
+                        }
+                        tramo.put(persona, numero);
+                    } catch (IllegalArgumentException e) {
+                        progreso.error(numero, e.getMessage());
+                    }
+
+                    if (tramo.size() == TAMANIO_TRAMO) {
+                        importarTramoPersonas(tramo, progreso);
+                        tramo.clear();
+                    }
+                }
+                importarTramoPersonas(tramo, progreso);
+            } finally {
+                // Las personas insertadas no pasaron por el índice de búsqueda
+                if (progreso.importados > 0) {
+                    indicePersonas.invalidar();
+                }
+            }
+            return progreso.terminar();
+        });
+    }
+
+    /**
+     * Importa participaciones desde un archivo .csv o .json.
+     * @param archivo Archivo a importar
+     * @return Resultado de la importación
+     * @throws IOException si no se puede leer el archivo o su formato es inválido
+     */
+    public ResultadoImportacion importarParticipaciones(Path archivo) throws IOException {
+        try (LectorRegistros lector = LectorRegistros.abrir(archivo)) {
+            return importarParticipaciones(lector);
+        }
+    }
+
+    /**
+     * Importa participaciones de personas ya registradas (por DNI) en eventos existentes
+     * (por ID), con las mismas reglas que la inscripción desde el formulario: el rol
+     * PARTICIPANTE requiere que el evento permita inscripciones y respeta el cupo de los
+     * talleres. Las participaciones que ya existen se omiten.
+     * @param lector Origen de los registros
+     * @return Resultado de la importación
+     * @throws IOException si no se puede leer el origen o su formato es inválido
+     */
+    public ResultadoImportacion importarParticipaciones(LectorRegistros lector) throws IOException {
+        return Metricas.medir(() -> {
+            Progreso progreso = new Progreso();
+            List<RegistroParticipacion> tramo = new ArrayList<>();
+            Set<Inscripcion> delArchivo = new HashSet<>();
+
+            Map<String, String> registro;
+            while ((registro = lector.siguiente()) != null) {
+                progreso.leidos++;
+                long numero = lector.getNumeroRegistro();
+                try {
+                    tramo.add(leerParticipacion(numero, registro));
+                } catch (IllegalArgumentException e) {
+                    progreso.error(numero, e.getMessage());
+                }
+
+                if (tramo.size() == TAMANIO_TRAMO) {
+                    importarTramoParticipaciones(tramo, delArchivo, progreso);
+                    tramo.clear();
+                }
+            }
+            importarTramoParticipaciones(tramo, delArchivo, progreso);
+            return progreso.terminar();
+        });
+    }
+
+    private void importarTramoPersonas(Map<Persona, Long> tramo, Progreso progreso) {
+        if (tramo.isEmpty()) {
+            return;
+        }
+
+        // Una sola consulta por tramo para descartar los DNIs ya registrados
+        Map<String, Long> existentes = repositorioPersona.buscarIdsPorDni(
+                tramo.keySet().stream().map(Persona::getDni).toList());
+        List<Persona> nuevas = new ArrayList<>(tramo.size());
+        for (Persona persona : tramo.keySet()) {
+            if (existentes.containsKey(persona.getDni())) {
+                progreso.omitidos++;
+            } else {
+                nuevas.add(persona);
+            }
+        }
+
+        try {
+            repositorioPersona.insertarNuevas(nuevas);
+            progreso.importados += nuevas.size();
+        } catch (RuntimeException e) {
+            progreso.errorTramo(tramo.values(), nuevas.size(), e);
+        }
+    }
+
+    private void importarTramoParticipaciones(List<RegistroParticipacion> tramo, Set<Inscripcion> delArchivo,
+                                              Progreso progreso) {
+        if (tramo.isEmpty()) {
+            return;
+        }
+
+        // Personas y eventos del tramo, con una consulta por lote cada uno
+        Map<String, Long> personas = repositorioPersona.buscarIdsPorDni(
+                tramo.stream().map(RegistroParticipacion::dni).toList());
+        Map<Long, Boolean> eventos = repositorioEvento.buscarPermiteInscripcion(
+                tramo.stream().map(RegistroParticipacion::eventoId).toList());
+
+        Map<Inscripcion, Long> candidatas = new LinkedHashMap<>();
+        for (RegistroParticipacion registro : tramo) {
+            Long personaId = personas.get(registro.dni());
+            Boolean permiteInscripcion = eventos.get(registro.eventoId());
+            if (personaId == null) {
+                progreso.error(registro.numero(), "No existe una persona con el DNI: " + registro.dni());
+            } else if (permiteInscripcion == null) {
+                progreso.error(registro.numero(), "No existe un evento con el ID: " + registro.eventoId());
+            } else if (registro.rol() == RolParticipacion.PARTICIPANTE && !permiteInscripcion) {
+                progreso.error(registro.numero(), "El evento " + registro.eventoId() + " no permite inscripciones");
+            } else {
+                Inscripcion inscripcion = new Inscripcion(registro.eventoId(), personaId, registro.rol());
+                if (delArchivo.add(inscripcion)) {
+                    candidatas.put(inscripcion, registro.numero());
+                } else {
+                    progreso.error(registro.numero(), "La participación está repetida en el archivo");
+                }
+            }
+        }
+
+        // Las que ya existen se omiten
+        Set<Inscripcion> existentes = repositorioParticipacion.buscarExistentes(candidatas.keySet());
+        progreso.omitidos += existentes.size();
+        List<Inscripcion> nuevas = new ArrayList<>(candidatas.size());
+        for (Inscripcion inscripcion : candidatas.keySet()) {
+            if (!existentes.contains(inscripcion)) {
+                nuevas.add(inscripcion);
+            }
+        }
+
+        try {
+            List<Inscripcion> rechazadas = repositorioParticipacion.inscribirEnLote(nuevas);
+            for (Inscripcion inscripcion : rechazadas) {
+                progreso.error(candidatas.get(inscripcion),
+                        "El taller " + inscripcion.eventoId() + " no tiene cupo suficiente");
+            }
+            progreso.importados += nuevas.size() - rechazadas.size();
+        } catch (RuntimeException e) {
+            progreso.errorTramo(candidatas.values(), nuevas.size(), e);
+        }
+    }
+
+    /**
+     * Participación leída del archivo, antes de resolver la persona.
+     */
+    private record RegistroParticipacion(long numero, String dni, Long eventoId, RolParticipacion rol) {
+    }
+
+    private static RegistroParticipacion leerParticipacion(long numero, Map<String, String> registro) {
+        String dni = valor(registro, "dni");
+        String eventoId = valor(registro, "eventoid");
+        String rol = valor(registro, "rol");
+        if (dni == null) {
+            throw new IllegalArgumentException("El DNI de la persona es obligatorio");
+        }
+        if (eventoId == null) {
+            throw new IllegalArgumentException("El ID del evento es obligatorio");
+        }
+        if (rol == null) {
+            throw new IllegalArgumentException("El rol es obligatorio");
+        }
+
+        try {
+            return new RegistroParticipacion(numero, dni, Long.valueOf(eventoId), rolDe(rol));
+        } catch (NumberFormatException e) {
+            throw new IllegalArgumentException("ID de evento inválido: " + eventoId);
+        }
+    }
+
+    /**
+     * Interpreta un rol por su nombre (PARTICIPANTE) o su descripción (Participante).
+     */
+    private static RolParticipacion rolDe(String texto) {
+        for (RolParticipacion rol : RolParticipacion.values()) {
+            if (rol.name().equalsIgnoreCase(texto) || rol.getDescripcion().equalsIgnoreCase(texto)) {
+                return rol;
+            }
+        }
+        throw new IllegalArgumentException("Rol inválido: " + texto + " (valores posibles: "
+                + Arrays.toString(RolParticipacion.values()) + ")");
+    }
+
+    /**
+     * @return El valor del campo, o null si falta o está vacío
+     */
+    private static String valor(Map<String, String> registro, String campo) {
+        String valor = registro.get(campo);
+        return valor == null || valor.isEmpty() ? null : valor;
+    }
+
+    /**
+     * Contadores de una importación en curso.
+     */
+    private static class Progreso {
+        private final long inicio = System.nanoTime();
+        private final List<ErrorRegistro> errores = new ArrayList<>();
+        private long leidos;
+        private long importados;
+        private long omitidos;
+
+        void error(long registro, String mensaje) {
+            errores.add(new ErrorRegistro(registro, mensaje));
+        }
+
+        /**
+         * Registra el fallo de la inserción de un tramo completo (por ejemplo, un DNI que
+         * otro usuario registró durante la importación): ninguna fila del tramo se guardó.
+         */
+        void errorTramo(Collection<Long> registros, int cantidad, RuntimeException e) {
+            long primero = registros.stream().mapToLong(Long::longValue).min().orElse(0);
+            long ultimo = registros.stream().mapToLong(Long::longValue).max().orElse(0);
+            error(primero, "No se pudieron guardar " + cantidad + " registros (del " + primero + " al " + ultimo
+                    + "): " + e.getMessage());
+        }
+
+        ResultadoImportacion terminar() {
+            errores.sort(Comparator.comparingLong(ErrorRegistro::registro));
+            return new ResultadoImportacion(leidos, importados, omitidos, List.copyOf(errores),
+                    Duration.ofNanos(System.nanoTime() - inicio));
+        }
+    }
+}
@@ -1,9 +1,16 @@
 package com.gestioneventos.service;
 
 import com.gestioneventos.model.participaciones.Participacion;
+import com.gestioneventos.model.participaciones.ParticipacionFila;
+import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.repositorio.Pagina;
 import com.gestioneventos.repositorio.RepositorioParticipacion;
+import com.gestioneventos.util.Metricas;
 
+import java.util.Collection;
 import java.util.List;
+import java.util.Map;
+import java.util.function.Consumer;
 
 /**
  * Servicio para la gestión de participaciones en eventos.
@@ -32,6 +39,48 @@ public class ServicioParticipacion {
      * @return La participación guardada con su ID asignado
      */
     public Participacion guardar(Participacion participacion) {
+        return Metricas.medir(() -> {
+            validarParticipacion(participacion);
+            
+            return participacion.getId() == null ? 
+                   repositorioParticipacion.guardar(participacion) : 
+                   repositorioParticipacion.actualizar(participacion);
+        });
+    }
+
+    /**
+     * Guarda varias participaciones nuevas en una sola transacción, con inserts en lote.
+     * @param participaciones Participaciones a guardar
+     * @return Las participaciones guardadas con sus IDs asignados
+     * @throws IllegalArgumentException si alguna participación es inválida o ya tiene ID
+     */
+    public List<Participacion> guardarTodas(Collection<Participacion> participaciones) {
+        return Metricas.medir(() -> {
+            if (participaciones == null) {
+                throw new IllegalArgumentException("La lista de participaciones no puede ser nula");
+            }
+            
+            // Validar todas antes de abrir la transacción
+            for (Participacion participacion : participaciones) {
+                validarParticipacion(participacion);
+                if (participacion.getId() != null) {
+                    throw new IllegalArgumentException("Solo se pueden guardar en lote participaciones nuevas");
+                }
+            }
+            
+            if (participaciones.isEmpty()) {
+                return List.of();
+            }
+            return repositorioParticipacion.guardarTodos(participaciones);
+        });
+    }
+
+    /**
+     * Verifica que la participación tenga evento, persona y rol.
+     * @param participacion Participación a validar
+     * @throws IllegalArgumentException si falta algún dato obligatorio
+     */
+    private void validarParticipacion(Participacion participacion) {
         if (participacion == null) {
             throw new IllegalArgumentException("La participación no puede ser nula");
         }
@@ -47,10 +96,6 @@ public class ServicioParticipacion {
         if (participacion.getRol() == null) {
             throw new IllegalArgumentException("El rol de la participación no puede ser nulo");
         }
-        
-        return participacion.getId() == null ? 
-               repositorioParticipacion.guardar(participacion) : 
-               repositorioParticipacion.actualizar(participacion);
     }
 
     /**
@@ -58,7 +103,9 @@ public class ServicioParticipacion {
      * @return Lista con todas las participaciones
      */
     public List<Participacion> buscarTodas() {
-        return repositorioParticipacion.buscarTodas();
+        return Metricas.medir(() -> {
+            return repositorioParticipacion.buscarTodas();
+        });
     }
 
     /**
@@ -67,22 +114,90 @@ public class ServicioParticipacion {
      * @return Lista de participaciones del evento
      */
     public List<Participacion> buscarPorEvento(Long eventoId) {
-        if (eventoId == null) {
-            throw new IllegalArgumentException("El ID del evento no puede ser nulo");
-        }
-        return repositorioParticipacion.buscarPorEventoId(eventoId);
+        return Metricas.medir(() -> {
+            if (eventoId == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            return repositorioParticipacion.buscarPorEventoId(eventoId);
+        });
     }
 
+    /**
+     * Busca las filas del listado de participantes de un evento por nombre completo de la persona.
+     * Si el texto está vacío, retorna todas las participaciones del evento.
+     * @param eventoId ID del evento
+     * @param texto Texto a buscar en "nombre apellido"
+     * @return Filas de las participaciones que coinciden
+     */
+    public List<ParticipacionFila> buscarFilasPorEventoYNombre(Long eventoId, String texto) {
+        return Metricas.medir(() -> {
+            if (eventoId == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            return repositorioParticipacion.buscarFilasPorEventoIdYNombrePersona(eventoId,
+                    texto == null ? "" : texto.trim());
+        });
+    }
+
+    /**
+     * Obtiene una página del listado de participantes de un evento.
+     * Devuelve solo los datos que muestra la tabla, sin cargar las entidades.
+     * @param eventoId ID del evento
+     * @param cursor Cursor de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de participaciones de la página
+     * @return Página de filas del listado de participantes
+     */
+    public Pagina<ParticipacionFila> buscarPaginaFilasPorEvento(Long eventoId, List<Object> cursor, int tamanio) {
+        return Metricas.medir(() -> {
+            if (eventoId == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            return repositorioParticipacion.buscarPaginaFilasPorEventoId(eventoId, cursor, tamanio);
+        });
+    }
+    
+    /**
+     * Recorre todos los participantes de un evento con memoria constante
+     * (por ejemplo, para exportarlos), sin armar la lista completa.
+     * @param eventoId ID del evento
+     * @param accion Acción a realizar con cada fila
+     * @return Cantidad de participantes recorridos
+     */
+    public long recorrerPorEvento(Long eventoId, Consumer<ParticipacionFila> accion) {
+        return Metricas.medir(() -> {
+            if (eventoId == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            return repositorioParticipacion.recorrerFilasPorEventoId(eventoId, accion);
+        });
+    }
+    
+    /**
+     * Cuenta las participaciones de un evento por rol.
+     * @param eventoId ID del evento
+     * @return Mapa con la cantidad de participaciones por rol
+     */
+    public Map<RolParticipacion, Long> contarPorRol(Long eventoId) {
+        return Metricas.medir(() -> {
+            if (eventoId == null) {
+                throw new IllegalArgumentException("El ID del evento no puede ser nulo");
+            }
+            return repositorioParticipacion.contarPorEventoIdAgrupadoPorRol(eventoId);
+        });
+    }
+    
     /**
      * Busca participaciones por el ID de la persona.
      * @param personaId ID de la persona
      * @return Lista de participaciones de la persona
      */
     public List<Participacion> buscarPorPersona(Long personaId) {
-        if (personaId == null) {
-            throw new IllegalArgumentException("El ID de la persona no puede ser nulo");
-        }
-        return repositorioParticipacion.buscarPorPersonaId(personaId);
+        return Metricas.medir(() -> {
+            if (personaId == null) {
+                throw new IllegalArgumentException("El ID de la persona no puede ser nulo");
+            }
+            return repositorioParticipacion.buscarPorPersonaId(personaId);
+        });
     }
 
     /**
@@ -91,15 +206,17 @@ public class ServicioParticipacion {
      * @return true si la participación fue eliminada, false si no existía
      */
     public boolean eliminar(Long id) {
-        if (id == null) {
-            throw new IllegalArgumentException("El ID de la participación no puede ser nulo");
-        }
-        
-        if (!repositorioParticipacion.existePorId(id)) {
-            return false;
-        }
-        
-        repositorioParticipacion.eliminarPorId(id);
-        return true;
+        return Metricas.medir(() -> {
+            if (id == null) {
+                throw new IllegalArgumentException("El ID de la participación no puede ser nulo");
+            }
+            
+            if (!repositorioParticipacion.existePorId(id)) {
+                return false;
+            }
+            
+            repositorioParticipacion.eliminarPorId(id);
+            return true;
+        });
     }
 }
\ No newline at end of file
@@ -1,7 +1,10 @@
 package com.gestioneventos.service;
 
 import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.model.personas.PersonaResumen;
+import com.gestioneventos.repositorio.Pagina;
 import com.gestioneventos.repositorio.RepositorioPersona;
+import com.gestioneventos.util.Metricas;
 
 import java.util.List;
 import java.util.Optional;
@@ -12,19 +15,29 @@ import java.util.Optional;
 public class ServicioPersona {
 
     private final RepositorioPersona repositorioPersona;
+    private final IndicePersonas indicePersonas;
     
     /**
      * Constructor por defecto.
      */
     public ServicioPersona() {
         this.repositorioPersona = new RepositorioPersona();
+        this.indicePersonas = IndicePersonas.getInstancia();
     }
     
     /**
      * Constructor para inyección de dependencias (útil para testing).
      */
     public ServicioPersona(RepositorioPersona repositorioPersona) {
+        this(repositorioPersona, new IndicePersonas(repositorioPersona));
+    }
+    
+    /**
+     * Constructor para inyección de dependencias (útil para testing).
+     */
+    public ServicioPersona(RepositorioPersona repositorioPersona, IndicePersonas indicePersonas) {
         this.repositorioPersona = repositorioPersona;
+        this.indicePersonas = indicePersonas;
     }
 
     /**
@@ -33,30 +46,50 @@ public class ServicioPersona {
      * @return La persona guardada con su ID asignado
      */
     public Persona guardar(Persona persona) {
-        if (persona == null) {
-            throw new IllegalArgumentException("La persona no puede ser nula");
-        }
-        
-        // Validar campos obligatorios
-        validarPersona(persona);
-        
-        // Verificar si DNI ya existe (en caso de nueva persona)
-        if (persona.getId() == null) {
-            Optional<Persona> existente = buscarPorDni(persona.getDni());
-            if (existente.isPresent()) {
-                throw new IllegalArgumentException("Ya existe una persona con el DNI: " + persona.getDni());
+        return Metricas.medir(() -> {
+            if (persona == null) {
+                throw new IllegalArgumentException("La persona no puede ser nula");
             }
-        }
-        
-        return persona.getId() == null ? repositorioPersona.guardar(persona) : repositorioPersona.actualizar(persona);
+            
+            // Validar campos obligatorios
+            validarPersona(persona);
+            
+            // Verificar si DNI ya existe (en caso de nueva persona)
+            if (persona.getId() == null) {
+                Optional<Persona> existente = buscarPorDni(persona.getDni());
+                if (existente.isPresent()) {
+                    throw new IllegalArgumentException("Ya existe una persona con el DNI: " + persona.getDni());
+                }
+            }
+            
+            Persona guardada = persona.getId() == null ? repositorioPersona.guardar(persona) : repositorioPersona.actualizar(persona);
+            indicePersonas.actualizar(guardada);
+            return guardada;
+        });
     }
     
     /**
-     * Obtiene todas las personas.
+     * Obtiene todas las personas ordenadas por apellido y nombre, para listas de selección.
+     * Se obtiene del índice en memoria, que no carga las participaciones de cada persona.
      * @return Lista con todas las personas
      */
     public List<Persona> buscarTodas() {
-        return repositorioPersona.buscarTodos();
+        return Metricas.medir(() -> {
+            return indicePersonas.todas();
+        });
+    }
+    
+    /**
+     * Obtiene una página del listado de personas ordenadas por apellido y nombre.
+     * Devuelve solo los datos de contacto, sin cargar las entidades ni sus participaciones.
+     * @param cursor Cursor de la página anterior, o null para la primera
+     * @param tamanio Cantidad máxima de personas de la página
+     * @return Página de filas del listado
+     */
+    public Pagina<PersonaResumen> buscarPaginaResumen(List<Object> cursor, int tamanio) {
+        return Metricas.medir(() -> {
+            return repositorioPersona.buscarPaginaResumen(cursor, tamanio);
+        });
     }
     
     /**
@@ -65,23 +98,50 @@ public class ServicioPersona {
      * @return Lista de personas que coinciden con el criterio
      */
     public List<Persona> buscarPorNombreOApellido(String texto) {
-        if (texto == null || texto.trim().isEmpty()) {
-            throw new IllegalArgumentException("El texto de búsqueda no puede ser nulo o vacío");
-        }
-        return repositorioPersona.buscarPorNombreOApellido(texto);
+        return Metricas.medir(() -> {
+            if (texto == null || texto.trim().isEmpty()) {
+                throw new IllegalArgumentException("El texto de búsqueda no puede ser nulo o vacío");
+            }
+            return repositorioPersona.buscarPorNombreOApellido(texto);
+        });
     }
 
     /**
-     * Busca personas según el texto proporcionado.
+     * Busca personas según el texto proporcionado, usando el índice en memoria.
+     * Coincide por subcadena en nombre, apellido o DNI, sin distinguir mayúsculas ni acentos.
      * Si el texto está vacío, retorna todas las personas.
-     * @param texto Texto para buscar en nombre o apellido
+     * @param texto Texto para buscar en nombre, apellido o DNI
      * @return Lista de personas que coinciden con la búsqueda
      */
     public List<Persona> buscar(String texto) {
-        if (texto == null || texto.trim().isEmpty()) {
-            return buscarTodas(); // Si no hay texto de búsqueda, retorna todas las personas
-        }
-        return repositorioPersona.buscarPorNombreOApellido(texto);
+        return Metricas.medir(() -> {
+            return indicePersonas.buscar(texto);
+        });
+    }
+    
+    /**
+     * Igual que {@link #buscar(String)}, pero devuelve las filas del listado de personas.
+     * @param texto Texto para buscar en nombre, apellido o DNI
+     * @return Filas de las personas que coinciden con la búsqueda
+     */
+    public List<PersonaResumen> buscarResumen(String texto) {
+        return Metricas.medir(() -> {
+            return indicePersonas.buscar(texto).stream().map(PersonaResumen::de).toList();
+        });
+    }
+    
+    /**
+     * Busca una persona por su ID, con sus participaciones.
+     * @param id ID de la persona
+     * @return Optional con la persona si es encontrada, o vacío si no existe
+     */
+    public Optional<Persona> buscarPorId(Long id) {
+        return Metricas.medir(() -> {
+            if (id == null) {
+                throw new IllegalArgumentException("El ID de la persona no puede ser nulo");
+            }
+            return repositorioPersona.buscarPorId(id);
+        });
     }
     
     /**
@@ -90,10 +150,12 @@ public class ServicioPersona {
      * @return Optional con la persona si es encontrada, o vacío si no existe
      */
     public Optional<Persona> buscarPorDni(String dni) {
-        if (dni == null || dni.trim().isEmpty()) {
-            throw new IllegalArgumentException("El DNI no puede ser nulo o vacío");
-        }
-        return repositorioPersona.buscarPorDni(dni);
+        return Metricas.medir(() -> {
+            if (dni == null || dni.trim().isEmpty()) {
+                throw new IllegalArgumentException("El DNI no puede ser nulo o vacío");
+            }
+            return repositorioPersona.buscarPorDni(dni);
+        });
     }
     
     /**
@@ -102,16 +164,19 @@ public class ServicioPersona {
      * @return true si la persona fue eliminada, false si no existía
      */
     public boolean eliminar(Long id) {
-        if (id == null) {
-            throw new IllegalArgumentException("El ID de la persona no puede ser nulo");
-        }
-        
-        if (!repositorioPersona.existePorId(id)) {
-            return false;
-        }
-        
-        repositorioPersona.eliminarPorId(id);
-        return true;
+        return Metricas.medir(() -> {
+            if (id == null) {
+                throw new IllegalArgumentException("El ID de la persona no puede ser nulo");
+            }
+            
+            if (!repositorioPersona.existePorId(id)) {
+                return false;
+            }
+            
+            repositorioPersona.eliminarPorId(id);
+            indicePersonas.eliminar(id);
+            return true;
+        });
     }
     
     /**
@@ -121,27 +186,30 @@ public class ServicioPersona {
      * @return true si existe un DNI duplicado, false en caso contrario
      */
     public boolean existeDniDuplicado(String dni, Long idExcluir) {
-        if (dni == null || dni.trim().isEmpty()) {
-            throw new IllegalArgumentException("El DNI no puede ser nulo o vacío");
-        }
-        
-        // Buscar persona con ese DNI
-        Optional<Persona> personaEncontrada = buscarPorDni(dni);
-        
-        // Si no hay persona con ese DNI, no hay duplicado
-        if (personaEncontrada.isEmpty()) {
-            return false;
-        }
-        
-        // Si hay persona con ese DNI, verificar si es la misma que estamos excluyendo
-        Persona persona = personaEncontrada.get();
-        return !persona.getId().equals(idExcluir);
+        return Metricas.medir(() -> {
+            if (dni == null || dni.trim().isEmpty()) {
+                throw new IllegalArgumentException("El DNI no puede ser nulo o vacío");
+            }
+            
+            // Buscar persona con ese DNI
+            Optional<Persona> personaEncontrada = buscarPorDni(dni);
+            
+            // Si no hay persona con ese DNI, no hay duplicado
+            if (personaEncontrada.isEmpty()) {
+                return false;
+            }
+            
+            // Si hay persona con ese DNI, verificar si es la misma que estamos excluyendo
+            Persona persona = personaEncontrada.get();
+            return !persona.getId().equals(idExcluir);
+        });
     }
 
     /**
-     * Valida que los campos obligatorios de la persona estén presentes.
+     * Valida que los campos obligatorios de la persona estén presentes y que ningún
+     * dato supere el largo de su columna. La importación masiva aplica las mismas reglas.
      */
-    private void validarPersona(Persona persona) {
+    static void validarPersona(Persona persona) {
         if (persona.getNombre() == null || persona.getNombre().trim().isEmpty()) {
             throw new IllegalArgumentException("El nombre de la persona es obligatorio");
         }
@@ -153,5 +221,17 @@ public class ServicioPersona {
         if (persona.getDni() == null || persona.getDni().trim().isEmpty()) {
             throw new IllegalArgumentException("El DNI de la persona es obligatorio");
         }
+        
+        validarLargo("El nombre", persona.getNombre(), 50);
+        validarLargo("El apellido", persona.getApellido(), 50);
+        validarLargo("El DNI", persona.getDni(), 20);
+        validarLargo("El teléfono", persona.getTelefono(), 20);
+        validarLargo("El email", persona.getEmail(), 100);
+    }
+    
+    private static void validarLargo(String campo, String valor, int maximo) {
+        if (valor != null && valor.length() > maximo) {
+            throw new IllegalArgumentException(campo + " no puede superar los " + maximo + " caracteres");
+        }
     }
 }
\ No newline at end of file
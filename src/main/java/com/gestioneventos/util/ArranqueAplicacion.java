@@ -0,0 +1,223 @@
+package com.gestioneventos.util;
+
+import jakarta.persistence.EntityManager;
+import javafx.fxml.FXMLLoader;
+import org.hibernate.Session;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.sql.SQLException;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Arranque de la aplicación en paralelo. Mientras el hilo de JavaFX carga y muestra la
+ * ventana principal, en segundo plano:
+ * <ul>
+ *   <li>se crea la fábrica de JPA (con las migraciones del esquema) y se valida una
+ *       conexión del pool, de modo que la primera consulta no pague el arranque de Hibernate;</li>
+ *   <li>se precargan las vistas secundarias ({@link #VISTAS_SECUNDARIAS}) para que abrirlas
+ *       por primera vez no cargue en el hilo de JavaFX las clases de los controles, del
+ *       controlador y del parser de FXML.</li>
+ * </ul>
+ * La ventana principal no espera a la base de datos: el calendario se carga solo cuando
+ * la fábrica está lista. Cada fase queda registrada con su duración ({@link #getFases()}) y
+ * el resumen se escribe en la consola al terminar.
+ */
+public final class ArranqueAplicacion {
+
+    /** Vistas que se precargan durante el arranque. */
+    public static final List<String> VISTAS_SECUNDARIAS = List.of(
+        "/fxml/eventos/ListaEventoView.fxml",
+        "/fxml/personas/ListaPersonasView.fxml",
+        "/fxml/eventos/FormularioEventoView.fxml"
+    );
+
+    // Tiempo máximo de espera al validar la conexión
+    private static final int TIEMPO_VALIDACION_SEGUNDOS = 5;
+
+    // La precarga no instancia el controlador (su initialize consultaría la base de datos
+    // y lanzaría tareas sobre una vista que se descarta): se quitan del FXML el controlador
+    // y los manejadores de eventos "#metodo", que sin controlador no se pueden resolver
+    private static final Pattern CONTROLADOR = Pattern.compile("\\sfx:controller=\"([^\"]*)\"");
+    private static final Pattern MANEJADOR = Pattern.compile("\\son[A-Z]\\w*=\"#[^\"]*\"");
+
+    /**
+     * Fase del arranque medida. Los tiempos están en milisegundos desde el inicio del arranque.
+     * @param nombre Descripción de la fase
+     * @param inicioMs Cuándo empezó
+     * @param duracionMs Cuánto tardó
+     * @param error Mensaje de error si la fase falló, o null
+     */
+    public record Fase(String nombre, long inicioMs, long duracionMs, String error) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d ms (desde +%d ms)%s", nombre, duracionMs, inicioMs,
+                    error == null ? "" : ", falló: " + error);
+        }
+    }
+
+    /**
+     * Paso del arranque sin resultado.
+     */
+    @FunctionalInterface
+    private interface Paso {
+        void ejecutar() throws Exception;
+    }
+
+    private final long inicio = System.nanoTime();
+    private final List<Fase> fases = new CopyOnWriteArrayList<>();
+    private final ExecutorService ejecutor = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("arranque-", 0).factory());
+    private CompletableFuture<Void> baseDeDatos;
+
+    /**
+     * Lanza en segundo plano la preparación de la base de datos y la precarga de vistas.
+     * Debe llamarse una sola vez, lo antes posible.
+     */
+    public void iniciar() {
+        baseDeDatos = CompletableFuture
+                .runAsync(() -> ejecutarFase("Fábrica de JPA y migraciones", JPAUtil::getEntityManagerFactory), ejecutor)
+                .thenRun(() -> ejecutarFase("Validación del pool de conexiones", ArranqueAplicacion::validarConexion));
+
+        List<CompletableFuture<Void>> tareas = new ArrayList<>();
+        tareas.add(baseDeDatos);
+        for (String ruta : VISTAS_SECUNDARIAS) {
+            // Una vista que no se pudo precargar se carga igual al abrirla
+            tareas.add(CompletableFuture.runAsync(() -> ejecutarFase("Precarga de " + nombreVista(ruta),
+                    () -> precargarVista(ruta)), ejecutor).exceptionally(e -> null));
+        }
+        CompletableFuture.allOf(tareas.toArray(CompletableFuture[]::new)).whenComplete((r, e) -> {
+            System.out.println(resumen());
+            ejecutor.shutdown();
+        });
+    }
+
+    /**
+     * @return Tarea que termina cuando la fábrica de JPA está creada y el pool respondió
+     *         (o falla con la causa si la base de datos no está disponible)
+     */
+    public CompletableFuture<Void> baseDeDatosLista() {
+        return baseDeDatos;
+    }
+
+    /**
+     * Ejecuta y registra una fase del arranque (por ejemplo, las que corren en el hilo de JavaFX).
+     * @param nombre Descripción de la fase
+     * @param paso Trabajo de la fase
+     * @param <T> Tipo del resultado
+     * @return El resultado del trabajo
+     * @throws Exception La excepción del trabajo, después de registrar la fase como fallida
+     */
+    public <T> T medir(String nombre, Callable<T> paso) throws Exception {
+        long comienzo = System.nanoTime();
+        try {
+            T resultado = paso.call();
+            registrar(nombre, comienzo, null);
+            return resultado;
+        } catch (Exception | Error e) {
+            // Los Error también se registran (por ejemplo, clases de JavaFX que no inicializan)
+            registrar(nombre, comienzo, e.getMessage() != null ? e.getMessage() : e.getClass().getSimpleName());
+            throw e;
+        }
+    }
+
+    /**
+     * @return Fases registradas hasta ahora, en orden de inicio
+     */
+    public List<Fase> getFases() {
+        List<Fase> ordenadas = new ArrayList<>(fases);
+        ordenadas.sort(Comparator.comparingLong(Fase::inicioMs));
+        return ordenadas;
+    }
+
+    /**
+     * Fase de una tarea en segundo plano: los errores se propagan a la tarea.
+     */
+    private void ejecutarFase(String nombre, Paso paso) {
+        try {
+            medir(nombre, () -> {
+                paso.ejecutar();
+                return null;
+            });
+        } catch (RuntimeException e) {
+            throw e;
+        } catch (Exception e) {
+            throw new CompletionException(e);
+        }
+    }
+
+    private void registrar(String nombre, long comienzo, String error) {
+        long fin = System.nanoTime();
+        fases.add(new Fase(nombre, TimeUnit.NANOSECONDS.toMillis(comienzo - inicio),
+                TimeUnit.NANOSECONDS.toMillis(fin - comienzo), error));
+    }
+
+    private String resumen() {
+        StringBuilder texto = new StringBuilder("Arranque en ")
+                .append(TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - inicio)).append(" ms:");
+        for (Fase fase : getFases()) {
+            texto.append("\n  ").append(fase);
+        }
+        return texto.toString();
+    }
+
+    /**
+     * Obtiene una conexión del pool y comprueba que la base de datos responde.
+     */
+    private static void validarConexion() {
+        EntityManager em = JPAUtil.getEntityManager();
+        try {
+            em.unwrap(Session.class).doWork(conexion -> {
+                if (!conexion.isValid(TIEMPO_VALIDACION_SEGUNDOS)) {
+                    throw new SQLException("La base de datos no respondió en " + TIEMPO_VALIDACION_SEGUNDOS + " segundos");
+                }
+            });
+        } finally {
+            em.close();
+        }
+    }
+
+    /**
+     * Carga la clase del controlador y crea los controles de la vista, sin controlador,
+     * y descarta el resultado.
+     */
+    private static void precargarVista(String ruta) throws IOException, ClassNotFoundException {
+        URL ubicacion = ArranqueAplicacion.class.getResource(ruta);
+        if (ubicacion == null) {
+            throw new IOException("No se encontró la vista " + ruta);
+        }
+        String fxml;
+        try (InputStream entrada = ubicacion.openStream()) {
+            fxml = new String(entrada.readAllBytes(), StandardCharsets.UTF_8);
+        }
+
+        Matcher controlador = CONTROLADOR.matcher(fxml);
+        if (controlador.find()) {
+            Class.forName(controlador.group(1), true, ArranqueAplicacion.class.getClassLoader());
+        }
+        String sinControlador = MANEJADOR.matcher(controlador.replaceAll("")).replaceAll("");
+
+        // Con la ubicación se resuelven las rutas relativas (hojas de estilo, imágenes)
+        FXMLLoader loader = new FXMLLoader(ubicacion);
+        loader.load(new ByteArrayInputStream(sinControlador.getBytes(StandardCharsets.UTF_8)));
+    }
+
+    private static String nombreVista(String ruta) {
+        return ruta.substring(ruta.lastIndexOf('/') + 1);
+    }
+}
@@ -0,0 +1,158 @@
+package com.gestioneventos.util;
+
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.scene.control.ComboBox;
+import javafx.scene.input.KeyEvent;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Permite filtrar un ComboBox no editable escribiendo sobre él.
+ * Cada tecla se acumula en una consulta que se resuelve con la función de búsqueda
+ * indicada (normalmente un índice en memoria); la lista desplegable muestra solo los
+ * resultados que también están entre los elementos que el controlador cargó en el ComboBox.
+ * Retroceso borra el último carácter, Escape limpia la consulta y al cerrar la lista
+ * se vuelven a mostrar todos los elementos conservando la selección.
+ *
+ * @param <T> Tipo de los elementos del ComboBox
+ */
+public class BusquedaEnComboBox<T> {
+
+    private final ComboBox<T> combo;
+    private final Function<String, List<T>> buscar;
+    private final Function<T, ?> clave;
+    private final String textoIndicacion;
+
+    private final StringBuilder consulta = new StringBuilder();
+    private ObservableList<T> elementosBase;
+    private boolean aplicandoFiltro = false;
+
+    /**
+     * Habilita la búsqueda al escribir sobre el ComboBox.
+     *
+     * @param combo ComboBox a filtrar
+     * @param buscar Resuelve una consulta en la lista ordenada de coincidencias
+     * @param clave Identifica a cada elemento (p. ej. el ID); se usa para cruzar los
+     *              resultados con los elementos del ComboBox y conservar la selección
+     * @param <T> Tipo de los elementos
+     */
+    public static <T> void habilitar(ComboBox<T> combo, Function<String, List<T>> buscar, Function<T, ?> clave) {
+        new BusquedaEnComboBox<>(combo, buscar, clave);
+    }
+
+    private BusquedaEnComboBox(ComboBox<T> combo, Function<String, List<T>> buscar, Function<T, ?> clave) {
+        this.combo = combo;
+        this.buscar = buscar;
+        this.clave = clave;
+        this.textoIndicacion = combo.getPromptText();
+        this.elementosBase = combo.getItems();
+
+        // Los elementos que asigna el controlador pasan a ser la base del filtro
+        combo.itemsProperty().addListener((obs, anteriores, nuevos) -> {
+            if (!aplicandoFiltro) {
+                elementosBase = nuevos;
+                consulta.setLength(0);
+                combo.setPromptText(textoIndicacion);
+            }
+        });
+
+        combo.addEventFilter(KeyEvent.KEY_TYPED, e -> {
+            String caracter = e.getCharacter();
+            if (caracter.isEmpty() || Character.isISOControl(caracter.charAt(0))) {
+                return;
+            }
+            consulta.append(caracter);
+            filtrar();
+            e.consume();
+        });
+
+        combo.addEventFilter(KeyEvent.KEY_PRESSED, e -> {
+            switch (e.getCode()) {
+                case BACK_SPACE -> {
+                    if (!consulta.isEmpty()) {
+                        consulta.setLength(consulta.length() - 1);
+                        filtrar();
+                        e.consume();
+                    }
+                }
+                case ESCAPE -> {
+                    if (!consulta.isEmpty()) {
+                        restablecer();
+                        e.consume();
+                    }
+                }
+                default -> { }
+            }
+        });
+
+        combo.setOnHidden(e -> restablecer());
+    }
+
+    /**
+     * Muestra solo los elementos base que coinciden con la consulta actual,
+     * en el orden que devuelve la búsqueda.
+     */
+    private void filtrar() {
+        if (consulta.isEmpty() || elementosBase == null || elementosBase.isEmpty()) {
+            // Sin elementos cargados todavía no hay nada que buscar
+            aplicar(elementosBase);
+            return;
+        }
+
+        Set<Object> clavesBase = new HashSet<>();
+        for (T elemento : elementosBase) {
+            clavesBase.add(clave.apply(elemento));
+        }
+        List<T> coincidencias = new ArrayList<>();
+        for (T elemento : buscar.apply(consulta.toString())) {
+            if (clavesBase.contains(clave.apply(elemento))) {
+                coincidencias.add(elemento);
+            }
+        }
+
+        aplicar(FXCollections.observableArrayList(coincidencias));
+        combo.setPromptText("Buscar: " + consulta);
+        if (!combo.isShowing()) {
+            combo.show();
+        }
+    }
+
+    /**
+     * Limpia la consulta y vuelve a mostrar todos los elementos base.
+     */
+    private void restablecer() {
+        if (consulta.isEmpty()) {
+            return;
+        }
+        consulta.setLength(0);
+        combo.setPromptText(textoIndicacion);
+        aplicar(elementosBase);
+    }
+
+    /**
+     * Reemplaza los elementos visibles sin perder el valor seleccionado.
+     */
+    private void aplicar(ObservableList<T> elementos) {
+        T seleccionado = combo.getValue();
+        aplicandoFiltro = true;
+        try {
+            combo.setItems(elementos);
+        } finally {
+            aplicandoFiltro = false;
+        }
+        if (seleccionado != null && combo.getValue() != seleccionado) {
+            // Preferir la instancia de la lista visible si es la misma persona/elemento
+            T coincidente = elementos == null ? null : elementos.stream()
+                    .filter(e -> Objects.equals(clave.apply(e), clave.apply(seleccionado)))
+                    .findFirst()
+                    .orElse(null);
+            combo.setValue(coincidente != null ? coincidente : seleccionado);
+        }
+    }
+}
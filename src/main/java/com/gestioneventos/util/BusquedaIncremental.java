@@ -0,0 +1,170 @@
+package com.gestioneventos.util;
+
+import javafx.animation.PauseTransition;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.collections.FXCollections;
+import javafx.collections.ObservableList;
+import javafx.collections.transformation.FilteredList;
+import javafx.util.Duration;
+
+import java.util.List;
+import java.util.Locale;
+import java.util.function.BiPredicate;
+import java.util.function.Consumer;
+import java.util.function.Function;
+
+/**
+ * Búsqueda mientras se escribe para las listas de la aplicación.
+ * Las pulsaciones se agrupan con una demora corta antes de consultar la base de datos
+ * y cada consulta nueva descarta la anterior (a través de un {@link EjecutorAsincrono.Canal}).
+ * Cuando el texto nuevo contiene al de la última consulta, el resultado solo puede
+ * achicarse: se filtra en memoria con un {@link FilteredList} sobre las filas ya
+ * obtenidas, sin volver a la base de datos.
+ * Debe usarse desde el hilo de JavaFX.
+ *
+ * @param <T> Tipo de las filas
+ */
+public class BusquedaIncremental<T> {
+
+    // Tiempo sin pulsaciones antes de lanzar la consulta
+    private static final Duration DEMORA = Duration.millis(250);
+
+    private final EjecutorAsincrono.Canal canal;
+    private final Function<String, List<T>> consulta;
+    private final BiPredicate<T, String> coincide;
+    private final Consumer<List<T>> alActualizar;
+    private final Consumer<Throwable> alFallar;
+
+    private final ObservableList<T> base = FXCollections.observableArrayList();
+    private final FilteredList<T> resultados = new FilteredList<>(base);
+    private final PauseTransition pausa = new PauseTransition(DEMORA);
+    private final ReadOnlyBooleanWrapper cargando = new ReadOnlyBooleanWrapper(false);
+
+    // Texto tal como lo escribió el usuario (sin espacios en los extremos)
+    private String textoActual = "";
+    // Clave (en minúsculas) de la consulta cuyas filas están en base, o null si no hay
+    private String claveBase;
+    // Clave de la consulta programada o en curso, o null si no hay
+    private String clavePendiente;
+    private boolean enCurso = false;
+
+    /**
+     * Crea la búsqueda.
+     *
+     * @param canal Canal donde se ejecutan las consultas (una nueva descarta la anterior)
+     * @param consulta Consulta a la base de datos para un texto; se ejecuta en segundo plano
+     * @param coincide Versión en memoria del criterio de la consulta (más los filtros extra de la vista);
+     *                 debe aceptar un subconjunto de lo que devuelve la consulta para el mismo texto
+     * @param alActualizar Recibe las filas visibles en el hilo de JavaFX cada vez que cambian
+     * @param alFallar Recibe el error si falla una consulta
+     */
+    public BusquedaIncremental(EjecutorAsincrono.Canal canal, Function<String, List<T>> consulta,
+                               BiPredicate<T, String> coincide, Consumer<List<T>> alActualizar,
+                               Consumer<Throwable> alFallar) {
+        this.canal = canal;
+        this.consulta = consulta;
+        this.coincide = coincide;
+        this.alActualizar = alActualizar;
+        this.alFallar = alFallar;
+        pausa.setOnFinished(e -> consultar());
+    }
+
+    /**
+     * Actualiza la búsqueda con el texto ingresado (normalmente desde un listener del campo).
+     * Si refina la última consulta se filtra en memoria de inmediato; si no, se programa
+     * una consulta que reemplaza a la anterior.
+     *
+     * @param texto Texto de búsqueda (puede estar vacío: se consulta sin filtro de texto)
+     */
+    public void buscar(String texto) {
+        textoActual = texto == null ? "" : texto.trim();
+        String clave = clave(textoActual);
+
+        if (enCurso && clave.contains(clavePendiente)) {
+            // La consulta en curso ya trae un superconjunto: se filtra al llegar
+            return;
+        }
+        if (!enCurso && clavePendiente == null && claveBase != null && clave.contains(claveBase)) {
+            filtrar();
+            return;
+        }
+
+        // Texto nuevo o más amplio: descartar lo anterior y esperar a que termine de escribir
+        canal.cancelar();
+        enCurso = false;
+        claveBase = null;
+        base.clear();
+        clavePendiente = clave;
+        cargando.set(true);
+        pausa.playFromStart();
+    }
+
+    /**
+     * Vuelve a aplicar el criterio en memoria sobre las filas obtenidas, por ejemplo
+     * después de cambiar un filtro extra de la vista que no forma parte de la consulta.
+     */
+    public void refiltrar() {
+        if (claveBase != null) {
+            filtrar();
+        }
+    }
+
+    /**
+     * Descarta la consulta programada o en curso y las filas obtenidas.
+     */
+    public void cancelar() {
+        pausa.stop();
+        canal.cancelar();
+        enCurso = false;
+        clavePendiente = null;
+        claveBase = null;
+        base.clear();
+        cargando.set(false);
+    }
+
+    /**
+     * @return Filas visibles (vista filtrada de la última consulta), para asignar a la tabla
+     */
+    public FilteredList<T> getResultados() {
+        return resultados;
+    }
+
+    /**
+     * @return Propiedad que indica si hay una consulta programada o en curso
+     */
+    public ReadOnlyBooleanProperty cargandoProperty() {
+        return cargando.getReadOnlyProperty();
+    }
+
+    private void consultar() {
+        String clave = clavePendiente;
+        String texto = textoActual;
+        enCurso = true;
+        canal.ejecutar(() -> consulta.apply(texto),
+            filas -> {
+                enCurso = false;
+                clavePendiente = null;
+                claveBase = clave;
+                base.setAll(filas);
+                cargando.set(false);
+                filtrar();
+            },
+            error -> {
+                enCurso = false;
+                clavePendiente = null;
+                cargando.set(false);
+                alFallar.accept(error);
+            });
+    }
+
+    private void filtrar() {
+        String texto = textoActual;
+        resultados.setPredicate(fila -> coincide.test(fila, texto));
+        alActualizar.accept(resultados);
+    }
+
+    private static String clave(String texto) {
+        return texto.toLowerCase(Locale.ROOT);
+    }
+}
@@ -0,0 +1,113 @@
+package com.gestioneventos.util;
+
+import org.hibernate.SessionFactory;
+import org.hibernate.cache.spi.CacheImplementor;
+import org.hibernate.cache.spi.QueryResultsRegion;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.stat.CacheRegionStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Acceso a la caché de segundo nivel de Hibernate: estadísticas de aciertos y fallos
+ * por región e invalidación manual.
+ * Hibernate mantiene la caché al día cuando los cambios pasan por JPA; la invalidación
+ * manual solo hace falta si la base de datos se modifica por fuera de la aplicación
+ * o con SQL nativo.
+ */
+public final class CacheSegundoNivel {
+
+    /**
+     * Estadísticas de una región de caché.
+     * @param region Nombre de la región (entidad o consultas)
+     * @param aciertos Lecturas resueltas desde la caché
+     * @param fallos Lecturas que tuvieron que ir a la base de datos
+     * @param escrituras Elementos guardados en la caché
+     * @param elementosEnMemoria Elementos presentes actualmente (-1 si el proveedor no lo informa)
+     */
+    public record EstadisticasRegion(String region, long aciertos, long fallos, long escrituras,
+                                     long elementosEnMemoria) {
+
+        /**
+         * @return Proporción de aciertos entre 0 y 1 (0 si todavía no hubo lecturas)
+         */
+        public double tasaAciertos() {
+            long lecturas = aciertos + fallos;
+            return lecturas == 0 ? 0 : (double) aciertos / lecturas;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d aciertos, %d fallos (%.0f%%), %d escrituras",
+                    region, aciertos, fallos, tasaAciertos() * 100, escrituras);
+        }
+    }
+
+    /**
+     * Obtiene las estadísticas de todas las regiones de la caché de segundo nivel,
+     * incluida la de resultados de consultas (default-query-results-region).
+     * @return Una entrada por región
+     */
+    public static List<EstadisticasRegion> obtenerEstadisticas() {
+        Statistics estadisticas = obtenerEstadisticasHibernate();
+        List<EstadisticasRegion> regiones = new ArrayList<>();
+        CacheImplementor cache = obtenerSessionFactory().unwrap(SessionFactoryImplementor.class).getCache();
+        for (String nombre : estadisticas.getSecondLevelCacheRegionNames()) {
+            // Cada tipo de región tiene su propio acceso, y Hibernate recuerda un acceso fallido
+            // por nombre: hay que consultar el que corresponde desde la primera vez
+            CacheRegionStatistics region = cache.getRegion(nombre) instanceof QueryResultsRegion
+                    ? estadisticas.getQueryRegionStatistics(nombre)
+                    : estadisticas.getDomainDataRegionStatistics(nombre);
+            if (region == null) {
+                continue;
+            }
+            regiones.add(new EstadisticasRegion(nombre, region.getHitCount(), region.getMissCount(),
+                    region.getPutCount(), region.getElementCountInMemory()));
+        }
+        return regiones;
+    }
+
+    /**
+     * Vacía todas las regiones de entidades y de consultas.
+     */
+    public static void invalidarTodo() {
+        JPAUtil.getEntityManagerFactory().getCache().evictAll();
+        obtenerSessionFactory().getCache().evictQueryRegions();
+    }
+
+    /**
+     * Vacía la región de una entidad (por ejemplo, tras modificar su tabla con SQL nativo).
+     * @param claseEntidad Clase de la entidad
+     */
+    public static void invalidar(Class<?> claseEntidad) {
+        JPAUtil.getEntityManagerFactory().getCache().evict(claseEntidad);
+        obtenerSessionFactory().getCache().evictQueryRegions();
+    }
+
+    /**
+     * Reinicia los contadores de estadísticas de Hibernate.
+     */
+    public static void reiniciarEstadisticas() {
+        obtenerEstadisticasHibernate().clear();
+    }
+
+    /**
+     * @return Estadísticas de Hibernate (requiere hibernate.generate_statistics=true)
+     */
+    public static Statistics obtenerEstadisticasHibernate() {
+        return obtenerSessionFactory().getStatistics();
+    }
+
+    private static SessionFactory obtenerSessionFactory() {
+        return JPAUtil.getEntityManagerFactory().unwrap(SessionFactory.class);
+    }
+
+    /**
+     * Constructor privado para prevenir instanciación de esta clase utilitaria.
+     */
+    private CacheSegundoNivel() {
+        // Constructor privado para evitar instanciación
+    }
+}
@@ -0,0 +1,180 @@
+package com.gestioneventos.util;
+
+import com.gestioneventos.repositorio.Pagina;
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.collections.ObservableList;
+import javafx.geometry.Orientation;
+import javafx.scene.Node;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressIndicator;
+import javafx.scene.control.ScrollBar;
+import javafx.scene.control.TableView;
+
+import java.util.List;
+import java.util.function.Consumer;
+
+/**
+ * Carga las filas de una TableView por páginas a medida que el usuario se desplaza.
+ * Usa la paginación por clave de los repositorios: solo guarda el cursor de la
+ * última página, por lo que la memoria y el tiempo hasta mostrar las primeras filas
+ * no dependen del tamaño de la tabla en la base de datos.
+ * Las páginas se piden en segundo plano con {@link EjecutorAsincrono}; mientras
+ * la tabla está vacía y cargando se muestra un indicador de progreso. Si las filas
+ * cargadas no llegan a llenar la tabla (no hay barra de desplazamiento que mover),
+ * se sigue pidiendo la página siguiente hasta llenarla.
+ *
+ * @param <T> Tipo de las filas de la tabla
+ */
+public final class CargadorPaginado<T> {
+
+    // Proporción del desplazamiento vertical a partir de la cual se pide la página siguiente
+    private static final double UMBRAL_DESPLAZAMIENTO = 0.9;
+
+    /**
+     * Origen de las páginas (normalmente un método buscarPagina de un servicio).
+     * @param <T> Tipo de los elementos
+     */
+    @FunctionalInterface
+    public interface FuentePaginas<T> {
+        Pagina<T> buscar(List<Object> cursor, int tamanio);
+    }
+
+    private final TableView<T> tabla;
+    private final ObservableList<T> elementos;
+    private final int tamanioPagina;
+    private final FuentePaginas<T> fuente;
+    private final String mensajeVacio;
+    private final Consumer<Throwable> alFallar;
+    private final EjecutorAsincrono.Canal canal = new EjecutorAsincrono.Canal();
+
+    private List<Object> cursor;
+    private boolean hayMas;
+    private boolean activo;
+    private ScrollBar barraVertical;
+
+    /**
+     * Crea el cargador y lo vincula a la barra de desplazamiento de la tabla.
+     * @param tabla Tabla que muestra los elementos
+     * @param elementos Lista observable asociada a la tabla
+     * @param tamanioPagina Cantidad de filas a pedir por página
+     * @param fuente Origen de las páginas (se invoca fuera del hilo de JavaFX)
+     * @param mensajeVacio Texto a mostrar cuando no hay filas
+     * @param alFallar Recibe los errores de carga en el hilo de JavaFX
+     */
+    public CargadorPaginado(TableView<T> tabla, ObservableList<T> elementos, int tamanioPagina,
+                            FuentePaginas<T> fuente, String mensajeVacio, Consumer<Throwable> alFallar) {
+        this.tabla = tabla;
+        this.elementos = elementos;
+        this.tamanioPagina = tamanioPagina;
+        this.fuente = fuente;
+        this.mensajeVacio = mensajeVacio;
+        this.alFallar = alFallar;
+
+        // La barra de desplazamiento existe recién cuando la tabla tiene skin
+        if (tabla.getSkin() != null) {
+            vincularDesplazamiento();
+        } else {
+            tabla.skinProperty().addListener((obs, anterior, nuevo) -> {
+                if (nuevo != null) {
+                    vincularDesplazamiento();
+                }
+            });
+        }
+    }
+
+    /**
+     * Descarta las filas cargadas y vuelve a cargar desde la primera página.
+     */
+    public void reiniciar() {
+        canal.cancelar();
+        elementos.clear();
+        cursor = null;
+        hayMas = true;
+        activo = true;
+        cargarSiguientePagina();
+    }
+
+    /**
+     * Suspende la carga por desplazamiento, por ejemplo mientras la tabla
+     * muestra resultados de una búsqueda.
+     */
+    public void detener() {
+        activo = false;
+        canal.cancelar();
+    }
+
+    /**
+     * Pide la página siguiente si quedan elementos por cargar y no hay otra en curso.
+     */
+    public void cargarSiguientePagina() {
+        if (!activo || !hayMas || canal.isOcupado()) {
+            return;
+        }
+        tabla.setPlaceholder(new ProgressIndicator());
+        List<Object> cursorActual = cursor;
+        canal.ejecutar(() -> fuente.buscar(cursorActual, tamanioPagina),
+            pagina -> {
+                elementos.addAll(pagina.getElementos());
+                cursor = pagina.getCursorSiguiente();
+                hayMas = pagina.hayMas();
+                tabla.setPlaceholder(new Label(mensajeVacio));
+                
+                // Recalcular el diseño para saber si las filas nuevas ya desbordan la tabla
+                tabla.layout();
+                completarSiNoDesborda();
+            },
+            error -> {
+                hayMas = false;
+                tabla.setPlaceholder(new Label(mensajeVacio));
+                alFallar.accept(error);
+            });
+    }
+
+    /**
+     * @return Propiedad que indica si hay una página cargándose
+     */
+    public ReadOnlyBooleanProperty cargandoProperty() {
+        return canal.ocupadoProperty();
+    }
+
+    /**
+     * @return true si quedan páginas por cargar
+     */
+    public boolean hayMas() {
+        return activo && hayMas;
+    }
+
+    /**
+     * Escucha la barra vertical de la tabla y pide la página siguiente al acercarse al final,
+     * o cuando la barra desaparece (por ejemplo, al agrandar la ventana).
+     */
+    private void vincularDesplazamiento() {
+        for (Node nodo : tabla.lookupAll(".scroll-bar")) {
+            if (nodo instanceof ScrollBar barra && barra.getOrientation() == Orientation.VERTICAL) {
+                barraVertical = barra;
+                barra.valueProperty().addListener((obs, anterior, valor) -> {
+                    if (valor.doubleValue() >= barra.getMax() * UMBRAL_DESPLAZAMIENTO) {
+                        cargarSiguientePagina();
+                    }
+                });
+                barra.visibleProperty().addListener((obs, antes, visible) -> {
+                    if (!visible) {
+                        completarSiNoDesborda();
+                    }
+                });
+            }
+        }
+        // La primera página pudo llegar antes que el skin
+        completarSiNoDesborda();
+    }
+    
+    /**
+     * Pide la página siguiente si las filas cargadas entran en la tabla sin desplazarse:
+     * sin barra vertical visible no hay desplazamiento que dispare la carga.
+     */
+    private void completarSiNoDesborda() {
+        if (barraVertical != null && !barraVertical.isVisible() && tabla.getHeight() > 0) {
+            cargarSiguientePagina();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package com.gestioneventos.util;
+
+import javafx.application.Platform;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.VBox;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.function.Consumer;
+
+/**
+ * Ventana con barra de progreso y botón "Cancelar" para una tarea larga en segundo plano
+ * (por ejemplo, una exportación). Implementa {@link SeguimientoTarea}: la tarea informa
+ * su avance desde su hilo y la ventana se actualiza en el hilo de JavaFX, como mucho
+ * una vez por pulso de la interfaz aunque la tarea avise más seguido.
+ */
+public class DialogoProgreso implements SeguimientoTarea {
+
+    /**
+     * Trabajo que recibe el seguimiento de su progreso.
+     * @param <T> Tipo del resultado
+     */
+    @FunctionalInterface
+    public interface Trabajo<T> {
+        T ejecutar(SeguimientoTarea seguimiento) throws Exception;
+    }
+
+    private final Stage ventana;
+    private final ProgressBar barra = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+    private final Label lblDetalle = new Label("Preparando...");
+    private final Button btnCancelar = new Button("Cancelar");
+
+    private final AtomicBoolean cancelada = new AtomicBoolean(false);
+    // Evita encolar una actualización por cada aviso mientras la anterior no se dibujó
+    private final AtomicBoolean actualizacionPendiente = new AtomicBoolean(false);
+    private volatile long realizados;
+    private volatile long total;
+
+    /**
+     * Crea la ventana (sin mostrarla). Debe llamarse desde el hilo de JavaFX.
+     * @param propietario Ventana desde la que se lanzó la tarea
+     * @param titulo Título de la ventana
+     */
+    public DialogoProgreso(Window propietario, String titulo) {
+        barra.setPrefWidth(320);
+        btnCancelar.setOnAction(e -> cancelar());
+
+        HBox botones = new HBox(btnCancelar);
+        botones.setAlignment(Pos.CENTER_RIGHT);
+        VBox contenido = new VBox(10, lblDetalle, barra, botones);
+        contenido.setPadding(new Insets(15));
+
+        ventana = new Stage();
+        ventana.setTitle(titulo);
+        ventana.initOwner(propietario);
+        ventana.initModality(Modality.WINDOW_MODAL);
+        ventana.setResizable(false);
+        ventana.setScene(new Scene(contenido));
+        // Cerrar la ventana equivale a cancelar: se cierra sola cuando la tarea termina
+        ventana.setOnCloseRequest(e -> {
+            e.consume();
+            cancelar();
+        });
+    }
+
+    /**
+     * Muestra la ventana y ejecuta el trabajo en segundo plano. La ventana se cierra al
+     * terminar; si el usuario canceló (el trabajo lanzó {@link CancellationException})
+     * no se llama a ninguno de los callbacks.
+     * Debe llamarse desde el hilo de JavaFX.
+     * @param propietario Ventana desde la que se lanza la tarea
+     * @param titulo Título de la ventana de progreso
+     * @param trabajo Trabajo a ejecutar
+     * @param alTerminar Recibe el resultado en el hilo de JavaFX
+     * @param alFallar Recibe la excepción en el hilo de JavaFX
+     * @param <T> Tipo del resultado
+     */
+    public static <T> void ejecutar(Window propietario, String titulo, Trabajo<T> trabajo,
+                                    Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+        DialogoProgreso dialogo = new DialogoProgreso(propietario, titulo);
+        dialogo.ventana.show();
+        EjecutorAsincrono.ejecutar(() -> trabajo.ejecutar(dialogo),
+        resultado -> {
+            dialogo.ventana.hide();
+            alTerminar.accept(resultado);
+        },
+        error -> {
+            dialogo.ventana.hide();
+            if (!(error instanceof CancellationException)) {
+                alFallar.accept(error);
+            }
+        });
+    }
+
+    @Override
+    public void avanzar(long realizados, long total) {
+        this.realizados = realizados;
+        this.total = total;
+        if (actualizacionPendiente.compareAndSet(false, true)) {
+            Platform.runLater(this::actualizar);
+        }
+    }
+
+    @Override
+    public boolean isCancelada() {
+        return cancelada.get();
+    }
+
+    private void cancelar() {
+        cancelada.set(true);
+        btnCancelar.setDisable(true);
+        lblDetalle.setText("Cancelando...");
+    }
+
+    private void actualizar() {
+        actualizacionPendiente.set(false);
+        if (cancelada.get()) {
+            return;
+        }
+        long hechos = realizados;
+        long esperados = Math.max(total, hechos);
+        barra.setProgress(esperados == 0 ? ProgressBar.INDETERMINATE_PROGRESS : (double) hechos / esperados);
+        lblDetalle.setText(String.format("%,d de %,d registros", hechos, esperados));
+    }
+}
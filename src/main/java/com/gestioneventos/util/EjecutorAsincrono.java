@@ -0,0 +1,132 @@
+package com.gestioneventos.util;
+
+import javafx.beans.property.ReadOnlyBooleanProperty;
+import javafx.beans.property.ReadOnlyBooleanWrapper;
+import javafx.concurrent.Task;
+
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.function.Consumer;
+
+/**
+ * Ejecuta llamadas a los servicios fuera del hilo de JavaFX.
+ * Cada trabajo corre en un hilo virtual y su resultado (o error) se entrega
+ * en el hilo de la interfaz, por lo que los callbacks pueden modificar controles
+ * directamente.
+ */
+public final class EjecutorAsincrono {
+
+    // Un hilo virtual por tarea: las consultas pasan la mayor parte del tiempo esperando a la BD
+    private static final ExecutorService EJECUTOR = Executors.newThreadPerTaskExecutor(
+            Thread.ofVirtual().name("servicios-", 0).factory());
+
+    /**
+     * Ejecuta un trabajo en segundo plano.
+     *
+     * @param trabajo Trabajo a ejecutar (llamadas a servicios, sin tocar la interfaz)
+     * @param alTerminar Recibe el resultado en el hilo de JavaFX
+     * @param alFallar Recibe la excepción en el hilo de JavaFX
+     * @param <T> Tipo del resultado
+     * @return La tarea lanzada, para consultar su estado o cancelarla
+     */
+    public static <T> Task<T> ejecutar(Callable<T> trabajo, Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+        Task<T> tarea = new Task<>() {
+            @Override
+            protected T call() throws Exception {
+                return trabajo.call();
+            }
+        };
+        tarea.setOnSucceeded(e -> alTerminar.accept(tarea.getValue()));
+        tarea.setOnFailed(e -> alFallar.accept(tarea.getException()));
+        EJECUTOR.execute(tarea);
+        return tarea;
+    }
+
+    /**
+     * Detiene el ejecutor. Debe llamarse al cerrar la aplicación.
+     */
+    public static void apagar() {
+        EJECUTOR.shutdownNow();
+    }
+
+    /**
+     * Canal de tareas de una vista en el que cada nueva solicitud reemplaza a la anterior:
+     * si la tarea previa sigue en curso se cancela y su resultado se descarta.
+     * Sirve para búsquedas o cambios de mes donde solo importa la última respuesta.
+     * Debe usarse desde el hilo de JavaFX.
+     */
+    public static class Canal {
+
+        private Task<?> tareaActual;
+        private Object ultimaSolicitud;
+        private final ReadOnlyBooleanWrapper ocupado = new ReadOnlyBooleanWrapper(false);
+
+        /**
+         * Ejecuta un trabajo cancelando el que estuviera pendiente en este canal.
+         *
+         * @param trabajo Trabajo a ejecutar
+         * @param alTerminar Recibe el resultado en el hilo de JavaFX
+         * @param alFallar Recibe la excepción en el hilo de JavaFX
+         * @param <T> Tipo del resultado
+         * @return La tarea lanzada
+         */
+        public <T> Task<T> ejecutar(Callable<T> trabajo, Consumer<T> alTerminar, Consumer<Throwable> alFallar) {
+            cancelar();
+            // Marca de la solicitud: una tarea que terminó justo antes de ser reemplazada
+            // puede entregar su resultado después, y en ese caso se ignora
+            Object solicitud = new Object();
+            ultimaSolicitud = solicitud;
+            Task<T> tarea = EjecutorAsincrono.ejecutar(trabajo,
+                    resultado -> {
+                        if (ultimaSolicitud == solicitud) {
+                            ocupado.set(false);
+                            alTerminar.accept(resultado);
+                        }
+                    },
+                    error -> {
+                        if (ultimaSolicitud == solicitud) {
+                            ocupado.set(false);
+                            alFallar.accept(error);
+                        }
+                    });
+            tareaActual = tarea;
+            ocupado.set(true);
+            return tarea;
+        }
+
+        /**
+         * Cancela la tarea en curso, si existe. No interrumpe el hilo para no cortar
+         * una operación JDBC a mitad de camino; solo se descarta su resultado.
+         */
+        public void cancelar() {
+            if (tareaActual != null && !tareaActual.isDone()) {
+                tareaActual.cancel(false);
+            }
+            tareaActual = null;
+            ultimaSolicitud = null;
+            ocupado.set(false);
+        }
+
+        /**
+         * @return Propiedad que indica si hay una tarea en curso (útil para indicadores de progreso)
+         */
+        public ReadOnlyBooleanProperty ocupadoProperty() {
+            return ocupado.getReadOnlyProperty();
+        }
+
+        /**
+         * @return true si hay una tarea en curso
+         */
+        public boolean isOcupado() {
+            return ocupado.get();
+        }
+    }
+
+    /**
+     * Constructor privado para prevenir instanciación de esta clase utilitaria.
+     */
+    private EjecutorAsincrono() {
+        // Constructor privado para evitar instanciación
+    }
+}
@@ -0,0 +1,65 @@
+package com.gestioneventos.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Escritor de archivos CSV con encabezado (RFC 4180): separador coma, fin de línea CRLF y
+ * comillas solo en los campos que contienen separadores, comillas o saltos de línea.
+ */
+public class EscritorCsv implements EscritorRegistros {
+
+    private final Writer escritor;
+    private final int cantidadColumnas;
+
+    /**
+     * Crea el escritor y escribe el encabezado.
+     * @param escritor Destino del texto
+     * @param columnas Nombres de las columnas
+     * @throws IOException si no se puede escribir
+     */
+    public EscritorCsv(Writer escritor, List<String> columnas) throws IOException {
+        this.escritor = escritor;
+        this.cantidadColumnas = columnas.size();
+        escribirFila(columnas);
+    }
+
+    @Override
+    public void escribir(List<?> valores) throws IOException {
+        if (valores.size() != cantidadColumnas) {
+            throw new IllegalArgumentException("Se esperaban " + cantidadColumnas + " valores y se recibieron " + valores.size());
+        }
+        escribirFila(valores);
+    }
+
+    @Override
+    public void close() throws IOException {
+        escritor.close();
+    }
+
+    private void escribirFila(List<?> valores) throws IOException {
+        for (int i = 0; i < valores.size(); i++) {
+            if (i > 0) {
+                escritor.write(',');
+            }
+            escribirCampo(EscritorRegistros.texto(valores.get(i)));
+        }
+        escritor.write("\r\n");
+    }
+
+    private void escribirCampo(String valor) throws IOException {
+        boolean requiereComillas = false;
+        for (int i = 0; i < valor.length() && !requiereComillas; i++) {
+            char c = valor.charAt(i);
+            requiereComillas = c == ',' || c == '"' || c == '\n' || c == '\r';
+        }
+        if (!requiereComillas) {
+            escritor.write(valor);
+            return;
+        }
+        escritor.write('"');
+        escritor.write(valor.replace("\"", "\"\""));
+        escritor.write('"');
+    }
+}
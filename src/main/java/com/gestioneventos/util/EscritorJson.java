@@ -0,0 +1,89 @@
+package com.gestioneventos.util;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.List;
+
+/**
+ * Escritor de archivos JSON con un arreglo de objetos planos, un objeto por registro y
+ * un campo por columna. Números y booleanos se escriben como tales, null como null y el
+ * resto como texto (ver {@link EscritorRegistros#texto(Object)}).
+ */
+public class EscritorJson implements EscritorRegistros {
+
+    private final Writer escritor;
+    private final List<String> columnas;
+    private boolean primero = true;
+
+    /**
+     * Crea el escritor y abre el arreglo.
+     * @param escritor Destino del texto
+     * @param columnas Nombres de los campos de cada objeto
+     * @throws IOException si no se puede escribir
+     */
+    public EscritorJson(Writer escritor, List<String> columnas) throws IOException {
+        this.escritor = escritor;
+        this.columnas = List.copyOf(columnas);
+        escritor.write('[');
+    }
+
+    @Override
+    public void escribir(List<?> valores) throws IOException {
+        if (valores.size() != columnas.size()) {
+            throw new IllegalArgumentException("Se esperaban " + columnas.size() + " valores y se recibieron " + valores.size());
+        }
+
+        escritor.write(primero ? "\n  {" : ",\n  {");
+        primero = false;
+        for (int i = 0; i < columnas.size(); i++) {
+            if (i > 0) {
+                escritor.write(", ");
+            }
+            escribirTexto(columnas.get(i));
+            escritor.write(": ");
+            escribirValor(valores.get(i));
+        }
+        escritor.write('}');
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            escritor.write(primero ? "]\n" : "\n]\n");
+        } finally {
+            escritor.close();
+        }
+    }
+
+    private void escribirValor(Object valor) throws IOException {
+        if (valor == null) {
+            escritor.write("null");
+        } else if (valor instanceof Number || valor instanceof Boolean) {
+            escritor.write(valor.toString());
+        } else {
+            escribirTexto(EscritorRegistros.texto(valor));
+        }
+    }
+
+    private void escribirTexto(String texto) throws IOException {
+        escritor.write('"');
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '"' -> escritor.write("\\\"");
+                case '\\' -> escritor.write("\\\\");
+                case '\n' -> escritor.write("\\n");
+                case '\r' -> escritor.write("\\r");
+                case '\t' -> escritor.write("\\t");
+                default -> {
+                    if (c < 0x20) {
+                        escritor.write(String.format("\\u%04x", (int) c));
+                    } else {
+                        escritor.write(c);
+                    }
+                }
+            }
+        }
+        escritor.write('"');
+    }
+}
@@ -0,0 +1,81 @@
+package com.gestioneventos.util;
+
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.CodingErrorAction;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Escritura secuencial de registros a un archivo de exportación, con las columnas fijas
+ * que se indican al abrirlo. Cada registro se escribe apenas se recibe, a través de un
+ * buffer sobre el canal del archivo, sin acumular el contenido en memoria.
+ * Es la contraparte de {@link LectorRegistros}: un archivo de personas exportado a CSV o
+ * JSON se puede volver a importar.
+ */
+public interface EscritorRegistros extends Closeable {
+
+    /**
+     * Escribe un registro.
+     * @param valores Valores en el orden de las columnas (null para un valor vacío)
+     * @throws IOException si no se puede escribir
+     */
+    void escribir(List<?> valores) throws IOException;
+
+    /**
+     * Crea (o reemplaza) un archivo eligiendo el formato según su extensión: .csv, .json o .xlsx.
+     * @param archivo Archivo a escribir
+     * @param columnas Nombres de las columnas
+     * @return Escritor del archivo
+     * @throws IOException si no se puede crear
+     * @throws IllegalArgumentException si la extensión no corresponde a un formato conocido
+     */
+    static EscritorRegistros abrir(Path archivo, List<String> columnas) throws IOException {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!nombre.endsWith(".csv") && !nombre.endsWith(".json") && !nombre.endsWith(".xlsx")) {
+            throw new IllegalArgumentException("Formato no soportado: se esperaba un archivo .csv, .json o .xlsx");
+        }
+
+        // Buffer de 64 KB entre el escritor y el canal: el archivo se escribe en bloques
+        int tamanioBuffer = 64 * 1024;
+        FileChannel canal = FileChannel.open(archivo, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE);
+        try {
+            if (nombre.endsWith(".xlsx")) {
+                return new EscritorXlsx(new BufferedOutputStream(Channels.newOutputStream(canal), tamanioBuffer), columnas);
+            }
+            Writer escritor = Channels.newWriter(canal, StandardCharsets.UTF_8.newEncoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE), tamanioBuffer);
+            return nombre.endsWith(".csv") ? new EscritorCsv(escritor, columnas) : new EscritorJson(escritor, columnas);
+        } catch (IOException | RuntimeException e) {
+            canal.close();
+            throw e;
+        }
+    }
+
+    /**
+     * Convierte un valor a texto para exportarlo: vacío para null, fechas en formato ISO
+     * (con precisión de segundos) y enumerados con su descripción.
+     * @param valor Valor a convertir
+     * @return Texto del valor
+     */
+    static String texto(Object valor) {
+        if (valor == null) {
+            return "";
+        }
+        if (valor instanceof LocalDateTime fechaHora) {
+            return fechaHora.truncatedTo(ChronoUnit.SECONDS).toString();
+        }
+        return valor.toString();
+    }
+}
@@ -0,0 +1,144 @@
+package com.gestioneventos.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+/**
+ * Escritor de planillas Excel (.xlsx) con una sola hoja y el encabezado en la primera fila.
+ * El archivo es un ZIP con las partes mínimas de SpreadsheetML; la hoja se escribe fila por
+ * fila dentro de la entrada comprimida, sin armar el documento en memoria. Los textos van
+ * como cadenas en línea (sin tabla de cadenas compartidas) y los números como celdas numéricas.
+ */
+public class EscritorXlsx implements EscritorRegistros {
+
+    // Límite de filas de una hoja de Excel (incluye el encabezado)
+    private static final int MAXIMO_FILAS = 1_048_576;
+
+    private static final String TIPOS_CONTENIDO = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Types xmlns="http://schemas.openxmlformats.org/package/2006/content-types">
+            <Default Extension="rels" ContentType="application/vnd.openxmlformats-package.relationships+xml"/>
+            <Default Extension="xml" ContentType="application/xml"/>
+            <Override PartName="/xl/workbook.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.sheet.main+xml"/>
+            <Override PartName="/xl/worksheets/sheet1.xml" ContentType="application/vnd.openxmlformats-officedocument.spreadsheetml.worksheet+xml"/>
+            </Types>""";
+
+    private static final String RELACIONES = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/officeDocument" Target="xl/workbook.xml"/>
+            </Relationships>""";
+
+    private static final String LIBRO = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <workbook xmlns="http://schemas.openxmlformats.org/spreadsheetml/2006/main" xmlns:r="http://schemas.openxmlformats.org/officeDocument/2006/relationships">
+            <sheets><sheet name="Datos" sheetId="1" r:id="rId1"/></sheets>
+            </workbook>""";
+
+    private static final String RELACIONES_LIBRO = """
+            <?xml version="1.0" encoding="UTF-8" standalone="yes"?>
+            <Relationships xmlns="http://schemas.openxmlformats.org/package/2006/relationships">
+            <Relationship Id="rId1" Type="http://schemas.openxmlformats.org/officeDocument/2006/relationships/worksheet" Target="worksheets/sheet1.xml"/>
+            </Relationships>""";
+
+    private final ZipOutputStream zip;
+    private final Writer hoja;
+    private final int cantidadColumnas;
+    private int filas = 0;
+
+    /**
+     * Crea el escritor, escribe las partes fijas del libro y el encabezado de la hoja.
+     * @param salida Destino del archivo
+     * @param columnas Nombres de las columnas
+     * @throws IOException si no se puede escribir
+     */
+    public EscritorXlsx(OutputStream salida, List<String> columnas) throws IOException {
+        this.zip = new ZipOutputStream(salida, StandardCharsets.UTF_8);
+        this.hoja = new BufferedWriter(new OutputStreamWriter(zip, StandardCharsets.UTF_8));
+        this.cantidadColumnas = columnas.size();
+
+        escribirParte("[Content_Types].xml", TIPOS_CONTENIDO);
+        escribirParte("_rels/.rels", RELACIONES);
+        escribirParte("xl/workbook.xml", LIBRO);
+        escribirParte("xl/_rels/workbook.xml.rels", RELACIONES_LIBRO);
+
+        // La hoja queda abierta hasta cerrar el escritor
+        zip.putNextEntry(new ZipEntry("xl/worksheets/sheet1.xml"));
+        hoja.write("<?xml version=\"1.0\" encoding=\"UTF-8\" standalone=\"yes\"?>\n"
+                + "<worksheet xmlns=\"http://schemas.openxmlformats.org/spreadsheetml/2006/main\"><sheetData>");
+        escribirFila(columnas);
+    }
+
+    @Override
+    public void escribir(List<?> valores) throws IOException {
+        if (valores.size() != cantidadColumnas) {
+            throw new IllegalArgumentException("Se esperaban " + cantidadColumnas + " valores y se recibieron " + valores.size());
+        }
+        if (filas == MAXIMO_FILAS) {
+            throw new IOException("Una hoja .xlsx admite como máximo " + (MAXIMO_FILAS - 1) + " registros");
+        }
+        escribirFila(valores);
+    }
+
+    @Override
+    public void close() throws IOException {
+        try {
+            hoja.write("</sheetData></worksheet>");
+            hoja.flush();
+            zip.closeEntry();
+            zip.finish();
+        } finally {
+            zip.close();
+        }
+    }
+
+    private void escribirParte(String nombre, String contenido) throws IOException {
+        zip.putNextEntry(new ZipEntry(nombre));
+        zip.write(contenido.getBytes(StandardCharsets.UTF_8));
+        zip.closeEntry();
+    }
+
+    private void escribirFila(List<?> valores) throws IOException {
+        filas++;
+        hoja.write("<row r=\"" + filas + "\">");
+        for (Object valor : valores) {
+            if (valor == null) {
+                hoja.write("<c/>");
+            } else if (valor instanceof Number numero) {
+                hoja.write("<c><v>" + numero + "</v></c>");
+            } else if (valor instanceof Boolean logico) {
+                hoja.write("<c t=\"b\"><v>" + (logico ? 1 : 0) + "</v></c>");
+            } else {
+                hoja.write("<c t=\"inlineStr\"><is><t xml:space=\"preserve\">");
+                escribirXml(EscritorRegistros.texto(valor));
+                hoja.write("</t></is></c>");
+            }
+        }
+        hoja.write("</row>");
+    }
+
+    private void escribirXml(String texto) throws IOException {
+        for (int i = 0; i < texto.length(); i++) {
+            char c = texto.charAt(i);
+            switch (c) {
+                case '&' -> hoja.write("&amp;");
+                case '<' -> hoja.write("&lt;");
+                case '>' -> hoja.write("&gt;");
+                case '"' -> hoja.write("&quot;");
+                default -> {
+                    // Los caracteres de control (salvo tabulación y saltos de línea) no son válidos en XML
+                    if (c >= 0x20 || c == '\t' || c == '\n' || c == '\r') {
+                        hoja.write(c);
+                    }
+                }
+            }
+        }
+    }
+}
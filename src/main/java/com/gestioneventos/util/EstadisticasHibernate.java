@@ -0,0 +1,128 @@
+package com.gestioneventos.util;
+
+import org.hibernate.stat.QueryStatistics;
+import org.hibernate.stat.Statistics;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Contadores de {@link Statistics} de Hibernate (requiere hibernate.generate_statistics=true)
+ * agrupados para la ventana de diagnóstico. Comparar contra una instantánea permite ver qué
+ * hace una sola acción de la interfaz: por ejemplo, si abrir una lista dispara una consulta
+ * por fila (N+1), "Colecciones inicializadas" o "Entidades inicializadas" crecen con la
+ * cantidad de filas en lugar de quedar fijos.
+ */
+public final class EstadisticasHibernate {
+
+    /**
+     * Valores de los contadores en un momento dado.
+     * @param momento Cuándo se tomó
+     * @param valores Valor de cada contador, por nombre, en orden de presentación
+     */
+    public record Instantanea(LocalDateTime momento, Map<String, Long> valores) {
+    }
+
+    /**
+     * Un contador comparado con una instantánea anterior.
+     * @param nombre Descripción del contador
+     * @param valor Valor actual
+     * @param diferencia Cuánto cambió desde la instantánea
+     */
+    public record Indicador(String nombre, long valor, long diferencia) {
+    }
+
+    /**
+     * Estadísticas de una consulta JPQL.
+     * @param consulta Texto de la consulta
+     * @param ejecuciones Cantidad de ejecuciones
+     * @param filas Filas devueltas en total
+     * @param mediaMs Duración media en milisegundos
+     * @param maximoMs Duración máxima en milisegundos
+     * @param aciertosCache Resultados obtenidos de la caché de consultas
+     */
+    public record EstadisticaConsulta(String consulta, long ejecuciones, long filas, double mediaMs, long maximoMs,
+                                      long aciertosCache) {
+
+        /**
+         * @return Tiempo total aproximado en milisegundos
+         */
+        public double totalMs() {
+            return mediaMs * ejecuciones;
+        }
+    }
+
+    /**
+     * Toma los valores actuales de los contadores.
+     * @return Instantánea con los contadores
+     */
+    public static Instantanea tomarInstantanea() {
+        Statistics estadisticas = CacheSegundoNivel.obtenerEstadisticasHibernate();
+        Map<String, Long> valores = new LinkedHashMap<>();
+        valores.put("Consultas ejecutadas", estadisticas.getQueryExecutionCount());
+        valores.put("Consulta más lenta (ms)", estadisticas.getQueryExecutionMaxTime());
+        valores.put("Sentencias preparadas", estadisticas.getPrepareStatementCount());
+        valores.put("Entidades cargadas", estadisticas.getEntityLoadCount());
+        valores.put("Entidades inicializadas (perezosas)", estadisticas.getEntityFetchCount());
+        valores.put("Colecciones cargadas", estadisticas.getCollectionLoadCount());
+        valores.put("Colecciones inicializadas (perezosas)", estadisticas.getCollectionFetchCount());
+        valores.put("Entidades insertadas", estadisticas.getEntityInsertCount());
+        valores.put("Entidades actualizadas", estadisticas.getEntityUpdateCount());
+        valores.put("Entidades eliminadas", estadisticas.getEntityDeleteCount());
+        valores.put("Caché de 2.º nivel: aciertos", estadisticas.getSecondLevelCacheHitCount());
+        valores.put("Caché de 2.º nivel: fallos", estadisticas.getSecondLevelCacheMissCount());
+        valores.put("Caché de 2.º nivel: escrituras", estadisticas.getSecondLevelCachePutCount());
+        valores.put("Caché de consultas: aciertos", estadisticas.getQueryCacheHitCount());
+        valores.put("Caché de consultas: fallos", estadisticas.getQueryCacheMissCount());
+        valores.put("Vaciados (flush)", estadisticas.getFlushCount());
+        valores.put("Conexiones obtenidas", estadisticas.getConnectCount());
+        valores.put("Sesiones abiertas", estadisticas.getSessionOpenCount());
+        valores.put("Transacciones", estadisticas.getTransactionCount());
+        return new Instantanea(LocalDateTime.now().truncatedTo(ChronoUnit.SECONDS), valores);
+    }
+
+    /**
+     * Compara los contadores actuales con una instantánea.
+     * @param base Instantánea de referencia
+     * @return Un indicador por contador, en orden de presentación
+     */
+    public static List<Indicador> compararCon(Instantanea base) {
+        Instantanea actual = tomarInstantanea();
+        List<Indicador> indicadores = new ArrayList<>(actual.valores().size());
+        actual.valores().forEach((nombre, valor) ->
+                indicadores.add(new Indicador(nombre, valor, valor - base.valores().getOrDefault(nombre, 0L))));
+        return indicadores;
+    }
+
+    /**
+     * Obtiene las estadísticas de cada consulta JPQL ejecutada, de mayor a menor tiempo total.
+     * @return Una entrada por consulta
+     */
+    public static List<EstadisticaConsulta> obtenerConsultas() {
+        Statistics estadisticas = CacheSegundoNivel.obtenerEstadisticasHibernate();
+        List<EstadisticaConsulta> consultas = new ArrayList<>();
+        for (String consulta : estadisticas.getQueries()) {
+            QueryStatistics detalle = estadisticas.getQueryStatistics(consulta);
+            consultas.add(new EstadisticaConsulta(consulta, detalle.getExecutionCount(), detalle.getExecutionRowCount(),
+                    detalle.getExecutionAvgTimeAsDouble(), detalle.getExecutionMaxTime(), detalle.getCacheHitCount()));
+        }
+        consultas.sort(Comparator.comparingDouble(EstadisticaConsulta::totalMs).reversed());
+        return consultas;
+    }
+
+    /**
+     * Pone en cero todos los contadores de Hibernate.
+     */
+    public static void reiniciar() {
+        CacheSegundoNivel.reiniciarEstadisticas();
+    }
+
+    private EstadisticasHibernate() {
+        // Clase utilitaria
+    }
+}
@@ -0,0 +1,95 @@
+package com.gestioneventos.util;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.Function;
+
+/**
+ * Índice en memoria de elementos que ocupan un intervalo de días (por ejemplo, eventos).
+ * Reparte cada elemento en un mapa de cubetas por día dentro de una ventana fija
+ * [desde, hasta], de modo que "¿qué elementos están activos el día D?" se responde
+ * con una búsqueda en el mapa, sin recorrer la lista completa.
+ *
+ * @param <T> Tipo de los elementos indexados
+ */
+public class IndiceIntervalos<T> {
+
+    private final LocalDate desde;
+    private final LocalDate hasta;
+    private final Map<LocalDate, List<T>> porDia = new HashMap<>();
+    private final List<T> elementos;
+
+    /**
+     * Construye el índice para una ventana de días.
+     *
+     * @param desde Primer día de la ventana (inclusive)
+     * @param hasta Último día de la ventana (inclusive)
+     * @param elementos Elementos a indexar; los que quedan fuera de la ventana se ignoran
+     * @param inicio Obtiene el primer día activo de un elemento
+     * @param fin Obtiene el último día activo de un elemento (inclusive)
+     * @throws IllegalArgumentException si la ventana es inválida
+     */
+    public IndiceIntervalos(LocalDate desde, LocalDate hasta, Collection<T> elementos,
+                            Function<T, LocalDate> inicio, Function<T, LocalDate> fin) {
+        if (desde == null || hasta == null || hasta.isBefore(desde)) {
+            throw new IllegalArgumentException("La ventana del índice debe tener desde <= hasta");
+        }
+        this.desde = desde;
+        this.hasta = hasta;
+        this.elementos = List.copyOf(elementos);
+
+        for (T elemento : this.elementos) {
+            // Recortar el intervalo del elemento a la ventana del índice
+            LocalDate primero = max(inicio.apply(elemento), desde);
+            LocalDate ultimo = min(fin.apply(elemento), hasta);
+            for (LocalDate dia = primero; !dia.isAfter(ultimo); dia = dia.plusDays(1)) {
+                porDia.computeIfAbsent(dia, d -> new ArrayList<>()).add(elemento);
+            }
+        }
+    }
+
+    /**
+     * Devuelve los elementos activos en un día.
+     *
+     * @param dia Día a consultar
+     * @return Lista inmodificable (vacía si no hay elementos o el día está fuera de la ventana)
+     */
+    public List<T> activosEn(LocalDate dia) {
+        List<T> activos = porDia.get(dia);
+        return activos == null ? Collections.emptyList() : Collections.unmodifiableList(activos);
+    }
+
+    /**
+     * @return Todos los elementos indexados
+     */
+    public List<T> getElementos() {
+        return elementos;
+    }
+
+    /**
+     * @return Primer día de la ventana
+     */
+    public LocalDate getDesde() {
+        return desde;
+    }
+
+    /**
+     * @return Último día de la ventana
+     */
+    public LocalDate getHasta() {
+        return hasta;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private static LocalDate min(LocalDate a, LocalDate b) {
+        return a.isBefore(b) ? a : b;
+    }
+}
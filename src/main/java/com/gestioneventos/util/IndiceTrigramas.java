@@ -0,0 +1,258 @@
+package com.gestioneventos.util;
+
+import java.text.Normalizer;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Function;
+import java.util.regex.Pattern;
+
+/**
+ * Índice invertido de trigramas para búsquedas por subcadena en memoria.
+ * Cada elemento se indexa por los fragmentos de tres caracteres de su texto normalizado
+ * (minúsculas y sin acentos), de modo que una búsqueda solo revisa los elementos que
+ * comparten todos los trigramas de la consulta, en lugar de recorrer la colección completa.
+ * Admite altas, modificaciones y bajas incrementales y es seguro entre hilos.
+ *
+ * @param <K> Tipo de la clave que identifica a cada elemento
+ * @param <T> Tipo de los elementos indexados
+ */
+public class IndiceTrigramas<K, T> {
+
+    private static final int N = 3;
+    private static final Pattern MARCAS_DIACRITICAS = Pattern.compile("\\p{M}+");
+    private static final Pattern ESPACIOS = Pattern.compile("\\s+");
+
+    private final Function<T, K> clave;
+    private final Function<T, String> texto;
+    private final Comparator<T> orden;
+
+    private final Map<K, T> elementos = new HashMap<>();
+    private final Map<K, String> textos = new HashMap<>();
+    private final Map<String, Set<K>> porTrigrama = new HashMap<>();
+    private final ReadWriteLock candado = new ReentrantReadWriteLock();
+
+    /**
+     * Crea un índice vacío.
+     *
+     * @param clave Obtiene la clave única de un elemento
+     * @param texto Obtiene el texto por el que se busca un elemento (puede combinar varios campos)
+     * @param orden Orden de los resultados de búsqueda
+     */
+    public IndiceTrigramas(Function<T, K> clave, Function<T, String> texto, Comparator<T> orden) {
+        this.clave = clave;
+        this.texto = texto;
+        this.orden = orden;
+    }
+
+    /**
+     * Normaliza un texto para indexarlo o buscarlo: quita acentos, pasa a minúsculas
+     * y reduce los espacios repetidos a uno solo.
+     *
+     * @param valor Texto a normalizar (null se trata como vacío)
+     * @return Texto normalizado
+     */
+    public static String normalizar(String valor) {
+        if (valor == null) {
+            return "";
+        }
+        String sinAcentos = MARCAS_DIACRITICAS.matcher(Normalizer.normalize(valor, Normalizer.Form.NFD)).replaceAll("");
+        return ESPACIOS.matcher(sinAcentos.toLowerCase(Locale.ROOT)).replaceAll(" ").trim();
+    }
+
+    /**
+     * Reemplaza el contenido del índice por la colección indicada.
+     *
+     * @param nuevosElementos Elementos a indexar
+     */
+    public void cargar(Collection<T> nuevosElementos) {
+        candado.writeLock().lock();
+        try {
+            elementos.clear();
+            textos.clear();
+            porTrigrama.clear();
+            for (T elemento : nuevosElementos) {
+                agregarSinBloqueo(elemento);
+            }
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Agrega un elemento o, si ya existe uno con la misma clave, lo reemplaza.
+     *
+     * @param elemento Elemento a indexar
+     */
+    public void agregarOActualizar(T elemento) {
+        candado.writeLock().lock();
+        try {
+            quitarSinBloqueo(clave.apply(elemento));
+            agregarSinBloqueo(elemento);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Quita un elemento del índice.
+     *
+     * @param claveElemento Clave del elemento a quitar
+     */
+    public void eliminar(K claveElemento) {
+        candado.writeLock().lock();
+        try {
+            quitarSinBloqueo(claveElemento);
+        } finally {
+            candado.writeLock().unlock();
+        }
+    }
+
+    /**
+     * Busca los elementos cuyo texto contiene todas las palabras de la consulta
+     * (como subcadena, sin distinguir mayúsculas ni acentos).
+     * Primero se devuelven los elementos en los que alguna palabra empieza con el primer
+     * término buscado y luego el resto, cada grupo en el orden del índice.
+     *
+     * @param consulta Texto a buscar
+     * @return Elementos que coinciden; todos los elementos si la consulta está vacía
+     */
+    public List<T> buscar(String consulta) {
+        String normalizada = normalizar(consulta);
+        if (normalizada.isEmpty()) {
+            return todos();
+        }
+        String[] terminos = normalizada.split(" ");
+
+        candado.readLock().lock();
+        try {
+            Set<K> candidatos = null;
+            for (String termino : terminos) {
+                candidatos = filtrarPorTermino(candidatos, termino);
+                if (candidatos.isEmpty()) {
+                    return List.of();
+                }
+            }
+
+            List<T> resultado = new ArrayList<>(candidatos.size());
+            for (K k : candidatos) {
+                resultado.add(elementos.get(k));
+            }
+            String prefijo = " " + terminos[0];
+            resultado.sort(Comparator
+                    .comparing((T e) -> !(" " + textos.get(clave.apply(e))).contains(prefijo))
+                    .thenComparing(orden));
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Todos los elementos indexados, en el orden del índice
+     */
+    public List<T> todos() {
+        candado.readLock().lock();
+        try {
+            List<T> resultado = new ArrayList<>(elementos.values());
+            resultado.sort(orden);
+            return resultado;
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * @return Cantidad de elementos indexados
+     */
+    public int tamanio() {
+        candado.readLock().lock();
+        try {
+            return elementos.size();
+        } finally {
+            candado.readLock().unlock();
+        }
+    }
+
+    /**
+     * Reduce los candidatos a los que contienen el término. Si el término tiene al menos
+     * tres caracteres se usa la intersección de sus trigramas; si es más corto se revisan
+     * los textos directamente. En ambos casos se verifica la subcadena completa.
+     */
+    private Set<K> filtrarPorTermino(Set<K> candidatos, String termino) {
+        Set<K> base = candidatos;
+        if (termino.length() >= N) {
+            // Intersectar empezando por la lista más corta
+            List<Set<K>> listas = new ArrayList<>();
+            for (String trigrama : trigramas(termino)) {
+                Set<K> lista = porTrigrama.get(trigrama);
+                if (lista == null) {
+                    return Set.of();
+                }
+                listas.add(lista);
+            }
+            listas.sort(Comparator.comparingInt(Set::size));
+            Set<K> interseccion = new HashSet<>(listas.get(0));
+            for (int i = 1; i < listas.size() && !interseccion.isEmpty(); i++) {
+                interseccion.retainAll(listas.get(i));
+            }
+            if (base != null) {
+                interseccion.retainAll(base);
+            }
+            base = interseccion;
+        } else if (base == null) {
+            base = textos.keySet();
+        }
+
+        Set<K> coincidencias = new HashSet<>();
+        for (K k : base) {
+            if (textos.get(k).contains(termino)) {
+                coincidencias.add(k);
+            }
+        }
+        return coincidencias;
+    }
+
+    private void agregarSinBloqueo(T elemento) {
+        K k = clave.apply(elemento);
+        String normalizado = normalizar(texto.apply(elemento));
+        elementos.put(k, elemento);
+        textos.put(k, normalizado);
+        for (String trigrama : trigramas(normalizado)) {
+            porTrigrama.computeIfAbsent(trigrama, t -> new HashSet<>()).add(k);
+        }
+    }
+
+    private void quitarSinBloqueo(K k) {
+        String anterior = textos.remove(k);
+        elementos.remove(k);
+        if (anterior == null) {
+            return;
+        }
+        for (String trigrama : trigramas(anterior)) {
+            Set<K> lista = porTrigrama.get(trigrama);
+            if (lista != null) {
+                lista.remove(k);
+                if (lista.isEmpty()) {
+                    porTrigrama.remove(trigrama);
+                }
+            }
+        }
+    }
+
+    private static Set<String> trigramas(String normalizado) {
+        Set<String> resultado = new HashSet<>();
+        for (int i = 0; i + N <= normalizado.length(); i++) {
+            resultado.add(normalizado.substring(i, i + N));
+        }
+        return resultado;
+    }
+}
@@ -5,17 +5,26 @@ import jakarta.persistence.EntityManager;         // Para manejar entidades y op
 import jakarta.persistence.EntityManagerFactory;  // Para crear instancias de EntityManager
 import jakarta.persistence.Persistence;           // Para crear EntityManagerFactory usando persistence.xml
 
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * Clase utilitaria para gestionar la conexión con la base de datos mediante JPA.
  * Implementa el patrón Singleton para mantener una única instancia de EntityManagerFactory.
+ * Las conexiones se obtienen de un pool (HikariCP) configurado en persistence.xml.
+ * Al crear la fábrica se aplican las migraciones pendientes del esquema (ver {@link MigracionesEsquema}).
  */
 public class JPAUtil {
     
     // Nombre de la unidad de persistencia definida en persistence.xml
     private static final String PERSISTENCE_UNIT_NAME = "EventosPU";
     
-    // Instancia única de EntityManagerFactory para toda la aplicación (patrón Singleton)
-    private static EntityManagerFactory factory;
+    // Instancia única de EntityManagerFactory para toda la aplicación (patrón Singleton).
+    // Es volatile para que el doble chequeo de inicialización sea seguro entre hilos.
+    private static volatile EntityManagerFactory factory;
+    
+    // Monitor usado para serializar la creación y el cierre de la fábrica
+    private static final Object LOCK = new Object();
     
     /**
      * Obtiene una instancia de EntityManager para realizar operaciones con la base de datos.
@@ -24,13 +33,68 @@ public class JPAUtil {
      * @return una instancia de EntityManager lista para ser utilizada
      */
     public static EntityManager getEntityManager() {
-        // Verifica si la fábrica ya fue inicializada
-        if (factory == null || !factory.isOpen()) {
-            // Crea la fábrica usando el nombre de la unidad de persistencia definido en persistence.xml
-            factory = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME);
-        }
         // Crea y retorna un nuevo EntityManager desde la fábrica
-        return factory.createEntityManager();
+        return getEntityManagerFactory().createEntityManager();
+    }
+    
+    /**
+     * Obtiene la fábrica de EntityManager, creándola si todavía no existe.
+     * Usa doble chequeo para que varios hilos concurrentes no construyan dos fábricas.
+     * 
+     * @return la fábrica de EntityManager abierta
+     */
+    public static EntityManagerFactory getEntityManagerFactory() {
+        EntityManagerFactory actual = factory;
+        if (actual == null || !actual.isOpen()) {
+            synchronized (LOCK) {
+                actual = factory;
+                // Segunda verificación: otro hilo pudo haberla creado mientras esperábamos
+                if (actual == null || !actual.isOpen()) {
+                    // Crea la fábrica usando persistence.xml y las propiedades de sistema que lo sobrescriban
+                    actual = Persistence.createEntityManagerFactory(PERSISTENCE_UNIT_NAME, obtenerPropiedadesExternas());
+                    // El esquema se actualiza antes de que otro hilo pueda usar la fábrica
+                    try {
+                        MigracionesEsquema.aplicar(actual);
+                    } catch (RuntimeException e) {
+                        actual.close();
+                        throw e;
+                    }
+                    factory = actual;
+                }
+            }
+        }
+        return actual;
+    }
+    
+    /**
+     * Recolecta las propiedades de sistema que sobrescriben la configuración de persistence.xml.
+     * Permite ajustar el pool (por ejemplo -Dhibernate.hikari.maximumPoolSize=20), la URL de
+     * conexión o las opciones propias de la aplicación sin modificar el archivo.
+     * 
+     * @return mapa con las propiedades hibernate.*, jakarta.persistence.* y gestioneventos.* definidas en el sistema
+     */
+    private static Map<String, Object> obtenerPropiedadesExternas() {
+        Map<String, Object> propiedades = new HashMap<>();
+        for (String nombre : System.getProperties().stringPropertyNames()) {
+            if (nombre.startsWith("hibernate.") || nombre.startsWith("jakarta.persistence.")
+                    || nombre.startsWith("gestioneventos.")) {
+                propiedades.put(nombre, System.getProperty(nombre));
+            }
+        }
+        return propiedades;
+    }
+    
+    /**
+     * Obtiene una propiedad de la unidad de persistencia (persistence.xml o su valor
+     * sobrescrito por una propiedad de sistema).
+     * 
+     * @param nombre nombre de la propiedad
+     * @param porDefecto valor a usar si la propiedad no está definida
+     * @return el valor configurado o el valor por defecto
+     */
+    public static String obtenerPropiedad(String nombre, String porDefecto) {
+        Object valor = getEntityManagerFactory().getProperties().get(nombre);
+        return valor == null ? porDefecto : valor.toString().trim();
     }
     
     /**
@@ -38,10 +102,12 @@ public class JPAUtil {
      * Debe llamarse cuando la aplicación se cierre.
      */
     public static void shutdown() {
-        // Verifica si la fábrica existe y está abierta antes de intentar cerrarla
-        if (factory != null && factory.isOpen()) {
-            // Cierra la fábrica y libera las conexiones y recursos asociados
-            factory.close();
+        synchronized (LOCK) {
+            // Verifica si la fábrica existe y está abierta antes de intentar cerrarla
+            if (factory != null && factory.isOpen()) {
+                // Cierra la fábrica y libera las conexiones del pool y recursos asociados
+                factory.close();
+            }
             // Establece la referencia a null para que pueda ser recolectada por el garbage collector
             factory = null;
         }
@@ -54,4 +120,4 @@ public class JPAUtil {
     private JPAUtil() {
         // Constructor privado para evitar instanciación
     }
-}
\ No newline at end of file
+}
@@ -0,0 +1,162 @@
+package com.gestioneventos.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Lector de archivos CSV con encabezado (RFC 4180): campos entre comillas con separadores,
+ * saltos de línea y comillas dobles escapadas. El separador (coma o punto y coma, como
+ * exportan las planillas en español) se detecta a partir del encabezado.
+ * Las filas vacías se ignoran; a una fila con menos columnas que el encabezado le faltan
+ * esos campos, y las columnas sobrantes se descartan.
+ */
+public class LectorCsv implements LectorRegistros {
+
+    private static final int FIN = -1;
+
+    private final BufferedReader lector;
+    private List<String> encabezado;
+    private char separador = ',';
+    private long numeroRegistro = 0;
+    // Carácter leído de más al detectar un salto de línea \r sin \n
+    private int pendiente = -2;
+
+    /**
+     * Crea el lector. El encabezado se lee con el primer registro.
+     * @param lector Origen del texto
+     */
+    public LectorCsv(Reader lector) {
+        this.lector = lector instanceof BufferedReader buffer ? buffer : new BufferedReader(lector);
+    }
+
+    @Override
+    public Map<String, String> siguiente() throws IOException {
+        if (encabezado == null) {
+            leerEncabezado();
+            if (encabezado == null) {
+                return null;
+            }
+        }
+
+        List<String> valores;
+        do {
+            valores = leerFila();
+            if (valores == null) {
+                return null;
+            }
+        } while (valores.size() == 1 && valores.get(0).isEmpty());
+
+        numeroRegistro++;
+        Map<String, String> registro = new LinkedHashMap<>();
+        for (int i = 0; i < encabezado.size() && i < valores.size(); i++) {
+            registro.put(encabezado.get(i), valores.get(i));
+        }
+        return registro;
+    }
+
+    @Override
+    public long getNumeroRegistro() {
+        return numeroRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+
+    private void leerEncabezado() throws IOException {
+        // Detectar el separador en la primera línea, sin consumirla
+        lector.mark(64 * 1024);
+        String primeraLinea = lector.readLine();
+        lector.reset();
+        if (primeraLinea == null) {
+            return;
+        }
+        if (primeraLinea.startsWith("\uFEFF")) {
+            lector.skip(1); // Marca de orden de bytes que agregan algunas planillas
+        }
+        separador = contar(primeraLinea, ';') > contar(primeraLinea, ',') ? ';' : ',';
+
+        List<String> campos = leerFila();
+        encabezado = new ArrayList<>(campos.size());
+        for (String campo : campos) {
+            encabezado.add(LectorRegistros.normalizarCampo(campo));
+        }
+    }
+
+    /**
+     * Lee una fila completa (que puede ocupar varias líneas si tiene campos entre comillas).
+     * @return Valores de la fila, o null si no quedan filas
+     */
+    private List<String> leerFila() throws IOException {
+        int c = leer();
+        if (c == FIN) {
+            return null;
+        }
+
+        List<String> valores = new ArrayList<>();
+        StringBuilder valor = new StringBuilder();
+        boolean entreComillas = false;
+        while (true) {
+            if (entreComillas) {
+                if (c == FIN) {
+                    throw new IOException("Comillas sin cerrar en el registro " + (numeroRegistro + 1));
+                }
+                if (c == '"') {
+                    int siguiente = leer();
+                    if (siguiente == '"') {
+                        valor.append('"');
+                    } else {
+                        entreComillas = false;
+                        c = siguiente;
+                        continue;
+                    }
+                } else {
+                    valor.append((char) c);
+                }
+            } else if (c == '"' && valor.isEmpty()) {
+                entreComillas = true;
+            } else if (c == separador) {
+                valores.add(valor.toString().trim());
+                valor.setLength(0);
+            } else if (c == '\n' || c == FIN) {
+                break;
+            } else if (c == '\r') {
+                int siguiente = leer();
+                if (siguiente != '\n') {
+                    pendiente = siguiente;
+                }
+                break;
+            } else {
+                valor.append((char) c);
+            }
+            c = leer();
+        }
+        valores.add(valor.toString().trim());
+        return valores;
+    }
+
+    private int leer() throws IOException {
+        if (pendiente != -2) {
+            int c = pendiente;
+            pendiente = -2;
+            return c;
+        }
+        return lector.read();
+    }
+
+    private static int contar(String texto, char caracter) {
+        int cantidad = 0;
+        for (int i = 0; i < texto.length(); i++) {
+            if (texto.charAt(i) == caracter) {
+                cantidad++;
+            }
+        }
+        return cantidad;
+    }
+}
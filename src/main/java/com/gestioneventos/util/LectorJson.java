@@ -0,0 +1,201 @@
+package com.gestioneventos.util;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Lector de archivos JSON con un arreglo de objetos planos, por ejemplo
+ * {@code [{"nombre": "Ana", "dni": "30111222"}, ...]}. Los objetos se leen de a uno
+ * a medida que se recorre el archivo. Los valores pueden ser textos, números,
+ * booleanos o null (que equivale a un campo ausente); no se admiten valores anidados.
+ */
+public class LectorJson implements LectorRegistros {
+
+    private static final int FIN = -1;
+
+    private final BufferedReader lector;
+    private long numeroRegistro = 0;
+    private boolean iniciado = false;
+    private boolean terminado = false;
+    // Carácter leído de más (se devuelve en la próxima lectura), o -2 si no hay
+    private int pendiente = -2;
+
+    /**
+     * Crea el lector.
+     * @param lector Origen del texto
+     */
+    public LectorJson(Reader lector) {
+        this.lector = lector instanceof BufferedReader buffer ? buffer : new BufferedReader(lector);
+    }
+
+    @Override
+    public Map<String, String> siguiente() throws IOException {
+        if (terminado) {
+            return null;
+        }
+
+        int c = leerSinEspacios();
+        if (!iniciado) {
+            if (c == '\uFEFF') { // Marca de orden de bytes
+                c = leerSinEspacios();
+            }
+            if (c != '[') {
+                throw error("se esperaba un arreglo de objetos '['");
+            }
+            iniciado = true;
+            c = leerSinEspacios();
+            if (c == ']') {
+                terminado = true;
+                return null;
+            }
+        } else if (c == ',') {
+            c = leerSinEspacios();
+        } else if (c == ']') {
+            terminado = true;
+            return null;
+        } else {
+            throw error("se esperaba ',' o ']'");
+        }
+
+        if (c != '{') {
+            throw error("se esperaba un objeto '{'");
+        }
+        numeroRegistro++;
+        return leerObjeto();
+    }
+
+    @Override
+    public long getNumeroRegistro() {
+        return numeroRegistro;
+    }
+
+    @Override
+    public void close() throws IOException {
+        lector.close();
+    }
+
+    private Map<String, String> leerObjeto() throws IOException {
+        Map<String, String> registro = new LinkedHashMap<>();
+        int c = leerSinEspacios();
+        if (c == '}') {
+            return registro;
+        }
+        while (true) {
+            if (c != '"') {
+                throw error("se esperaba el nombre de un campo");
+            }
+            String campo = LectorRegistros.normalizarCampo(leerTexto());
+            if (leerSinEspacios() != ':') {
+                throw error("se esperaba ':' después de \"" + campo + "\"");
+            }
+            String valor = leerValor();
+            if (valor != null) {
+                registro.put(campo, valor.trim());
+            }
+
+            c = leerSinEspacios();
+            if (c == '}') {
+                return registro;
+            }
+            if (c != ',') {
+                throw error("se esperaba ',' o '}'");
+            }
+            c = leerSinEspacios();
+        }
+    }
+
+    /**
+     * Lee un valor simple y lo devuelve como texto (null para el literal null).
+     */
+    private String leerValor() throws IOException {
+        int c = leerSinEspacios();
+        if (c == '"') {
+            return leerTexto();
+        }
+        if (c == '{' || c == '[') {
+            throw error("no se admiten valores anidados");
+        }
+
+        // Número o literal (true, false, null): hasta el próximo delimitador
+        StringBuilder literal = new StringBuilder();
+        while (c != FIN && c != ',' && c != '}' && c != ']' && !Character.isWhitespace(c)) {
+            literal.append((char) c);
+            c = leer();
+        }
+        pendiente = c;
+
+        String texto = literal.toString();
+        if (texto.equals("null")) {
+            return null;
+        }
+        if (texto.equals("true") || texto.equals("false") || texto.matches("-?\\d+(\\.\\d+)?([eE][+-]?\\d+)?")) {
+            return texto;
+        }
+        throw error("valor inválido '" + texto + "'");
+    }
+
+    /**
+     * Lee un texto entre comillas (ya consumida la comilla inicial), resolviendo los escapes.
+     */
+    private String leerTexto() throws IOException {
+        StringBuilder texto = new StringBuilder();
+        while (true) {
+            int c = leer();
+            if (c == FIN) {
+                throw error("texto sin cerrar");
+            }
+            if (c == '"') {
+                return texto.toString();
+            }
+            if (c != '\\') {
+                texto.append((char) c);
+                continue;
+            }
+            int escape = leer();
+            switch (escape) {
+                case '"', '\\', '/' -> texto.append((char) escape);
+                case 'b' -> texto.append('\b');
+                case 'f' -> texto.append('\f');
+                case 'n' -> texto.append('\n');
+                case 'r' -> texto.append('\r');
+                case 't' -> texto.append('\t');
+                case 'u' -> {
+                    char[] hex = new char[4];
+                    for (int i = 0; i < 4; i++) {
+                        int h = leer();
+                        if (Character.digit(h, 16) < 0) {
+                            throw error("escape \\u inválido");
+                        }
+                        hex[i] = (char) h;
+                    }
+                    texto.append((char) Integer.parseInt(new String(hex), 16));
+                }
+                default -> throw error("escape inválido");
+            }
+        }
+    }
+
+    private int leerSinEspacios() throws IOException {
+        int c;
+        do {
+            c = leer();
+        } while (c != FIN && Character.isWhitespace(c));
+        return c;
+    }
+
+    private int leer() throws IOException {
+        if (pendiente != -2) {
+            int c = pendiente;
+            pendiente = -2;
+            return c;
+        }
+        return lector.read();
+    }
+
+    private IOException error(String detalle) {
+        return new IOException("JSON inválido cerca del registro " + Math.max(numeroRegistro, 1) + ": " + detalle);
+    }
+}
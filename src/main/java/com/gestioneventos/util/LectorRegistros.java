@@ -0,0 +1,58 @@
+package com.gestioneventos.util;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.text.Normalizer;
+import java.util.Locale;
+import java.util.Map;
+
+/**
+ * Lectura secuencial de registros planos (campo → valor) desde un archivo de importación.
+ * Los registros se leen de a uno, sin cargar el archivo completo en memoria.
+ * Los nombres de campo se normalizan con {@link #normalizarCampo(String)}, de modo que
+ * "evento_id", "Evento ID" y "eventoId" se leen igual.
+ */
+public interface LectorRegistros extends Closeable {
+
+    /**
+     * Lee el siguiente registro.
+     * @return Valores del registro por nombre de campo normalizado, o null al llegar al final
+     * @throws IOException si no se puede leer o el formato del archivo es inválido
+     */
+    Map<String, String> siguiente() throws IOException;
+
+    /**
+     * @return Número (desde 1) del último registro leído, sin contar encabezados
+     */
+    long getNumeroRegistro();
+
+    /**
+     * Abre un archivo eligiendo el formato según su extensión (.csv o .json), en UTF-8.
+     * @param archivo Archivo a leer
+     * @return Lector del archivo
+     * @throws IOException si no se puede abrir
+     * @throws IllegalArgumentException si la extensión no corresponde a un formato conocido
+     */
+    static LectorRegistros abrir(Path archivo) throws IOException {
+        String nombre = archivo.getFileName().toString().toLowerCase(Locale.ROOT);
+        if (!nombre.endsWith(".csv") && !nombre.endsWith(".json")) {
+            throw new IllegalArgumentException("Formato no soportado: se esperaba un archivo .csv o .json");
+        }
+        Reader lector = Files.newBufferedReader(archivo, StandardCharsets.UTF_8);
+        return nombre.endsWith(".csv") ? new LectorCsv(lector) : new LectorJson(lector);
+    }
+
+    /**
+     * Normaliza un nombre de campo: sin acentos, en minúsculas y sin espacios, guiones ni guiones bajos.
+     * @param campo Nombre de campo tal como aparece en el archivo
+     * @return Nombre normalizado
+     */
+    static String normalizarCampo(String campo) {
+        String sinAcentos = Normalizer.normalize(campo.trim(), Normalizer.Form.NFD).replaceAll("\\p{M}", "");
+        return sinAcentos.toLowerCase(Locale.ROOT).replaceAll("[\\s_\\-]", "");
+    }
+}
@@ -0,0 +1,543 @@
+package com.gestioneventos.util;
+
+import com.gestioneventos.repositorio.Pagina;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.Query;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.hibernate.SessionEventListener;
+
+import javax.management.JMException;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import java.lang.management.ManagementFactory;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.Stream;
+
+/**
+ * Métricas de latencia por método de los servicios y de los repositorios: cantidad de
+ * llamadas, histograma de duraciones (percentiles con HdrHistogram), tiempo propio, filas
+ * y tiempo con un EntityManager abierto. Se consultan desde la ventana de diagnóstico o
+ * por JMX ({@value #NOMBRE_JMX}).
+ * <p>
+ * La medición está apagada por defecto y se enciende con
+ * {@code -Dgestioneventos.metricas=true}, desde la ventana de diagnóstico o por JMX.
+ * Apagada, cada método instrumentado solo lee un campo volatile.
+ * <p>
+ * Los métodos de los servicios envuelven su cuerpo; el nombre de la operación se toma del
+ * método que llama, así que no se repite en el código:
+ * <pre>{@code
+ * public List<Persona> buscarTodas() {
+ *     return Metricas.medir(() -> {
+ *         return indicePersonas.todas();
+ *     });
+ * }
+ * }</pre>
+ * Los repositorios no se tocan método por método: abren sus EntityManager con
+ * {@link #abrirEntityManager(Class)}, que devuelve uno decorado que mide desde que se abre
+ * hasta que se cierra y cuenta las filas leídas y escritas. La operación lleva el nombre
+ * del método de repositorio más externo de la pila (por ejemplo
+ * "RepositorioParticipacion.buscarPorEventoId", aunque la consulta la haga
+ * {@code ejecutarConsulta} de la clase base); si el método abre más de un EntityManager,
+ * cada uno cuenta como una llamada. Las filas de lo que se hace directamente con la sesión
+ * de Hibernate (recorridos con cursor, COPY) no se cuentan.
+ * <p>
+ * Las operaciones anidadas en el mismo hilo (servicio que llama a un repositorio o a otro
+ * servicio) se registran cada una con su nombre. El tiempo total de la exterior las incluye
+ * y su tiempo propio no. El tiempo con EntityManager abierto de una operación incluye el de
+ * sus anidadas.
+ */
+public final class Metricas {
+
+    /** Propiedad de sistema que enciende la medición al iniciar. */
+    public static final String PROPIEDAD = "gestioneventos.metricas";
+
+    /** Nombre con el que se publican las métricas por JMX. */
+    public static final String NOMBRE_JMX = "com.gestioneventos:type=Metricas";
+
+    /** Operación en la que se registra cuánto tiempo estuvo abierto cada EntityManager. */
+    public static final String OPERACION_ENTITY_MANAGER = "EntityManager";
+
+    // Dígitos significativos de los histogramas: error relativo menor al 0,1 %
+    private static final int DIGITOS_SIGNIFICATIVOS = 3;
+
+    private static final double NANOS_POR_MILISEGUNDO = TimeUnit.MILLISECONDS.toNanos(1);
+
+    private static volatile boolean activas = Boolean.getBoolean(PROPIEDAD);
+
+    private static final ConcurrentMap<String, EstadisticaOperacion> OPERACIONES = new ConcurrentHashMap<>();
+
+    // Medición más interna en curso del hilo: recibe el tiempo de EntityManager y de las anidadas
+    private static final ThreadLocal<Medicion> ACTUAL = new ThreadLocal<>();
+
+    // Nombre de la operación de cada cuerpo medido: cada lambda tiene su propia clase, así que
+    // la pila se recorre una sola vez por método
+    private static final ClassValue<String> NOMBRES = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> cuerpo) {
+            return StackWalker.getInstance().walk(marcos -> marcos
+                    .filter(marco -> !marco.getClassName().startsWith(Metricas.class.getName())
+                            && !marco.getClassName().startsWith("java."))
+                    .findFirst()
+                    .map(marco -> simple(marco.getClassName()) + "." + metodo(marco.getMethodName()))
+                    .orElse(cuerpo.getName()));
+        }
+    };
+
+    /**
+     * Resumen de las mediciones de una operación. Los tiempos están en milisegundos.
+     * @param operacion Clase y método medidos (por ejemplo "ServicioPersona.buscarTodas")
+     * @param llamadas Cantidad de llamadas
+     * @param filas Filas devueltas en total (0 si la operación no devuelve filas); en los
+     *              repositorios, filas leídas y escritas por el EntityManager
+     * @param totalMs Tiempo total
+     * @param propioMs Tiempo total sin el de las operaciones anidadas medidas aparte
+     * @param mediaMs Duración media
+     * @param p50Ms Mediana
+     * @param p90Ms Percentil 90
+     * @param p99Ms Percentil 99
+     * @param maximoMs Duración máxima
+     * @param entityManagerMs Tiempo total con un EntityManager abierto durante la operación
+     */
+    public record ResumenOperacion(String operacion, long llamadas, long filas, double totalMs, double propioMs,
+                                   double mediaMs, double p50Ms, double p90Ms, double p99Ms, double maximoMs,
+                                   double entityManagerMs) {
+
+        @Override
+        public String toString() {
+            return String.format("%s: %d llamadas, %d filas, total %.1f ms (propio %.1f ms), media %.2f ms, "
+                            + "p50 %.2f ms, p90 %.2f ms, p99 %.2f ms, máx %.2f ms, EntityManager %.1f ms",
+                    operacion, llamadas, filas, totalMs, propioMs, mediaMs, p50Ms, p90Ms, p99Ms, maximoMs,
+                    entityManagerMs);
+        }
+    }
+
+    /**
+     * Operación medida: el cuerpo del método del servicio.
+     * @param <T> Tipo del resultado
+     * @param <E> Excepción que puede lanzar (RuntimeException si no lanza excepciones verificadas)
+     */
+    @FunctionalInterface
+    public interface Operacion<T, E extends Exception> {
+        T ejecutar() throws E;
+    }
+
+    /**
+     * Medición en curso de una operación, en el hilo que la ejecuta.
+     */
+    private static final class Medicion {
+
+        private final String nombre;
+        private final Medicion exterior;
+        private final long inicio = System.nanoTime();
+        private long nanosAnidadas;
+        private long nanosEntityManager;
+        private long filas;
+        private boolean terminada;
+
+        private Medicion(String nombre, Medicion exterior) {
+            this.nombre = nombre;
+            this.exterior = exterior;
+        }
+    }
+
+    /**
+     * Oyente de sesiones de Hibernate que mide cuánto tiempo está abierto cada EntityManager
+     * (se registra con {@code hibernate.session.events.auto} en persistence.xml).
+     */
+    public static class OyenteSesion implements SessionEventListener {
+
+        // SessionEventListener es Serializable
+        private static final long serialVersionUID = 1L;
+
+        private final long apertura = activas ? System.nanoTime() : 0;
+
+        @Override
+        public void end() {
+            if (apertura != 0) {
+                registrarEntityManager(System.nanoTime() - apertura);
+            }
+        }
+    }
+
+    /**
+     * Interfaz de gestión publicada por JMX.
+     */
+    public interface MetricasMXBean {
+
+        boolean isActivas();
+
+        void setActivas(boolean activas);
+
+        List<ResumenOperacion> getOperaciones();
+
+        void reiniciar();
+    }
+
+    private static final class EstadisticaOperacion {
+
+        private final String nombre;
+        private final ConcurrentHistogram duraciones = new ConcurrentHistogram(DIGITOS_SIGNIFICATIVOS);
+        private final LongAdder filas = new LongAdder();
+        private final LongAdder nanosTotales = new LongAdder();
+        private final LongAdder nanosPropios = new LongAdder();
+        private final LongAdder nanosEntityManager = new LongAdder();
+
+        private EstadisticaOperacion(String nombre) {
+            this.nombre = nombre;
+        }
+
+        private void registrar(long duracion, long propios, long filas, long nanosEntityManager) {
+            duraciones.recordValue(Math.max(duracion, 1));
+            // El histograma redondea: los totales se suman aparte para comparar total y propio
+            this.nanosTotales.add(duracion);
+            this.nanosPropios.add(propios);
+            this.filas.add(filas);
+            this.nanosEntityManager.add(nanosEntityManager);
+        }
+
+        private ResumenOperacion resumir() {
+            Histogram copia = duraciones.copy();
+            long llamadas = copia.getTotalCount();
+            return new ResumenOperacion(nombre, llamadas, filas.sum(),
+                    milisegundos(nanosTotales.sum()), milisegundos(nanosPropios.sum()),
+                    milisegundos(copia.getMean()),
+                    milisegundos(copia.getValueAtPercentile(50)), milisegundos(copia.getValueAtPercentile(90)),
+                    milisegundos(copia.getValueAtPercentile(99)), milisegundos(copia.getMaxValue()),
+                    milisegundos(nanosEntityManager.sum()));
+        }
+    }
+
+    /**
+     * Ejecuta el cuerpo de un método y lo mide si las métricas están encendidas. La operación
+     * se registra con la clase y el nombre del método que llama.
+     * @param operacion Cuerpo del método
+     * @param <T> Tipo del resultado
+     * @param <E> Excepción verificada que puede lanzar la operación
+     * @return El resultado de la operación
+     * @throws E La excepción de la operación (la llamada fallida también se mide)
+     */
+    public static <T, E extends Exception> T medir(Operacion<T, E> operacion) throws E {
+        if (!activas) {
+            return operacion.ejecutar();
+        }
+        Medicion medicion = iniciar(NOMBRES.get(operacion.getClass()));
+        if (medicion == null) {
+            return operacion.ejecutar();
+        }
+        T resultado = null;
+        try {
+            resultado = operacion.ejecutar();
+            return resultado;
+        } finally {
+            medicion.filas = filas(resultado);
+            terminar(medicion);
+        }
+    }
+
+    /**
+     * Abre un EntityManager para una operación de repositorio. Con las métricas encendidas
+     * lo devuelve decorado: la operación se mide hasta que se cierra, con el nombre del
+     * método más externo de la clase del repositorio que está en la pila.
+     * @param repositorio Clase del repositorio (normalmente {@code getClass()})
+     * @return Un EntityManager nuevo
+     */
+    public static EntityManager abrirEntityManager(Class<?> repositorio) {
+        if (!activas) {
+            return JPAUtil.getEntityManager();
+        }
+        Medicion medicion = iniciar(repositorio.getSimpleName() + "." + metodoExterno(repositorio));
+        if (medicion == null) {
+            return JPAUtil.getEntityManager();
+        }
+        try {
+            return envolver(EntityManager.class, new EntityManagerMedido(JPAUtil.getEntityManager(), medicion));
+        } catch (RuntimeException e) {
+            terminar(medicion);
+            throw e;
+        }
+    }
+
+    /**
+     * @return true si la medición está encendida
+     */
+    public static boolean isActivas() {
+        return activas;
+    }
+
+    /**
+     * Enciende o apaga la medición. Las mediciones ya registradas se conservan.
+     * @param activas true para medir
+     */
+    public static void setActivas(boolean activas) {
+        Metricas.activas = activas;
+    }
+
+    /**
+     * Obtiene el resumen de todas las operaciones medidas, de mayor a menor tiempo total.
+     * @return Una entrada por operación
+     */
+    public static List<ResumenOperacion> obtenerResumen() {
+        List<ResumenOperacion> resumen = new ArrayList<>(OPERACIONES.size());
+        for (EstadisticaOperacion operacion : OPERACIONES.values()) {
+            resumen.add(operacion.resumir());
+        }
+        resumen.sort(Comparator.comparingDouble(ResumenOperacion::totalMs).reversed());
+        return resumen;
+    }
+
+    /**
+     * Descarta todas las mediciones registradas.
+     */
+    public static void reiniciar() {
+        OPERACIONES.clear();
+    }
+
+    /**
+     * Publica las métricas por JMX con el nombre {@value #NOMBRE_JMX}. Si ya estaban
+     * publicadas no hace nada.
+     */
+    public static void registrarEnJmx() {
+        try {
+            MBeanServer servidor = ManagementFactory.getPlatformMBeanServer();
+            ObjectName nombre = new ObjectName(NOMBRE_JMX);
+            if (!servidor.isRegistered(nombre)) {
+                servidor.registerMBean(new MetricasMXBean() {
+                    @Override
+                    public boolean isActivas() {
+                        return Metricas.isActivas();
+                    }
+
+                    @Override
+                    public void setActivas(boolean activas) {
+                        Metricas.setActivas(activas);
+                    }
+
+                    @Override
+                    public List<ResumenOperacion> getOperaciones() {
+                        return obtenerResumen();
+                    }
+
+                    @Override
+                    public void reiniciar() {
+                        Metricas.reiniciar();
+                    }
+                }, nombre);
+            }
+        } catch (JMException e) {
+            // Sin JMX la aplicación funciona igual: las métricas siguen en la ventana de diagnóstico
+            System.err.println("No se pudieron publicar las métricas por JMX: " + e.getMessage());
+        }
+    }
+
+    /**
+     * Comienza a medir una operación dentro de la que esté en curso en el hilo.
+     * @return La medición, o null si la operación en curso es la misma (una llamada recursiva
+     *         o un método que delega en otro del mismo nombre queda dentro de la exterior)
+     */
+    private static Medicion iniciar(String nombre) {
+        Medicion exterior = ACTUAL.get();
+        if (exterior != null && exterior.nombre.equals(nombre)) {
+            return null;
+        }
+        Medicion medicion = new Medicion(nombre, exterior);
+        ACTUAL.set(medicion);
+        return medicion;
+    }
+
+    /**
+     * Registra una medición y devuelve el hilo a la operación exterior, que suma la
+     * duración a sus anidadas y el tiempo de EntityManager al suyo.
+     */
+    private static void terminar(Medicion medicion) {
+        if (medicion.terminada) {
+            return;
+        }
+        medicion.terminada = true;
+        long duracion = System.nanoTime() - medicion.inicio;
+        Medicion exterior = medicion.exterior;
+        if (exterior == null) {
+            ACTUAL.remove();
+        } else {
+            ACTUAL.set(exterior);
+            exterior.nanosAnidadas += duracion;
+            exterior.nanosEntityManager += medicion.nanosEntityManager;
+        }
+        estadistica(medicion.nombre).registrar(duracion, Math.max(duracion - medicion.nanosAnidadas, 0),
+                medicion.filas, medicion.nanosEntityManager);
+    }
+
+    /**
+     * Registra el tiempo que estuvo abierto un EntityManager, en su propia operación y en
+     * la medición en curso del hilo.
+     */
+    private static void registrarEntityManager(long duracion) {
+        Medicion actual = ACTUAL.get();
+        if (actual != null) {
+            actual.nanosEntityManager += duracion;
+        }
+        estadistica(OPERACION_ENTITY_MANAGER).registrar(duracion, duracion, 0, duracion);
+    }
+
+    /**
+     * Busca en la pila el método más externo de la clase (o de sus superclases) que lleva
+     * hasta aquí: el que llamó el servicio. Los cuerpos de lambdas cuentan como su método.
+     */
+    private static String metodoExterno(Class<?> clase) {
+        return StackWalker.getInstance(StackWalker.Option.RETAIN_CLASS_REFERENCE).walk(marcos -> {
+            String metodo = null;
+            for (StackWalker.StackFrame marco : (Iterable<StackWalker.StackFrame>) marcos::iterator) {
+                Class<?> declarante = marco.getDeclaringClass();
+                if (declarante == Metricas.class || declarante.isHidden()) {
+                    continue;
+                }
+                if (!declarante.isAssignableFrom(clase)) {
+                    if (metodo != null) {
+                        break;
+                    }
+                    continue;
+                }
+                metodo = metodo(marco.getMethodName());
+            }
+            return metodo != null ? metodo : "desconocido";
+        });
+    }
+
+    /**
+     * Nombre del método de un marco: el cuerpo de una lambda (lambda$<método>$<n>) cuenta
+     * como el método que la declara.
+     */
+    private static String metodo(String nombre) {
+        if (nombre.startsWith("lambda$")) {
+            return nombre.substring("lambda$".length(), nombre.lastIndexOf('$'));
+        }
+        return nombre;
+    }
+
+    private static String simple(String clase) {
+        return clase.substring(clase.lastIndexOf('.') + 1);
+    }
+
+    private static <T> T envolver(Class<T> tipo, InvocationHandler manejador) {
+        return tipo.cast(Proxy.newProxyInstance(Metricas.class.getClassLoader(), new Class<?>[] { tipo }, manejador));
+    }
+
+    /**
+     * Invoca el método sobre el objeto real, devolviendo la excepción original en lugar
+     * de la InvocationTargetException de la reflexión.
+     */
+    private static Object delegar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * EntityManager de una operación de repositorio medida: cuenta las entidades leídas y
+     * escritas, devuelve consultas que cuentan sus filas y termina la medición al cerrarse.
+     */
+    private record EntityManagerMedido(EntityManager em, Medicion medicion) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+            if (nombre.equals("close")) {
+                try {
+                    return delegar(em, metodo, args);
+                } finally {
+                    terminar(medicion);
+                }
+            }
+            Object resultado = delegar(em, metodo, args);
+            switch (nombre) {
+                case "persist", "merge", "remove" -> medicion.filas++;
+                case "find" -> medicion.filas += resultado != null ? 1 : 0;
+                case "createQuery", "createNamedQuery", "createNativeQuery" -> {
+                    return envolver(metodo.getReturnType(), new ConsultaMedida((Query) resultado, medicion));
+                }
+                default -> {
+                    // Los demás métodos no leen ni escriben filas
+                }
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Consulta de una operación medida: suma a la medición las filas que devuelve o modifica.
+     */
+    private record ConsultaMedida(Query consulta, Medicion medicion) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = delegar(consulta, metodo, args);
+            switch (metodo.getName()) {
+                case "getResultList" -> medicion.filas += ((List<?>) resultado).size();
+                case "getSingleResult", "getSingleResultOrNull" -> medicion.filas += resultado != null ? 1 : 0;
+                case "getResultStream" -> {
+                    return ((Stream<?>) resultado).peek(fila -> medicion.filas++);
+                }
+                case "executeUpdate" -> medicion.filas += (Integer) resultado;
+                case "unwrap" -> {
+                    // Quien pide la implementación de Hibernate la recibe sin decorar
+                    return resultado;
+                }
+                default -> {
+                    // Los métodos de configuración devuelven la misma consulta para encadenar llamadas
+                    if (resultado == consulta) {
+                        return proxy;
+                    }
+                }
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Filas de un resultado: elementos de una colección, un mapa o una página, 1 si es un
+     * Optional con valor y 0 en cualquier otro caso.
+     */
+    private static long filas(Object resultado) {
+        if (resultado instanceof Collection<?> coleccion) {
+            return coleccion.size();
+        }
+        if (resultado instanceof Map<?, ?> mapa) {
+            return mapa.size();
+        }
+        if (resultado instanceof Optional<?> opcional) {
+            return opcional.isPresent() ? 1 : 0;
+        }
+        if (resultado instanceof Pagina<?> pagina) {
+            return pagina.getElementos().size();
+        }
+        return 0;
+    }
+
+    private static EstadisticaOperacion estadistica(String nombre) {
+        EstadisticaOperacion operacion = OPERACIONES.get(nombre);
+        return operacion != null ? operacion : OPERACIONES.computeIfAbsent(nombre, EstadisticaOperacion::new);
+    }
+
+    private static double milisegundos(double nanos) {
+        return nanos / NANOS_POR_MILISEGUNDO;
+    }
+
+    private Metricas() {
+        // Clase utilitaria
+    }
+}
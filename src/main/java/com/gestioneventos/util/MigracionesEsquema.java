@@ -0,0 +1,325 @@
+package com.gestioneventos.util;
+
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.engine.jdbc.connections.spi.ConnectionProvider;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.DatabaseMetaData;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.zip.CRC32;
+
+/**
+ * Migraciones versionadas del esquema de la base de datos. Reemplazan a
+ * {@code hibernate.hbm2ddl.auto=update}, que al iniciar leía los metadatos de todas las
+ * tablas para compararlos con las entidades.
+ * <p>
+ * Cada migración es un script SQL en {@value #CARPETA} llamado {@code V<n>__<descripcion>.sql}
+ * y listado en {@link #SCRIPTS}. Las aplicadas se registran en la tabla {@value #TABLA} con
+ * un checksum del script: si un script ya aplicado cambia, la aplicación no inicia (los
+ * cambios van en una migración nueva). Con el esquema al día, iniciar cuesta una consulta.
+ * <p>
+ * Una base creada antes de las migraciones (por hbm2ddl) se toma como línea base: V1 se
+ * registra sin ejecutarse y las secuencias de ids se crean si faltan y se adelantan más
+ * allá del id máximo de su tabla, por si la base venía de ids IDENTITY.
+ * <p>
+ * Los scripts son sentencias separadas por ';' al final de la línea, con comentarios
+ * {@code --} en líneas propias. Se escriben para PostgreSQL y deben funcionar también en
+ * H2 en modo PostgreSQL (benchmarks). Con {@code gestioneventos.migraciones=false} no se
+ * aplica nada (por ejemplo, si el esquema lo crea hbm2ddl en una base de prueba).
+ */
+public final class MigracionesEsquema {
+
+    /** Propiedad que desactiva las migraciones con el valor false. */
+    public static final String PROPIEDAD = "gestioneventos.migraciones";
+
+    private static final String CARPETA = "/db/migraciones/";
+
+    // En orden de versión; agregar aquí cada script nuevo
+    private static final List<String> SCRIPTS = List.of(
+        "V1__esquema_inicial.sql",
+        "V2__indices_consultas.sql",
+        "V3__unicidad_participaciones.sql"
+    );
+
+    private static final String TABLA = "esquema_version";
+
+    // Si existe, la base ya tenía el esquema de V1 (creado por hbm2ddl)
+    private static final String TABLA_ESQUEMA_PREVIO = "eventos";
+
+    // Secuencias de ids con su tabla; el allocationSize de las entidades es TAMANIO_BLOQUE_IDS
+    private static final Map<String, String> SECUENCIAS = Map.of(
+        "eventos_seq", "eventos",
+        "personas_seq", "personas",
+        "participaciones_seq", "participaciones"
+    );
+    private static final int TAMANIO_BLOQUE_IDS = 50;
+
+    /**
+     * Un script de migración.
+     * @param version Número de versión
+     * @param descripcion Descripción tomada del nombre del archivo
+     * @param checksum CRC32 del contenido
+     * @param sentencias Sentencias SQL del script
+     */
+    private record Migracion(int version, String descripcion, int checksum, List<String> sentencias) {
+    }
+
+    /**
+     * Aplica las migraciones pendientes. Se llama al crear la fábrica de EntityManager,
+     * antes de que la aplicación la use.
+     * @param fabrica Fábrica recién creada
+     * @throws IllegalStateException si una migración falla o un script aplicado cambió
+     */
+    public static void aplicar(EntityManagerFactory fabrica) {
+        Object activas = fabrica.getProperties().get(PROPIEDAD);
+        if (activas != null && !Boolean.parseBoolean(activas.toString().trim())) {
+            return;
+        }
+        List<Migracion> migraciones = cargar();
+        ConnectionProvider proveedor = fabrica.unwrap(SessionFactoryImplementor.class)
+                .getServiceRegistry().getService(ConnectionProvider.class);
+        try {
+            Connection conexion = proveedor.getConnection();
+            try {
+                aplicar(conexion, migraciones);
+            } finally {
+                proveedor.closeConnection(conexion);
+            }
+        } catch (SQLException e) {
+            throw new IllegalStateException("No se pudo migrar el esquema de la base de datos: " + e.getMessage(), e);
+        }
+    }
+
+    private static void aplicar(Connection conexion, List<Migracion> migraciones) throws SQLException {
+        conexion.setAutoCommit(true);
+        Map<Integer, Integer> aplicadas = leerAplicadas(conexion);
+        if (aplicadas == null) {
+            aplicadas = new HashMap<>();
+            Migracion inicial = migraciones.get(0);
+            if (iniciarRegistro(conexion, inicial)) {
+                aplicadas.put(inicial.version(), inicial.checksum());
+                System.out.println("Esquema existente registrado como línea base (versión " + inicial.version() + ")");
+            }
+        }
+
+        int ultima = 0;
+        for (Migracion migracion : migraciones) {
+            Integer checksum = aplicadas.get(migracion.version());
+            if (checksum == null) {
+                ejecutar(conexion, migracion);
+            } else if (checksum != migracion.checksum()) {
+                throw new IllegalStateException("La migración V" + migracion.version() + " (" + migracion.descripcion()
+                        + ") cambió después de aplicarse; los cambios al esquema van en una migración nueva");
+            }
+            ultima = migracion.version();
+        }
+        for (int version : aplicadas.keySet()) {
+            if (version > ultima) {
+                System.err.println("La base de datos tiene la migración V" + version
+                        + ", más nueva que esta versión de la aplicación");
+            }
+        }
+    }
+
+    /**
+     * Lee las versiones aplicadas y sus checksums.
+     * @return Checksum por versión, o null si la tabla de versiones no existe
+     */
+    private static Map<Integer, Integer> leerAplicadas(Connection conexion) throws SQLException {
+        Map<Integer, Integer> aplicadas = new HashMap<>();
+        try (Statement st = conexion.createStatement();
+             ResultSet rs = st.executeQuery("SELECT version, checksum FROM " + TABLA)) {
+            while (rs.next()) {
+                aplicadas.put(rs.getInt(1), rs.getInt(2));
+            }
+            return aplicadas;
+        } catch (SQLException e) {
+            // Solo se busca en los metadatos cuando la consulta falla (la primera vez)
+            if (existeTabla(conexion, TABLA)) {
+                throw e;
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Crea la tabla de versiones y, si la base ya tenía el esquema de la migración inicial,
+     * la registra como línea base con las secuencias de ids creadas y alineadas. Todo en una
+     * sola transacción, como {@link #ejecutar}: si algo falla no queda una línea base a medias
+     * y el próximo inicio vuelve a intentarlo.
+     * @param inicial Migración inicial
+     * @return true si se registró la línea base
+     */
+    private static boolean iniciarRegistro(Connection conexion, Migracion inicial) throws SQLException {
+        conexion.setAutoCommit(false);
+        try {
+            boolean lineaBase = existeTabla(conexion, TABLA_ESQUEMA_PREVIO);
+            if (lineaBase) {
+                crearSecuencias(conexion);
+                alinearSecuencias(conexion);
+            }
+            crearTablaVersiones(conexion);
+            if (lineaBase) {
+                registrar(conexion, inicial, 0);
+            }
+            conexion.commit();
+            return lineaBase;
+        } catch (SQLException | RuntimeException e) {
+            conexion.rollback();
+            throw e;
+        } finally {
+            conexion.setAutoCommit(true);
+        }
+    }
+
+    private static void crearTablaVersiones(Connection conexion) throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            st.execute("CREATE TABLE " + TABLA + " (" +
+                    "version integer NOT NULL PRIMARY KEY, " +
+                    "descripcion varchar(200) NOT NULL, " +
+                    "checksum integer NOT NULL, " +
+                    "aplicada timestamp NOT NULL, " +
+                    "duracion_ms bigint NOT NULL)");
+        }
+    }
+
+    private static boolean existeTabla(Connection conexion, String tabla) throws SQLException {
+        DatabaseMetaData metadatos = conexion.getMetaData();
+        String nombre = metadatos.storesUpperCaseIdentifiers() ? tabla.toUpperCase() : tabla;
+        try (ResultSet rs = metadatos.getTables(conexion.getCatalog(), conexion.getSchema(), nombre,
+                new String[] { "TABLE" })) {
+            return rs.next();
+        }
+    }
+
+    /**
+     * Ejecuta una migración y la registra en una sola transacción (en PostgreSQL el DDL
+     * también se deshace si algo falla).
+     */
+    private static void ejecutar(Connection conexion, Migracion migracion) throws SQLException {
+        long inicio = System.nanoTime();
+        conexion.setAutoCommit(false);
+        try {
+            try (Statement st = conexion.createStatement()) {
+                for (String sentencia : migracion.sentencias()) {
+                    st.execute(sentencia);
+                }
+            }
+            registrar(conexion, migracion, (System.nanoTime() - inicio) / 1_000_000);
+            conexion.commit();
+        } catch (SQLException | RuntimeException e) {
+            conexion.rollback();
+            throw e;
+        } finally {
+            conexion.setAutoCommit(true);
+        }
+        System.out.println("Migración aplicada: V" + migracion.version() + " " + migracion.descripcion());
+    }
+
+    private static void registrar(Connection conexion, Migracion migracion, long duracionMs) throws SQLException {
+        try (PreparedStatement ps = conexion.prepareStatement("INSERT INTO " + TABLA
+                + " (version, descripcion, checksum, aplicada, duracion_ms) VALUES (?, ?, ?, ?, ?)")) {
+            ps.setInt(1, migracion.version());
+            ps.setString(2, migracion.descripcion());
+            ps.setInt(3, migracion.checksum());
+            ps.setTimestamp(4, Timestamp.valueOf(LocalDateTime.now()));
+            ps.setLong(5, duracionMs);
+            ps.executeUpdate();
+        }
+    }
+
+    /**
+     * Crea las secuencias de ids que falten, como en la migración inicial: una base de ids
+     * IDENTITY no las tiene.
+     */
+    private static void crearSecuencias(Connection conexion) throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            for (String secuencia : SECUENCIAS.keySet()) {
+                st.execute("CREATE SEQUENCE IF NOT EXISTS " + secuencia + " START WITH 1 INCREMENT BY " + TAMANIO_BLOQUE_IDS);
+            }
+        }
+    }
+
+    /**
+     * Adelanta cada secuencia que esté por detrás del id máximo de su tabla. Con el
+     * optimizador pooled de Hibernate, el valor v de la secuencia reserva los ids
+     * v - 49 a v, así que la secuencia se reinicia en máximo + 50.
+     */
+    private static void alinearSecuencias(Connection conexion) throws SQLException {
+        try (Statement st = conexion.createStatement()) {
+            for (Map.Entry<String, String> entrada : SECUENCIAS.entrySet()) {
+                long maximo = valor(st, "SELECT COALESCE(MAX(id), 0) FROM " + entrada.getValue());
+                if (maximo > 0 && valor(st, "SELECT nextval('" + entrada.getKey() + "')")
+                        - TAMANIO_BLOQUE_IDS < maximo) {
+                    st.execute("ALTER SEQUENCE " + entrada.getKey() + " RESTART WITH " + (maximo + TAMANIO_BLOQUE_IDS));
+                    System.out.println("Secuencia " + entrada.getKey() + " adelantada después del id " + maximo);
+                }
+            }
+        }
+    }
+
+    private static long valor(Statement st, String consulta) throws SQLException {
+        try (ResultSet rs = st.executeQuery(consulta)) {
+            rs.next();
+            return rs.getLong(1);
+        }
+    }
+
+    private static List<Migracion> cargar() {
+        List<Migracion> migraciones = new ArrayList<>(SCRIPTS.size());
+        for (String script : SCRIPTS) {
+            String texto;
+            try (InputStream entrada = MigracionesEsquema.class.getResourceAsStream(CARPETA + script)) {
+                if (entrada == null) {
+                    throw new IllegalStateException("No se encontró la migración " + CARPETA + script);
+                }
+                texto = new String(entrada.readAllBytes(), StandardCharsets.UTF_8).replace("\r", "");
+            } catch (IOException e) {
+                throw new IllegalStateException("No se pudo leer la migración " + script, e);
+            }
+
+            // V<n>__<descripcion>.sql
+            int separador = script.indexOf("__");
+            int version = Integer.parseInt(script.substring(1, separador));
+            String descripcion = script.substring(separador + 2, script.length() - ".sql".length()).replace('_', ' ');
+
+            CRC32 crc = new CRC32();
+            crc.update(texto.getBytes(StandardCharsets.UTF_8));
+            migraciones.add(new Migracion(version, descripcion, (int) crc.getValue(), sentencias(texto)));
+        }
+        return migraciones;
+    }
+
+    private static List<String> sentencias(String texto) {
+        StringBuilder sinComentarios = new StringBuilder();
+        for (String linea : texto.split("\n")) {
+            if (!linea.trim().startsWith("--")) {
+                sinComentarios.append(linea).append('\n');
+            }
+        }
+        List<String> sentencias = new ArrayList<>();
+        for (String sentencia : sinComentarios.toString().split(";\\s*\n")) {
+            if (!sentencia.isBlank()) {
+                sentencias.add(sentencia.strip().replaceAll(";$", ""));
+            }
+        }
+        return sentencias;
+    }
+
+    private MigracionesEsquema() {
+        // Clase utilitaria
+    }
+}
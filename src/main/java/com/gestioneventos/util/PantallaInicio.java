@@ -0,0 +1,64 @@
+package com.gestioneventos.util;
+
+import javafx.animation.PauseTransition;
+import javafx.geometry.Insets;
+import javafx.geometry.Pos;
+import javafx.scene.Scene;
+import javafx.scene.control.Label;
+import javafx.scene.control.ProgressBar;
+import javafx.scene.layout.VBox;
+import javafx.stage.Stage;
+import javafx.stage.StageStyle;
+import javafx.util.Duration;
+
+/**
+ * Pantalla de inicio: una ventana sin bordes con el nombre de la aplicación y una barra
+ * de progreso, visible mientras se carga la ventana principal. Se arma en código (sin
+ * FXML) para que aparezca antes de cargar cualquier vista.
+ */
+public class PantallaInicio {
+
+    // Tiempo para que la pantalla llegue a dibujarse antes de ocupar el hilo de JavaFX
+    private static final Duration ESPERA_PRIMER_CUADRO = Duration.millis(50);
+
+    private final Stage ventana = new Stage(StageStyle.UNDECORATED);
+
+    /**
+     * Crea la pantalla (sin mostrarla). Debe llamarse desde el hilo de JavaFX.
+     * @param titulo Nombre de la aplicación
+     */
+    public PantallaInicio(String titulo) {
+        Label lblTitulo = new Label(titulo);
+        lblTitulo.setStyle("-fx-font-size: 20px; -fx-font-weight: bold; -fx-text-fill: #ffffff;");
+        Label lblDetalle = new Label("Iniciando...");
+        lblDetalle.setStyle("-fx-text-fill: #f0f4f8;");
+        ProgressBar barra = new ProgressBar(ProgressBar.INDETERMINATE_PROGRESS);
+        barra.setPrefWidth(300);
+
+        VBox contenido = new VBox(12, lblTitulo, barra, lblDetalle);
+        contenido.setAlignment(Pos.CENTER);
+        contenido.setPadding(new Insets(30, 40, 30, 40));
+        contenido.setStyle("-fx-background-color: #3a506b;");
+
+        ventana.setScene(new Scene(contenido));
+        ventana.centerOnScreen();
+    }
+
+    /**
+     * Muestra la pantalla y, una vez dibujada, ejecuta la carga indicada en el hilo de
+     * JavaFX; la pantalla se cierra al terminar la carga.
+     * @param carga Carga de la ventana principal
+     */
+    public void mostrarMientras(Runnable carga) {
+        ventana.show();
+        PauseTransition espera = new PauseTransition(ESPERA_PRIMER_CUADRO);
+        espera.setOnFinished(e -> {
+            try {
+                carga.run();
+            } finally {
+                ventana.hide();
+            }
+        });
+        espera.play();
+    }
+}
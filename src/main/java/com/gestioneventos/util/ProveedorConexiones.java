@@ -0,0 +1,163 @@
+package com.gestioneventos.util;
+
+import org.hibernate.HibernateException;
+import org.hibernate.hikaricp.internal.HikariCPConnectionProvider;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * Proveedor de conexiones de Hibernate: el pool de HikariCP, con la medición de cada
+ * sentencia para el {@link RegistroConsultasLentas}. Se configura en persistence.xml con
+ * {@code hibernate.connection.provider_class}.
+ * <p>
+ * Con el registro desactivado (umbral 0) las conexiones del pool se entregan sin envolver.
+ */
+public class ProveedorConexiones extends HikariCPConnectionProvider {
+
+    // HikariCPConnectionProvider es Serializable
+    private static final long serialVersionUID = 1L;
+
+    // Métodos de Statement que envían la sentencia a la base de datos
+    private static final Set<String> EJECUCIONES = Set.of("execute", "executeQuery", "executeUpdate",
+            "executeLargeUpdate", "executeBatch", "executeLargeBatch");
+
+    @Override
+    public void configure(Map<String, Object> propiedades) throws HibernateException {
+        super.configure(propiedades);
+        Object umbral = propiedades.get(RegistroConsultasLentas.PROPIEDAD_UMBRAL);
+        if (umbral != null) {
+            try {
+                RegistroConsultasLentas.setUmbralMs(Long.parseLong(umbral.toString().trim()));
+            } catch (IllegalArgumentException e) {
+                throw new HibernateException("Valor inválido para " + RegistroConsultasLentas.PROPIEDAD_UMBRAL
+                        + ": " + umbral, e);
+            }
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        Connection conexion = super.getConnection();
+        if (!RegistroConsultasLentas.isActivo()) {
+            return conexion;
+        }
+        return envolver(Connection.class, new ConexionMedida(conexion));
+    }
+
+    private static <T> T envolver(Class<T> tipo, InvocationHandler manejador) {
+        return tipo.cast(Proxy.newProxyInstance(ProveedorConexiones.class.getClassLoader(),
+                new Class<?>[] { tipo }, manejador));
+    }
+
+    /**
+     * Invoca el método sobre el objeto real, devolviendo la excepción original en lugar
+     * de la InvocationTargetException de la reflexión.
+     */
+    private static Object delegar(Object destino, Method metodo, Object[] args) throws Throwable {
+        try {
+            return metodo.invoke(destino, args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    /**
+     * Conexión que devuelve sentencias medidas.
+     */
+    private record ConexionMedida(Connection conexion) implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            Object resultado = delegar(conexion, metodo, args);
+            // prepareStatement, prepareCall y createStatement: el SQL es el primer argumento (si lo hay)
+            if (resultado instanceof Statement sentencia && metodo.getReturnType().isInterface()
+                    && Statement.class.isAssignableFrom(metodo.getReturnType())) {
+                String sql = args != null && args.length > 0 && args[0] instanceof String texto ? texto : null;
+                return envolver(metodo.getReturnType(), new SentenciaMedida(sentencia, sql));
+            }
+            return resultado;
+        }
+    }
+
+    /**
+     * Sentencia que mide sus ejecuciones y anota la forma de los parámetros asignados.
+     */
+    private static final class SentenciaMedida implements InvocationHandler {
+
+        private final Statement sentencia;
+        private final String sql;
+        private final List<String> parametros = new ArrayList<>();
+        private int lote;
+
+        private SentenciaMedida(Statement sentencia, String sql) {
+            this.sentencia = sentencia;
+            this.sql = sql;
+        }
+
+        @Override
+        public Object invoke(Object proxy, Method metodo, Object[] args) throws Throwable {
+            String nombre = metodo.getName();
+            if (EJECUCIONES.contains(nombre)) {
+                long inicio = System.nanoTime();
+                try {
+                    return delegar(sentencia, metodo, args);
+                } finally {
+                    long duracion = System.nanoTime() - inicio;
+                    // Un Statement simple recibe el SQL al ejecutar
+                    String ejecutada = args != null && args.length > 0 && args[0] instanceof String texto ? texto : sql;
+                    RegistroConsultasLentas.registrar(ejecutada, parametros, lote, duracion);
+                    // Una sentencia que se vuelve a ejecutar (por ejemplo, un lote tras otro)
+                    // no debe heredar los parámetros anotados de la ejecución anterior
+                    parametros.clear();
+                    if (nombre.endsWith("Batch")) {
+                        lote = 0;
+                    }
+                }
+            }
+
+            if (nombre.startsWith("set") && args != null && args.length >= 2 && args[0] instanceof Integer indice) {
+                anotarParametro(indice, nombre.equals("setNull") ? null : args[1]);
+            } else if (nombre.equals("clearParameters")) {
+                parametros.clear();
+            } else if (nombre.equals("addBatch")) {
+                lote++;
+            } else if (nombre.equals("clearBatch")) {
+                lote = 0;
+            }
+            return delegar(sentencia, metodo, args);
+        }
+
+        private void anotarParametro(int indice, Object valor) {
+            while (parametros.size() < indice) {
+                parametros.add("?");
+            }
+            parametros.set(indice - 1, forma(valor));
+        }
+
+        /**
+         * Tipo del valor y, para textos y binarios, su largo.
+         */
+        private static String forma(Object valor) {
+            if (valor == null) {
+                return "null";
+            }
+            if (valor instanceof String texto) {
+                return "String(" + texto.length() + ")";
+            }
+            if (valor instanceof byte[] bytes) {
+                return "byte[" + bytes.length + "]";
+            }
+            return valor.getClass().getSimpleName();
+        }
+    }
+}
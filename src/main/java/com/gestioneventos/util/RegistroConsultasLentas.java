@@ -0,0 +1,169 @@
+package com.gestioneventos.util;
+
+import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Registro de las sentencias SQL que tardan más que un umbral. Cada sentencia lenta se
+ * escribe en la salida de errores en una línea con formato clave=valor (fácil de filtrar
+ * con grep) y se guarda entre las {@value #CAPACIDAD} más recientes para la ventana de
+ * diagnóstico.
+ * <p>
+ * Se registra el SQL, la forma de los parámetros (tipo y largo de cada valor, nunca el
+ * valor: pueden ser datos personales), la duración de la ejecución y el método de
+ * repositorio que la originó. Las sentencias se miden en {@link ProveedorConexiones};
+ * el umbral se configura con {@value #PROPIEDAD_UMBRAL} (en milisegundos, 0 desactiva
+ * el registro) o desde la ventana de diagnóstico.
+ */
+public final class RegistroConsultasLentas {
+
+    /** Propiedad con el umbral en milisegundos. */
+    public static final String PROPIEDAD_UMBRAL = "gestioneventos.consultas.umbral_lento_ms";
+
+    /** Umbral usado si la propiedad no está definida. */
+    public static final long UMBRAL_POR_DEFECTO_MS = 200;
+
+    // Cantidad de sentencias lentas que se conservan para mostrar
+    private static final int CAPACIDAD = 200;
+
+    private static final String PAQUETE_APLICACION = "com.gestioneventos.";
+    private static final String PAQUETE_REPOSITORIOS = "com.gestioneventos.repositorio.";
+    private static final String PAQUETE_UTILIDADES = "com.gestioneventos.util.";
+
+    private static volatile long umbralNanos = TimeUnit.MILLISECONDS.toNanos(UMBRAL_POR_DEFECTO_MS);
+
+    // Más reciente primero
+    private static final Deque<ConsultaLenta> RECIENTES = new ArrayDeque<>(CAPACIDAD);
+
+    /**
+     * Una sentencia que superó el umbral.
+     * @param momento Cuándo terminó
+     * @param duracionMs Duración de la ejecución en milisegundos (sin contar la lectura de las filas)
+     * @param origen Método de repositorio que la ejecutó y quién lo llamó
+     * @param parametros Forma de los parámetros, por ejemplo [Long, String(8), null]
+     * @param lote Cantidad de filas del lote (1 si no se ejecutó en lote)
+     * @param sql Sentencia SQL
+     */
+    public record ConsultaLenta(LocalDateTime momento, double duracionMs, String origen, String parametros,
+                                int lote, String sql) {
+
+        @Override
+        public String toString() {
+            return String.format("consulta_lenta momento=%s duracion_ms=%.1f origen=%s lote=%d parametros=%s sql=\"%s\"",
+                    momento, duracionMs, origen, lote, parametros, sql.replaceAll("\\s+", " ").replace("\"", "'"));
+        }
+    }
+
+    /**
+     * @return true si el umbral está activo (mayor que cero)
+     */
+    public static boolean isActivo() {
+        return umbralNanos > 0;
+    }
+
+    /**
+     * @return Umbral en milisegundos (0 si el registro está desactivado)
+     */
+    public static long getUmbralMs() {
+        return TimeUnit.NANOSECONDS.toMillis(umbralNanos);
+    }
+
+    /**
+     * Cambia el umbral. Rige para las conexiones que se obtengan del pool desde ahora.
+     * @param umbralMs Umbral en milisegundos, o 0 para desactivar el registro
+     */
+    public static void setUmbralMs(long umbralMs) {
+        if (umbralMs < 0) {
+            throw new IllegalArgumentException("El umbral no puede ser negativo");
+        }
+        umbralNanos = TimeUnit.MILLISECONDS.toNanos(umbralMs);
+    }
+
+    /**
+     * @return Sentencias lentas registradas, de la más reciente a la más antigua
+     */
+    public static List<ConsultaLenta> obtenerRecientes() {
+        synchronized (RECIENTES) {
+            return new ArrayList<>(RECIENTES);
+        }
+    }
+
+    /**
+     * Descarta las sentencias lentas registradas.
+     */
+    public static void limpiar() {
+        synchronized (RECIENTES) {
+            RECIENTES.clear();
+        }
+    }
+
+    /**
+     * Registra una ejecución si superó el umbral.
+     * @param sql Sentencia ejecutada
+     * @param parametros Forma de cada parámetro
+     * @param lote Filas del lote
+     * @param duracion Duración en nanosegundos
+     */
+    static void registrar(String sql, List<String> parametros, int lote, long duracion) {
+        long umbral = umbralNanos;
+        if (umbral <= 0 || duracion < umbral) {
+            return;
+        }
+        ConsultaLenta consulta = new ConsultaLenta(LocalDateTime.now().truncatedTo(ChronoUnit.MILLIS),
+                duracion / 1_000_000.0, origen(), parametros.toString(), Math.max(lote, 1), sql == null ? "" : sql);
+        synchronized (RECIENTES) {
+            if (RECIENTES.size() == CAPACIDAD) {
+                RECIENTES.removeLast();
+            }
+            RECIENTES.addFirst(consulta);
+        }
+        System.err.println(consulta);
+    }
+
+    /**
+     * Busca en la pila del hilo el método de repositorio más externo (el que llamó el
+     * servicio) y quién lo llamó. Solo se calcula para las sentencias lentas.
+     */
+    private static String origen() {
+        return StackWalker.getInstance().walk(marcos -> {
+            StackWalker.StackFrame repositorio = null;
+            StackWalker.StackFrame primero = null;
+            for (StackWalker.StackFrame marco : (Iterable<StackWalker.StackFrame>) marcos::iterator) {
+                String clase = marco.getClassName();
+                if (clase.startsWith(PAQUETE_REPOSITORIOS)) {
+                    repositorio = marco;
+                } else if (clase.startsWith(PAQUETE_APLICACION) && !clase.startsWith(PAQUETE_UTILIDADES)) {
+                    if (repositorio != null) {
+                        return nombre(repositorio) + " (desde " + nombre(marco) + ")";
+                    }
+                    if (primero == null) {
+                        primero = marco;
+                    }
+                }
+            }
+            if (repositorio != null) {
+                return nombre(repositorio);
+            }
+            return primero != null ? nombre(primero) : "desconocido";
+        });
+    }
+
+    private static String nombre(StackWalker.StackFrame marco) {
+        String clase = marco.getClassName();
+        String metodo = marco.getMethodName();
+        // Cuerpo de un método medido con Metricas.medir: lambda$<método>$<n>
+        if (metodo.startsWith("lambda$")) {
+            metodo = metodo.substring("lambda$".length(), metodo.lastIndexOf('$'));
+        }
+        return clase.substring(clase.lastIndexOf('.') + 1) + "." + metodo;
+    }
+
+    private RegistroConsultasLentas() {
+        // Clase utilitaria
+    }
+}
@@ -0,0 +1,106 @@
+package com.gestioneventos.util;
+
+import javafx.fxml.FXMLLoader;
+import javafx.scene.Parent;
+import javafx.scene.Scene;
+import javafx.stage.Modality;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+
+import java.io.IOException;
+import java.net.URL;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Registro de vistas secundarias que se reutilizan entre aperturas. La primera vez que se
+ * pide una vista se carga su FXML (con sus hojas de estilo) y se crea su ventana; en las
+ * siguientes se devuelven la misma ventana y el mismo controlador, con sus servicios, sin
+ * volver a leer el FXML ni a armar la escena.
+ * <p>
+ * Antes de reutilizarla se llama a {@link Reutilizable#reiniciarVista()} para que el
+ * controlador vuelva al estado de recién cargado; después quien la abre le pasa los datos
+ * (por ejemplo, el evento a editar) como con una vista nueva. Al cerrarse, la ventana solo
+ * se oculta. Debe usarse desde el hilo de JavaFX.
+ */
+public final class RegistroVistas {
+
+    /**
+     * Controlador de una vista reutilizable.
+     */
+    public interface Reutilizable {
+
+        /**
+         * Deja la vista como recién cargada: sin datos de la apertura anterior, sin
+         * selección ni mensajes de error y con las cargas pendientes descartadas.
+         */
+        void reiniciarVista();
+    }
+
+    /**
+     * Vista cargada.
+     * @param ventana Ventana de la vista (la misma en cada apertura)
+     * @param controlador Controlador de la vista
+     * @param <C> Tipo del controlador
+     */
+    public record Vista<C>(Stage ventana, C controlador) {
+    }
+
+    private static final Map<String, Vista<?>> vistas = new HashMap<>();
+
+    /**
+     * Obtiene la vista de un FXML, cargándola la primera vez. La modalidad y la ventana
+     * propietaria solo se aplican al crearla, porque no se pueden cambiar después de mostrarla.
+     * @param ruta Ruta del FXML en los recursos
+     * @param modalidad Modalidad de la ventana, o null para una ventana no modal
+     * @param propietaria Ventana propietaria, o null
+     * @param <C> Tipo del controlador del FXML
+     * @return La vista, reiniciada si ya se había abierto antes
+     * @throws IOException si no se puede cargar el FXML
+     */
+    @SuppressWarnings("unchecked")
+    public static <C> Vista<C> obtener(String ruta, Modality modalidad, Window propietaria) throws IOException {
+        Vista<C> vista = (Vista<C>) vistas.get(ruta);
+        if (vista != null) {
+            if (vista.controlador() instanceof Reutilizable reutilizable) {
+                reutilizable.reiniciarVista();
+            }
+            return vista;
+        }
+
+        URL ubicacion = RegistroVistas.class.getResource(ruta);
+        if (ubicacion == null) {
+            throw new IOException("No se encontró la vista " + ruta);
+        }
+        FXMLLoader loader = new FXMLLoader(ubicacion);
+        Parent raiz = loader.load();
+
+        Stage ventana = new Stage();
+        ventana.setScene(new Scene(raiz));
+        if (modalidad != null) {
+            ventana.initModality(modalidad);
+        }
+        if (propietaria != null) {
+            ventana.initOwner(propietaria);
+        }
+        vista = new Vista<>(ventana, loader.getController());
+        vistas.put(ruta, vista);
+        return vista;
+    }
+
+    /**
+     * Indica si la vista de un FXML ya se cargó y su ventana está a la vista. Sirve para no
+     * pedir (y reiniciar) una vista que el usuario tiene abierta, por ejemplo cuando se abre
+     * desde el resultado de una carga en segundo plano.
+     * @param ruta Ruta del FXML en los recursos
+     * @return true si la ventana de la vista se está mostrando
+     */
+    public static boolean estaAbierta(String ruta) {
+        Vista<?> vista = vistas.get(ruta);
+        return vista != null && vista.ventana().isShowing();
+    }
+
+    private RegistroVistas() {
+        // Clase utilitaria
+    }
+}
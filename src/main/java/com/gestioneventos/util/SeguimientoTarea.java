@@ -0,0 +1,35 @@
+package com.gestioneventos.util;
+
+/**
+ * Seguimiento de una tarea larga ejecutada en segundo plano: recibe el avance y permite
+ * pedir su cancelación. Los servicios lo consultan periódicamente; la implementación
+ * debe poder usarse desde cualquier hilo.
+ */
+public interface SeguimientoTarea {
+
+    /**
+     * Seguimiento que ignora el avance y nunca cancela.
+     */
+    SeguimientoTarea NINGUNO = new SeguimientoTarea() {
+        @Override
+        public void avanzar(long realizados, long total) {
+        }
+
+        @Override
+        public boolean isCancelada() {
+            return false;
+        }
+    };
+
+    /**
+     * Informa el avance de la tarea.
+     * @param realizados Elementos procesados hasta el momento
+     * @param total Total estimado de elementos (puede quedar desactualizado si los datos cambian)
+     */
+    void avanzar(long realizados, long total);
+
+    /**
+     * @return true si se pidió cancelar la tarea
+     */
+    boolean isCancelada();
+}
@@ -0,0 +1,63 @@
+package com.gestioneventos.util;
+
+import javafx.stage.FileChooser;
+import javafx.stage.Window;
+
+import java.io.File;
+import java.util.Locale;
+
+/**
+ * Diálogos para elegir los archivos de importación y exportación.
+ */
+public final class SelectorArchivos {
+
+    /**
+     * Pide el archivo de destino de una exportación (CSV, JSON o XLSX). Si el usuario no
+     * escribe la extensión, se agrega la del formato elegido en el diálogo.
+     * @param propietario Ventana desde la que se abre el diálogo
+     * @param titulo Título del diálogo
+     * @param nombreSugerido Nombre de archivo propuesto, sin extensión
+     * @return Archivo elegido, o null si el usuario canceló
+     */
+    public static File elegirDestinoExportacion(Window propietario, String titulo, String nombreSugerido) {
+        FileChooser selector = new FileChooser();
+        selector.setTitle(titulo);
+        selector.setInitialFileName(nombreSugerido);
+        selector.getExtensionFilters().addAll(
+                new FileChooser.ExtensionFilter("CSV", "*.csv"),
+                new FileChooser.ExtensionFilter("JSON", "*.json"),
+                new FileChooser.ExtensionFilter("Excel", "*.xlsx"));
+        File archivo = selector.showSaveDialog(propietario);
+        if (archivo == null) {
+            return null;
+        }
+
+        String nombre = archivo.getName().toLowerCase(Locale.ROOT);
+        if (nombre.endsWith(".csv") || nombre.endsWith(".json") || nombre.endsWith(".xlsx")) {
+            return archivo;
+        }
+        FileChooser.ExtensionFilter filtro = selector.getSelectedExtensionFilter();
+        String extension = filtro == null ? ".csv" : filtro.getExtensions().get(0).substring(1);
+        return new File(archivo.getParentFile(), archivo.getName() + extension);
+    }
+
+    /**
+     * Pide el archivo a importar (CSV o JSON).
+     * @param propietario Ventana desde la que se abre el diálogo
+     * @param titulo Título del diálogo
+     * @return Archivo elegido, o null si el usuario canceló
+     */
+    public static File elegirOrigenImportacion(Window propietario, String titulo) {
+        FileChooser selector = new FileChooser();
+        selector.setTitle(titulo);
+        selector.getExtensionFilters().add(new FileChooser.ExtensionFilter("CSV o JSON", "*.csv", "*.json"));
+        return selector.showOpenDialog(propietario);
+    }
+
+    /**
+     * Constructor privado para prevenir instanciación de esta clase utilitaria.
+     */
+    private SelectorArchivos() {
+        // Constructor privado para evitar instanciación
+    }
+}
@@ -0,0 +1,286 @@
+package com.gestioneventos.util;
+
+import javafx.animation.KeyFrame;
+import javafx.animation.Timeline;
+import javafx.beans.property.ReadOnlyObjectWrapper;
+import javafx.collections.FXCollections;
+import javafx.geometry.Insets;
+import javafx.geometry.Orientation;
+import javafx.geometry.Pos;
+import javafx.scene.Node;
+import javafx.scene.Scene;
+import javafx.scene.control.Button;
+import javafx.scene.control.CheckBox;
+import javafx.scene.control.Label;
+import javafx.scene.control.SplitPane;
+import javafx.scene.control.Tab;
+import javafx.scene.control.TabPane;
+import javafx.scene.control.TableCell;
+import javafx.scene.control.TableColumn;
+import javafx.scene.control.TableView;
+import javafx.scene.control.TextField;
+import javafx.scene.layout.BorderPane;
+import javafx.scene.layout.HBox;
+import javafx.scene.layout.Priority;
+import javafx.scene.layout.Region;
+import javafx.stage.Stage;
+import javafx.stage.Window;
+import javafx.util.Duration;
+
+import java.util.function.Function;
+
+/**
+ * Ventana de diagnóstico con las métricas de rendimiento de la aplicación
+ * (ver {@link Metricas}), los contadores de Hibernate comparados contra una instantánea
+ * (ver {@link EstadisticasHibernate}), los aciertos de cada región de la caché de segundo nivel
+ * (ver {@link CacheSegundoNivel}) y las sentencias SQL lentas
+ * (ver {@link RegistroConsultasLentas}). Es una sola ventana no modal: si ya está abierta se trae
+ * al frente. Mientras está visible se actualiza sola cada {@link #INTERVALO_ACTUALIZACION}.
+ */
+public class VentanaDiagnostico {
+
+    private static final Duration INTERVALO_ACTUALIZACION = Duration.seconds(2);
+
+    private static VentanaDiagnostico instancia;
+
+    private final Stage ventana;
+    private final TableView<Metricas.ResumenOperacion> tablaOperaciones = new TableView<>();
+    private final CheckBox chkActivas = new CheckBox("Medición activa");
+    private final Label lblEstado = new Label();
+    private final TableView<EstadisticasHibernate.Indicador> tablaIndicadores = new TableView<>();
+    private final TableView<EstadisticasHibernate.EstadisticaConsulta> tablaConsultas = new TableView<>();
+    private final TableView<CacheSegundoNivel.EstadisticasRegion> tablaRegiones = new TableView<>();
+    private final Label lblInstantanea = new Label();
+    private final TableView<RegistroConsultasLentas.ConsultaLenta> tablaLentas = new TableView<>();
+    private final TextField txtUmbral = new TextField();
+    private final Label lblUmbral = new Label();
+    private EstadisticasHibernate.Instantanea instantanea = EstadisticasHibernate.tomarInstantanea();
+    private final Timeline actualizacion = new Timeline(new KeyFrame(INTERVALO_ACTUALIZACION, e -> actualizar()));
+
+    /**
+     * Muestra la ventana de diagnóstico. Debe llamarse desde el hilo de JavaFX.
+     * @param propietario Ventana principal de la aplicación
+     */
+    public static void mostrar(Window propietario) {
+        if (instancia == null) {
+            instancia = new VentanaDiagnostico(propietario);
+        }
+        instancia.actualizar();
+        instancia.ventana.show();
+        instancia.ventana.toFront();
+    }
+
+    private VentanaDiagnostico(Window propietario) {
+        TabPane pestanias = new TabPane(
+                new Tab("Operaciones", crearPestaniaOperaciones()),
+                new Tab("Hibernate", crearPestaniaHibernate()),
+                new Tab("Consultas lentas", crearPestaniaConsultasLentas()));
+        pestanias.setTabClosingPolicy(TabPane.TabClosingPolicy.UNAVAILABLE);
+
+        ventana = new Stage();
+        ventana.setTitle("Diagnóstico de rendimiento");
+        ventana.initOwner(propietario);
+        ventana.setScene(new Scene(pestanias, 980, 520));
+
+        // Solo se actualiza mientras está a la vista
+        actualizacion.setCycleCount(Timeline.INDEFINITE);
+        ventana.setOnShown(e -> actualizacion.play());
+        ventana.setOnHidden(e -> actualizacion.stop());
+    }
+
+    private BorderPane crearPestaniaOperaciones() {
+        chkActivas.setSelected(Metricas.isActivas());
+        chkActivas.setOnAction(e -> {
+            Metricas.setActivas(chkActivas.isSelected());
+            actualizar();
+        });
+        Button btnActualizar = new Button("Actualizar");
+        btnActualizar.setOnAction(e -> actualizar());
+        Button btnReiniciar = new Button("Reiniciar");
+        btnReiniciar.setOnAction(e -> {
+            Metricas.reiniciar();
+            actualizar();
+        });
+
+        Region espacio = new Region();
+        HBox.setHgrow(espacio, Priority.ALWAYS);
+        HBox barra = new HBox(10, chkActivas, lblEstado, espacio, btnActualizar, btnReiniciar);
+        barra.setAlignment(Pos.CENTER_LEFT);
+        barra.setPadding(new Insets(0, 0, 10, 0));
+
+        tablaOperaciones.getColumns().add(columnaTexto("Operación", Metricas.ResumenOperacion::operacion, 300));
+        tablaOperaciones.getColumns().add(columnaEntera("Llamadas", Metricas.ResumenOperacion::llamadas));
+        tablaOperaciones.getColumns().add(columnaEntera("Filas", Metricas.ResumenOperacion::filas));
+        tablaOperaciones.getColumns().add(columnaTiempo("Total (ms)", Metricas.ResumenOperacion::totalMs));
+        tablaOperaciones.getColumns().add(columnaTiempo("Propio (ms)", Metricas.ResumenOperacion::propioMs));
+        tablaOperaciones.getColumns().add(columnaTiempo("Media", Metricas.ResumenOperacion::mediaMs));
+        tablaOperaciones.getColumns().add(columnaTiempo("p50", Metricas.ResumenOperacion::p50Ms));
+        tablaOperaciones.getColumns().add(columnaTiempo("p90", Metricas.ResumenOperacion::p90Ms));
+        tablaOperaciones.getColumns().add(columnaTiempo("p99", Metricas.ResumenOperacion::p99Ms));
+        tablaOperaciones.getColumns().add(columnaTiempo("Máx", Metricas.ResumenOperacion::maximoMs));
+        tablaOperaciones.getColumns().add(columnaTiempo("EntityManager (ms)",
+                Metricas.ResumenOperacion::entityManagerMs));
+        tablaOperaciones.setPlaceholder(new Label("Sin mediciones. Active la medición y use la aplicación."));
+
+        return pestania(barra, tablaOperaciones);
+    }
+
+    private BorderPane crearPestaniaHibernate() {
+        Button btnInstantanea = new Button("Tomar instantánea");
+        btnInstantanea.setOnAction(e -> {
+            instantanea = EstadisticasHibernate.tomarInstantanea();
+            actualizar();
+        });
+        Button btnReiniciar = new Button("Reiniciar estadísticas");
+        btnReiniciar.setOnAction(e -> {
+            EstadisticasHibernate.reiniciar();
+            instantanea = EstadisticasHibernate.tomarInstantanea();
+            actualizar();
+        });
+
+        Region espacio = new Region();
+        HBox.setHgrow(espacio, Priority.ALWAYS);
+        HBox barra = new HBox(10, lblInstantanea, espacio, btnInstantanea, btnReiniciar);
+        barra.setAlignment(Pos.CENTER_LEFT);
+        barra.setPadding(new Insets(0, 0, 10, 0));
+
+        tablaIndicadores.getColumns().add(columnaTexto("Indicador", EstadisticasHibernate.Indicador::nombre, 280));
+        tablaIndicadores.getColumns().add(columnaEntera("Valor", EstadisticasHibernate.Indicador::valor));
+        tablaIndicadores.getColumns().add(columnaEntera("Desde la instantánea",
+                EstadisticasHibernate.Indicador::diferencia));
+        tablaIndicadores.getColumns().forEach(columna -> columna.setSortable(false));
+        tablaIndicadores.setPrefWidth(480);
+
+        tablaConsultas.getColumns().add(columnaTexto("Consulta JPQL",
+                EstadisticasHibernate.EstadisticaConsulta::consulta, 360));
+        tablaConsultas.getColumns().add(columnaEntera("Ejecuciones",
+                EstadisticasHibernate.EstadisticaConsulta::ejecuciones));
+        tablaConsultas.getColumns().add(columnaEntera("Filas", EstadisticasHibernate.EstadisticaConsulta::filas));
+        tablaConsultas.getColumns().add(columnaTiempo("Media (ms)",
+                EstadisticasHibernate.EstadisticaConsulta::mediaMs));
+        tablaConsultas.getColumns().add(columnaEntera("Máx (ms)", EstadisticasHibernate.EstadisticaConsulta::maximoMs));
+        tablaConsultas.getColumns().add(columnaEntera("Desde caché",
+                EstadisticasHibernate.EstadisticaConsulta::aciertosCache));
+        tablaConsultas.setPlaceholder(new Label("Todavía no se ejecutaron consultas."));
+
+        tablaRegiones.getColumns().add(columnaTexto("Región de caché",
+                CacheSegundoNivel.EstadisticasRegion::region, 360));
+        tablaRegiones.getColumns().add(columnaEntera("Aciertos", CacheSegundoNivel.EstadisticasRegion::aciertos));
+        tablaRegiones.getColumns().add(columnaEntera("Fallos", CacheSegundoNivel.EstadisticasRegion::fallos));
+        tablaRegiones.getColumns().add(columnaTexto("Tasa de aciertos",
+                r -> String.format("%.0f %%", r.tasaAciertos() * 100), 110));
+        tablaRegiones.getColumns().add(columnaEntera("Escrituras", CacheSegundoNivel.EstadisticasRegion::escrituras));
+        tablaRegiones.setPlaceholder(new Label("La caché de segundo nivel no tiene regiones."));
+
+        SplitPane consultasYRegiones = new SplitPane(tablaConsultas, tablaRegiones);
+        consultasYRegiones.setOrientation(Orientation.VERTICAL);
+        consultasYRegiones.setDividerPositions(0.65);
+        SplitPane tablas = new SplitPane(tablaIndicadores, consultasYRegiones);
+        tablas.setDividerPositions(0.4);
+        return pestania(barra, tablas);
+    }
+
+    private BorderPane crearPestaniaConsultasLentas() {
+        txtUmbral.setPrefColumnCount(6);
+        Button btnAplicar = new Button("Aplicar");
+        btnAplicar.setOnAction(e -> aplicarUmbral());
+        txtUmbral.setOnAction(e -> aplicarUmbral());
+        Button btnLimpiar = new Button("Limpiar");
+        btnLimpiar.setOnAction(e -> {
+            RegistroConsultasLentas.limpiar();
+            actualizar();
+        });
+
+        Region espacio = new Region();
+        HBox.setHgrow(espacio, Priority.ALWAYS);
+        HBox barra = new HBox(10, new Label("Umbral (ms, 0 desactiva):"), txtUmbral, btnAplicar, lblUmbral,
+                espacio, btnLimpiar);
+        barra.setAlignment(Pos.CENTER_LEFT);
+        barra.setPadding(new Insets(0, 0, 10, 0));
+
+        tablaLentas.getColumns().add(columnaTexto("Momento",
+                c -> c.momento().toLocalTime().toString(), 100));
+        tablaLentas.getColumns().add(columnaTiempo("Duración (ms)", RegistroConsultasLentas.ConsultaLenta::duracionMs));
+        tablaLentas.getColumns().add(columnaTexto("Origen", RegistroConsultasLentas.ConsultaLenta::origen, 260));
+        tablaLentas.getColumns().add(columnaTexto("Parámetros",
+                RegistroConsultasLentas.ConsultaLenta::parametros, 160));
+        tablaLentas.getColumns().add(columnaEntera("Lote", RegistroConsultasLentas.ConsultaLenta::lote));
+        tablaLentas.getColumns().add(columnaTexto("SQL", RegistroConsultasLentas.ConsultaLenta::sql, 400));
+        tablaLentas.setPlaceholder(new Label("Ninguna sentencia superó el umbral."));
+
+        return pestania(barra, tablaLentas);
+    }
+
+    private void aplicarUmbral() {
+        try {
+            RegistroConsultasLentas.setUmbralMs(Long.parseLong(txtUmbral.getText().trim()));
+            actualizar();
+        } catch (IllegalArgumentException e) {
+            lblUmbral.setText("Ingrese un número entero de milisegundos, 0 o mayor");
+        }
+    }
+
+    private static BorderPane pestania(HBox barra, Node centro) {
+        BorderPane contenido = new BorderPane(centro);
+        contenido.setTop(barra);
+        contenido.setPadding(new Insets(10));
+        return contenido;
+    }
+
+    private static <S> TableColumn<S, String> columnaTexto(String titulo, Function<S, String> valor, double ancho) {
+        TableColumn<S, String> columna = new TableColumn<>(titulo);
+        columna.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(valor.apply(c.getValue())));
+        columna.setPrefWidth(ancho);
+        return columna;
+    }
+
+    private static <S> TableColumn<S, Number> columnaEntera(String titulo, Function<S, ? extends Number> valor) {
+        TableColumn<S, Number> columna = new TableColumn<>(titulo);
+        columna.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(valor.apply(c.getValue())));
+        columna.setCellFactory(c -> celdaNumerica("%,d"));
+        return columna;
+    }
+
+    private static <S> TableColumn<S, Number> columnaTiempo(String titulo, Function<S, Double> valor) {
+        TableColumn<S, Number> columna = new TableColumn<>(titulo);
+        columna.setCellValueFactory(c -> new ReadOnlyObjectWrapper<>(valor.apply(c.getValue())));
+        columna.setCellFactory(c -> celdaNumerica("%,.2f"));
+        return columna;
+    }
+
+    /**
+     * Celda alineada a la derecha que muestra el número con el formato indicado.
+     */
+    private static <S> TableCell<S, Number> celdaNumerica(String formato) {
+        TableCell<S, Number> celda = new TableCell<>() {
+            @Override
+            protected void updateItem(Number valor, boolean vacia) {
+                super.updateItem(valor, vacia);
+                setText(vacia || valor == null ? null : String.format(formato, valor));
+            }
+        };
+        celda.setAlignment(Pos.CENTER_RIGHT);
+        return celda;
+    }
+
+    private void actualizar() {
+        chkActivas.setSelected(Metricas.isActivas());
+        lblEstado.setText(Metricas.isActivas()
+                ? "También disponible por JMX como " + Metricas.NOMBRE_JMX
+                : "Apagada: los métodos no se miden");
+        tablaOperaciones.setItems(FXCollections.observableArrayList(Metricas.obtenerResumen()));
+
+        lblInstantanea.setText("Instantánea tomada a las " + instantanea.momento().toLocalTime());
+        tablaIndicadores.setItems(FXCollections.observableArrayList(EstadisticasHibernate.compararCon(instantanea)));
+        tablaConsultas.setItems(FXCollections.observableArrayList(EstadisticasHibernate.obtenerConsultas()));
+        tablaRegiones.setItems(FXCollections.observableArrayList(CacheSegundoNivel.obtenerEstadisticas()));
+
+        if (!txtUmbral.isFocused()) {
+            txtUmbral.setText(Long.toString(RegistroConsultasLentas.getUmbralMs()));
+        }
+        lblUmbral.setText(RegistroConsultasLentas.isActivo()
+                ? "Las sentencias lentas también se escriben en la salida de errores"
+                : "Desactivado");
+        tablaLentas.setItems(FXCollections.observableArrayList(RegistroConsultasLentas.obtenerRecientes()));
+    }
+}
@@ -0,0 +1,22 @@
+-- Alineación de las secuencias de ids (PostgreSQL), para ejecutar una sola vez con la
+-- aplicación detenida:
+--   docker exec -i eventos_culturales_db psql -U postgres -d eventos_culturales < src/main/resources/db/alinear_secuencias.sql
+--
+-- Las bases creadas cuando los ids eran IDENTITY no tienen las secuencias eventos_seq,
+-- personas_seq y participaciones_seq, o hbm2ddl las creó empezando en 1 junto a tablas que
+-- ya tenían ids: el primer insert choca con una clave primaria existente. Este script crea
+-- las secuencias que falten y las adelanta más allá del id máximo de su tabla.
+--
+-- Las entidades usan allocationSize = 50 con el optimizador pooled de Hibernate: el valor v
+-- que devuelve la secuencia reserva los ids v - 49 a v, así que el próximo valor debe ser
+-- máximo + 50. Desde las migraciones versionadas (MigracionesEsquema) esto se hace solo al
+-- registrar una base existente como línea base; el script queda para bases usadas con
+-- versiones anteriores.
+
+CREATE SEQUENCE IF NOT EXISTS eventos_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS personas_seq START WITH 1 INCREMENT BY 50;
+CREATE SEQUENCE IF NOT EXISTS participaciones_seq START WITH 1 INCREMENT BY 50;
+
+SELECT setval('eventos_seq', (SELECT COALESCE(MAX(id), 0) FROM eventos) + 50, false);
+SELECT setval('personas_seq', (SELECT COALESCE(MAX(id), 0) FROM personas) + 50, false);
+SELECT setval('participaciones_seq', (SELECT COALESCE(MAX(id), 0) FROM participaciones) + 50, false);
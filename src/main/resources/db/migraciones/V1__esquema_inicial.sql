@@ -0,0 +1,86 @@
+-- Esquema inicial: el mismo que generaba hibernate.hbm2ddl.auto a partir de las entidades
+-- (incluidos los nombres de las claves foráneas), para que una base creada antes de las
+-- migraciones y una base nueva queden iguales.
+
+create sequence eventos_seq start with 1 increment by 50;
+
+create sequence participaciones_seq start with 1 increment by 50;
+
+create sequence personas_seq start with 1 increment by 50;
+
+create table eventos (
+    id bigint not null,
+    duracion_dias integer,
+    estadoEvento varchar(255) not null check (estadoEvento in ('EN_PLANIFICACION','CONFIRMADO','EN_EJECUCION','FINALIZADO','CANCELADO')),
+    fechaInicio date not null,
+    nombre varchar(100) not null,
+    permite_inscripcion boolean,
+    primary key (id)
+);
+
+create table cines (
+    orden_proyeccion integer,
+    titulo_pelicula varchar(255),
+    id bigint not null,
+    primary key (id)
+);
+
+create table conciertos (
+    tipo_entrada varchar(255) check (tipo_entrada in ('GRATUITA','PAGA')),
+    id bigint not null,
+    primary key (id)
+);
+
+create table exposiciones (
+    tipo_arte varchar(255) not null check (tipo_arte in ('FOTOGRAFIA','PINTURA','ESCULTURA','OTRO')),
+    id bigint not null,
+    primary key (id)
+);
+
+create table ferias (
+    cantidad_stands integer,
+    tipo_ubicacion varchar(255) check (tipo_ubicacion in ('AL_AIRE_LIBRE','TECHADO')),
+    id bigint not null,
+    primary key (id)
+);
+
+create table talleres (
+    cupo_maximo integer,
+    modalidad varchar(255) not null check (modalidad in ('PRESENCIAL','VIRTUAL')),
+    id bigint not null,
+    primary key (id)
+);
+
+create table personas (
+    id bigint not null,
+    apellido varchar(50) not null,
+    dni varchar(20) not null unique,
+    email varchar(100),
+    nombre varchar(50) not null,
+    telefono varchar(20),
+    primary key (id)
+);
+
+create table participaciones (
+    id bigint not null,
+    fecha_inscripcion timestamp(6),
+    rol varchar(255) not null check (rol in ('INSTRUCTOR','ORGANIZADOR','PARTICIPANTE','ARTISTA','CURADOR','PRESENTADOR')),
+    evento_id bigint not null,
+    persona_id bigint not null,
+    primary key (id),
+    constraint uk_participacion_evento_persona_rol unique (evento_id, persona_id, rol)
+);
+
+alter table cines add constraint FKkimau2u9h88r476ykgb5sj8gk foreign key (id) references eventos;
+
+alter table conciertos add constraint FKb55tqv47mckujlau3lwpuo4dv foreign key (id) references eventos;
+
+alter table exposiciones add constraint FK22m0rq9uc8rlnllqtyb4hw9hi foreign key (id) references eventos;
+
+alter table ferias add constraint FK56tv16wtocw7sg9nulg9muqws foreign key (id) references eventos;
+
+alter table talleres add constraint FKsfkp3ijci7nyhdy56ysvngxer foreign key (id) references eventos;
+
+alter table participaciones add constraint FKrxpjmb8ouyd38nydx17q5qk41 foreign key (evento_id) references eventos;
+
+alter table participaciones add constraint FKddsum4i5v51q6ow80gashjjeb foreign key (persona_id) references personas;
@@ -0,0 +1,8 @@
+-- Índices para las consultas frecuentes. Las búsquedas de participaciones por evento ya
+-- usan el índice de uk_participacion_evento_persona_rol (evento_id es su primera columna).
+
+-- Participaciones de una persona (ficha de la persona, borrado, exportación)
+create index if not exists idx_participaciones_persona on participaciones (persona_id);
+
+-- Calendario por rango de fechas y transiciones de estado programadas
+create index if not exists idx_eventos_fecha_inicio on eventos (fechaInicio);
@@ -0,0 +1,14 @@
+-- Una base creada antes de las migraciones (por hbm2ddl, con una versión anterior de las
+-- entidades) se registra como V1 sin ejecutarla y puede no tener la restricción única de
+-- participaciones. De ella dependen la detección de inscripciones duplicadas, la importación
+-- y las búsquedas de participaciones por evento (evento_id es su primera columna).
+
+-- Quitar las participaciones repetidas, conservando la más antigua de cada grupo
+delete from participaciones p
+where exists (
+    select 1 from participaciones q
+    where q.evento_id = p.evento_id and q.persona_id = p.persona_id and q.rol = p.rol and q.id < p.id
+);
+
+-- En una base creada por V1 el índice de la restricción ya tiene este nombre y no se crea otro
+create unique index if not exists uk_participacion_evento_persona_rol on participaciones (evento_id, persona_id, rol);
@@ -0,0 +1,164 @@
+package com.gestioneventos.repositorio;
+
+import com.gestioneventos.model.eventos.EstadoEvento;
+import com.gestioneventos.model.eventos.Modalidad;
+import com.gestioneventos.model.eventos.Taller;
+import com.gestioneventos.model.participaciones.Participacion;
+import com.gestioneventos.model.participaciones.RolParticipacion;
+import com.gestioneventos.model.personas.Persona;
+import com.gestioneventos.service.ServicioEvento;
+import com.gestioneventos.service.ServicioParticipacion;
+import com.gestioneventos.util.JPAUtil;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.Test;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Inscripciones simultáneas a un taller con cupo chico: el bloqueo de la fila del taller
+ * (ver RepositorioParticipacion#reservarCupos) debe aceptar exactamente el cupo máximo y
+ * rechazar el resto con "no tiene cupo suficiente", tanto por
+ * {@link ServicioEvento#agregarParticipacion} como por {@link ServicioParticipacion#guardarTodas},
+ * y también cuando participaciones existentes pasan a ser de participante con
+ * {@link ServicioParticipacion#guardar}.
+ * Usa una base H2 en memoria en modo PostgreSQL con el esquema de las migraciones.
+ */
+class RepositorioParticipacionConcurrenciaTest {
+
+    private static final int CUPO_MAXIMO = 5;
+    private static final int INSCRIPCIONES = 300;
+    private static final int HILOS = 16;
+    private static final int CAMBIOS_DE_ROL = 40;
+
+    private static Taller taller;
+    private static List<Persona> personas;
+
+    @BeforeAll
+    static void configurarBaseDeDatos() {
+        // LOCK_TIMEOUT: las inscripciones esperan en fila el bloqueo del taller
+        System.setProperty("jakarta.persistence.jdbc.url",
+                "jdbc:h2:mem:concurrencia;MODE=PostgreSQL;DB_CLOSE_DELAY=-1;LOCK_TIMEOUT=30000");
+        System.setProperty("jakarta.persistence.jdbc.driver", "org.h2.Driver");
+        System.setProperty("jakarta.persistence.jdbc.user", "sa");
+        System.setProperty("jakarta.persistence.jdbc.password", "");
+        System.setProperty("hibernate.dialect", "org.hibernate.dialect.H2Dialect");
+        System.setProperty("hibernate.show_sql", "false");
+
+        taller = (Taller) new RepositorioEvento().guardar(new Taller("Taller de cerámica", LocalDate.now().plusDays(7),
+                2, EstadoEvento.CONFIRMADO, true, CUPO_MAXIMO, Modalidad.PRESENCIAL));
+
+        List<Persona> nuevas = new ArrayList<>();
+        for (int i = 0; i < INSCRIPCIONES; i++) {
+            nuevas.add(new Persona("Nombre" + i, "Apellido" + i, String.valueOf(30_000_000 + i),
+                    "11" + (40_000_000 + i), "persona" + i + "@ejemplo.com"));
+        }
+        personas = new RepositorioPersona().guardarTodos(nuevas);
+    }
+
+    @AfterAll
+    static void cerrar() {
+        JPAUtil.shutdown();
+    }
+
+    @Test
+    void inscripcionesSimultaneasNoSuperanElCupo() throws Exception {
+        ServicioEvento servicioEvento = new ServicioEvento();
+        ServicioParticipacion servicioParticipacion = new ServicioParticipacion();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        List<Future<Boolean>> resultados = new ArrayList<>();
+        try {
+            for (int i = 0; i < INSCRIPCIONES; i++) {
+                Persona persona = personas.get(i);
+                boolean porLote = i % 2 == 0;
+                resultados.add(ejecutor.submit(() -> {
+                    largada.await();
+                    try {
+                        if (porLote) {
+                            servicioParticipacion.guardarTodas(List.of(
+                                    new Participacion(taller, persona, RolParticipacion.PARTICIPANTE)));
+                        } else {
+                            servicioEvento.agregarParticipacion(taller.getId(), persona, RolParticipacion.PARTICIPANTE);
+                        }
+                        return true;
+                    } catch (IllegalArgumentException e) {
+                        assertTrue(e.getMessage().contains("no tiene cupo suficiente"), e.getMessage());
+                        return false;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            int aceptadas = 0;
+            for (Future<Boolean> resultado : resultados) {
+                if (resultado.get(2, TimeUnit.MINUTES)) {
+                    aceptadas++;
+                }
+            }
+
+            assertEquals(CUPO_MAXIMO, aceptadas);
+            assertEquals(CUPO_MAXIMO, new RepositorioParticipacion()
+                    .contarPorEventoIdYRol(taller.getId(), RolParticipacion.PARTICIPANTE));
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+
+    @Test
+    void cambiosDeRolSimultaneosNoSuperanElCupo() throws Exception {
+        Taller otroTaller = (Taller) new RepositorioEvento().guardar(new Taller("Taller de grabado",
+                LocalDate.now().plusDays(7), 2, EstadoEvento.CONFIRMADO, true, CUPO_MAXIMO, Modalidad.PRESENCIAL));
+        List<Participacion> organizadores = new ArrayList<>();
+        for (int i = 0; i < CAMBIOS_DE_ROL; i++) {
+            organizadores.add(new Participacion(otroTaller, personas.get(i), RolParticipacion.ORGANIZADOR));
+        }
+        organizadores = new RepositorioParticipacion().guardarTodos(organizadores);
+
+        ServicioParticipacion servicioParticipacion = new ServicioParticipacion();
+        CountDownLatch largada = new CountDownLatch(1);
+        ExecutorService ejecutor = Executors.newFixedThreadPool(HILOS);
+        List<Future<Participacion>> resultados = new ArrayList<>();
+        try {
+            for (Participacion organizador : organizadores) {
+                resultados.add(ejecutor.submit(() -> {
+                    largada.await();
+                    organizador.setRol(RolParticipacion.PARTICIPANTE);
+                    try {
+                        return servicioParticipacion.guardar(organizador);
+                    } catch (IllegalArgumentException e) {
+                        assertTrue(e.getMessage().contains("no tiene cupo suficiente"), e.getMessage());
+                        return null;
+                    }
+                }));
+            }
+            largada.countDown();
+
+            List<Participacion> aceptadas = new ArrayList<>();
+            for (Future<Participacion> resultado : resultados) {
+                Participacion participacion = resultado.get(2, TimeUnit.MINUTES);
+                if (participacion != null) {
+                    aceptadas.add(participacion);
+                }
+            }
+
+            assertEquals(CUPO_MAXIMO, aceptadas.size());
+            assertEquals(CUPO_MAXIMO, new RepositorioParticipacion()
+                    .contarPorEventoIdYRol(otroTaller.getId(), RolParticipacion.PARTICIPANTE));
+            // Con el taller lleno, quien ya ocupa un lugar puede seguir guardándose
+            servicioParticipacion.guardar(aceptadas.get(0));
+        } finally {
+            ejecutor.shutdownNow();
+        }
+    }
+}